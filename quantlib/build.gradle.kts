@@ -5,6 +5,7 @@ dependencies {
 
     // External Libs
     implementation(libs.commons.math)
+    implementation(libs.micrometer.core)
     implementation(libs.spring.boot.starter.web)
 
     // External Test Libs
@@ -0,0 +1,126 @@
+package com.herron.exchange.quantlib.calendar;
+
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BusinessDayIndex {
+    private static final int MAX_NR_OF_INDEXED_CALENDARS = 64;
+    private static final Map<BusinessCalendar, BusinessDayIndex> CALENDAR_TO_INDEX = new ConcurrentHashMap<>();
+    private static final long[] EMPTY_BITMAP = new long[0];
+    private static final int[] EMPTY_OFFSETS = new int[0];
+
+    private final BusinessCalendar businessCalendar;
+    private final long firstEpochDay;
+    private final long lastEpochDay;
+    private final long[] businessDayBitmap;
+    // Offsets from the first epoch day of the nearest business day on or after/before each day, -1 when outside the index
+    private final int[] nextBusinessDays;
+    private final int[] previousBusinessDays;
+
+    private BusinessDayIndex(BusinessCalendar businessCalendar) {
+        this.businessCalendar = businessCalendar;
+        this.firstEpochDay = 0;
+        this.lastEpochDay = -1;
+        this.businessDayBitmap = EMPTY_BITMAP;
+        this.nextBusinessDays = EMPTY_OFFSETS;
+        this.previousBusinessDays = EMPTY_OFFSETS;
+    }
+
+    private BusinessDayIndex(BusinessCalendar businessCalendar, LocalDate firstDate, LocalDate lastDate) {
+        this.businessCalendar = businessCalendar;
+        this.firstEpochDay = firstDate.toEpochDay();
+        this.lastEpochDay = lastDate.toEpochDay();
+        int nrOfDays = (int) (lastEpochDay - firstEpochDay + 1);
+        this.businessDayBitmap = new long[(nrOfDays + 63) >>> 6];
+        this.nextBusinessDays = new int[nrOfDays];
+        this.previousBusinessDays = new int[nrOfDays];
+
+        var date = firstDate;
+        for (int i = 0; i < nrOfDays; i++, date = date.plusDays(1)) {
+            if (businessCalendar.getFirstDateAfterHoliday(date).equals(date)) {
+                businessDayBitmap[i >>> 6] |= 1L << i;
+            }
+        }
+
+        int previous = -1;
+        for (int i = 0; i < nrOfDays; i++) {
+            if (isBusinessDay(i)) {
+                previous = i;
+            }
+            previousBusinessDays[i] = previous;
+        }
+        int next = -1;
+        for (int i = nrOfDays - 1; i >= 0; i--) {
+            if (isBusinessDay(i)) {
+                next = i;
+            }
+            nextBusinessDays[i] = next;
+        }
+    }
+
+    public static BusinessDayIndex create(BusinessCalendar businessCalendar, LocalDate firstDate, LocalDate lastDate) {
+        if (lastDate.isBefore(firstDate)) {
+            throw new IllegalArgumentException(String.format("Invalid business day index range [%s, %s]", firstDate, lastDate));
+        }
+        return new BusinessDayIndex(businessCalendar, firstDate, lastDate);
+    }
+
+    // Indexes the range up front, off the pricing path, widening a shared index that does not cover it yet.
+    // Beyond the calendar limit the index is still built for the caller but not shared.
+    public static BusinessDayIndex prebuild(BusinessCalendar businessCalendar, LocalDate firstDate, LocalDate lastDate) {
+        if (lastDate.isBefore(firstDate)) {
+            throw new IllegalArgumentException(String.format("Invalid business day index range [%s, %s]", firstDate, lastDate));
+        }
+        if (!CALENDAR_TO_INDEX.containsKey(businessCalendar) && CALENDAR_TO_INDEX.size() >= MAX_NR_OF_INDEXED_CALENDARS) {
+            return new BusinessDayIndex(businessCalendar, firstDate, lastDate);
+        }
+        return CALENDAR_TO_INDEX.compute(businessCalendar, (calendar, index) -> {
+            if (index == null) {
+                return new BusinessDayIndex(calendar, firstDate, lastDate);
+            }
+            if (index.isIndexed(firstDate.toEpochDay()) && index.isIndexed(lastDate.toEpochDay())) {
+                return index;
+            }
+            var first = firstDate.toEpochDay() < index.firstEpochDay ? firstDate : LocalDate.ofEpochDay(index.firstEpochDay);
+            var last = lastDate.toEpochDay() > index.lastEpochDay ? lastDate : LocalDate.ofEpochDay(index.lastEpochDay);
+            return new BusinessDayIndex(calendar, first, last);
+        });
+    }
+
+    // Never builds on the pricing path, a calendar that was not prebuilt is answered by the calendar itself
+    public static BusinessDayIndex of(BusinessCalendar businessCalendar) {
+        var index = CALENDAR_TO_INDEX.get(businessCalendar);
+        return index != null ? index : new BusinessDayIndex(businessCalendar);
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (!isIndexed(epochDay)) {
+            return businessCalendar.getFirstDateAfterHoliday(date).equals(date);
+        }
+        return isBusinessDay((int) (epochDay - firstEpochDay));
+    }
+
+    public LocalDate getFirstDateAfterHoliday(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int next = isIndexed(epochDay) ? nextBusinessDays[(int) (epochDay - firstEpochDay)] : -1;
+        return next < 0 ? businessCalendar.getFirstDateAfterHoliday(date) : LocalDate.ofEpochDay(firstEpochDay + next);
+    }
+
+    public LocalDate getFirstDateBeforeHoliday(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int previous = isIndexed(epochDay) ? previousBusinessDays[(int) (epochDay - firstEpochDay)] : -1;
+        return previous < 0 ? businessCalendar.getFirstDateBeforeHoliday(date) : LocalDate.ofEpochDay(firstEpochDay + previous);
+    }
+
+    private boolean isIndexed(long epochDay) {
+        return epochDay >= firstEpochDay && epochDay <= lastEpochDay;
+    }
+
+    private boolean isBusinessDay(int offset) {
+        return (businessDayBitmap[offset >>> 6] & (1L << offset)) != 0;
+    }
+}
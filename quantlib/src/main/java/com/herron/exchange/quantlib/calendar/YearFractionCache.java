@@ -0,0 +1,88 @@
+package com.herron.exchange.quantlib.calendar;
+
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class YearFractionCache {
+    private static final int NR_OF_SLOTS = 1024;
+    private static final int SLOT_MASK = NR_OF_SLOTS - 1;
+    private static final int NR_OF_VALUATION_DAYS = 16;
+    private static final DayCountConventionEnum DEFAULT_DAY_COUNT_CONVENTION = DayCountConventionEnum.ACT365;
+    // Direct mapped on the valuation day, books valued on different dates keep their own cache instead of evicting each other
+    private static final AtomicReferenceArray<YearFractionCache> VALUATION_DAY_CACHES = new AtomicReferenceArray<>(NR_OF_VALUATION_DAYS);
+    private static volatile YearFractionCache latestCache;
+
+    private final long valuationTimeStampMs;
+    private final long valuationEpochDay;
+    // Direct mapped, a collision simply replaces the slot so the cache stays bounded without any locking
+    private final AtomicReferenceArray<EpochDayEntry> slots = new AtomicReferenceArray<>(NR_OF_SLOTS);
+
+    private YearFractionCache(Timestamp valuationTime) {
+        this.valuationTimeStampMs = valuationTime.timeStampMs();
+        this.valuationEpochDay = valuationTime.toLocalDate().toEpochDay();
+    }
+
+    public static YearFractionCache create(Timestamp valuationTime) {
+        return new YearFractionCache(valuationTime);
+    }
+
+    // Shares one cache between every caller valuing on the same date, the last one handed out is checked first
+    public static YearFractionCache of(Timestamp valuationTime) {
+        var cache = latestCache;
+        if (cache != null && cache.valuationTimeStampMs == valuationTime.timeStampMs()) {
+            return cache;
+        }
+        // Epoch days do not depend on the valuation date, so any cache can resolve one
+        long epochDay = cache != null ? cache.toEpochDay(valuationTime) : valuationTime.toLocalDate().toEpochDay();
+        int slot = (int) Math.floorMod(epochDay, NR_OF_VALUATION_DAYS);
+        cache = VALUATION_DAY_CACHES.get(slot);
+        if (cache == null || cache.valuationEpochDay != epochDay) {
+            cache = new YearFractionCache(valuationTime);
+            VALUATION_DAY_CACHES.set(slot, cache);
+        }
+        if (latestCache != cache) {
+            latestCache = cache;
+        }
+        return cache;
+    }
+
+    public long getValuationEpochDay() {
+        return valuationEpochDay;
+    }
+
+    public long toEpochDay(Timestamp timestamp) {
+        long timeStampMs = timestamp.timeStampMs();
+        if (timeStampMs == valuationTimeStampMs) {
+            return valuationEpochDay;
+        }
+        int slot = (int) (timeStampMs ^ (timeStampMs >>> 32)) * 0x9E3779B9 >>> 22 & SLOT_MASK;
+        var entry = slots.get(slot);
+        if (entry != null && entry.timeStampMs() == timeStampMs) {
+            return entry.epochDay();
+        }
+        long epochDay = timestamp.toLocalDate().toEpochDay();
+        slots.set(slot, new EpochDayEntry(timeStampMs, epochDay));
+        return epochDay;
+    }
+
+    public double getYearFraction(Timestamp date) {
+        return getYearFraction(date, DEFAULT_DAY_COUNT_CONVENTION);
+    }
+
+    public double getYearFraction(Timestamp date, DayCountConventionEnum dayCountConvention) {
+        return getYearFraction(toEpochDay(date), dayCountConvention);
+    }
+
+    public double getYearFraction(long epochDay, DayCountConventionEnum dayCountConvention) {
+        return (epochDay - valuationEpochDay) / dayCountConvention.getDaysPerYear();
+    }
+
+    public double getYearFraction(Timestamp startDate, Timestamp endDate, DayCountConventionEnum dayCountConvention) {
+        return (toEpochDay(endDate) - toEpochDay(startDate)) / dayCountConvention.getDaysPerYear();
+    }
+
+    private record EpochDayEntry(long timeStampMs, long epochDay) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.herron.exchange.quantlib.math;
+
+public class FastNormalDistribution {
+    private static final double INVERSE_SQRT_TWO_PI = 0.3989422804014327;
+    private static final double SQRT_TWO_PI = 2.506628274631;
+    private static final double TAIL_CUTOFF = 37.0;
+    private static final double RATIONAL_CUTOFF = 7.07106781186547;
+
+    public static double density(double x) {
+        return INVERSE_SQRT_TWO_PI * Math.exp(-0.5 * x * x);
+    }
+
+    // Hart's double precision approximation as formulated by West (2005), absolute error below 1e-14
+    public static double cumulativeProbability(double x) {
+        double absX = Math.abs(x);
+        if (absX > TAIL_CUTOFF) {
+            return x > 0 ? 1.0 : 0.0;
+        }
+
+        double exponential = Math.exp(-0.5 * absX * absX);
+        double tail;
+        if (absX < RATIONAL_CUTOFF) {
+            double numerator = 3.52624965998911E-02 * absX + 0.700383064443688;
+            numerator = numerator * absX + 6.37396220353165;
+            numerator = numerator * absX + 33.912866078383;
+            numerator = numerator * absX + 112.079291497871;
+            numerator = numerator * absX + 221.213596169931;
+            numerator = numerator * absX + 220.206867912376;
+            double denominator = 8.83883476483184E-02 * absX + 1.75566716318264;
+            denominator = denominator * absX + 16.064177579207;
+            denominator = denominator * absX + 86.7807322029461;
+            denominator = denominator * absX + 296.564248779674;
+            denominator = denominator * absX + 637.333633378831;
+            denominator = denominator * absX + 793.826512519948;
+            denominator = denominator * absX + 440.413735824752;
+            tail = exponential * numerator / denominator;
+        } else {
+            double fraction = absX + 0.65;
+            fraction = absX + 4 / fraction;
+            fraction = absX + 3 / fraction;
+            fraction = absX + 2 / fraction;
+            fraction = absX + 1 / fraction;
+            tail = exponential / fraction / SQRT_TWO_PI;
+        }
+
+        return x > 0 ? 1.0 - tail : tail;
+    }
+}
@@ -0,0 +1,14 @@
+package com.herron.exchange.quantlib.math.optimization;
+
+public interface LeastSquaresProblem {
+
+    int nrOfParameters();
+
+    int nrOfResiduals();
+
+    // Jacobian is row major: jacobian[residual * nrOfParameters + parameter]
+    void evaluate(double[] parameters, double[] residuals, double[] jacobian);
+
+    default void project(double[] parameters) {
+    }
+}
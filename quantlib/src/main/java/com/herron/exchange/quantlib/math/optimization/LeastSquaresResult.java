@@ -0,0 +1,8 @@
+package com.herron.exchange.quantlib.math.optimization;
+
+public record LeastSquaresResult(double[] parameters, double sumOfSquares, int iterations, LeastSquaresStatus status) {
+
+    public boolean isConverged() {
+        return status == LeastSquaresStatus.CONVERGED;
+    }
+}
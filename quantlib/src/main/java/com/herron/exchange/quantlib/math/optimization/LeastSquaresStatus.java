@@ -0,0 +1,7 @@
+package com.herron.exchange.quantlib.math.optimization;
+
+public enum LeastSquaresStatus {
+    CONVERGED,
+    STALLED,
+    MAX_ITERATIONS_REACHED
+}
@@ -0,0 +1,180 @@
+package com.herron.exchange.quantlib.math.optimization;
+
+import java.util.Arrays;
+
+public class LevenbergMarquardtOptimizer {
+    private static final double INITIAL_DAMPING = 1e-3;
+    private static final double DAMPING_DECREASE = 0.3;
+    private static final double DAMPING_INCREASE = 10.0;
+    private static final double MAX_DAMPING = 1e12;
+    private static final double MIN_DIAGONAL = 1e-12;
+
+    private final int maxIterations;
+    private final double tolerance;
+
+    public LevenbergMarquardtOptimizer(int maxIterations, double tolerance) {
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+    }
+
+    public static LevenbergMarquardtOptimizer defaultOptimizer() {
+        return new LevenbergMarquardtOptimizer(200, 1e-12);
+    }
+
+    public LeastSquaresResult optimize(LeastSquaresProblem problem, double[] initialParameters) {
+        int n = problem.nrOfParameters();
+        int m = problem.nrOfResiduals();
+        double[] parameters = initialParameters.clone();
+        problem.project(parameters);
+        double[] candidate = new double[n];
+        double[] residuals = new double[m];
+        double[] candidateResiduals = new double[m];
+        double[] jacobian = new double[m * n];
+        double[] candidateJacobian = new double[m * n];
+        double[] normalMatrix = new double[n * n];
+        double[] dampedMatrix = new double[n * n];
+        double[] gradient = new double[n];
+        double[] step = new double[n];
+
+        problem.evaluate(parameters, residuals, jacobian);
+        double sumOfSquares = sumOfSquares(residuals);
+        double damping = INITIAL_DAMPING;
+        int iterations = 0;
+        boolean isConverged = false;
+        LeastSquaresStatus status = LeastSquaresStatus.MAX_ITERATIONS_REACHED;
+        while (iterations < maxIterations && !isConverged) {
+            iterations++;
+            computeNormalEquations(jacobian, residuals, m, n, normalMatrix, gradient);
+            // At a stationary point no damped step can improve, which is a minimum rather than a stall
+            if (maxAbs(gradient) <= tolerance) {
+                status = LeastSquaresStatus.CONVERGED;
+                break;
+            }
+
+            boolean isImproved = false;
+            while (!isImproved && damping < MAX_DAMPING) {
+                System.arraycopy(normalMatrix, 0, dampedMatrix, 0, n * n);
+                for (int i = 0; i < n; i++) {
+                    dampedMatrix[i * n + i] += damping * Math.max(normalMatrix[i * n + i], MIN_DIAGONAL);
+                    step[i] = -gradient[i];
+                }
+                if (!solveInPlace(dampedMatrix, step, n)) {
+                    damping *= DAMPING_INCREASE;
+                    continue;
+                }
+
+                for (int i = 0; i < n; i++) {
+                    candidate[i] = parameters[i] + step[i];
+                }
+                problem.project(candidate);
+                problem.evaluate(candidate, candidateResiduals, candidateJacobian);
+                double candidateSumOfSquares = sumOfSquares(candidateResiduals);
+                if (candidateSumOfSquares < sumOfSquares) {
+                    double improvement = sumOfSquares - candidateSumOfSquares;
+                    isConverged = improvement <= tolerance * (1 + sumOfSquares);
+                    System.arraycopy(candidate, 0, parameters, 0, n);
+                    System.arraycopy(candidateResiduals, 0, residuals, 0, m);
+                    System.arraycopy(candidateJacobian, 0, jacobian, 0, m * n);
+                    sumOfSquares = candidateSumOfSquares;
+                    damping = Math.max(damping * DAMPING_DECREASE, 1e-15);
+                    isImproved = true;
+                } else {
+                    damping *= DAMPING_INCREASE;
+                }
+            }
+
+            // Damping hit its cap without any improving step, the parameters are where the search got stuck and not a fit
+            if (!isImproved) {
+                status = LeastSquaresStatus.STALLED;
+                break;
+            }
+            if (isConverged) {
+                status = LeastSquaresStatus.CONVERGED;
+            }
+        }
+
+        return new LeastSquaresResult(parameters, sumOfSquares, iterations, status);
+    }
+
+    private static void computeNormalEquations(double[] jacobian,
+                                               double[] residuals,
+                                               int m,
+                                               int n,
+                                               double[] normalMatrix,
+                                               double[] gradient) {
+        Arrays.fill(normalMatrix, 0);
+        Arrays.fill(gradient, 0);
+        for (int r = 0; r < m; r++) {
+            int row = r * n;
+            double residual = residuals[r];
+            for (int i = 0; i < n; i++) {
+                double jri = jacobian[row + i];
+                gradient[i] += jri * residual;
+                for (int j = i; j < n; j++) {
+                    normalMatrix[i * n + j] += jri * jacobian[row + j];
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                normalMatrix[i * n + j] = normalMatrix[j * n + i];
+            }
+        }
+    }
+
+    private static double maxAbs(double[] values) {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+
+    private static double sumOfSquares(double[] residuals) {
+        double sum = 0;
+        for (double residual : residuals) {
+            sum += residual * residual;
+        }
+        return sum;
+    }
+
+    // Gaussian elimination with partial pivoting, overwrites matrix and stores the solution in rhs
+    static boolean solveInPlace(double[] matrix, double[] rhs, int n) {
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < n; row++) {
+                if (Math.abs(matrix[row * n + col]) > Math.abs(matrix[pivot * n + col])) {
+                    pivot = row;
+                }
+            }
+            if (Math.abs(matrix[pivot * n + col]) < 1e-300) {
+                return false;
+            }
+            if (pivot != col) {
+                for (int k = 0; k < n; k++) {
+                    double tmp = matrix[col * n + k];
+                    matrix[col * n + k] = matrix[pivot * n + k];
+                    matrix[pivot * n + k] = tmp;
+                }
+                double tmp = rhs[col];
+                rhs[col] = rhs[pivot];
+                rhs[pivot] = tmp;
+            }
+            for (int row = col + 1; row < n; row++) {
+                double factor = matrix[row * n + col] / matrix[col * n + col];
+                for (int k = col; k < n; k++) {
+                    matrix[row * n + k] -= factor * matrix[col * n + k];
+                }
+                rhs[row] -= factor * rhs[col];
+            }
+        }
+        for (int row = n - 1; row >= 0; row--) {
+            double sum = rhs[row];
+            for (int k = row + 1; k < n; k++) {
+                sum -= matrix[row * n + k] * rhs[k];
+            }
+            rhs[row] = sum / matrix[row * n + row];
+        }
+        return true;
+    }
+}
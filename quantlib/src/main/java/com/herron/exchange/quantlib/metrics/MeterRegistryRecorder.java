@@ -0,0 +1,64 @@
+package com.herron.exchange.quantlib.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+class MeterRegistryRecorder {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> keyToTaggedSummary = new ConcurrentHashMap<>();
+    private final Timer[] timers;
+    private final Counter[] counters;
+    private final DistributionSummary[] summaries;
+
+    MeterRegistryRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        var metrics = QuantLibMetric.values();
+        timers = new Timer[metrics.length];
+        counters = new Counter[metrics.length];
+        summaries = new DistributionSummary[metrics.length];
+        for (var metric : metrics) {
+            int index = metric.ordinal();
+            switch (metric.getMetricType()) {
+                case TIMER -> timers[index] = Timer.builder(metric.getMeterName())
+                        .tags(metric.getTags())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                case COUNTER -> counters[index] = Counter.builder(metric.getMeterName())
+                        .tags(metric.getTags())
+                        .register(meterRegistry);
+                case SUMMARY -> summaries[index] = DistributionSummary.builder(metric.getMeterName())
+                        .tags(metric.getTags())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    void recordLatency(QuantLibMetric metric, long nanos) {
+        timers[metric.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void increment(QuantLibMetric metric, double amount) {
+        counters[metric.ordinal()].increment(amount);
+    }
+
+    void record(QuantLibMetric metric, double value) {
+        summaries[metric.ordinal()].record(value);
+    }
+
+    // Tag values that are only known at runtime, such as a shard index, get their own lazily registered summary
+    void record(QuantLibMetric metric, double value, String tagKey, String tagValue) {
+        keyToTaggedSummary.computeIfAbsent(metric.name() + '|' + tagKey + '|' + tagValue, key -> DistributionSummary.builder(metric.getMeterName())
+                        .tags(metric.getTags())
+                        .tag(tagKey, tagValue)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(value);
+    }
+}
@@ -0,0 +1,72 @@
+package com.herron.exchange.quantlib.metrics;
+
+public enum QuantLibMetric {
+    BLACK_SCHOLES_PRICE_LATENCY("quantlib.option.price", MetricType.TIMER, "model", "black_scholes"),
+    BLACK_SCHOLES_BATCH_PRICE_LATENCY("quantlib.option.price.batch", MetricType.TIMER, "model", "black_scholes"),
+    BLACK_SCHOLES_IMPLIED_VOLATILITY_LATENCY("quantlib.option.implied.volatility", MetricType.TIMER, "model", "black_scholes"),
+    BLACK_SCHOLES_IMPLIED_VOLATILITY_ITERATIONS("quantlib.option.implied.volatility.iterations", MetricType.SUMMARY, "model", "black_scholes"),
+    BLACK_SCHOLES_IMPLIED_VOLATILITY_NOT_CONVERGED("quantlib.option.implied.volatility.not.converged", MetricType.COUNTER, "model", "black_scholes"),
+    BLACK_76_PRICE_LATENCY("quantlib.option.price", MetricType.TIMER, "model", "black_76"),
+    BLACK_76_BATCH_PRICE_LATENCY("quantlib.option.price.batch", MetricType.TIMER, "model", "black_76"),
+    BLACK_76_IMPLIED_VOLATILITY_LATENCY("quantlib.option.implied.volatility", MetricType.TIMER, "model", "black_76"),
+    BLACK_76_IMPLIED_VOLATILITY_ITERATIONS("quantlib.option.implied.volatility.iterations", MetricType.SUMMARY, "model", "black_76"),
+    BLACK_76_IMPLIED_VOLATILITY_NOT_CONVERGED("quantlib.option.implied.volatility.not.converged", MetricType.COUNTER, "model", "black_76"),
+    GARMAN_KOHLHAGEN_PRICE_LATENCY("quantlib.option.price", MetricType.TIMER, "model", "garman_kohlhagen"),
+    GARMAN_KOHLHAGEN_BATCH_PRICE_LATENCY("quantlib.option.price.batch", MetricType.TIMER, "model", "garman_kohlhagen"),
+    GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_LATENCY("quantlib.option.implied.volatility", MetricType.TIMER, "model", "garman_kohlhagen"),
+    GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_ITERATIONS("quantlib.option.implied.volatility.iterations", MetricType.SUMMARY, "model", "garman_kohlhagen"),
+    GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_NOT_CONVERGED("quantlib.option.implied.volatility.not.converged", MetricType.COUNTER, "model", "garman_kohlhagen"),
+    IMPLIED_VOLATILITY_SURFACE_CONSTRUCTION_LATENCY("quantlib.ivsurface.construct", MetricType.TIMER),
+    IMPLIED_VOLATILITY_SURFACE_POINTS("quantlib.ivsurface.points", MetricType.SUMMARY),
+    IMPLIED_VOLATILITY_SOLVER_FAILURES("quantlib.ivsurface.solver.failures", MetricType.COUNTER),
+    IMPLIED_VOLATILITY_QUOTES_OVER_BUDGET("quantlib.ivsurface.quotes.over.budget", MetricType.COUNTER),
+    IMPLIED_VOLATILITY_QUOTES_CLAMPED("quantlib.ivsurface.quotes.clamped", MetricType.COUNTER),
+    SVI_SLICE_FITS_NOT_CONVERGED("quantlib.ivsurface.svi.slice.not.converged", MetricType.COUNTER),
+    IMPLIED_VOLATILITY_FILTER_LATENCY("quantlib.ivsurface.filter", MetricType.TIMER),
+    VERTICAL_SPREAD_ARBITRAGE_REJECTIONS("quantlib.ivsurface.filter.rejected", MetricType.COUNTER, "arbitrage", "vertical_spread"),
+    CALENDAR_SPREAD_ARBITRAGE_REJECTIONS("quantlib.ivsurface.filter.rejected", MetricType.COUNTER, "arbitrage", "calendar_spread"),
+    BUTTERFLY_SPREAD_ARBITRAGE_REJECTIONS("quantlib.ivsurface.filter.rejected", MetricType.COUNTER, "arbitrage", "butterfly_spread"),
+    LOCAL_VOLATILITY_GRID_CONSTRUCTION_LATENCY("quantlib.localvol.construct", MetricType.TIMER),
+    LOCAL_VOLATILITY_GRID_REPAIRED_NODES("quantlib.localvol.repaired.nodes", MetricType.SUMMARY),
+    FORWARD_CURVE_CONSTRUCTION_LATENCY("quantlib.forwardcurve.construct", MetricType.TIMER),
+    FORWARD_CURVE_MISSING_PUT_CALL_PAIRS("quantlib.forwardcurve.missing.put.call.pairs", MetricType.COUNTER),
+    BOND_PRICE_LATENCY("quantlib.bond.price", MetricType.TIMER, "model", "bond_discounting"),
+    YIELD_CURVE_BOOTSTRAP_LATENCY("quantlib.yieldcurve.bootstrap", MetricType.TIMER),
+    YIELD_CURVE_BOOTSTRAP_NODES("quantlib.yieldcurve.bootstrap.nodes", MetricType.SUMMARY),
+    HISTORICAL_VAR_LATENCY("quantlib.risk.var", MetricType.TIMER),
+    PRICING_PIPELINE_CONFLATED_UPDATES("quantlib.pipeline.conflated.updates", MetricType.COUNTER),
+    PRICING_PIPELINE_STAGE_FAILURES("quantlib.pipeline.stage.failures", MetricType.COUNTER),
+    OPTION_PRICING_BATCH_SIZE("quantlib.option.batch.size", MetricType.SUMMARY),
+    OPTION_PRICING_INLINE_FALLBACKS("quantlib.option.batch.inline.fallbacks", MetricType.COUNTER),
+    PRICING_WARM_UP_LATENCY("quantlib.warmup", MetricType.TIMER),
+    PRICING_SHARD_QUEUE_DEPTH("quantlib.pipeline.shard.queue.depth", MetricType.SUMMARY),
+    PRICING_SHARD_REBALANCES("quantlib.pipeline.shard.rebalances", MetricType.COUNTER);
+
+    private final String meterName;
+    private final MetricType metricType;
+    private final String[] tags;
+
+    QuantLibMetric(String meterName, MetricType metricType, String... tags) {
+        this.meterName = meterName;
+        this.metricType = metricType;
+        this.tags = tags;
+    }
+
+    public String getMeterName() {
+        return meterName;
+    }
+
+    public MetricType getMetricType() {
+        return metricType;
+    }
+
+    public String[] getTags() {
+        return tags.clone();
+    }
+
+    public enum MetricType {
+        TIMER,
+        COUNTER,
+        SUMMARY
+    }
+}
@@ -0,0 +1,75 @@
+package com.herron.exchange.quantlib.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.Supplier;
+
+public class QuantLibMetrics {
+    private static final long NOT_TIMED = 0;
+    private static final ThreadLocal<Boolean> IS_SUPPRESSED = ThreadLocal.withInitial(() -> false);
+    private static volatile MeterRegistryRecorder recorder = null;
+
+    public static void enable(MeterRegistry meterRegistry) {
+        recorder = new MeterRegistryRecorder(meterRegistry);
+    }
+
+    public static void disable() {
+        recorder = null;
+    }
+
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    // Only the calling thread stops recording, so a warm-up running next to live traffic leaves the production meters alone
+    public static <T> T callSuppressed(Supplier<T> supplier) {
+        boolean wasSuppressed = IS_SUPPRESSED.get();
+        IS_SUPPRESSED.set(true);
+        try {
+            return supplier.get();
+        } finally {
+            IS_SUPPRESSED.set(wasSuppressed);
+        }
+    }
+
+    public static long startTimer() {
+        return currentRecorder() != null ? System.nanoTime() : NOT_TIMED;
+    }
+
+    public static void stopTimer(QuantLibMetric metric, long startTime) {
+        var current = currentRecorder();
+        if (current != null && startTime != NOT_TIMED) {
+            current.recordLatency(metric, System.nanoTime() - startTime);
+        }
+    }
+
+    public static void increment(QuantLibMetric metric) {
+        increment(metric, 1);
+    }
+
+    public static void increment(QuantLibMetric metric, long amount) {
+        var current = currentRecorder();
+        if (current != null && amount > 0) {
+            current.increment(metric, amount);
+        }
+    }
+
+    public static void record(QuantLibMetric metric, double value) {
+        var current = currentRecorder();
+        if (current != null) {
+            current.record(metric, value);
+        }
+    }
+
+    public static void record(QuantLibMetric metric, double value, String tagKey, String tagValue) {
+        var current = currentRecorder();
+        if (current != null) {
+            current.record(metric, value, tagKey, tagValue);
+        }
+    }
+
+    private static MeterRegistryRecorder currentRecorder() {
+        var current = recorder;
+        return current != null && !IS_SUPPRESSED.get() ? current : null;
+    }
+}
@@ -10,6 +10,7 @@ import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.Yi
 import com.herron.exchange.common.api.common.messages.common.Price;
 import com.herron.exchange.common.api.common.messages.common.PureNumber;
 import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
 import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
 
 import java.util.ArrayList;
@@ -18,6 +19,8 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.herron.exchange.common.api.common.enums.InterpolationMethod.CUBIC_SPLINE;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.FORWARD_CURVE_CONSTRUCTION_LATENCY;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.FORWARD_CURVE_MISSING_PUT_CALL_PAIRS;
 
 public class ForwardPriceCurveConstructor {
 
@@ -26,20 +29,25 @@ public class ForwardPriceCurveConstructor {
                                               List<OptionInstrument> options,
                                               Map<Instrument, Price> instrumentToPrice,
                                               YieldCurve yieldCurve) {
-        List<ForwardPricePoint> points = new ArrayList<>();
-        Map<Timestamp, List<OptionInstrument>> maturityToOptions = options.stream().collect(Collectors.groupingBy(OptionInstrument::maturityDate));
-        for (var maturityEntry : maturityToOptions.entrySet()) {
-            Timestamp maturityDate = maturityEntry.getKey();
-            List<OptionInstrument> optionsAtMaturity = maturityEntry.getValue();
-            Map<PureNumber, List<OptionInstrument>> strikePriceToOptions = optionsAtMaturity.stream().collect(Collectors.groupingBy(OptionInstrument::strikePrice));
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            List<ForwardPricePoint> points = new ArrayList<>();
+            Map<Timestamp, List<OptionInstrument>> maturityToOptions = options.stream().collect(Collectors.groupingBy(OptionInstrument::maturityDate));
+            for (var maturityEntry : maturityToOptions.entrySet()) {
+                Timestamp maturityDate = maturityEntry.getKey();
+                List<OptionInstrument> optionsAtMaturity = maturityEntry.getValue();
+                Map<PureNumber, List<OptionInstrument>> strikePriceToOptions = optionsAtMaturity.stream().collect(Collectors.groupingBy(OptionInstrument::strikePrice));
 
-            double timeToMaturity = Black76.calculateTimeToMaturity(valuationTime, maturityDate);
-            double riskFreeRate = yieldCurve.getYield(timeToMaturity);
-            double averageForwardPriceAtMaturity = calculateForwardPriceAtTimeToMaturity(timeToMaturity, riskFreeRate, strikePriceToOptions, instrumentToPrice);
-            points.add(new ForwardPricePoint(timeToMaturity, averageForwardPriceAtMaturity));
-        }
+                double timeToMaturity = Black76.calculateTimeToMaturity(valuationTime, maturityDate);
+                double riskFreeRate = yieldCurve.getYield(timeToMaturity);
+                double averageForwardPriceAtMaturity = calculateForwardPriceAtTimeToMaturity(timeToMaturity, riskFreeRate, strikePriceToOptions, instrumentToPrice);
+                points.add(new ForwardPricePoint(timeToMaturity, averageForwardPriceAtMaturity));
+            }
 
-        return ForwardPriceCurve.create(underlyingInstrument.instrumentId(), new ForwardCurveModelParameters(points, CUBIC_SPLINE));
+            return ForwardPriceCurve.create(underlyingInstrument.instrumentId(), new ForwardCurveModelParameters(points, CUBIC_SPLINE));
+        } finally {
+            QuantLibMetrics.stopTimer(FORWARD_CURVE_CONSTRUCTION_LATENCY, startTime);
+        }
     }
 
     private static double calculateForwardPriceAtTimeToMaturity(double timeToMaturity,
@@ -53,6 +61,7 @@ public class ForwardPriceCurveConstructor {
             var put = optionsAtStrike.stream().filter(o -> o.optionType() == OptionTypeEnum.PUT).findFirst();
             var call = optionsAtStrike.stream().filter(o -> o.optionType() == OptionTypeEnum.CALL).findFirst();
             if (put.isEmpty() || call.isEmpty()) {
+                QuantLibMetrics.increment(FORWARD_CURVE_MISSING_PUT_CALL_PAIRS);
                 continue;
             }
             double putPrice = instrumentToPrice.get(put.get()).getRealValue();
@@ -13,13 +13,27 @@ import com.herron.exchange.common.api.common.messages.common.Price;
 import com.herron.exchange.common.api.common.messages.common.Timestamp;
 import com.herron.exchange.common.api.common.messages.pricing.Black76PriceModelParameters;
 import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelParameters;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.grid.VolatilitySurfaceGrid;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.grid.model.VolatilityGridConfig;
+import com.herron.exchange.quantlib.parametricmodels.localvol.LocalVolatilityGrid;
+import com.herron.exchange.quantlib.parametricmodels.localvol.model.LocalVolatilityGridConfig;
 import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
 import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.ImpliedVolatilityWarmStartCache;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.IMPLIED_VOLATILITY_QUOTES_CLAMPED;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.IMPLIED_VOLATILITY_QUOTES_OVER_BUDGET;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.IMPLIED_VOLATILITY_SOLVER_FAILURES;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.IMPLIED_VOLATILITY_SURFACE_CONSTRUCTION_LATENCY;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.IMPLIED_VOLATILITY_SURFACE_POINTS;
+
 public class ImpliedVolatilityConstructor {
 
     public static ImpliedVolatilitySurface construct(Timestamp valuationTime,
@@ -28,24 +42,104 @@ public class ImpliedVolatilityConstructor {
                                                      Map<Instrument, Price> instrumentToPrice,
                                                      YieldCurve yieldCurve,
                                                      ForwardPriceCurve forwardPriceCurve) {
+        return construct(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, ImpliedVolatilitySolverConfig.defaultConfig());
+    }
+
+    public static ImpliedVolatilitySurface construct(Timestamp valuationTime,
+                                                     Instrument underlying,
+                                                     List<OptionInstrument> options,
+                                                     Map<Instrument, Price> instrumentToPrice,
+                                                     YieldCurve yieldCurve,
+                                                     ForwardPriceCurve forwardPriceCurve,
+                                                     ImpliedVolatilitySolverConfig solverConfig) {
+        return construct(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, solverConfig, null);
+    }
+
+    public static ImpliedVolatilitySurface construct(Timestamp valuationTime,
+                                                     Instrument underlying,
+                                                     List<OptionInstrument> options,
+                                                     Map<Instrument, Price> instrumentToPrice,
+                                                     YieldCurve yieldCurve,
+                                                     ForwardPriceCurve forwardPriceCurve,
+                                                     ImpliedVolatilitySolverConfig solverConfig,
+                                                     ImpliedVolatilityWarmStartCache warmStartCache) {
+        return constructSurface(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, solverConfig, warmStartCache).surface();
+    }
+
+    public static VolatilitySurfaceGrid constructGrid(Timestamp valuationTime,
+                                                      Instrument underlying,
+                                                      List<OptionInstrument> options,
+                                                      Map<Instrument, Price> instrumentToPrice,
+                                                      YieldCurve yieldCurve,
+                                                      ForwardPriceCurve forwardPriceCurve,
+                                                      VolatilityGridConfig gridConfig) {
+        var constructedSurface = constructSurface(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, ImpliedVolatilitySolverConfig.defaultConfig(), null);
+        return VolatilitySurfaceGrid.create(constructedSurface.surface(), underlying.instrumentId(), constructedSurface.points(), gridConfig);
+    }
+
+    public static LocalVolatilityGrid constructLocalVolatilityGrid(Timestamp valuationTime,
+                                                                   Instrument underlying,
+                                                                   List<OptionInstrument> options,
+                                                                   Map<Instrument, Price> instrumentToPrice,
+                                                                   YieldCurve yieldCurve,
+                                                                   ForwardPriceCurve forwardPriceCurve,
+                                                                   LocalVolatilityGridConfig localVolatilityConfig) {
+        double spotPrice = instrumentToPrice.get(underlying).getRealValue();
+        var constructedSurface = constructSurface(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, ImpliedVolatilitySolverConfig.defaultConfig(), null);
+        return LocalVolatilityGrid.create(constructedSurface.surface(), underlying.instrumentId(), constructedSurface.points(), spotPrice, forwardPriceCurve, localVolatilityConfig);
+    }
+
+    // The grids are sampled from the surface afterwards and time themselves, the surface latency covers only the solve and fit
+    private static ConstructedSurface constructSurface(Timestamp valuationTime,
+                                                       Instrument underlying,
+                                                       List<OptionInstrument> options,
+                                                       Map<Instrument, Price> instrumentToPrice,
+                                                       YieldCurve yieldCurve,
+                                                       ForwardPriceCurve forwardPriceCurve,
+                                                       ImpliedVolatilitySolverConfig solverConfig,
+                                                       ImpliedVolatilityWarmStartCache warmStartCache) {
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            double spotPrice = instrumentToPrice.get(underlying).getRealValue();
+            List<ImpliedVolPoint> points = calculateImpliedVolPoints(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, solverConfig, warmStartCache);
+            var surface = ImpliedVolatilitySurface.create(
+                    underlying.instrumentId(),
+                    spotPrice,
+                    new ImpliedVolatilitySurfaceModelParameters(SurfaceConstructionMethod.HERMITE_BICUBIC, points)
+            );
+            return new ConstructedSurface(surface, points);
+        } finally {
+            QuantLibMetrics.stopTimer(IMPLIED_VOLATILITY_SURFACE_CONSTRUCTION_LATENCY, startTime);
+        }
+    }
+
+    public static List<ImpliedVolPoint> calculateImpliedVolPoints(Timestamp valuationTime,
+                                                                  Instrument underlying,
+                                                                  List<OptionInstrument> options,
+                                                                  Map<Instrument, Price> instrumentToPrice,
+                                                                  YieldCurve yieldCurve,
+                                                                  ForwardPriceCurve forwardPriceCurve,
+                                                                  ImpliedVolatilitySolverConfig solverConfig,
+                                                                  ImpliedVolatilityWarmStartCache warmStartCache) {
+        if (warmStartCache != null) {
+            warmStartCache.evictExpired(valuationTime);
+        }
         double spotPrice = instrumentToPrice.get(underlying).getRealValue();
         List<OptionInstrument> filteredOptions = ImpliedVolatilityFilter.filter(options, instrumentToPrice, spotPrice);
         List<ImpliedVolPoint> points = filteredOptions.stream()
                 .map(option -> {
                     double optionPrice = instrumentToPrice.get(option).getRealValue();
                     try {
-                        return calculateImpliedVolatility(valuationTime, option, spotPrice, optionPrice, yieldCurve, forwardPriceCurve);
+                        return calculateImpliedVolatility(valuationTime, option, spotPrice, optionPrice, yieldCurve, forwardPriceCurve, solverConfig, warmStartCache);
                     } catch (Exception e) {
+                        QuantLibMetrics.increment(IMPLIED_VOLATILITY_SOLVER_FAILURES);
                         return null;
                     }
                 })
                 .filter(Objects::nonNull)
                 .toList();
-        return ImpliedVolatilitySurface.create(
-                underlying.instrumentId(),
-                spotPrice,
-                new ImpliedVolatilitySurfaceModelParameters(SurfaceConstructionMethod.HERMITE_BICUBIC, points)
-        );
+        QuantLibMetrics.record(IMPLIED_VOLATILITY_SURFACE_POINTS, points.size());
+        return points;
     }
 
     private static ImpliedVolPoint calculateImpliedVolatility(Timestamp valuationTime,
@@ -53,42 +147,77 @@ public class ImpliedVolatilityConstructor {
                                                               double spotPrice,
                                                               double marketPrice,
                                                               YieldCurve yieldCurve,
-                                                              ForwardPriceCurve forwardPriceCurve) {
+                                                              ForwardPriceCurve forwardPriceCurve,
+                                                              ImpliedVolatilitySolverConfig solverConfig,
+                                                              ImpliedVolatilityWarmStartCache warmStartCache) {
         double strikePrice = option.strikePrice().getRealValue();
         double logMoneyness = Math.log(strikePrice / spotPrice);
         double timeToMaturity = BlackScholesMerton.calculateTimeToMaturity(valuationTime, option);
         double riskFreeRate = yieldCurve.getYield(timeToMaturity);
+        double initialGuess = warmStartCache != null ? warmStartCache.getInitialGuess(option.instrumentId()) : Double.NaN;
         double impliedVolatility = switch (option.priceModel()) {
             case BLACK_SCHOLES -> {
                 double dividendYield = ((BlackScholesPriceModelParameters) option.priceModelParameters()).dividendYield().getRealValue();
-                yield BlackScholesMerton.calculateImpliedVolatility(
+                var result = BlackScholesMerton.solveImpliedVolatility(
                         option.optionType(),
                         strikePrice,
                         marketPrice,
                         spotPrice,
                         timeToMaturity,
                         riskFreeRate,
-                        dividendYield).getRealValue();
+                        dividendYield,
+                        initialGuess,
+                        solverConfig);
+                updateWarmStartCache(warmStartCache, option, result);
+                yield toSurfaceVolatility(result);
             }
             case BLACK_76 -> {
                 double dividendYield = ((Black76PriceModelParameters) option.priceModelParameters()).dividendYield().getRealValue();
                 double forwardPrice = forwardPriceCurve != null ? forwardPriceCurve.getForwardPrice(timeToMaturity) : spotPrice * Math.exp((riskFreeRate - dividendYield) * timeToMaturity);
-                yield Black76.calculateImpliedVolatility(
+                var result = Black76.solveImpliedVolatility(
                         option.optionType(),
                         strikePrice,
                         marketPrice,
                         forwardPrice,
                         timeToMaturity,
-                        riskFreeRate).getRealValue();
+                        riskFreeRate,
+                        initialGuess,
+                        solverConfig);
+                updateWarmStartCache(warmStartCache, option, result);
+                yield toSurfaceVolatility(result);
             }
             case BARONE_ADESI_WHALEY -> 0;
             default -> 0;
         };
 
+        if (Double.isNaN(impliedVolatility)) {
+            return null;
+        }
+
         return new ImpliedVolPoint(
                 MathUtils.roundDouble(timeToMaturity, 5),
                 MathUtils.roundDouble(logMoneyness, 5),
                 MathUtils.roundDouble(impliedVolatility, 5)
         );
     }
+
+    private static double toSurfaceVolatility(ImpliedVolatilityResult result) {
+        // A volatility pinned to a solver bound is not a market quote and would distort the fitted surface
+        if (result.isConverged()) {
+            return result.impliedVolatility();
+        }
+        QuantLibMetrics.increment(result.isWithinBudget() ? IMPLIED_VOLATILITY_QUOTES_CLAMPED : IMPLIED_VOLATILITY_QUOTES_OVER_BUDGET);
+        return Double.NaN;
+    }
+
+    private static void updateWarmStartCache(ImpliedVolatilityWarmStartCache warmStartCache,
+                                             OptionInstrument option,
+                                             ImpliedVolatilityResult result) {
+        if (warmStartCache != null) {
+            warmStartCache.update(option.instrumentId(), option.maturityDate(), result);
+        }
+    }
+
+    private record ConstructedSurface(ImpliedVolatilitySurface surface, List<ImpliedVolPoint> points) {
+    }
 }
@@ -5,58 +5,71 @@ import com.herron.exchange.common.api.common.api.referencedata.instruments.Optio
 import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
 import com.herron.exchange.common.api.common.messages.common.Price;
 import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.BUTTERFLY_SPREAD_ARBITRAGE_REJECTIONS;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.CALENDAR_SPREAD_ARBITRAGE_REJECTIONS;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.IMPLIED_VOLATILITY_FILTER_LATENCY;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.VERTICAL_SPREAD_ARBITRAGE_REJECTIONS;
+
 public class ImpliedVolatilityFilter {
 
     public static List<OptionInstrument> filter(List<OptionInstrument> options,
                                                 Map<Instrument, Price> instrumentToPrice,
                                                 double spotPrice) {
-        List<OptionInstrument> acceptedOptions = new ArrayList<>();
-        Map<OptionTypeEnum, List<OptionInstrument>> typeToOption = options.stream().collect(Collectors.groupingBy(OptionInstrument::optionType));
-
-        for (var typeToOptionEntry : typeToOption.entrySet()) {
-            OptionTypeEnum optionType = typeToOptionEntry.getKey();
-            List<OptionInstrument> optionsOfType = typeToOptionEntry.getValue();
-            List<List<OptionData>> optionsByMaturity = buildGrid(optionsOfType, instrumentToPrice);
-
-            int nrOfMaturities = optionsByMaturity.size();
-            for (var maturity = 0; maturity < nrOfMaturities; maturity++) {
-                List<OptionData> strikesAtMaturity = optionsByMaturity.get(maturity);
-                int nrOfStrikes = strikesAtMaturity.size();
-                for (var strike = 0; strike < nrOfStrikes; strike++) {
-                    OptionData current = strikesAtMaturity.get(strike);
-
-                    if (strike + 1 < nrOfStrikes) {
-                        OptionData vertical = strikesAtMaturity.get(strike + 1);
-                        if (hasVerticalSpreadArbitrage(current, vertical, optionType)) {
-                            continue;
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            List<OptionInstrument> acceptedOptions = new ArrayList<>();
+            Map<OptionTypeEnum, List<OptionInstrument>> typeToOption = options.stream().collect(Collectors.groupingBy(OptionInstrument::optionType));
+
+            for (var typeToOptionEntry : typeToOption.entrySet()) {
+                OptionTypeEnum optionType = typeToOptionEntry.getKey();
+                List<OptionInstrument> optionsOfType = typeToOptionEntry.getValue();
+                List<List<OptionData>> optionsByMaturity = buildGrid(optionsOfType, instrumentToPrice);
+
+                int nrOfMaturities = optionsByMaturity.size();
+                for (var maturity = 0; maturity < nrOfMaturities; maturity++) {
+                    List<OptionData> strikesAtMaturity = optionsByMaturity.get(maturity);
+                    int nrOfStrikes = strikesAtMaturity.size();
+                    for (var strike = 0; strike < nrOfStrikes; strike++) {
+                        OptionData current = strikesAtMaturity.get(strike);
+
+                        if (strike + 1 < nrOfStrikes) {
+                            OptionData vertical = strikesAtMaturity.get(strike + 1);
+                            if (hasVerticalSpreadArbitrage(current, vertical, optionType)) {
+                                QuantLibMetrics.increment(VERTICAL_SPREAD_ARBITRAGE_REJECTIONS);
+                                continue;
+                            }
                         }
-                    }
 
-                    if (maturity + 1 < nrOfMaturities && strike < optionsByMaturity.get(maturity + 1).size()) {
-                        OptionData calendar = optionsByMaturity.get(maturity + 1).get(strike);
-                        if (hasCalendarSpreadArbitrage(current, calendar, optionType)) {
-                            continue;
+                        if (maturity + 1 < nrOfMaturities && strike < optionsByMaturity.get(maturity + 1).size()) {
+                            OptionData calendar = optionsByMaturity.get(maturity + 1).get(strike);
+                            if (hasCalendarSpreadArbitrage(current, calendar, optionType)) {
+                                QuantLibMetrics.increment(CALENDAR_SPREAD_ARBITRAGE_REJECTIONS);
+                                continue;
+                            }
                         }
-                    }
 
-                    if (strike + 2 < nrOfStrikes) {
-                        OptionData vertical = strikesAtMaturity.get(strike + 1);
-                        OptionData butterfly = strikesAtMaturity.get(strike + 2);
-                        if (hasButterflySpreadArbitrage(current, vertical, butterfly, optionType)) {
-                            continue;
+                        if (strike + 2 < nrOfStrikes) {
+                            OptionData vertical = strikesAtMaturity.get(strike + 1);
+                            OptionData butterfly = strikesAtMaturity.get(strike + 2);
+                            if (hasButterflySpreadArbitrage(current, vertical, butterfly, optionType)) {
+                                QuantLibMetrics.increment(BUTTERFLY_SPREAD_ARBITRAGE_REJECTIONS);
+                                continue;
+                            }
                         }
-                    }
 
-                    acceptedOptions.add(current.option);
+                        acceptedOptions.add(current.option);
+                    }
                 }
             }
+            return acceptedOptions;
+        } finally {
+            QuantLibMetrics.stopTimer(IMPLIED_VOLATILITY_FILTER_LATENCY, startTime);
         }
-
-        return acceptedOptions;
     }
 
     private static boolean hasVerticalSpreadArbitrage(OptionData current, OptionData vertical, OptionTypeEnum optionType) {
@@ -0,0 +1,15 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface;
+
+public interface ParametricVolatilitySurface {
+
+    String getId();
+
+    double getTotalVariance(double timeToMaturity, double logMoneyness);
+
+    default double getImpliedVolatility(double timeToMaturity, double logMoneyness) {
+        if (timeToMaturity <= 0) {
+            return 0;
+        }
+        return Math.sqrt(Math.max(getTotalVariance(timeToMaturity, logMoneyness), 0) / timeToMaturity);
+    }
+}
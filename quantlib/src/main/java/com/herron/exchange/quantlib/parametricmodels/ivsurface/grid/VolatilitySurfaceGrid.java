@@ -0,0 +1,209 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.grid;
+
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.ImpliedVolatilitySurface;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ParametricVolatilitySurface;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.grid.model.VolatilityGridConfig;
+
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+public class VolatilitySurfaceGrid implements ParametricVolatilitySurface {
+    private final String id;
+    private final DoubleBinaryOperator impliedVolatilityFunction;
+    private final double minTimeToMaturity;
+    private final double maxTimeToMaturity;
+    private final double minLogMoneyness;
+    private final double maxLogMoneyness;
+    private final int nrOfMaturityNodes;
+    private final int nrOfLogMoneynessNodes;
+    private final double inverseMaturityStep;
+    private final double inverseLogMoneynessStep;
+    private final double[] impliedVolatilities;
+    private final double maxInterpolationError;
+
+    private VolatilitySurfaceGrid(String id,
+                                  DoubleBinaryOperator impliedVolatilityFunction,
+                                  double minTimeToMaturity,
+                                  double maxTimeToMaturity,
+                                  double minLogMoneyness,
+                                  double maxLogMoneyness,
+                                  int nrOfMaturityNodes,
+                                  int nrOfLogMoneynessNodes,
+                                  VolatilitySurfaceGrid coarserGrid) {
+        this.id = id;
+        this.impliedVolatilityFunction = impliedVolatilityFunction;
+        this.minTimeToMaturity = minTimeToMaturity;
+        this.maxTimeToMaturity = maxTimeToMaturity;
+        this.minLogMoneyness = minLogMoneyness;
+        this.maxLogMoneyness = maxLogMoneyness;
+        this.nrOfMaturityNodes = nrOfMaturityNodes;
+        this.nrOfLogMoneynessNodes = nrOfLogMoneynessNodes;
+        this.inverseMaturityStep = (nrOfMaturityNodes - 1) / (maxTimeToMaturity - minTimeToMaturity);
+        this.inverseLogMoneynessStep = (nrOfLogMoneynessNodes - 1) / (maxLogMoneyness - minLogMoneyness);
+        this.impliedVolatilities = sample(coarserGrid);
+        this.maxInterpolationError = calculateMaxInterpolationError();
+    }
+
+    public static VolatilitySurfaceGrid create(ImpliedVolatilitySurface surface,
+                                               String id,
+                                               List<ImpliedVolPoint> points,
+                                               VolatilityGridConfig config) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Cannot derive grid bounds for surface %s without points", id));
+        }
+        double minTimeToMaturity = Double.POSITIVE_INFINITY;
+        double maxTimeToMaturity = Double.NEGATIVE_INFINITY;
+        double minLogMoneyness = Double.POSITIVE_INFINITY;
+        double maxLogMoneyness = Double.NEGATIVE_INFINITY;
+        for (var point : points) {
+            minTimeToMaturity = Math.min(minTimeToMaturity, point.timeToMaturity());
+            maxTimeToMaturity = Math.max(maxTimeToMaturity, point.timeToMaturity());
+            minLogMoneyness = Math.min(minLogMoneyness, point.logMoneyness());
+            maxLogMoneyness = Math.max(maxLogMoneyness, point.logMoneyness());
+        }
+        return create(id, surface::getImpliedVolatility, minTimeToMaturity, maxTimeToMaturity, minLogMoneyness, maxLogMoneyness, config);
+    }
+
+    public static VolatilitySurfaceGrid create(String id,
+                                               DoubleBinaryOperator impliedVolatilityFunction,
+                                               double minTimeToMaturity,
+                                               double maxTimeToMaturity,
+                                               double minLogMoneyness,
+                                               double maxLogMoneyness,
+                                               VolatilityGridConfig config) {
+        if (!(maxTimeToMaturity > minTimeToMaturity) || !(maxLogMoneyness > minLogMoneyness)) {
+            throw new IllegalArgumentException(String.format("Invalid grid bounds for surface %s: maturity [%s, %s], log moneyness [%s, %s]", id, minTimeToMaturity, maxTimeToMaturity, minLogMoneyness, maxLogMoneyness));
+        }
+
+        int nrOfMaturityNodes = config.nrOfMaturityNodes();
+        int nrOfLogMoneynessNodes = config.nrOfLogMoneynessNodes();
+        var grid = new VolatilitySurfaceGrid(id, impliedVolatilityFunction, minTimeToMaturity, maxTimeToMaturity, minLogMoneyness, maxLogMoneyness, nrOfMaturityNodes, nrOfLogMoneynessNodes, null);
+        for (int refinement = 0; refinement < config.maxNrOfRefinements() && !grid.isWithinTolerance(config.tolerance()); refinement++) {
+            // Halving the step keeps every existing node, those are copied and only the new midpoints are sampled.
+            // The bilinear error shrinks roughly by a factor of four.
+            nrOfMaturityNodes = 2 * nrOfMaturityNodes - 1;
+            nrOfLogMoneynessNodes = 2 * nrOfLogMoneynessNodes - 1;
+            grid = new VolatilitySurfaceGrid(id, impliedVolatilityFunction, minTimeToMaturity, maxTimeToMaturity, minLogMoneyness, maxLogMoneyness, nrOfMaturityNodes, nrOfLogMoneynessNodes, grid);
+        }
+        return grid;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public double getMaxInterpolationError() {
+        return maxInterpolationError;
+    }
+
+    public boolean isWithinTolerance(double tolerance) {
+        return maxInterpolationError <= tolerance;
+    }
+
+    public int getNrOfMaturityNodes() {
+        return nrOfMaturityNodes;
+    }
+
+    public int getNrOfLogMoneynessNodes() {
+        return nrOfLogMoneynessNodes;
+    }
+
+    public boolean isInsideGrid(double timeToMaturity, double logMoneyness) {
+        return timeToMaturity >= minTimeToMaturity && timeToMaturity <= maxTimeToMaturity
+                && logMoneyness >= minLogMoneyness && logMoneyness <= maxLogMoneyness;
+    }
+
+    @Override
+    public double getTotalVariance(double timeToMaturity, double logMoneyness) {
+        double impliedVolatility = getImpliedVolatility(timeToMaturity, logMoneyness);
+        return impliedVolatility * impliedVolatility * timeToMaturity;
+    }
+
+    @Override
+    public double getImpliedVolatility(double timeToMaturity, double logMoneyness) {
+        if (!isInsideGrid(timeToMaturity, logMoneyness)) {
+            return impliedVolatilityFunction.applyAsDouble(timeToMaturity, logMoneyness);
+        }
+        double maturityPosition = (timeToMaturity - minTimeToMaturity) * inverseMaturityStep;
+        int maturityIndex = Math.min((int) maturityPosition, nrOfMaturityNodes - 2);
+        double maturityWeight = maturityPosition - maturityIndex;
+        double logMoneynessPosition = (logMoneyness - minLogMoneyness) * inverseLogMoneynessStep;
+        int logMoneynessIndex = Math.min((int) logMoneynessPosition, nrOfLogMoneynessNodes - 2);
+        double logMoneynessWeight = logMoneynessPosition - logMoneynessIndex;
+        return interpolate(maturityIndex * nrOfLogMoneynessNodes, maturityWeight, logMoneynessIndex, logMoneynessWeight);
+    }
+
+    public void getImpliedVolatilities(double timeToMaturity, double[] logMoneyness, double[] result) {
+        if (timeToMaturity < minTimeToMaturity || timeToMaturity > maxTimeToMaturity) {
+            for (int i = 0; i < logMoneyness.length; i++) {
+                result[i] = impliedVolatilityFunction.applyAsDouble(timeToMaturity, logMoneyness[i]);
+            }
+            return;
+        }
+
+        double maturityPosition = (timeToMaturity - minTimeToMaturity) * inverseMaturityStep;
+        int maturityIndex = Math.min((int) maturityPosition, nrOfMaturityNodes - 2);
+        double maturityWeight = maturityPosition - maturityIndex;
+        int rowOffset = maturityIndex * nrOfLogMoneynessNodes;
+        for (int i = 0; i < logMoneyness.length; i++) {
+            double k = logMoneyness[i];
+            if (k < minLogMoneyness || k > maxLogMoneyness) {
+                result[i] = impliedVolatilityFunction.applyAsDouble(timeToMaturity, k);
+                continue;
+            }
+            double logMoneynessPosition = (k - minLogMoneyness) * inverseLogMoneynessStep;
+            int logMoneynessIndex = Math.min((int) logMoneynessPosition, nrOfLogMoneynessNodes - 2);
+            result[i] = interpolate(rowOffset, maturityWeight, logMoneynessIndex, logMoneynessPosition - logMoneynessIndex);
+        }
+    }
+
+    private double interpolate(int rowOffset, double maturityWeight, int logMoneynessIndex, double logMoneynessWeight) {
+        int lowerLeft = rowOffset + logMoneynessIndex;
+        int upperLeft = lowerLeft + nrOfLogMoneynessNodes;
+        double lower = impliedVolatilities[lowerLeft] + logMoneynessWeight * (impliedVolatilities[lowerLeft + 1] - impliedVolatilities[lowerLeft]);
+        double upper = impliedVolatilities[upperLeft] + logMoneynessWeight * (impliedVolatilities[upperLeft + 1] - impliedVolatilities[upperLeft]);
+        return lower + maturityWeight * (upper - lower);
+    }
+
+    // Even nodes of a refined grid coincide with the coarser grid's nodes
+    private double[] sample(VolatilitySurfaceGrid coarserGrid) {
+        double[] values = new double[nrOfMaturityNodes * nrOfLogMoneynessNodes];
+        IntStream.range(0, nrOfMaturityNodes).parallel().forEach(i -> {
+            double timeToMaturity = maturityNode(i);
+            int offset = i * nrOfLogMoneynessNodes;
+            boolean isCoarserRow = coarserGrid != null && i % 2 == 0;
+            int coarserOffset = isCoarserRow ? (i / 2) * coarserGrid.nrOfLogMoneynessNodes : 0;
+            for (int j = 0; j < nrOfLogMoneynessNodes; j++) {
+                values[offset + j] = isCoarserRow && j % 2 == 0
+                        ? coarserGrid.impliedVolatilities[coarserOffset + j / 2]
+                        : impliedVolatilityFunction.applyAsDouble(timeToMaturity, logMoneynessNode(j));
+            }
+        });
+        return values;
+    }
+
+    // Bilinear interpolation error peaks at cell centres, so those are compared against the exact surface
+    private double calculateMaxInterpolationError() {
+        return IntStream.range(0, nrOfMaturityNodes - 1).parallel().mapToDouble(i -> {
+            double timeToMaturity = 0.5 * (maturityNode(i) + maturityNode(i + 1));
+            int offset = i * nrOfLogMoneynessNodes;
+            double maxError = 0;
+            for (int j = 0; j < nrOfLogMoneynessNodes - 1; j++) {
+                double exact = impliedVolatilityFunction.applyAsDouble(timeToMaturity, 0.5 * (logMoneynessNode(j) + logMoneynessNode(j + 1)));
+                maxError = Math.max(maxError, Math.abs(interpolate(offset, 0.5, j, 0.5) - exact));
+            }
+            return maxError;
+        }).max().orElse(0);
+    }
+
+    private double maturityNode(int index) {
+        return index == nrOfMaturityNodes - 1 ? maxTimeToMaturity : minTimeToMaturity + index / inverseMaturityStep;
+    }
+
+    private double logMoneynessNode(int index) {
+        return index == nrOfLogMoneynessNodes - 1 ? maxLogMoneyness : minLogMoneyness + index / inverseLogMoneynessStep;
+    }
+}
@@ -0,0 +1,15 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.grid.model;
+
+public record VolatilityGridConfig(int nrOfMaturityNodes, int nrOfLogMoneynessNodes, double tolerance, int maxNrOfRefinements) {
+    private static final VolatilityGridConfig DEFAULT_CONFIG = new VolatilityGridConfig(33, 129, 0.0005, 3);
+
+    public VolatilityGridConfig {
+        if (nrOfMaturityNodes < 2 || nrOfLogMoneynessNodes < 2 || tolerance <= 0 || maxNrOfRefinements < 0) {
+            throw new IllegalArgumentException(String.format("Invalid volatility grid config: maturity nodes=%s, log moneyness nodes=%s, tolerance=%s, refinements=%s", nrOfMaturityNodes, nrOfLogMoneynessNodes, tolerance, maxNrOfRefinements));
+        }
+    }
+
+    public static VolatilityGridConfig defaultConfig() {
+        return DEFAULT_CONFIG;
+    }
+}
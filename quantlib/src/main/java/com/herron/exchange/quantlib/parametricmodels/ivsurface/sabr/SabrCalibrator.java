@@ -0,0 +1,141 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.ForwardPriceCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.math.optimization.LevenbergMarquardtOptimizer;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ImpliedVolatilityConstructor;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr.model.SabrParameters;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SabrCalibrator {
+    private static final int MIN_NR_OF_POINTS_PER_SLICE = 3;
+    private static final double INITIAL_RHO = -0.2;
+    private static final double INITIAL_NU = 0.5;
+
+    private final Map<String, SabrVolatilitySurface> idToPreviousSurface = new ConcurrentHashMap<>();
+    private final double beta;
+    private final LevenbergMarquardtOptimizer optimizer;
+
+    public SabrCalibrator(double beta, LevenbergMarquardtOptimizer optimizer) {
+        if (beta < 0 || beta > 1) {
+            throw new IllegalArgumentException(String.format("SABR beta has to be within [0, 1], got %s", beta));
+        }
+        this.beta = beta;
+        this.optimizer = optimizer;
+    }
+
+    public static SabrCalibrator create(double beta) {
+        return new SabrCalibrator(beta, LevenbergMarquardtOptimizer.defaultOptimizer());
+    }
+
+    public SabrVolatilitySurface calibrate(Timestamp valuationTime,
+                                           Instrument underlying,
+                                           List<OptionInstrument> options,
+                                           Map<Instrument, Price> instrumentToPrice,
+                                           YieldCurve yieldCurve,
+                                           ForwardPriceCurve forwardPriceCurve) {
+        double spotPrice = instrumentToPrice.get(underlying).getRealValue();
+        List<ImpliedVolPoint> points = ImpliedVolatilityConstructor.calculateImpliedVolPoints(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, ImpliedVolatilitySolverConfig.defaultConfig(), null);
+        return calibrate(underlying.instrumentId(), spotPrice, points, forwardPriceCurve);
+    }
+
+    // Without a forward curve the underlying is assumed to be a future, i.e. the forward is the spot price
+    public SabrVolatilitySurface calibrate(String id,
+                                           double spotPrice,
+                                           List<ImpliedVolPoint> points,
+                                           ForwardPriceCurve forwardPriceCurve) {
+        List<SliceData> slices = groupByMaturity(spotPrice, points, forwardPriceCurve);
+        if (slices.isEmpty()) {
+            throw new IllegalArgumentException(String.format("No valid implied volatility points to calibrate surface %s", id));
+        }
+
+        var previousSurface = idToPreviousSurface.get(id);
+        List<SabrParameters> calibratedSlices = slices.parallelStream()
+                .filter(slice -> slice.strikePrices().length >= MIN_NR_OF_POINTS_PER_SLICE)
+                .map(slice -> calibrateSlice(slice, previousSurface))
+                .toList();
+        if (calibratedSlices.isEmpty()) {
+            throw new IllegalArgumentException(String.format("No maturity with at least %s points to calibrate surface %s", MIN_NR_OF_POINTS_PER_SLICE, id));
+        }
+
+        var surface = new SabrVolatilitySurface(id, spotPrice, calibratedSlices);
+        idToPreviousSurface.put(id, surface);
+        return surface;
+    }
+
+    public SabrVolatilitySurface getPreviousSurface(String id) {
+        return idToPreviousSurface.get(id);
+    }
+
+    public void clear() {
+        idToPreviousSurface.clear();
+    }
+
+    private SabrParameters calibrateSlice(SliceData slice, SabrVolatilitySurface previousSurface) {
+        double forwardPrice = slice.forwardPrice();
+        var previous = previousSurface != null ? previousSurface.getNearestSlice(slice.timeToMaturity()) : null;
+        double[] initialParameters = previous != null
+                ? new double[]{previous.alpha(), previous.rho(), previous.nu()}
+                : new double[]{calculateInitialAlpha(slice), INITIAL_RHO, INITIAL_NU};
+
+        var problem = new SabrSliceProblem(slice.strikePrices(), slice.impliedVolatilities(), forwardPrice, slice.timeToMaturity(), beta);
+        double[] fitted = optimizer.optimize(problem, initialParameters).parameters();
+        return new SabrParameters(slice.timeToMaturity(), forwardPrice, fitted[0], beta, fitted[1], fitted[2]);
+    }
+
+    // Leading order ATM approximation: sigma_atm ~ alpha / F^(1 - beta)
+    private double calculateInitialAlpha(SliceData slice) {
+        double[] strikePrices = slice.strikePrices();
+        int atmIndex = 0;
+        for (int i = 1; i < strikePrices.length; i++) {
+            if (Math.abs(strikePrices[i] - slice.forwardPrice()) < Math.abs(strikePrices[atmIndex] - slice.forwardPrice())) {
+                atmIndex = i;
+            }
+        }
+        return slice.impliedVolatilities()[atmIndex] * Math.pow(slice.forwardPrice(), 1 - beta);
+    }
+
+    private static List<SliceData> groupByMaturity(double spotPrice, List<ImpliedVolPoint> points, ForwardPriceCurve forwardPriceCurve) {
+        Map<Double, TreeMap<Double, Double>> maturityToSmile = new TreeMap<>();
+        for (var point : points) {
+            double timeToMaturity = point.timeToMaturity();
+            double impliedVolatility = point.impliedVolatility();
+            if (timeToMaturity <= 0 || !(impliedVolatility > 0)) {
+                continue;
+            }
+            maturityToSmile.computeIfAbsent(timeToMaturity, t -> new TreeMap<>())
+                    .put(spotPrice * Math.exp(point.logMoneyness()), impliedVolatility);
+        }
+
+        List<SliceData> slices = new ArrayList<>(maturityToSmile.size());
+        for (var entry : maturityToSmile.entrySet()) {
+            double timeToMaturity = entry.getKey();
+            var smile = entry.getValue();
+            double[] strikePrices = new double[smile.size()];
+            double[] impliedVolatilities = new double[smile.size()];
+            int index = 0;
+            for (var point : smile.entrySet()) {
+                strikePrices[index] = point.getKey();
+                impliedVolatilities[index] = point.getValue();
+                index++;
+            }
+            double forwardPrice = forwardPriceCurve != null ? forwardPriceCurve.getForwardPrice(timeToMaturity) : spotPrice;
+            slices.add(new SliceData(timeToMaturity, forwardPrice, strikePrices, impliedVolatilities));
+        }
+        return slices;
+    }
+
+    private record SliceData(double timeToMaturity, double forwardPrice, double[] strikePrices, double[] impliedVolatilities) {
+    }
+}
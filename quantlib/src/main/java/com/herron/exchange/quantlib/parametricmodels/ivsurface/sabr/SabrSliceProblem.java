@@ -0,0 +1,65 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr;
+
+import com.herron.exchange.quantlib.math.optimization.LeastSquaresProblem;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr.model.SabrParameters;
+
+class SabrSliceProblem implements LeastSquaresProblem {
+    private static final int NR_OF_PARAMETERS = 3;
+    private static final double ALPHA_MIN = 1e-6;
+    private static final double RHO_BOUND = 0.999;
+    private static final double NU_MIN = 1e-4;
+    private static final double NU_MAX = 5.0;
+    private static final double FINITE_DIFFERENCE_STEP = 1e-6;
+
+    private final double[] strikePrices;
+    private final double[] impliedVolatilities;
+    private final double forwardPrice;
+    private final double timeToMaturity;
+    private final double beta;
+
+    SabrSliceProblem(double[] strikePrices, double[] impliedVolatilities, double forwardPrice, double timeToMaturity, double beta) {
+        this.strikePrices = strikePrices;
+        this.impliedVolatilities = impliedVolatilities;
+        this.forwardPrice = forwardPrice;
+        this.timeToMaturity = timeToMaturity;
+        this.beta = beta;
+    }
+
+    @Override
+    public int nrOfParameters() {
+        return NR_OF_PARAMETERS;
+    }
+
+    @Override
+    public int nrOfResiduals() {
+        return strikePrices.length;
+    }
+
+    @Override
+    public void evaluate(double[] parameters, double[] residuals, double[] jacobian) {
+        double alpha = parameters[0];
+        double rho = parameters[1];
+        double nu = parameters[2];
+        double alphaStep = FINITE_DIFFERENCE_STEP * Math.max(alpha, 1);
+        double rhoStep = Math.min(FINITE_DIFFERENCE_STEP, 0.5 * (1 - Math.abs(rho)));
+        for (int i = 0; i < strikePrices.length; i++) {
+            double strikePrice = strikePrices[i];
+            residuals[i] = volatility(strikePrice, alpha, rho, nu) - impliedVolatilities[i];
+            int row = i * NR_OF_PARAMETERS;
+            jacobian[row] = (volatility(strikePrice, alpha + alphaStep, rho, nu) - volatility(strikePrice, alpha - alphaStep, rho, nu)) / (2 * alphaStep);
+            jacobian[row + 1] = (volatility(strikePrice, alpha, rho + rhoStep, nu) - volatility(strikePrice, alpha, rho - rhoStep, nu)) / (2 * rhoStep);
+            jacobian[row + 2] = (volatility(strikePrice, alpha, rho, nu + FINITE_DIFFERENCE_STEP) - volatility(strikePrice, alpha, rho, nu - FINITE_DIFFERENCE_STEP)) / (2 * FINITE_DIFFERENCE_STEP);
+        }
+    }
+
+    @Override
+    public void project(double[] parameters) {
+        parameters[0] = Math.max(parameters[0], ALPHA_MIN);
+        parameters[1] = Math.max(-RHO_BOUND, Math.min(parameters[1], RHO_BOUND));
+        parameters[2] = Math.max(NU_MIN, Math.min(parameters[2], NU_MAX));
+    }
+
+    private double volatility(double strikePrice, double alpha, double rho, double nu) {
+        return SabrParameters.impliedVolatility(strikePrice, forwardPrice, timeToMaturity, alpha, beta, rho, nu);
+    }
+}
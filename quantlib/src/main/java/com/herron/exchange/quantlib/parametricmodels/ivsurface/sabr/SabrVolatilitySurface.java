@@ -0,0 +1,114 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr;
+
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ParametricVolatilitySurface;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr.model.SabrParameters;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SabrVolatilitySurface implements ParametricVolatilitySurface {
+    private static final int NR_OF_PARAMETERS = 5;
+    private final String id;
+    private final double spotPrice;
+    private final List<SabrParameters> slices;
+    private final double[] maturities;
+    private final double[] parameters;
+
+    SabrVolatilitySurface(String id, double spotPrice, List<SabrParameters> slices) {
+        this.id = id;
+        this.spotPrice = spotPrice;
+        this.slices = List.copyOf(slices);
+        this.maturities = new double[slices.size()];
+        this.parameters = new double[slices.size() * NR_OF_PARAMETERS];
+        for (int i = 0; i < slices.size(); i++) {
+            var slice = slices.get(i);
+            maturities[i] = slice.timeToMaturity();
+            int offset = i * NR_OF_PARAMETERS;
+            parameters[offset] = slice.forwardPrice();
+            parameters[offset + 1] = slice.alpha();
+            parameters[offset + 2] = slice.beta();
+            parameters[offset + 3] = slice.rho();
+            parameters[offset + 4] = slice.nu();
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public double getSpotPrice() {
+        return spotPrice;
+    }
+
+    public List<SabrParameters> getSlices() {
+        return slices;
+    }
+
+    public SabrParameters getNearestSlice(double timeToMaturity) {
+        if (maturities.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(maturities, timeToMaturity);
+        if (index >= 0) {
+            return slices.get(index);
+        }
+        int upper = -index - 1;
+        if (upper == 0) {
+            return slices.get(0);
+        }
+        if (upper == maturities.length) {
+            return slices.get(maturities.length - 1);
+        }
+        int lower = upper - 1;
+        return timeToMaturity - maturities[lower] <= maturities[upper] - timeToMaturity ? slices.get(lower) : slices.get(upper);
+    }
+
+    public double getVolatility(double timeToMaturity, double strikePrice) {
+        if (timeToMaturity <= 0) {
+            return 0;
+        }
+        return Math.sqrt(Math.max(getStrikeTotalVariance(timeToMaturity, strikePrice), 0) / timeToMaturity);
+    }
+
+    @Override
+    public double getTotalVariance(double timeToMaturity, double logMoneyness) {
+        return getStrikeTotalVariance(timeToMaturity, spotPrice * Math.exp(logMoneyness));
+    }
+
+    private double getStrikeTotalVariance(double timeToMaturity, double strikePrice) {
+        int nrOfSlices = maturities.length;
+        if (nrOfSlices == 0) {
+            return 0;
+        }
+        if (timeToMaturity <= maturities[0]) {
+            return sliceTotalVariance(0, strikePrice) * timeToMaturity / maturities[0];
+        }
+        if (timeToMaturity >= maturities[nrOfSlices - 1]) {
+            return sliceTotalVariance(nrOfSlices - 1, strikePrice) * timeToMaturity / maturities[nrOfSlices - 1];
+        }
+
+        int upper = Arrays.binarySearch(maturities, timeToMaturity);
+        if (upper >= 0) {
+            return sliceTotalVariance(upper, strikePrice);
+        }
+        upper = -upper - 1;
+        int lower = upper - 1;
+        double weight = (timeToMaturity - maturities[lower]) / (maturities[upper] - maturities[lower]);
+        return (1 - weight) * sliceTotalVariance(lower, strikePrice) + weight * sliceTotalVariance(upper, strikePrice);
+    }
+
+    private double sliceTotalVariance(int slice, double strikePrice) {
+        int offset = slice * NR_OF_PARAMETERS;
+        double timeToMaturity = maturities[slice];
+        double volatility = SabrParameters.impliedVolatility(strikePrice,
+                parameters[offset],
+                timeToMaturity,
+                parameters[offset + 1],
+                parameters[offset + 2],
+                parameters[offset + 3],
+                parameters[offset + 4]
+        );
+        return volatility * volatility * timeToMaturity;
+    }
+}
@@ -0,0 +1,43 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr.model;
+
+public record SabrParameters(double timeToMaturity, double forwardPrice, double alpha, double beta, double rho, double nu) {
+    private static final double SMALL_Z = 1e-7;
+
+    public double impliedVolatility(double strikePrice) {
+        return impliedVolatility(strikePrice, forwardPrice, timeToMaturity, alpha, beta, rho, nu);
+    }
+
+    public SabrParameters withForwardPrice(double forwardPrice) {
+        return new SabrParameters(timeToMaturity, forwardPrice, alpha, beta, rho, nu);
+    }
+
+    // Hagan et al. (2002) lognormal expansion of the SABR implied volatility
+    public static double impliedVolatility(double strikePrice,
+                                           double forwardPrice,
+                                           double timeToMaturity,
+                                           double alpha,
+                                           double beta,
+                                           double rho,
+                                           double nu) {
+        double oneMinusBeta = 1 - beta;
+        double logMoneyness = Math.log(forwardPrice / strikePrice);
+        double forwardStrikeBeta = Math.pow(forwardPrice * strikePrice, 0.5 * oneMinusBeta);
+        double logMoneynessSquared = logMoneyness * logMoneyness;
+        double oneMinusBetaSquared = oneMinusBeta * oneMinusBeta;
+        double denominator = forwardStrikeBeta * (1 + oneMinusBetaSquared / 24 * logMoneynessSquared + oneMinusBetaSquared * oneMinusBetaSquared / 1920 * logMoneynessSquared * logMoneynessSquared);
+
+        double z = nu / alpha * forwardStrikeBeta * logMoneyness;
+        double zOverX;
+        if (Math.abs(z) < SMALL_Z) {
+            zOverX = 1 - 0.5 * rho * z;
+        } else {
+            double x = Math.log((Math.sqrt(1 - 2 * rho * z + z * z) + z - rho) / (1 - rho));
+            zOverX = z / x;
+        }
+
+        double correction = 1 + (oneMinusBetaSquared / 24 * alpha * alpha / (forwardStrikeBeta * forwardStrikeBeta)
+                + 0.25 * rho * beta * nu * alpha / forwardStrikeBeta
+                + (2 - 3 * rho * rho) / 24 * nu * nu) * timeToMaturity;
+        return alpha / denominator * zOverX * correction;
+    }
+}
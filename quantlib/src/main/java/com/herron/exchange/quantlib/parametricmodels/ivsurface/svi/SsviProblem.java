@@ -0,0 +1,55 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi;
+
+import com.herron.exchange.quantlib.math.optimization.LeastSquaresProblem;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SsviParameters;
+
+class SsviProblem implements LeastSquaresProblem {
+    private static final double RHO_BOUND = 0.999;
+    private static final double ETA_MIN = 1e-4;
+
+    private final double[] logMoneyness;
+    private final double[] atmTotalVariances;
+    private final double[] totalVariances;
+    private final double gamma;
+
+    SsviProblem(double[] logMoneyness, double[] atmTotalVariances, double[] totalVariances, double gamma) {
+        this.logMoneyness = logMoneyness;
+        this.atmTotalVariances = atmTotalVariances;
+        this.totalVariances = totalVariances;
+        this.gamma = gamma;
+    }
+
+    @Override
+    public int nrOfParameters() {
+        return 2;
+    }
+
+    @Override
+    public int nrOfResiduals() {
+        return logMoneyness.length;
+    }
+
+    @Override
+    public void evaluate(double[] parameters, double[] residuals, double[] jacobian) {
+        double rho = parameters[0];
+        double eta = parameters[1];
+        for (int i = 0; i < logMoneyness.length; i++) {
+            double theta = atmTotalVariances[i];
+            double z = SsviParameters.curvature(theta, eta, gamma) * logMoneyness[i];
+            double shifted = z + rho;
+            double root = Math.sqrt(shifted * shifted + 1 - rho * rho);
+            residuals[i] = 0.5 * theta * (1 + rho * z + root) - totalVariances[i];
+            jacobian[2 * i] = 0.5 * theta * (z + z / root);
+            jacobian[2 * i + 1] = 0.5 * theta * (rho + shifted / root) * z / eta;
+        }
+    }
+
+    @Override
+    public void project(double[] parameters) {
+        double rho = Math.max(-RHO_BOUND, Math.min(parameters[0], RHO_BOUND));
+        // eta * (1 + |rho|) <= 2 with gamma in (0, 0.5] is sufficient for a butterfly free power-law SSVI
+        double eta = Math.max(ETA_MIN, Math.min(parameters[1], 2 / (1 + Math.abs(rho))));
+        parameters[0] = rho;
+        parameters[1] = eta;
+    }
+}
@@ -0,0 +1,56 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi;
+
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ParametricVolatilitySurface;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SsviParameters;
+
+import java.util.Arrays;
+
+public class SsviVolatilitySurface implements ParametricVolatilitySurface {
+    private final String id;
+    private final SsviParameters parameters;
+    private final double[] maturities;
+    private final double[] atmTotalVariances;
+
+    SsviVolatilitySurface(String id, SsviParameters parameters, double[] maturities, double[] atmTotalVariances) {
+        this.id = id;
+        this.parameters = parameters;
+        this.maturities = maturities.clone();
+        this.atmTotalVariances = atmTotalVariances.clone();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public SsviParameters getParameters() {
+        return parameters;
+    }
+
+    public double getAtmTotalVariance(double timeToMaturity) {
+        int nrOfSlices = maturities.length;
+        if (timeToMaturity <= maturities[0]) {
+            return atmTotalVariances[0] * timeToMaturity / maturities[0];
+        }
+        if (timeToMaturity >= maturities[nrOfSlices - 1]) {
+            return atmTotalVariances[nrOfSlices - 1] * timeToMaturity / maturities[nrOfSlices - 1];
+        }
+        int upper = Arrays.binarySearch(maturities, timeToMaturity);
+        if (upper >= 0) {
+            return atmTotalVariances[upper];
+        }
+        upper = -upper - 1;
+        int lower = upper - 1;
+        double weight = (timeToMaturity - maturities[lower]) / (maturities[upper] - maturities[lower]);
+        return (1 - weight) * atmTotalVariances[lower] + weight * atmTotalVariances[upper];
+    }
+
+    @Override
+    public double getTotalVariance(double timeToMaturity, double logMoneyness) {
+        double atmTotalVariance = getAtmTotalVariance(timeToMaturity);
+        if (atmTotalVariance <= 0) {
+            return 0;
+        }
+        return parameters.totalVariance(logMoneyness, atmTotalVariance);
+    }
+}
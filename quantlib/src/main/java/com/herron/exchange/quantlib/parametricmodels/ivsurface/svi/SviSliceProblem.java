@@ -0,0 +1,101 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi;
+
+import com.herron.exchange.quantlib.math.optimization.LeastSquaresProblem;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SviParameters;
+
+class SviSliceProblem implements LeastSquaresProblem {
+    private static final int NR_OF_PARAMETERS = 5;
+    private static final double RHO_BOUND = 0.999;
+    private static final double SIGMA_MIN = 1e-4;
+    private static final double SIGMA_MAX = 10.0;
+    private static final double BUTTERFLY_PENALTY_WEIGHT = 10.0;
+    private static final double FINITE_DIFFERENCE_STEP = 1e-7;
+
+    private final double[] logMoneyness;
+    private final double[] totalVariances;
+    private final double[] penaltyGrid;
+    private final double minLogMoneyness;
+    private final double maxLogMoneyness;
+
+    SviSliceProblem(double[] logMoneyness, double[] totalVariances, double[] penaltyGrid) {
+        this.logMoneyness = logMoneyness;
+        this.totalVariances = totalVariances;
+        this.penaltyGrid = penaltyGrid;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double k : logMoneyness) {
+            min = Math.min(min, k);
+            max = Math.max(max, k);
+        }
+        this.minLogMoneyness = min;
+        this.maxLogMoneyness = max;
+    }
+
+    @Override
+    public int nrOfParameters() {
+        return NR_OF_PARAMETERS;
+    }
+
+    @Override
+    public int nrOfResiduals() {
+        return logMoneyness.length + penaltyGrid.length;
+    }
+
+    @Override
+    public void evaluate(double[] parameters, double[] residuals, double[] jacobian) {
+        double a = parameters[0];
+        double b = parameters[1];
+        double rho = parameters[2];
+        double m = parameters[3];
+        double sigma = parameters[4];
+        int nrOfPoints = logMoneyness.length;
+        for (int i = 0; i < nrOfPoints; i++) {
+            double shifted = logMoneyness[i] - m;
+            double root = Math.sqrt(shifted * shifted + sigma * sigma);
+            residuals[i] = a + b * (rho * shifted + root) - totalVariances[i];
+            int row = i * NR_OF_PARAMETERS;
+            jacobian[row] = 1;
+            jacobian[row + 1] = rho * shifted + root;
+            jacobian[row + 2] = b * shifted;
+            jacobian[row + 3] = -b * (rho + shifted / root);
+            jacobian[row + 4] = b * sigma / root;
+        }
+
+        for (int j = 0; j < penaltyGrid.length; j++) {
+            int index = nrOfPoints + j;
+            int row = index * NR_OF_PARAMETERS;
+            double k = penaltyGrid[j];
+            double density = SviParameters.butterflyDensity(k, a, b, rho, m, sigma);
+            if (density >= 0) {
+                residuals[index] = 0;
+                for (int p = 0; p < NR_OF_PARAMETERS; p++) {
+                    jacobian[row + p] = 0;
+                }
+                continue;
+            }
+            residuals[index] = -BUTTERFLY_PENALTY_WEIGHT * density;
+            for (int p = 0; p < NR_OF_PARAMETERS; p++) {
+                double original = parameters[p];
+                parameters[p] = original + FINITE_DIFFERENCE_STEP;
+                double bumped = SviParameters.butterflyDensity(k, parameters[0], parameters[1], parameters[2], parameters[3], parameters[4]);
+                parameters[p] = original;
+                jacobian[row + p] = -BUTTERFLY_PENALTY_WEIGHT * (bumped - density) / FINITE_DIFFERENCE_STEP;
+            }
+        }
+    }
+
+    @Override
+    public void project(double[] parameters) {
+        double rho = Math.max(-RHO_BOUND, Math.min(parameters[2], RHO_BOUND));
+        // Roger Lee moment bound on the wings of the total variance smile
+        double b = Math.max(0, Math.min(parameters[1], 4 / (1 + Math.abs(rho))));
+        double sigma = Math.max(SIGMA_MIN, Math.min(parameters[4], SIGMA_MAX));
+        double m = Math.max(minLogMoneyness - 1, Math.min(parameters[3], maxLogMoneyness + 1));
+        double minimumA = -b * sigma * Math.sqrt(1 - rho * rho);
+        parameters[0] = Math.max(parameters[0], minimumA);
+        parameters[1] = b;
+        parameters[2] = rho;
+        parameters[3] = m;
+        parameters[4] = sigma;
+    }
+}
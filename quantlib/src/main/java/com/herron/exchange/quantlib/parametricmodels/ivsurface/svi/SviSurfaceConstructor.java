@@ -0,0 +1,256 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.ForwardPriceCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.math.optimization.LevenbergMarquardtOptimizer;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ImpliedVolatilityConstructor;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SsviParameters;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SviParameters;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.SVI_SLICE_FITS_NOT_CONVERGED;
+
+public class SviSurfaceConstructor {
+    private static final int MIN_NR_OF_POINTS_PER_SLICE = 5;
+    private static final int NR_OF_PENALTY_POINTS = 21;
+    private static final int NR_OF_CALENDAR_CHECK_POINTS = 41;
+    private static final double PENALTY_GRID_EXTENSION = 0.5;
+    private static final double CALENDAR_GRID_EXTENSION = 1.0;
+    private static final double INITIAL_B = 0.1;
+    private static final double INITIAL_RHO = -0.3;
+    private static final double INITIAL_SIGMA = 0.1;
+    private static final double FLAT_SIGMA = 0.1;
+    private static final double SSVI_GAMMA = 0.5;
+    private static final double INITIAL_ETA = 0.5;
+    private static final double MIN_ATM_TOTAL_VARIANCE = 1e-8;
+
+    public static SviVolatilitySurface construct(Timestamp valuationTime,
+                                                 Instrument underlying,
+                                                 List<OptionInstrument> options,
+                                                 Map<Instrument, Price> instrumentToPrice,
+                                                 YieldCurve yieldCurve,
+                                                 ForwardPriceCurve forwardPriceCurve) {
+        List<ImpliedVolPoint> points = ImpliedVolatilityConstructor.calculateImpliedVolPoints(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, ImpliedVolatilitySolverConfig.defaultConfig(), null);
+        return construct(underlying.instrumentId(), points);
+    }
+
+    public static SsviVolatilitySurface constructSsvi(Timestamp valuationTime,
+                                                      Instrument underlying,
+                                                      List<OptionInstrument> options,
+                                                      Map<Instrument, Price> instrumentToPrice,
+                                                      YieldCurve yieldCurve,
+                                                      ForwardPriceCurve forwardPriceCurve) {
+        List<ImpliedVolPoint> points = ImpliedVolatilityConstructor.calculateImpliedVolPoints(valuationTime, underlying, options, instrumentToPrice, yieldCurve, forwardPriceCurve, ImpliedVolatilitySolverConfig.defaultConfig(), null);
+        return constructSsvi(underlying.instrumentId(), points);
+    }
+
+    public static SviVolatilitySurface construct(String id, List<ImpliedVolPoint> points) {
+        return construct(id, points, LevenbergMarquardtOptimizer.defaultOptimizer());
+    }
+
+    static SviVolatilitySurface construct(String id, List<ImpliedVolPoint> points, LevenbergMarquardtOptimizer optimizer) {
+        List<SliceData> slices = groupByMaturity(points);
+        if (slices.isEmpty()) {
+            throw new IllegalArgumentException(String.format("No valid implied volatility points to fit surface %s", id));
+        }
+
+        var nrOfNotConvergedSlices = new AtomicInteger();
+        List<SviParameters> fittedSlices = slices.parallelStream()
+                .map(slice -> fitSlice(slice, optimizer, nrOfNotConvergedSlices))
+                .toList();
+        // Recorded on the calling thread, the slices are fitted on pool threads that do not share its metric scope
+        QuantLibMetrics.increment(SVI_SLICE_FITS_NOT_CONVERGED, nrOfNotConvergedSlices.get());
+        return new SviVolatilitySurface(id, removeCalendarArbitrage(fittedSlices, slices));
+    }
+
+    public static SsviVolatilitySurface constructSsvi(String id, List<ImpliedVolPoint> points) {
+        return constructSsvi(id, points, LevenbergMarquardtOptimizer.defaultOptimizer());
+    }
+
+    static SsviVolatilitySurface constructSsvi(String id, List<ImpliedVolPoint> points, LevenbergMarquardtOptimizer optimizer) {
+        List<SliceData> slices = groupByMaturity(points);
+        if (slices.isEmpty()) {
+            throw new IllegalArgumentException(String.format("No valid implied volatility points to fit surface %s", id));
+        }
+
+        int nrOfSlices = slices.size();
+        double[] maturities = new double[nrOfSlices];
+        double[] atmTotalVariances = new double[nrOfSlices];
+        int nrOfPoints = 0;
+        double previousAtmTotalVariance = MIN_ATM_TOTAL_VARIANCE;
+        for (int i = 0; i < nrOfSlices; i++) {
+            var slice = slices.get(i);
+            maturities[i] = slice.timeToMaturity();
+            // ATM total variance has to be non-decreasing in maturity for the surface to be free of calendar arbitrage
+            atmTotalVariances[i] = Math.max(interpolateAtmTotalVariance(slice), previousAtmTotalVariance);
+            previousAtmTotalVariance = atmTotalVariances[i];
+            nrOfPoints += slice.logMoneyness().length;
+        }
+
+        double[] logMoneyness = new double[nrOfPoints];
+        double[] pointAtmTotalVariances = new double[nrOfPoints];
+        double[] totalVariances = new double[nrOfPoints];
+        int index = 0;
+        for (int i = 0; i < nrOfSlices; i++) {
+            var slice = slices.get(i);
+            for (int j = 0; j < slice.logMoneyness().length; j++) {
+                logMoneyness[index] = slice.logMoneyness()[j];
+                pointAtmTotalVariances[index] = atmTotalVariances[i];
+                totalVariances[index] = slice.totalVariances()[j];
+                index++;
+            }
+        }
+
+        var problem = new SsviProblem(logMoneyness, pointAtmTotalVariances, totalVariances, SSVI_GAMMA);
+        var result = optimizer.optimize(problem, new double[]{INITIAL_RHO, INITIAL_ETA});
+        if (!result.isConverged()) {
+            throw new IllegalArgumentException(String.format("SSVI fit of surface %s did not converge: %s", id, result.status()));
+        }
+        var parameters = new SsviParameters(result.parameters()[0], result.parameters()[1], SSVI_GAMMA);
+        return new SsviVolatilitySurface(id, parameters, maturities, atmTotalVariances);
+    }
+
+    private static SviParameters fitSlice(SliceData slice, LevenbergMarquardtOptimizer optimizer, AtomicInteger nrOfNotConvergedSlices) {
+        double[] logMoneyness = slice.logMoneyness();
+        double[] totalVariances = slice.totalVariances();
+        int nrOfPoints = logMoneyness.length;
+        if (nrOfPoints < MIN_NR_OF_POINTS_PER_SLICE) {
+            return createFlatSlice(slice);
+        }
+
+        double minLogMoneyness = logMoneyness[0];
+        double maxLogMoneyness = logMoneyness[nrOfPoints - 1];
+        int minIndex = 0;
+        for (int i = 1; i < nrOfPoints; i++) {
+            if (totalVariances[i] < totalVariances[minIndex]) {
+                minIndex = i;
+            }
+        }
+
+        double[] penaltyGrid = createGrid(minLogMoneyness - PENALTY_GRID_EXTENSION, maxLogMoneyness + PENALTY_GRID_EXTENSION, NR_OF_PENALTY_POINTS);
+        double[] initialParameters = {
+                totalVariances[minIndex] - INITIAL_B * INITIAL_SIGMA * Math.sqrt(1 - INITIAL_RHO * INITIAL_RHO),
+                INITIAL_B,
+                INITIAL_RHO,
+                logMoneyness[minIndex],
+                INITIAL_SIGMA
+        };
+        var problem = new SviSliceProblem(logMoneyness, totalVariances, penaltyGrid);
+        var result = optimizer.optimize(problem, initialParameters);
+        if (!result.isConverged()) {
+            // A stalled or truncated fit can be far from the quotes, the flat smile at least preserves the slice level
+            nrOfNotConvergedSlices.incrementAndGet();
+            return createFlatSlice(slice);
+        }
+        double[] fitted = result.parameters();
+        return new SviParameters(slice.timeToMaturity(), fitted[0], fitted[1], fitted[2], fitted[3], fitted[4]);
+    }
+
+    private static SviParameters createFlatSlice(SliceData slice) {
+        double meanTotalVariance = 0;
+        for (double totalVariance : slice.totalVariances()) {
+            meanTotalVariance += totalVariance;
+        }
+        meanTotalVariance /= slice.totalVariances().length;
+        return new SviParameters(slice.timeToMaturity(), meanTotalVariance, 0, 0, 0, FLAT_SIGMA);
+    }
+
+    private static List<SviParameters> removeCalendarArbitrage(List<SviParameters> fittedSlices, List<SliceData> slices) {
+        double minLogMoneyness = Double.POSITIVE_INFINITY;
+        double maxLogMoneyness = Double.NEGATIVE_INFINITY;
+        for (var slice : slices) {
+            minLogMoneyness = Math.min(minLogMoneyness, slice.logMoneyness()[0]);
+            maxLogMoneyness = Math.max(maxLogMoneyness, slice.logMoneyness()[slice.logMoneyness().length - 1]);
+        }
+        double[] checkGrid = createGrid(minLogMoneyness - CALENDAR_GRID_EXTENSION, maxLogMoneyness + CALENDAR_GRID_EXTENSION, NR_OF_CALENDAR_CHECK_POINTS);
+
+        List<SviParameters> result = new ArrayList<>(fittedSlices.size());
+        SviParameters previous = null;
+        for (var slice : fittedSlices) {
+            var adjusted = slice;
+            if (previous != null) {
+                double maxShortfall = 0;
+                for (double k : checkGrid) {
+                    maxShortfall = Math.max(maxShortfall, previous.totalVariance(k) - slice.totalVariance(k));
+                }
+                if (maxShortfall > 0) {
+                    adjusted = slice.withA(slice.a() + maxShortfall);
+                }
+            }
+            result.add(adjusted);
+            previous = adjusted;
+        }
+        return result;
+    }
+
+    private static double interpolateAtmTotalVariance(SliceData slice) {
+        double[] logMoneyness = slice.logMoneyness();
+        double[] totalVariances = slice.totalVariances();
+        int nrOfPoints = logMoneyness.length;
+        if (logMoneyness[0] >= 0) {
+            return totalVariances[0];
+        }
+        if (logMoneyness[nrOfPoints - 1] <= 0) {
+            return totalVariances[nrOfPoints - 1];
+        }
+        int upper = 1;
+        while (logMoneyness[upper] < 0) {
+            upper++;
+        }
+        int lower = upper - 1;
+        double weight = -logMoneyness[lower] / (logMoneyness[upper] - logMoneyness[lower]);
+        return (1 - weight) * totalVariances[lower] + weight * totalVariances[upper];
+    }
+
+    private static List<SliceData> groupByMaturity(List<ImpliedVolPoint> points) {
+        Map<Double, TreeMap<Double, Double>> maturityToSmile = new TreeMap<>();
+        for (var point : points) {
+            double timeToMaturity = point.timeToMaturity();
+            double impliedVolatility = point.impliedVolatility();
+            if (timeToMaturity <= 0 || !(impliedVolatility > 0)) {
+                continue;
+            }
+            maturityToSmile.computeIfAbsent(timeToMaturity, t -> new TreeMap<>())
+                    .put(point.logMoneyness(), impliedVolatility * impliedVolatility * timeToMaturity);
+        }
+
+        List<SliceData> slices = new ArrayList<>(maturityToSmile.size());
+        for (var entry : maturityToSmile.entrySet()) {
+            var smile = entry.getValue();
+            double[] logMoneyness = new double[smile.size()];
+            double[] totalVariances = new double[smile.size()];
+            int index = 0;
+            for (var point : smile.entrySet()) {
+                logMoneyness[index] = point.getKey();
+                totalVariances[index] = point.getValue();
+                index++;
+            }
+            slices.add(new SliceData(entry.getKey(), logMoneyness, totalVariances));
+        }
+        return slices;
+    }
+
+    private static double[] createGrid(double from, double to, int nrOfPoints) {
+        double[] grid = new double[nrOfPoints];
+        double step = (to - from) / (nrOfPoints - 1);
+        for (int i = 0; i < nrOfPoints; i++) {
+            grid[i] = from + i * step;
+        }
+        return grid;
+    }
+
+    private record SliceData(double timeToMaturity, double[] logMoneyness, double[] totalVariances) {
+    }
+}
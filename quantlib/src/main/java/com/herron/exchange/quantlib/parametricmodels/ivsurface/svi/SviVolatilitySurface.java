@@ -0,0 +1,75 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi;
+
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ParametricVolatilitySurface;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SviParameters;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SviVolatilitySurface implements ParametricVolatilitySurface {
+    private static final int NR_OF_PARAMETERS = 5;
+    private final String id;
+    private final List<SviParameters> slices;
+    private final double[] maturities;
+    private final double[] parameters;
+
+    SviVolatilitySurface(String id, List<SviParameters> slices) {
+        this.id = id;
+        this.slices = List.copyOf(slices);
+        this.maturities = new double[slices.size()];
+        this.parameters = new double[slices.size() * NR_OF_PARAMETERS];
+        for (int i = 0; i < slices.size(); i++) {
+            var slice = slices.get(i);
+            maturities[i] = slice.timeToMaturity();
+            int offset = i * NR_OF_PARAMETERS;
+            parameters[offset] = slice.a();
+            parameters[offset + 1] = slice.b();
+            parameters[offset + 2] = slice.rho();
+            parameters[offset + 3] = slice.m();
+            parameters[offset + 4] = slice.sigma();
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public List<SviParameters> getSlices() {
+        return slices;
+    }
+
+    @Override
+    public double getTotalVariance(double timeToMaturity, double logMoneyness) {
+        int nrOfSlices = maturities.length;
+        if (nrOfSlices == 0) {
+            return 0;
+        }
+        if (timeToMaturity <= maturities[0]) {
+            return sliceTotalVariance(0, logMoneyness) * timeToMaturity / maturities[0];
+        }
+        if (timeToMaturity >= maturities[nrOfSlices - 1]) {
+            return sliceTotalVariance(nrOfSlices - 1, logMoneyness) * timeToMaturity / maturities[nrOfSlices - 1];
+        }
+
+        int upper = Arrays.binarySearch(maturities, timeToMaturity);
+        if (upper >= 0) {
+            return sliceTotalVariance(upper, logMoneyness);
+        }
+        upper = -upper - 1;
+        int lower = upper - 1;
+        double weight = (timeToMaturity - maturities[lower]) / (maturities[upper] - maturities[lower]);
+        return (1 - weight) * sliceTotalVariance(lower, logMoneyness) + weight * sliceTotalVariance(upper, logMoneyness);
+    }
+
+    private double sliceTotalVariance(int slice, double logMoneyness) {
+        int offset = slice * NR_OF_PARAMETERS;
+        return SviParameters.totalVariance(logMoneyness,
+                parameters[offset],
+                parameters[offset + 1],
+                parameters[offset + 2],
+                parameters[offset + 3],
+                parameters[offset + 4]
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model;
+
+public record SsviParameters(double rho, double eta, double gamma) {
+
+    public double totalVariance(double logMoneyness, double atmTotalVariance) {
+        return totalVariance(logMoneyness, atmTotalVariance, rho, eta, gamma);
+    }
+
+    public static double curvature(double atmTotalVariance, double eta, double gamma) {
+        return eta / (Math.pow(atmTotalVariance, gamma) * Math.pow(1 + atmTotalVariance, 1 - gamma));
+    }
+
+    public static double totalVariance(double logMoneyness, double atmTotalVariance, double rho, double eta, double gamma) {
+        double z = curvature(atmTotalVariance, eta, gamma) * logMoneyness;
+        double shifted = z + rho;
+        return 0.5 * atmTotalVariance * (1 + rho * z + Math.sqrt(shifted * shifted + 1 - rho * rho));
+    }
+}
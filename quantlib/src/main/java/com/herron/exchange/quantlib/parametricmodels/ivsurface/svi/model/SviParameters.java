@@ -0,0 +1,39 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model;
+
+public record SviParameters(double timeToMaturity, double a, double b, double rho, double m, double sigma) {
+
+    public double totalVariance(double logMoneyness) {
+        return totalVariance(logMoneyness, a, b, rho, m, sigma);
+    }
+
+    public double impliedVolatility(double logMoneyness) {
+        return Math.sqrt(Math.max(totalVariance(logMoneyness), 0) / timeToMaturity);
+    }
+
+    // Density factor g(k) from Gatheral & Jacquier, negative values imply butterfly arbitrage
+    public double butterflyDensity(double logMoneyness) {
+        return butterflyDensity(logMoneyness, a, b, rho, m, sigma);
+    }
+
+    public SviParameters withA(double a) {
+        return new SviParameters(timeToMaturity, a, b, rho, m, sigma);
+    }
+
+    public static double totalVariance(double logMoneyness, double a, double b, double rho, double m, double sigma) {
+        double shifted = logMoneyness - m;
+        return a + b * (rho * shifted + Math.sqrt(shifted * shifted + sigma * sigma));
+    }
+
+    public static double butterflyDensity(double logMoneyness, double a, double b, double rho, double m, double sigma) {
+        double shifted = logMoneyness - m;
+        double root = Math.sqrt(shifted * shifted + sigma * sigma);
+        double w = a + b * (rho * shifted + root);
+        if (w <= 0) {
+            return -1;
+        }
+        double firstDerivative = b * (rho + shifted / root);
+        double secondDerivative = b * sigma * sigma / (root * root * root);
+        double term = 1 - logMoneyness * firstDerivative / (2 * w);
+        return term * term - 0.25 * firstDerivative * firstDerivative * (1 / w + 0.25) + 0.5 * secondDerivative;
+    }
+}
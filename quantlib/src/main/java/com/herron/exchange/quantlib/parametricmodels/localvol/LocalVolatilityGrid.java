@@ -0,0 +1,202 @@
+package com.herron.exchange.quantlib.parametricmodels.localvol;
+
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.ForwardPriceCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.ImpliedVolatilitySurface;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.parametricmodels.localvol.model.LocalVolatilityGridConfig;
+
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.LOCAL_VOLATILITY_GRID_CONSTRUCTION_LATENCY;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.LOCAL_VOLATILITY_GRID_REPAIRED_NODES;
+
+// Dupire local volatility in log forward moneyness, sigma(t, log(S_t / F_t)), sampled once so path loops only interpolate
+public class LocalVolatilityGrid {
+    private static final double TIME_BUMP = 1e-4;
+    private static final double LOG_MONEYNESS_BUMP = 1e-3;
+    private final String id;
+    private final double minTimeToMaturity;
+    private final double maxTimeToMaturity;
+    private final double minLogMoneyness;
+    private final double maxLogMoneyness;
+    private final int nrOfMaturityNodes;
+    private final int nrOfLogMoneynessNodes;
+    private final double inverseMaturityStep;
+    private final double inverseLogMoneynessStep;
+    private final double[] localVolatilities;
+    private final int nrOfRepairedNodes;
+
+    private LocalVolatilityGrid(String id,
+                                DoubleBinaryOperator impliedVolatilityFunction,
+                                DoubleUnaryOperator logForwardFunction,
+                                double minTimeToMaturity,
+                                double maxTimeToMaturity,
+                                double minLogMoneyness,
+                                double maxLogMoneyness,
+                                LocalVolatilityGridConfig config) {
+        this.id = id;
+        this.minTimeToMaturity = minTimeToMaturity;
+        this.maxTimeToMaturity = maxTimeToMaturity;
+        this.minLogMoneyness = minLogMoneyness;
+        this.maxLogMoneyness = maxLogMoneyness;
+        this.nrOfMaturityNodes = config.nrOfMaturityNodes();
+        this.nrOfLogMoneynessNodes = config.nrOfLogMoneynessNodes();
+        this.inverseMaturityStep = (nrOfMaturityNodes - 1) / (maxTimeToMaturity - minTimeToMaturity);
+        this.inverseLogMoneynessStep = (nrOfLogMoneynessNodes - 1) / (maxLogMoneyness - minLogMoneyness);
+        this.localVolatilities = new double[nrOfMaturityNodes * nrOfLogMoneynessNodes];
+        this.nrOfRepairedNodes = IntStream.range(0, nrOfMaturityNodes).parallel()
+                .map(i -> sampleRow(i, impliedVolatilityFunction, logForwardFunction, config))
+                .sum();
+    }
+
+    public static LocalVolatilityGrid create(ImpliedVolatilitySurface surface,
+                                             String id,
+                                             List<ImpliedVolPoint> points,
+                                             double spotPrice,
+                                             ForwardPriceCurve forwardPriceCurve,
+                                             LocalVolatilityGridConfig config) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Cannot derive local volatility grid bounds for surface %s without points", id));
+        }
+        DoubleUnaryOperator logForwardFunction = forwardPriceCurve != null ? t -> Math.log(forwardPriceCurve.getForwardPrice(t) / spotPrice) : t -> 0;
+        double minTimeToMaturity = Double.POSITIVE_INFINITY;
+        double maxTimeToMaturity = Double.NEGATIVE_INFINITY;
+        double minLogMoneyness = Double.POSITIVE_INFINITY;
+        double maxLogMoneyness = Double.NEGATIVE_INFINITY;
+        for (var point : points) {
+            // The points carry log(K / S) while the grid axis is log(K / F), so each quote is shifted by its own forward
+            double logForwardMoneyness = point.logMoneyness() - logForwardFunction.applyAsDouble(point.timeToMaturity());
+            minTimeToMaturity = Math.min(minTimeToMaturity, point.timeToMaturity());
+            maxTimeToMaturity = Math.max(maxTimeToMaturity, point.timeToMaturity());
+            minLogMoneyness = Math.min(minLogMoneyness, logForwardMoneyness);
+            maxLogMoneyness = Math.max(maxLogMoneyness, logForwardMoneyness);
+        }
+        return create(id, surface::getImpliedVolatility, logForwardFunction, minTimeToMaturity, maxTimeToMaturity, minLogMoneyness, maxLogMoneyness, config);
+    }
+
+    // The implied volatility function takes spot log moneyness log(K / S), as the surfaces in this library do
+    public static LocalVolatilityGrid create(String id,
+                                             DoubleBinaryOperator impliedVolatilityFunction,
+                                             DoubleUnaryOperator logForwardFunction,
+                                             double minTimeToMaturity,
+                                             double maxTimeToMaturity,
+                                             double minLogMoneyness,
+                                             double maxLogMoneyness,
+                                             LocalVolatilityGridConfig config) {
+        if (!(minTimeToMaturity > 0) || !(maxTimeToMaturity > minTimeToMaturity) || !(maxLogMoneyness > minLogMoneyness)) {
+            throw new IllegalArgumentException(String.format("Invalid local volatility grid bounds for surface %s: maturity [%s, %s], log moneyness [%s, %s]", id, minTimeToMaturity, maxTimeToMaturity, minLogMoneyness, maxLogMoneyness));
+        }
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            var grid = new LocalVolatilityGrid(id, impliedVolatilityFunction, logForwardFunction, minTimeToMaturity, maxTimeToMaturity, minLogMoneyness, maxLogMoneyness, config);
+            QuantLibMetrics.record(LOCAL_VOLATILITY_GRID_REPAIRED_NODES, grid.nrOfRepairedNodes);
+            return grid;
+        } finally {
+            QuantLibMetrics.stopTimer(LOCAL_VOLATILITY_GRID_CONSTRUCTION_LATENCY, startTime);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getNrOfMaturityNodes() {
+        return nrOfMaturityNodes;
+    }
+
+    public int getNrOfLogMoneynessNodes() {
+        return nrOfLogMoneynessNodes;
+    }
+
+    public int getNrOfRepairedNodes() {
+        return nrOfRepairedNodes;
+    }
+
+    public boolean isInsideGrid(double timeToMaturity, double logMoneyness) {
+        return timeToMaturity >= minTimeToMaturity && timeToMaturity <= maxTimeToMaturity
+                && logMoneyness >= minLogMoneyness && logMoneyness <= maxLogMoneyness;
+    }
+
+    // Outside the grid the nearest edge is used, path loops never fall back to the surface
+    public double getLocalVolatility(double timeToMaturity, double logMoneyness) {
+        double maturityPosition = (Math.min(Math.max(timeToMaturity, minTimeToMaturity), maxTimeToMaturity) - minTimeToMaturity) * inverseMaturityStep;
+        int maturityIndex = Math.min((int) maturityPosition, nrOfMaturityNodes - 2);
+        double logMoneynessPosition = (Math.min(Math.max(logMoneyness, minLogMoneyness), maxLogMoneyness) - minLogMoneyness) * inverseLogMoneynessStep;
+        int logMoneynessIndex = Math.min((int) logMoneynessPosition, nrOfLogMoneynessNodes - 2);
+        return interpolate(maturityIndex * nrOfLogMoneynessNodes, maturityPosition - maturityIndex, logMoneynessIndex, logMoneynessPosition - logMoneynessIndex);
+    }
+
+    public void getLocalVolatilities(double timeToMaturity, double[] logMoneyness, double[] result) {
+        double maturityPosition = (Math.min(Math.max(timeToMaturity, minTimeToMaturity), maxTimeToMaturity) - minTimeToMaturity) * inverseMaturityStep;
+        int maturityIndex = Math.min((int) maturityPosition, nrOfMaturityNodes - 2);
+        double maturityWeight = maturityPosition - maturityIndex;
+        int rowOffset = maturityIndex * nrOfLogMoneynessNodes;
+        for (int i = 0; i < logMoneyness.length; i++) {
+            double logMoneynessPosition = (Math.min(Math.max(logMoneyness[i], minLogMoneyness), maxLogMoneyness) - minLogMoneyness) * inverseLogMoneynessStep;
+            int logMoneynessIndex = Math.min((int) logMoneynessPosition, nrOfLogMoneynessNodes - 2);
+            result[i] = interpolate(rowOffset, maturityWeight, logMoneynessIndex, logMoneynessPosition - logMoneynessIndex);
+        }
+    }
+
+    private double interpolate(int rowOffset, double maturityWeight, int logMoneynessIndex, double logMoneynessWeight) {
+        int lowerLeft = rowOffset + logMoneynessIndex;
+        int upperLeft = lowerLeft + nrOfLogMoneynessNodes;
+        double lower = localVolatilities[lowerLeft] + logMoneynessWeight * (localVolatilities[lowerLeft + 1] - localVolatilities[lowerLeft]);
+        double upper = localVolatilities[upperLeft] + logMoneynessWeight * (localVolatilities[upperLeft + 1] - localVolatilities[upperLeft]);
+        return lower + maturityWeight * (upper - lower);
+    }
+
+    private int sampleRow(int maturityIndex,
+                          DoubleBinaryOperator impliedVolatilityFunction,
+                          DoubleUnaryOperator logForwardFunction,
+                          LocalVolatilityGridConfig config) {
+        double timeToMaturity = maturityNode(maturityIndex);
+        double timeBump = Math.min(TIME_BUMP, 0.5 * timeToMaturity);
+        double minLocalVariance = config.minLocalVolatility() * config.minLocalVolatility();
+        double maxLocalVariance = config.maxLocalVolatility() * config.maxLocalVolatility();
+        int offset = maturityIndex * nrOfLogMoneynessNodes;
+        int nrOfRepaired = 0;
+        for (int j = 0; j < nrOfLogMoneynessNodes; j++) {
+            double y = logMoneynessNode(j);
+            double w = totalVariance(impliedVolatilityFunction, logForwardFunction, timeToMaturity, y);
+            double wUp = totalVariance(impliedVolatilityFunction, logForwardFunction, timeToMaturity, y + LOG_MONEYNESS_BUMP);
+            double wDown = totalVariance(impliedVolatilityFunction, logForwardFunction, timeToMaturity, y - LOG_MONEYNESS_BUMP);
+            double dwdT = (totalVariance(impliedVolatilityFunction, logForwardFunction, timeToMaturity + timeBump, y)
+                    - totalVariance(impliedVolatilityFunction, logForwardFunction, timeToMaturity - timeBump, y)) / (2 * timeBump);
+            double dwdy = (wUp - wDown) / (2 * LOG_MONEYNESS_BUMP);
+            double d2wdy2 = (wUp - 2 * w + wDown) / (LOG_MONEYNESS_BUMP * LOG_MONEYNESS_BUMP);
+
+            // The denominator is proportional to the risk neutral density, a decreasing total variance is calendar arbitrage
+            double densityFactor = 1 - y / w * dwdy + 0.25 * (-0.25 - 1 / w + y * y / (w * w)) * dwdy * dwdy + 0.5 * d2wdy2;
+            double localVariance = dwdT / Math.max(densityFactor, config.minDensityFactor());
+            boolean isRepaired = !(w > 0) || !(dwdT > 0) || !(densityFactor >= config.minDensityFactor())
+                    || !(localVariance >= minLocalVariance) || localVariance > maxLocalVariance;
+            if (isRepaired) {
+                nrOfRepaired++;
+                localVariance = Double.isNaN(localVariance) ? minLocalVariance : Math.min(Math.max(localVariance, minLocalVariance), maxLocalVariance);
+            }
+            localVolatilities[offset + j] = Math.sqrt(localVariance);
+        }
+        return nrOfRepaired;
+    }
+
+    private static double totalVariance(DoubleBinaryOperator impliedVolatilityFunction,
+                                        DoubleUnaryOperator logForwardFunction,
+                                        double timeToMaturity,
+                                        double logForwardMoneyness) {
+        double impliedVolatility = impliedVolatilityFunction.applyAsDouble(timeToMaturity, logForwardMoneyness + logForwardFunction.applyAsDouble(timeToMaturity));
+        return impliedVolatility * impliedVolatility * timeToMaturity;
+    }
+
+    private double maturityNode(int index) {
+        return index == nrOfMaturityNodes - 1 ? maxTimeToMaturity : minTimeToMaturity + index / inverseMaturityStep;
+    }
+
+    private double logMoneynessNode(int index) {
+        return index == nrOfLogMoneynessNodes - 1 ? maxLogMoneyness : minLogMoneyness + index / inverseLogMoneynessStep;
+    }
+}
@@ -0,0 +1,20 @@
+package com.herron.exchange.quantlib.parametricmodels.localvol.model;
+
+public record LocalVolatilityGridConfig(int nrOfMaturityNodes,
+                                        int nrOfLogMoneynessNodes,
+                                        double minLocalVolatility,
+                                        double maxLocalVolatility,
+                                        double minDensityFactor) {
+    private static final LocalVolatilityGridConfig DEFAULT_CONFIG = new LocalVolatilityGridConfig(65, 161, 0.01, 3.0, 0.05);
+
+    public LocalVolatilityGridConfig {
+        if (nrOfMaturityNodes < 2 || nrOfLogMoneynessNodes < 2 || minLocalVolatility <= 0 || maxLocalVolatility <= minLocalVolatility || minDensityFactor <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid local volatility grid config: maturity nodes=%s, log moneyness nodes=%s, local volatility bounds=[%s, %s], min density factor=%s",
+                    nrOfMaturityNodes, nrOfLogMoneynessNodes, minLocalVolatility, maxLocalVolatility, minDensityFactor));
+        }
+    }
+
+    public static LocalVolatilityGridConfig defaultConfig() {
+        return DEFAULT_CONFIG;
+    }
+}
@@ -0,0 +1,344 @@
+package com.herron.exchange.quantlib.parametricmodels.yieldcurve;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+import com.herron.exchange.common.api.common.enums.CompoundingMethodEnum;
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.model.YieldCurveModelParameters;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.calendar.YearFractionCache;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.CouponCalculationUtils;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.RealVector;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.herron.exchange.common.api.common.enums.InterpolationMethod.LINEAR;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.YIELD_CURVE_BOOTSTRAP_LATENCY;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.YIELD_CURVE_BOOTSTRAP_NODES;
+
+public class YieldCurveBootstrapper {
+    private static final int MAX_NR_OF_ITERATIONS = 50;
+    private static final double PRICE_TOLERANCE = 1e-10;
+    private static final double INITIAL_YIELD = 0.02;
+
+    private final String id;
+    private final Timestamp valuationTime;
+    private final DayCountConventionEnum dayCountConvention;
+    private final Map<String, Integer> instrumentIdToNode = new HashMap<>();
+    private final BondInstrument[] bonds;
+    private final double[][] cashFlowTimes;
+    private final double[][] cashFlowAmounts;
+    private final CompoundingMethodEnum[] compoundingMethods;
+    private final int[] frequencies;
+    private final double[] nodeTimes;
+    // The last node a bond's cash flows are interpolated on, the running coupon reaches past the bond's own node
+    private final int[] lastCoupledNodes;
+    // Clean prices, the discounted cash flows without accrued interest as in BondDiscountPriceModelResult.cleanPrice
+    private final double[] marketPrices;
+    // Linear in time between nodes and flat outside them, the same LINEAR interpolation the published curve uses
+    private final double[] zeroYields;
+    private YieldCurve yieldCurve;
+
+    private YieldCurveBootstrapper(String id,
+                                   Timestamp valuationTime,
+                                   DayCountConventionEnum dayCountConvention,
+                                   List<BondInstrument> sortedBonds,
+                                   Map<BondInstrument, Price> bondToPrice) {
+        this.id = id;
+        this.valuationTime = valuationTime;
+        this.dayCountConvention = dayCountConvention;
+        int nrOfNodes = sortedBonds.size();
+        this.bonds = sortedBonds.toArray(new BondInstrument[0]);
+        this.cashFlowTimes = new double[nrOfNodes][];
+        this.cashFlowAmounts = new double[nrOfNodes][];
+        this.compoundingMethods = new CompoundingMethodEnum[nrOfNodes];
+        this.frequencies = new int[nrOfNodes];
+        this.nodeTimes = new double[nrOfNodes];
+        this.lastCoupledNodes = new int[nrOfNodes];
+        this.marketPrices = new double[nrOfNodes];
+        this.zeroYields = new double[nrOfNodes];
+
+        var yearFractionCache = YearFractionCache.of(valuationTime);
+        for (int i = 0; i < nrOfNodes; i++) {
+            var bond = bonds[i];
+            nodeTimes[i] = yearFractionCache.getYearFraction(bond.maturityDate(), dayCountConvention);
+            if (nodeTimes[i] <= 0 || (i > 0 && nodeTimes[i] <= nodeTimes[i - 1])) {
+                throw new IllegalArgumentException(String.format("Bond %s does not mature strictly after the previous node", bond.instrumentId()));
+            }
+            marketPrices[i] = validatePrice(bond, bondToPrice.get(bond));
+            instrumentIdToNode.put(bond.instrumentId(), i);
+            compoundingMethods[i] = bond.priceModelParameters().compoundingMethod();
+            frequencies[i] = bond.couponAnnualFrequency();
+            generateCashFlows(i);
+        }
+        for (int i = 0; i < nrOfNodes; i++) {
+            lastCoupledNodes[i] = findLastCoupledNode(i);
+        }
+    }
+
+    public static YieldCurveBootstrapper create(String id, Timestamp valuationTime, Map<BondInstrument, Price> bondToPrice) {
+        return create(id, valuationTime, DayCountConventionEnum.ACT365, bondToPrice);
+    }
+
+    // Prices are clean prices, matched against the clean price BondDiscountingPriceModel returns for the published curve
+    public static YieldCurveBootstrapper create(String id,
+                                                Timestamp valuationTime,
+                                                DayCountConventionEnum dayCountConvention,
+                                                Map<BondInstrument, Price> bondToPrice) {
+        if (bondToPrice.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Cannot bootstrap yield curve %s without bonds", id));
+        }
+        List<BondInstrument> sortedBonds = new ArrayList<>(bondToPrice.keySet());
+        sortedBonds.sort(Comparator.comparing(BondInstrument::maturityDate));
+        var bootstrapper = new YieldCurveBootstrapper(id, valuationTime, dayCountConvention, sortedBonds, bondToPrice);
+        bootstrapper.bootstrap(0);
+        return bootstrapper;
+    }
+
+    public synchronized YieldCurve getYieldCurve() {
+        return yieldCurve;
+    }
+
+    public synchronized YieldCurve updatePrice(BondInstrument bond, Price price) {
+        Integer node = instrumentIdToNode.get(bond.instrumentId());
+        if (node == null) {
+            throw new IllegalArgumentException(String.format("Bond %s is not part of yield curve %s", bond.instrumentId(), id));
+        }
+        double marketPrice = validatePrice(bond, price);
+        double previousMarketPrice = marketPrices[node];
+        double[] previousZeroYields = zeroYields.clone();
+        marketPrices[node] = marketPrice;
+        try {
+            bootstrap(node);
+        } catch (RuntimeException e) {
+            // The previous curve stays published, so the state it was built from is restored with it
+            marketPrices[node] = previousMarketPrice;
+            System.arraycopy(previousZeroYields, 0, zeroYields, 0, zeroYields.length);
+            throw e;
+        }
+        return yieldCurve;
+    }
+
+    public int getNrOfNodes() {
+        return nodeTimes.length;
+    }
+
+    public synchronized double getZeroYield(double timeToMaturity) {
+        return interpolateZeroYield(timeToMaturity, nodeTimes.length - 1);
+    }
+
+    public synchronized double calculatePresentValue(BondInstrument bond) {
+        Integer node = instrumentIdToNode.get(bond.instrumentId());
+        if (node == null) {
+            throw new IllegalArgumentException(String.format("Bond %s is not part of yield curve %s", bond.instrumentId(), id));
+        }
+        return calculatePresentValue(node, nodeTimes.length - 1);
+    }
+
+    private void bootstrap(int fromNode) {
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            for (int node = fromNode; node < nodeTimes.length; node++) {
+                zeroYields[node] = solveNode(node);
+            }
+            int firstCoupledNode = findFirstCoupledNode(fromNode);
+            solveCoupledNodes(firstCoupledNode);
+            yieldCurve = createYieldCurve();
+            QuantLibMetrics.record(YIELD_CURVE_BOOTSTRAP_NODES, nodeTimes.length - firstCoupledNode);
+        } finally {
+            QuantLibMetrics.stopTimer(YIELD_CURVE_BOOTSTRAP_LATENCY, startTime);
+        }
+    }
+
+    // Sequential first guess, every node is solved with the curve flat beyond it
+    private double solveNode(int node) {
+        double zeroYield = node > 0 ? zeroYields[node - 1] : INITIAL_YIELD;
+        double[] sensitivities = new double[nodeTimes.length];
+        for (int iteration = 0; iteration < MAX_NR_OF_ITERATIONS; iteration++) {
+            zeroYields[node] = zeroYield;
+            double error = calculatePresentValue(node, node) - marketPrices[node];
+            if (Math.abs(error) < PRICE_TOLERANCE * marketPrices[node]) {
+                return zeroYield;
+            }
+            Arrays.fill(sensitivities, 0);
+            addPresentValueSensitivities(node, node, sensitivities);
+            double derivative = sensitivities[node];
+            if (derivative == 0) {
+                break;
+            }
+            zeroYield -= error / derivative;
+        }
+        throw new IllegalArgumentException(String.format("Failed to bootstrap node for bond %s on yield curve %s", bonds[node].instrumentId(), id));
+    }
+
+    // The coupon period running at valuation is discounted past the bond's own maturity, so each bond also
+    // depends on the next node, a Newton pass from the first coupled node removes that coupling
+    private void solveCoupledNodes(int firstNode) {
+        int nrOfNodes = nodeTimes.length;
+        int lastNode = nrOfNodes - 1;
+        int nrOfCoupledNodes = nrOfNodes - firstNode;
+        double[] sensitivities = new double[nrOfNodes];
+        for (int iteration = 0; iteration < MAX_NR_OF_ITERATIONS; iteration++) {
+            double[] errors = new double[nrOfCoupledNodes];
+            boolean isConverged = true;
+            for (int i = 0; i < nrOfCoupledNodes; i++) {
+                int node = firstNode + i;
+                errors[i] = calculatePresentValue(node, lastNode) - marketPrices[node];
+                isConverged &= Math.abs(errors[i]) < PRICE_TOLERANCE * marketPrices[node];
+            }
+            if (isConverged) {
+                return;
+            }
+            double[][] jacobian = new double[nrOfCoupledNodes][];
+            for (int i = 0; i < nrOfCoupledNodes; i++) {
+                Arrays.fill(sensitivities, 0);
+                addPresentValueSensitivities(firstNode + i, lastNode, sensitivities);
+                jacobian[i] = Arrays.copyOfRange(sensitivities, firstNode, nrOfNodes);
+            }
+            RealVector step = new LUDecomposition(new Array2DRowRealMatrix(jacobian, false)).getSolver().solve(new ArrayRealVector(errors, false));
+            for (int k = 0; k < nrOfCoupledNodes; k++) {
+                zeroYields[firstNode + k] -= step.getEntry(k);
+            }
+        }
+        throw new IllegalArgumentException(String.format("Failed to bootstrap yield curve %s", id));
+    }
+
+    // Nodes before the first changed one only move when a bond below them is discounted on a node that moved
+    private int findFirstCoupledNode(int fromNode) {
+        int firstNode = fromNode;
+        while (firstNode > 0 && lastCoupledNodes[firstNode - 1] >= firstNode) {
+            firstNode--;
+        }
+        return firstNode;
+    }
+
+    private int findLastCoupledNode(int node) {
+        double[] times = cashFlowTimes[node];
+        double[] amounts = cashFlowAmounts[node];
+        int lastCoupledNode = node;
+        for (int j = 0; j < times.length; j++) {
+            if (amounts[j] == 0) {
+                continue;
+            }
+            int upper = 0;
+            while (upper < nodeTimes.length - 1 && nodeTimes[upper] < times[j]) {
+                upper++;
+            }
+            lastCoupledNode = Math.max(lastCoupledNode, upper);
+        }
+        return lastCoupledNode;
+    }
+
+    private double calculatePresentValue(int node, int lastSolvedNode) {
+        double[] times = cashFlowTimes[node];
+        double[] amounts = cashFlowAmounts[node];
+        double presentValue = 0;
+        for (int j = 0; j < times.length; j++) {
+            presentValue += amounts[j] / compoundingMethods[node].calculateValue(interpolateZeroYield(times[j], lastSolvedNode), times[j], frequencies[node]);
+        }
+        return presentValue;
+    }
+
+    // Closed form dPV/dy per cash flow, spread over the nodes with the weights the linear interpolation gives them
+    private void addPresentValueSensitivities(int node, int lastSolvedNode, double[] sensitivities) {
+        double[] times = cashFlowTimes[node];
+        double[] amounts = cashFlowAmounts[node];
+        for (int j = 0; j < times.length; j++) {
+            double t = times[j];
+            double sensitivity = calculateDiscountedAmountDerivative(compoundingMethods[node], amounts[j], interpolateZeroYield(t, lastSolvedNode), t, frequencies[node]);
+            if (t <= nodeTimes[0]) {
+                sensitivities[0] += sensitivity;
+            } else if (t >= nodeTimes[lastSolvedNode]) {
+                sensitivities[lastSolvedNode] += sensitivity;
+            } else {
+                int upper = 1;
+                while (nodeTimes[upper] < t) {
+                    upper++;
+                }
+                double weight = (t - nodeTimes[upper - 1]) / (nodeTimes[upper] - nodeTimes[upper - 1]);
+                sensitivities[upper - 1] += (1 - weight) * sensitivity;
+                sensitivities[upper] += weight * sensitivity;
+            }
+        }
+    }
+
+    private static double calculateDiscountedAmountDerivative(CompoundingMethodEnum compoundingMethod, double amount, double yield, double t, int frequency) {
+        double compoundedValue = compoundingMethod.calculateValue(yield, t, frequency);
+        return switch (compoundingMethod) {
+            case SIMPLE -> -amount * t / (compoundedValue * compoundedValue);
+            case COMPOUNDING -> -amount * t / ((1 + yield / frequency) * compoundedValue);
+            case CONTINUOUS -> -amount * t / compoundedValue;
+            default -> throw new IllegalArgumentException(String.format("Compounding method %s is not supported by the bootstrapper", compoundingMethod));
+        };
+    }
+
+    private double interpolateZeroYield(double timeToMaturity, int lastSolvedNode) {
+        if (timeToMaturity <= nodeTimes[0]) {
+            return zeroYields[0];
+        }
+        if (timeToMaturity >= nodeTimes[lastSolvedNode]) {
+            return zeroYields[lastSolvedNode];
+        }
+        int upper = 1;
+        while (nodeTimes[upper] < timeToMaturity) {
+            upper++;
+        }
+        double weight = (timeToMaturity - nodeTimes[upper - 1]) / (nodeTimes[upper] - nodeTimes[upper - 1]);
+        return zeroYields[upper - 1] + weight * (zeroYields[upper] - zeroYields[upper - 1]);
+    }
+
+    // Mirrors BondDiscountingPriceModel so that pricing a bond off the published curve returns its input price
+    private void generateCashFlows(int node) {
+        var bond = bonds[node];
+        var bondDayCountConvention = bond.priceModelParameters().dayCountConvention();
+        double nominalValue = bond.nominalValue().getRealValue();
+        Timestamp bondValuationTime = valuationTime.isBefore(bond.startDate()) ? bond.startDate() : valuationTime;
+        Timestamp maturityDate = bond.maturityDate();
+        var yearFractionCache = YearFractionCache.of(bondValuationTime);
+        List<Double> times = new ArrayList<>();
+        List<Double> amounts = new ArrayList<>();
+        for (var coupon : CouponCalculationUtils.generateCouponPeriods(bond)) {
+            if (!coupon.endDate().isBefore(bondValuationTime)) {
+                times.add(yearFractionCache.getYearFraction(coupon.startDate(), maturityDate, bondDayCountConvention));
+                amounts.add(nominalValue * coupon.couponRate());
+            }
+        }
+        times.add(yearFractionCache.getYearFraction(bondValuationTime, maturityDate, bondDayCountConvention));
+        amounts.add(nominalValue);
+        cashFlowTimes[node] = times.stream().mapToDouble(Double::doubleValue).toArray();
+        cashFlowAmounts[node] = amounts.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private YieldCurve createYieldCurve() {
+        LocalDate[] maturityDates = new LocalDate[bonds.length];
+        for (int i = 0; i < bonds.length; i++) {
+            maturityDates[i] = bonds[i].maturityDate().toLocalDate();
+        }
+        var parameters = YieldCurveModelParameters.create(dayCountConvention,
+                LINEAR,
+                valuationTime.toLocalDate(),
+                maturityDates[0],
+                maturityDates,
+                zeroYields.clone()
+        );
+        return YieldCurve.create(id, parameters);
+    }
+
+    private static double validatePrice(BondInstrument bond, Price price) {
+        if (price == null || !(price.getRealValue() > 0)) {
+            throw new IllegalArgumentException(String.format("Invalid market price %s for bond %s", price, bond.instrumentId()));
+        }
+        return price.getRealValue();
+    }
+}
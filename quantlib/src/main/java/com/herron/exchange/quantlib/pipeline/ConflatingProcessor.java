@@ -0,0 +1,129 @@
+package com.herron.exchange.quantlib.pipeline;
+
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.PRICING_PIPELINE_CONFLATED_UPDATES;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.PRICING_PIPELINE_STAGE_FAILURES;
+
+public class ConflatingProcessor<T, R> extends SubmissionPublisher<R> implements Flow.Processor<T, R> {
+    private final Function<T, String> keyFunction;
+    private final Function<T, R> transformer;
+    private final Executor drainExecutor;
+    // Only the latest item per key is kept, so the backlog is bounded by the number of keys
+    private final Map<String, T> keyToLatestItem = new ConcurrentHashMap<>();
+    private final Queue<String> pendingKeys = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isDraining = new AtomicBoolean(false);
+    private final AtomicLong nrOfProcessedItems = new AtomicLong();
+    private final AtomicLong nrOfConflatedItems = new AtomicLong();
+    private final AtomicLong nrOfFailedItems = new AtomicLong();
+    private volatile boolean isUpstreamCompleted = false;
+
+    public ConflatingProcessor(Function<T, String> keyFunction,
+                               Function<T, R> transformer,
+                               Executor executor,
+                               int maxBufferCapacity) {
+        this(keyFunction, transformer, executor, executor, maxBufferCapacity);
+    }
+
+    public ConflatingProcessor(Function<T, String> keyFunction,
+                               Function<T, R> transformer,
+                               Executor drainExecutor,
+                               Executor deliveryExecutor,
+                               int maxBufferCapacity) {
+        // A blocking submit in the drain must be relieved by another thread, so a single threaded drain executor needs its own delivery executor
+        super(deliveryExecutor, maxBufferCapacity);
+        this.keyFunction = keyFunction;
+        this.transformer = transformer;
+        this.drainExecutor = drainExecutor;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        String key = keyFunction.apply(item);
+        if (keyToLatestItem.put(key, item) == null) {
+            pendingKeys.offer(key);
+        } else {
+            nrOfConflatedItems.incrementAndGet();
+            QuantLibMetrics.increment(PRICING_PIPELINE_CONFLATED_UPDATES);
+        }
+        scheduleDrain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        isUpstreamCompleted = true;
+        scheduleDrain();
+    }
+
+    public long getNrOfProcessedItems() {
+        return nrOfProcessedItems.get();
+    }
+
+    public long getNrOfConflatedItems() {
+        return nrOfConflatedItems.get();
+    }
+
+    public long getNrOfFailedItems() {
+        return nrOfFailedItems.get();
+    }
+
+    private void scheduleDrain() {
+        if (isDraining.compareAndSet(false, true)) {
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            String key;
+            while ((key = pendingKeys.poll()) != null) {
+                T item = keyToLatestItem.remove(key);
+                if (item != null) {
+                    process(item);
+                }
+            }
+            isDraining.set(false);
+        } while (!pendingKeys.isEmpty() && isDraining.compareAndSet(false, true));
+
+        if (isUpstreamCompleted && pendingKeys.isEmpty()) {
+            close();
+        }
+    }
+
+    private void process(T item) {
+        R result;
+        try {
+            result = transformer.apply(item);
+        } catch (RuntimeException e) {
+            nrOfFailedItems.incrementAndGet();
+            QuantLibMetrics.increment(PRICING_PIPELINE_STAGE_FAILURES);
+            return;
+        }
+        nrOfProcessedItems.incrementAndGet();
+        if (result != null && !isClosed()) {
+            // Blocks while a subscriber buffer is full, newer items keep conflating upstream in the meantime
+            submit(result);
+        }
+    }
+}
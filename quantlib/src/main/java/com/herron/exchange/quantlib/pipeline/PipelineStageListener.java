@@ -0,0 +1,11 @@
+package com.herron.exchange.quantlib.pipeline;
+
+import com.herron.exchange.quantlib.pipeline.model.PipelineStage;
+
+public interface PipelineStageListener {
+    PipelineStageListener NO_OP = (stage, underlyingInstrumentId, elapsedNanos) -> {
+    };
+
+    // Called on the stage's drain thread after each successful build, so implementations must be cheap
+    void onStageCompleted(PipelineStage stage, String underlyingInstrumentId, long elapsedNanos);
+}
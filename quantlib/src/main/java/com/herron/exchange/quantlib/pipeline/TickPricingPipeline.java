@@ -0,0 +1,272 @@
+package com.herron.exchange.quantlib.pipeline;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.Black76PriceModelParameters;
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelResult;
+import com.herron.exchange.quantlib.parametricmodels.ForwardPriceCurveConstructor;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ImpliedVolatilityConstructor;
+import com.herron.exchange.quantlib.pipeline.model.ForwardCurveState;
+import com.herron.exchange.quantlib.pipeline.model.MarketState;
+import com.herron.exchange.quantlib.pipeline.model.PipelineStage;
+import com.herron.exchange.quantlib.pipeline.model.PriceUpdate;
+import com.herron.exchange.quantlib.pipeline.model.PricingSnapshot;
+import com.herron.exchange.quantlib.pipeline.model.SurfaceState;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Function;
+
+public class TickPricingPipeline implements Flow.Subscriber<PriceUpdate>, AutoCloseable {
+    private final Map<String, UnderlyingBook> underlyingIdToBook = new ConcurrentHashMap<>();
+    private final Map<String, String> instrumentIdToUnderlyingId = new ConcurrentHashMap<>();
+    private final SubmissionPublisher<String> underlyingIdPublisher;
+    private final ConflatingProcessor<String, ForwardCurveState> forwardCurveStage;
+    private final ConflatingProcessor<ForwardCurveState, SurfaceState> surfaceStage;
+    private final ConflatingProcessor<SurfaceState, PricingSnapshot> greeksStage;
+    private final PipelineStageListener stageListener;
+    private volatile YieldCurve yieldCurve;
+
+    public TickPricingPipeline(YieldCurve yieldCurve, int maxBufferCapacity) {
+        this(yieldCurve, maxBufferCapacity, PipelineStageListener.NO_OP);
+    }
+
+    public TickPricingPipeline(YieldCurve yieldCurve, int maxBufferCapacity, PipelineStageListener stageListener) {
+        this.yieldCurve = yieldCurve;
+        this.stageListener = stageListener;
+        // Each stage drains on its own thread and receives its input there, a slow stage only conflates its own backlog
+        var intakeExecutor = newStageExecutor("intake");
+        var forwardCurveExecutor = newStageExecutor("forward-curve");
+        var surfaceExecutor = newStageExecutor("surface");
+        var greeksExecutor = newStageExecutor("greeks");
+        var deliveryExecutor = newStageExecutor("delivery");
+        this.underlyingIdPublisher = new SubmissionPublisher<>(intakeExecutor, maxBufferCapacity);
+        this.forwardCurveStage = new ConflatingProcessor<>(id -> id, timed(PipelineStage.FORWARD_CURVE, id -> id, this::createForwardCurveState), forwardCurveExecutor, surfaceExecutor, maxBufferCapacity);
+        this.surfaceStage = new ConflatingProcessor<>(ForwardCurveState::underlyingInstrumentId, timed(PipelineStage.IMPLIED_VOLATILITY_SURFACE, ForwardCurveState::underlyingInstrumentId, TickPricingPipeline::buildSurface), surfaceExecutor, greeksExecutor, maxBufferCapacity);
+        this.greeksStage = new ConflatingProcessor<>(SurfaceState::underlyingInstrumentId, timed(PipelineStage.OPTION_PRICING, SurfaceState::underlyingInstrumentId, TickPricingPipeline::calculateGreeks), greeksExecutor, deliveryExecutor, maxBufferCapacity);
+        underlyingIdPublisher.subscribe(forwardCurveStage);
+        forwardCurveStage.subscribe(surfaceStage);
+        surfaceStage.subscribe(greeksStage);
+        greeksStage.subscribe(new ExecutorReleaser(List.of(intakeExecutor, forwardCurveExecutor, surfaceExecutor, greeksExecutor, deliveryExecutor)));
+    }
+
+    public static TickPricingPipeline create(YieldCurve yieldCurve) {
+        return create(yieldCurve, PipelineStageListener.NO_OP);
+    }
+
+    public static TickPricingPipeline create(YieldCurve yieldCurve, PipelineStageListener stageListener) {
+        return new TickPricingPipeline(yieldCurve, Flow.defaultBufferSize(), stageListener);
+    }
+
+    public void subscribe(Flow.Subscriber<PricingSnapshot> subscriber) {
+        greeksStage.subscribe(subscriber);
+    }
+
+    public void registerUnderlying(Instrument underlying, List<OptionInstrument> options) {
+        var book = new UnderlyingBook(underlying, List.copyOf(options));
+        var previous = underlyingIdToBook.put(underlying.instrumentId(), book);
+        if (previous != null) {
+            book.instrumentToPrice.putAll(previous.instrumentToPrice);
+            book.lastTimeOfEvent = previous.lastTimeOfEvent;
+        }
+        instrumentIdToUnderlyingId.put(underlying.instrumentId(), underlying.instrumentId());
+        for (var option : options) {
+            instrumentIdToUnderlyingId.put(option.instrumentId(), underlying.instrumentId());
+        }
+        publish(underlying.instrumentId());
+    }
+
+    public void onYieldCurve(YieldCurve yieldCurve) {
+        this.yieldCurve = yieldCurve;
+        for (var underlyingId : underlyingIdToBook.keySet()) {
+            publish(underlyingId);
+        }
+    }
+
+    public boolean onPriceUpdate(PriceUpdate priceUpdate) {
+        String underlyingId = instrumentIdToUnderlyingId.get(priceUpdate.instrument().instrumentId());
+        var book = underlyingId != null ? underlyingIdToBook.get(underlyingId) : null;
+        if (book == null) {
+            return false;
+        }
+        book.instrumentToPrice.put(priceUpdate.instrument(), priceUpdate.price());
+        book.lastTimeOfEvent = priceUpdate.timeOfEvent();
+        publish(underlyingId);
+        return true;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        // Ticks are folded into the books as they arrive, conflation keeps the pipeline bounded
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(PriceUpdate priceUpdate) {
+        onPriceUpdate(priceUpdate);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        underlyingIdPublisher.closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        underlyingIdPublisher.close();
+    }
+
+    @Override
+    public void close() {
+        underlyingIdPublisher.close();
+    }
+
+    public long getNrOfConflatedUpdates() {
+        return forwardCurveStage.getNrOfConflatedItems() + surfaceStage.getNrOfConflatedItems() + greeksStage.getNrOfConflatedItems();
+    }
+
+    public long getNrOfFailedUpdates() {
+        return forwardCurveStage.getNrOfFailedItems() + surfaceStage.getNrOfFailedItems() + greeksStage.getNrOfFailedItems();
+    }
+
+    private void publish(String underlyingId) {
+        if (!underlyingIdPublisher.isClosed()) {
+            // The intake only conflates into the first stage, so the caller is never held up by a stage rebuilding
+            underlyingIdPublisher.submit(underlyingId);
+        }
+    }
+
+    private static ExecutorService newStageExecutor(String name) {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("pricing-pipeline-" + name).daemon().factory());
+    }
+
+    private <T, R> Function<T, R> timed(PipelineStage stage, Function<T, String> keyFunction, Function<T, R> transformer) {
+        return item -> {
+            long startTime = System.nanoTime();
+            R result = transformer.apply(item);
+            if (result != null) {
+                stageListener.onStageCompleted(stage, keyFunction.apply(item), System.nanoTime() - startTime);
+            }
+            return result;
+        };
+    }
+
+    private ForwardCurveState createForwardCurveState(String underlyingId) {
+        var book = underlyingIdToBook.get(underlyingId);
+        if (book == null || !book.instrumentToPrice.containsKey(book.underlying) || book.lastTimeOfEvent == null) {
+            return null;
+        }
+        return buildForwardCurve(new MarketState(book.underlying, book.options, Map.copyOf(book.instrumentToPrice), yieldCurve, book.lastTimeOfEvent));
+    }
+
+    public static ForwardCurveState buildForwardCurve(MarketState marketState) {
+        var forwardPriceCurve = ForwardPriceCurveConstructor.construct(
+                marketState.valuationTime(),
+                marketState.underlying(),
+                marketState.options(),
+                marketState.instrumentToPrice(),
+                marketState.yieldCurve()
+        );
+        return new ForwardCurveState(marketState, forwardPriceCurve);
+    }
+
+    public static SurfaceState buildSurface(ForwardCurveState forwardCurveState) {
+        var marketState = forwardCurveState.marketState();
+        var surface = ImpliedVolatilityConstructor.construct(
+                marketState.valuationTime(),
+                marketState.underlying(),
+                marketState.options(),
+                marketState.instrumentToPrice(),
+                marketState.yieldCurve(),
+                forwardCurveState.forwardPriceCurve()
+        );
+        return new SurfaceState(forwardCurveState, surface);
+    }
+
+    public static PricingSnapshot calculateGreeks(SurfaceState surfaceState) {
+        var forwardCurveState = surfaceState.forwardCurveState();
+        var marketState = forwardCurveState.marketState();
+        var surface = surfaceState.impliedVolatilitySurface();
+        var forwardPriceCurve = forwardCurveState.forwardPriceCurve();
+        Timestamp valuationTime = marketState.valuationTime();
+        double spotPrice = marketState.instrumentToPrice().get(marketState.underlying()).getRealValue();
+
+        Map<String, BlackScholesPriceModelResult> instrumentIdToResult = new HashMap<>();
+        for (var option : marketState.options()) {
+            double strikePrice = option.strikePrice().getRealValue();
+            double timeToMaturity = BlackScholesMerton.calculateTimeToMaturity(valuationTime, option);
+            if (timeToMaturity <= 0) {
+                continue;
+            }
+            double riskFreeRate = marketState.yieldCurve().getYield(timeToMaturity);
+            double volatility = surface.getImpliedVolatility(timeToMaturity, Math.log(strikePrice / spotPrice));
+            BlackScholesPriceModelResult result = switch (option.priceModel()) {
+                case BLACK_SCHOLES -> {
+                    double dividendYield = ((BlackScholesPriceModelParameters) option.priceModelParameters()).dividendYield().getRealValue();
+                    yield BlackScholesMerton.calculateOptionPrice(valuationTime, option.optionType(), strikePrice, spotPrice, volatility, timeToMaturity, riskFreeRate, dividendYield);
+                }
+                case BLACK_76 -> {
+                    double dividendYield = ((Black76PriceModelParameters) option.priceModelParameters()).dividendYield().getRealValue();
+                    double forwardPrice = forwardPriceCurve != null ? forwardPriceCurve.getForwardPrice(timeToMaturity) : spotPrice * Math.exp((riskFreeRate - dividendYield) * timeToMaturity);
+                    yield Black76.calculateOptionPrice(valuationTime, option.optionType(), strikePrice, forwardPrice, volatility, timeToMaturity, riskFreeRate);
+                }
+                default -> null;
+            };
+            if (result != null) {
+                instrumentIdToResult.put(option.instrumentId(), result);
+            }
+        }
+        return new PricingSnapshot(marketState.underlyingInstrumentId(), valuationTime, forwardPriceCurve, surface, instrumentIdToResult);
+    }
+
+    private record ExecutorReleaser(List<ExecutorService> executors) implements Flow.Subscriber<PricingSnapshot> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(PricingSnapshot snapshot) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            release();
+        }
+
+        @Override
+        public void onComplete() {
+            release();
+        }
+
+        private void release() {
+            // Signals already handed to the executors still run, the stage threads exit once they are idle
+            executors.forEach(ExecutorService::shutdown);
+        }
+    }
+
+    private static class UnderlyingBook {
+        private final Instrument underlying;
+        private final List<OptionInstrument> options;
+        private final Map<Instrument, Price> instrumentToPrice = new ConcurrentHashMap<>();
+        private volatile Timestamp lastTimeOfEvent;
+
+        private UnderlyingBook(Instrument underlying, List<OptionInstrument> options) {
+            this.underlying = underlying;
+            this.options = options;
+        }
+    }
+}
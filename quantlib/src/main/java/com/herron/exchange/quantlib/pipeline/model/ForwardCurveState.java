@@ -0,0 +1,10 @@
+package com.herron.exchange.quantlib.pipeline.model;
+
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.ForwardPriceCurve;
+
+public record ForwardCurveState(MarketState marketState, ForwardPriceCurve forwardPriceCurve) {
+
+    public String underlyingInstrumentId() {
+        return marketState.underlyingInstrumentId();
+    }
+}
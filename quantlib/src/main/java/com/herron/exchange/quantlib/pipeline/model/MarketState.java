@@ -0,0 +1,21 @@
+package com.herron.exchange.quantlib.pipeline.model;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+
+import java.util.List;
+import java.util.Map;
+
+public record MarketState(Instrument underlying,
+                          List<OptionInstrument> options,
+                          Map<Instrument, Price> instrumentToPrice,
+                          YieldCurve yieldCurve,
+                          Timestamp valuationTime) {
+
+    public String underlyingInstrumentId() {
+        return underlying.instrumentId();
+    }
+}
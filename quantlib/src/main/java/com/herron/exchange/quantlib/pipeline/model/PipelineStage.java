@@ -0,0 +1,7 @@
+package com.herron.exchange.quantlib.pipeline.model;
+
+public enum PipelineStage {
+    FORWARD_CURVE,
+    IMPLIED_VOLATILITY_SURFACE,
+    OPTION_PRICING
+}
@@ -0,0 +1,8 @@
+package com.herron.exchange.quantlib.pipeline.model;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+
+public record PriceUpdate(Instrument instrument, Price price, Timestamp timeOfEvent) {
+}
@@ -0,0 +1,15 @@
+package com.herron.exchange.quantlib.pipeline.model;
+
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.ForwardPriceCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.ImpliedVolatilitySurface;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelResult;
+
+import java.util.Map;
+
+public record PricingSnapshot(String underlyingInstrumentId,
+                              Timestamp valuationTime,
+                              ForwardPriceCurve forwardPriceCurve,
+                              ImpliedVolatilitySurface impliedVolatilitySurface,
+                              Map<String, BlackScholesPriceModelResult> instrumentIdToResult) {
+}
@@ -0,0 +1,10 @@
+package com.herron.exchange.quantlib.pipeline.model;
+
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.ImpliedVolatilitySurface;
+
+public record SurfaceState(ForwardCurveState forwardCurveState, ImpliedVolatilitySurface impliedVolatilitySurface) {
+
+    public String underlyingInstrumentId() {
+        return forwardCurveState.underlyingInstrumentId();
+    }
+}
@@ -0,0 +1,37 @@
+package com.herron.exchange.quantlib.pipeline.replay;
+
+import com.herron.exchange.quantlib.pipeline.replay.model.LatencyPercentiles;
+
+import java.util.Arrays;
+
+// Synchronized because pipeline stages record from their own drain threads
+class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int size = 0;
+
+    synchronized void record(long latencyNanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, 2 * size);
+        }
+        latencies[size++] = latencyNanos;
+    }
+
+    synchronized LatencyPercentiles summarize() {
+        if (size == 0) {
+            return new LatencyPercentiles(0, 0, 0, 0, 0, 0);
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        return new LatencyPercentiles(size,
+                percentile(sorted, 0.5),
+                percentile(sorted, 0.9),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                sorted[size - 1]
+        );
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
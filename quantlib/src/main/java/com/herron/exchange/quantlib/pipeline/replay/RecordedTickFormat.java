@@ -0,0 +1,15 @@
+package com.herron.exchange.quantlib.pipeline.replay;
+
+import java.nio.ByteOrder;
+
+// Header: magic, version, number of instruments and a length prefixed UTF-8 instrument id per instrument.
+// Body: fixed size little endian records of event time in epoch millis, instrument index and price.
+final class RecordedTickFormat {
+    static final int MAGIC = 0x48515452;
+    static final int VERSION = 1;
+    static final int RECORD_SIZE = Long.BYTES + Integer.BYTES + Double.BYTES;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private RecordedTickFormat() {
+    }
+}
@@ -0,0 +1,105 @@
+package com.herron.exchange.quantlib.pipeline.replay;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.BYTE_ORDER;
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.MAGIC;
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.RECORD_SIZE;
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.VERSION;
+
+public class RecordedTickReader implements AutoCloseable {
+    // A mapping cannot exceed 2GB, so large recordings are mapped in whole record segments
+    private static final long MAX_SEGMENT_SIZE = (Integer.MAX_VALUE / RECORD_SIZE) * (long) RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final List<String> instrumentIds;
+    private final long bodyOffset;
+    private final long nrOfTicks;
+    private final long maxSegmentSize;
+    private MappedByteBuffer segment;
+    private long segmentOffset;
+    private long tickIndex = -1;
+    private long timeOfEventMs;
+    private int instrumentIndex;
+    private double price;
+
+    public RecordedTickReader(Path path) throws IOException {
+        this(path, MAX_SEGMENT_SIZE);
+    }
+
+    RecordedTickReader(Path path, long maxSegmentSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.maxSegmentSize = maxSegmentSize;
+        var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), Integer.MAX_VALUE)).order(BYTE_ORDER);
+        if (header.remaining() < 3 * Integer.BYTES || header.getInt() != MAGIC) {
+            throw new IllegalArgumentException(String.format("%s is not a recorded tick file", path));
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported recorded tick file version %s in %s", version, path));
+        }
+        int nrOfInstruments = header.getInt();
+        List<String> ids = new ArrayList<>(nrOfInstruments);
+        for (int i = 0; i < nrOfInstruments; i++) {
+            byte[] encodedId = new byte[header.getShort()];
+            header.get(encodedId);
+            ids.add(new String(encodedId, StandardCharsets.UTF_8));
+        }
+        this.instrumentIds = List.copyOf(ids);
+        this.bodyOffset = header.position();
+        this.nrOfTicks = (channel.size() - bodyOffset) / RECORD_SIZE;
+    }
+
+    public List<String> getInstrumentIds() {
+        return instrumentIds;
+    }
+
+    public long getNrOfTicks() {
+        return nrOfTicks;
+    }
+
+    public boolean advance() throws IOException {
+        if (tickIndex + 1 >= nrOfTicks) {
+            return false;
+        }
+        tickIndex++;
+        if (segment == null || !segment.hasRemaining()) {
+            mapNextSegment();
+        }
+        timeOfEventMs = segment.getLong();
+        instrumentIndex = segment.getInt();
+        price = segment.getDouble();
+        return true;
+    }
+
+    public long timeOfEventMs() {
+        return timeOfEventMs;
+    }
+
+    public int instrumentIndex() {
+        return instrumentIndex;
+    }
+
+    public double price() {
+        return price;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void mapNextSegment() throws IOException {
+        segmentOffset = segment == null ? bodyOffset : segmentOffset + segment.capacity();
+        long remainingSize = (nrOfTicks - tickIndex) * RECORD_SIZE;
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentOffset, Math.min(remainingSize, maxSegmentSize));
+        segment.order(BYTE_ORDER);
+    }
+}
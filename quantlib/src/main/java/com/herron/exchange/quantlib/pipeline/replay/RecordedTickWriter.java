@@ -0,0 +1,80 @@
+package com.herron.exchange.quantlib.pipeline.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.BYTE_ORDER;
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.MAGIC;
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.RECORD_SIZE;
+import static com.herron.exchange.quantlib.pipeline.replay.RecordedTickFormat.VERSION;
+
+public class RecordedTickWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 4096 * RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final Map<String, Integer> instrumentIdToIndex = new HashMap<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+    private long lastTimeOfEventMs = Long.MIN_VALUE;
+
+    public RecordedTickWriter(Path path, List<String> instrumentIds) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writeHeader(instrumentIds);
+    }
+
+    public void write(long timeOfEventMs, String instrumentId, double price) throws IOException {
+        Integer instrumentIndex = instrumentIdToIndex.get(instrumentId);
+        if (instrumentIndex == null) {
+            throw new IllegalArgumentException(String.format("Instrument %s is not part of the recording", instrumentId));
+        }
+        if (timeOfEventMs < lastTimeOfEventMs) {
+            throw new IllegalArgumentException(String.format("Tick at %s is recorded before the previous tick at %s", timeOfEventMs, lastTimeOfEventMs));
+        }
+        lastTimeOfEventMs = timeOfEventMs;
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+        buffer.putLong(timeOfEventMs).putInt(instrumentIndex).putDouble(price);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void writeHeader(List<String> instrumentIds) throws IOException {
+        int headerSize = 3 * Integer.BYTES;
+        byte[][] encodedIds = new byte[instrumentIds.size()][];
+        for (int i = 0; i < instrumentIds.size(); i++) {
+            encodedIds[i] = instrumentIds.get(i).getBytes(StandardCharsets.UTF_8);
+            if (encodedIds[i].length > Short.MAX_VALUE || instrumentIdToIndex.put(instrumentIds.get(i), i) != null) {
+                throw new IllegalArgumentException(String.format("Invalid or duplicate instrument id %s", instrumentIds.get(i)));
+            }
+            headerSize += Short.BYTES + encodedIds[i].length;
+        }
+        var header = ByteBuffer.allocate(headerSize).order(BYTE_ORDER);
+        header.putInt(MAGIC).putInt(VERSION).putInt(encodedIds.length);
+        for (byte[] encodedId : encodedIds) {
+            header.putShort((short) encodedId.length).put(encodedId);
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,205 @@
+package com.herron.exchange.quantlib.pipeline.replay;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pipeline.TickPricingPipeline;
+import com.herron.exchange.quantlib.pipeline.model.PipelineStage;
+import com.herron.exchange.quantlib.pipeline.model.PriceUpdate;
+import com.herron.exchange.quantlib.pipeline.model.PricingSnapshot;
+import com.herron.exchange.quantlib.pipeline.replay.model.LatencyPercentiles;
+import com.herron.exchange.quantlib.pipeline.replay.model.ReplayConfig;
+import com.herron.exchange.quantlib.pipeline.replay.model.ReplayMode;
+import com.herron.exchange.quantlib.pipeline.replay.model.ReplayReport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class TickReplayEngine {
+    public static final String FORWARD_CURVE_STAGE = "forward_curve";
+    public static final String IMPLIED_VOLATILITY_SURFACE_STAGE = "implied_volatility_surface";
+    public static final String OPTION_PRICING_STAGE = "option_pricing";
+    public static final String TICK_TO_SNAPSHOT_STAGE = "tick_to_snapshot";
+
+    private final Map<String, Instrument> instrumentIdToInstrument = new HashMap<>();
+    private final Map<String, String> instrumentIdToUnderlyingId = new HashMap<>();
+    private final Map<String, List<OptionInstrument>> underlyingIdToOptions;
+    private final List<Instrument> underlyings;
+    private final YieldCurve yieldCurve;
+    private final ReplayConfig config;
+
+    public TickReplayEngine(List<Instrument> underlyings, List<OptionInstrument> options, YieldCurve yieldCurve, ReplayConfig config) {
+        this.underlyingIdToOptions = options.stream().collect(Collectors.groupingBy(OptionInstrument::underlyingInstrumentId));
+        this.underlyings = List.copyOf(underlyings);
+        this.yieldCurve = yieldCurve;
+        this.config = config;
+        for (var underlying : underlyings) {
+            instrumentIdToInstrument.put(underlying.instrumentId(), underlying);
+            instrumentIdToUnderlyingId.put(underlying.instrumentId(), underlying.instrumentId());
+        }
+        for (var option : options) {
+            instrumentIdToInstrument.put(option.instrumentId(), option);
+            instrumentIdToUnderlyingId.put(option.instrumentId(), option.underlyingInstrumentId());
+        }
+    }
+
+    public ReplayReport replay(Path path) throws IOException {
+        return replay(path, snapshot -> {
+        });
+    }
+
+    // Ticks are fed through the production pipeline, so conflation and stage hand-offs are part of what is measured.
+    // The snapshot consumer runs on the pipeline's delivery thread.
+    public ReplayReport replay(Path path, Consumer<PricingSnapshot> snapshotConsumer) throws IOException {
+        Map<PipelineStage, LatencyRecorder> stageToLatencies = new EnumMap<>(PipelineStage.class);
+        for (var stage : PipelineStage.values()) {
+            stageToLatencies.put(stage, new LatencyRecorder());
+        }
+        var tickToSnapshotLatencies = new LatencyRecorder();
+        Map<String, Queue<PendingTick>> underlyingIdToPendingTicks = new ConcurrentHashMap<>();
+        var snapshotCollector = new SnapshotCollector(underlyingIdToPendingTicks, tickToSnapshotLatencies, snapshotConsumer);
+        var pipeline = TickPricingPipeline.create(yieldCurve, (stage, underlyingId, elapsedNanos) -> stageToLatencies.get(stage).record(elapsedNanos));
+        pipeline.subscribe(snapshotCollector);
+        for (var underlying : underlyings) {
+            pipeline.registerUnderlying(underlying, underlyingIdToOptions.getOrDefault(underlying.instrumentId(), List.of()));
+        }
+
+        long nrOfTicks = 0;
+        long nrOfIgnoredTicks = 0;
+        long startTime = System.nanoTime();
+        try (var reader = new RecordedTickReader(path)) {
+            Instrument[] indexToInstrument = reader.getInstrumentIds().stream().map(instrumentIdToInstrument::get).toArray(Instrument[]::new);
+            long firstTimeOfEventMs = Long.MIN_VALUE;
+            while (reader.advance()) {
+                nrOfTicks++;
+                long timeOfEventMs = reader.timeOfEventMs();
+                if (firstTimeOfEventMs == Long.MIN_VALUE) {
+                    firstTimeOfEventMs = timeOfEventMs;
+                }
+                if (config.replayMode() == ReplayMode.RECORDED_SPEED) {
+                    awaitRecordedTime(startTime, timeOfEventMs - firstTimeOfEventMs);
+                }
+
+                var instrument = indexToInstrument[reader.instrumentIndex()];
+                if (instrument == null) {
+                    nrOfIgnoredTicks++;
+                    continue;
+                }
+                // The pipeline values each book at its last time of event, exactly as it does for the live feed
+                var timeOfEvent = toTimestamp(timeOfEventMs);
+                String underlyingId = instrumentIdToUnderlyingId.get(instrument.instrumentId());
+                underlyingIdToPendingTicks.computeIfAbsent(underlyingId, id -> new ConcurrentLinkedQueue<>()).offer(new PendingTick(timeOfEvent, System.nanoTime()));
+                pipeline.onPriceUpdate(new PriceUpdate(instrument, Price.create(reader.price()), timeOfEvent));
+            }
+        } finally {
+            pipeline.close();
+        }
+        snapshotCollector.awaitCompletion();
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        Map<String, LatencyPercentiles> stageToLatency = new LinkedHashMap<>();
+        stageToLatency.put(FORWARD_CURVE_STAGE, stageToLatencies.get(PipelineStage.FORWARD_CURVE).summarize());
+        stageToLatency.put(IMPLIED_VOLATILITY_SURFACE_STAGE, stageToLatencies.get(PipelineStage.IMPLIED_VOLATILITY_SURFACE).summarize());
+        stageToLatency.put(OPTION_PRICING_STAGE, stageToLatencies.get(PipelineStage.OPTION_PRICING).summarize());
+        stageToLatency.put(TICK_TO_SNAPSHOT_STAGE, tickToSnapshotLatencies.summarize());
+        return new ReplayReport(nrOfTicks,
+                nrOfIgnoredTicks,
+                snapshotCollector.getNrOfSnapshots(),
+                pipeline.getNrOfFailedUpdates(),
+                pipeline.getNrOfConflatedUpdates(),
+                elapsedNanos,
+                stageToLatency
+        );
+    }
+
+    private void awaitRecordedTime(long startTime, long recordedOffsetMs) {
+        long targetTime = startTime + (long) (recordedOffsetMs * 1_000_000 / config.speedMultiplier());
+        long remainingNanos;
+        while ((remainingNanos = targetTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+
+    private static Timestamp toTimestamp(long timeOfEventMs) {
+        return Timestamp.from(LocalDateTime.ofInstant(Instant.ofEpochMilli(timeOfEventMs), ZoneOffset.UTC));
+    }
+
+    private record PendingTick(Timestamp timeOfEvent, long arrivalTime) {
+    }
+
+    private static class SnapshotCollector implements Flow.Subscriber<PricingSnapshot> {
+        private final Map<String, Queue<PendingTick>> underlyingIdToPendingTicks;
+        private final LatencyRecorder tickToSnapshotLatencies;
+        private final Consumer<PricingSnapshot> snapshotConsumer;
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private final AtomicLong nrOfSnapshots = new AtomicLong();
+
+        private SnapshotCollector(Map<String, Queue<PendingTick>> underlyingIdToPendingTicks,
+                                  LatencyRecorder tickToSnapshotLatencies,
+                                  Consumer<PricingSnapshot> snapshotConsumer) {
+            this.underlyingIdToPendingTicks = underlyingIdToPendingTicks;
+            this.tickToSnapshotLatencies = tickToSnapshotLatencies;
+            this.snapshotConsumer = snapshotConsumer;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        // Every tick folded into the snapshot is served by it, conflated ticks included, so each records its own wait
+        @Override
+        public void onNext(PricingSnapshot snapshot) {
+            long now = System.nanoTime();
+            nrOfSnapshots.incrementAndGet();
+            var pendingTicks = underlyingIdToPendingTicks.get(snapshot.underlyingInstrumentId());
+            PendingTick pendingTick;
+            while (pendingTicks != null && (pendingTick = pendingTicks.peek()) != null && pendingTick.timeOfEvent().compareTo(snapshot.valuationTime()) <= 0) {
+                pendingTicks.poll();
+                tickToSnapshotLatencies.record(now - pendingTick.arrivalTime());
+            }
+            snapshotConsumer.accept(snapshot);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completion.countDown();
+        }
+
+        private long getNrOfSnapshots() {
+            return nrOfSnapshots.get();
+        }
+
+        private void awaitCompletion() {
+            try {
+                completion.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.herron.exchange.quantlib.pipeline.replay.model;
+
+public record LatencyPercentiles(long count,
+                                 long p50Nanos,
+                                 long p90Nanos,
+                                 long p99Nanos,
+                                 long p999Nanos,
+                                 long maxNanos) {
+}
@@ -0,0 +1,18 @@
+package com.herron.exchange.quantlib.pipeline.replay.model;
+
+public record ReplayConfig(ReplayMode replayMode, double speedMultiplier) {
+
+    public ReplayConfig {
+        if (!(speedMultiplier > 0)) {
+            throw new IllegalArgumentException(String.format("Speed multiplier must be positive: %s", speedMultiplier));
+        }
+    }
+
+    public static ReplayConfig recordedSpeed() {
+        return new ReplayConfig(ReplayMode.RECORDED_SPEED, 1);
+    }
+
+    public static ReplayConfig maximumSpeed() {
+        return new ReplayConfig(ReplayMode.MAXIMUM_SPEED, 1);
+    }
+}
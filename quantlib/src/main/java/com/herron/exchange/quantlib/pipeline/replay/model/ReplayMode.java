@@ -0,0 +1,6 @@
+package com.herron.exchange.quantlib.pipeline.replay.model;
+
+public enum ReplayMode {
+    RECORDED_SPEED,
+    MAXIMUM_SPEED
+}
@@ -0,0 +1,16 @@
+package com.herron.exchange.quantlib.pipeline.replay.model;
+
+import java.util.Map;
+
+public record ReplayReport(long nrOfTicks,
+                           long nrOfIgnoredTicks,
+                           long nrOfRebuilds,
+                           long nrOfFailedRebuilds,
+                           long nrOfConflatedUpdates,
+                           long elapsedNanos,
+                           Map<String, LatencyPercentiles> stageToLatency) {
+
+    public double getTicksPerSecond() {
+        return elapsedNanos > 0 ? nrOfTicks * 1e9 / elapsedNanos : 0;
+    }
+}
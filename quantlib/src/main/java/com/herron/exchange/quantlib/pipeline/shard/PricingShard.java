@@ -0,0 +1,256 @@
+package com.herron.exchange.quantlib.pipeline.shard;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.pipeline.model.MarketState;
+import com.herron.exchange.quantlib.pipeline.model.PriceUpdate;
+import com.herron.exchange.quantlib.pipeline.model.PricingSnapshot;
+import com.herron.exchange.quantlib.pipeline.shard.model.ShardStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.PRICING_PIPELINE_STAGE_FAILURES;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.PRICING_SHARD_QUEUE_DEPTH;
+
+class PricingShard {
+    private final int shardIndex;
+    private final String shardTag;
+    private final Function<MarketState, PricingSnapshot> snapshotBuilder;
+    private final Consumer<PricingSnapshot> listener;
+    private final Supplier<YieldCurve> yieldCurveSupplier;
+    private final BlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+    // Bounds the producer ticks only, control tasks and ticks forwarded by another shard bypass it so shards never block on each other
+    private final Semaphore queuedTickPermits;
+    private final int maxNrOfQueuedTicks;
+    // Only the worker thread writes the books, the rebalancer reads them to measure load
+    private final Map<String, UnderlyingBook> underlyingIdToBook = new ConcurrentHashMap<>();
+    private final Set<UnderlyingBook> dirtyBooks = new LinkedHashSet<>();
+    private final List<Task> drainedTasks = new ArrayList<>();
+    private final AtomicLong nrOfProcessedUpdates = new AtomicLong();
+    private final AtomicLong nrOfBuilds = new AtomicLong();
+    private final AtomicLong nrOfFailedBuilds = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean isRunning = true;
+
+    PricingShard(int shardIndex,
+                 Function<MarketState, PricingSnapshot> snapshotBuilder,
+                 Consumer<PricingSnapshot> listener,
+                 Supplier<YieldCurve> yieldCurveSupplier,
+                 int maxNrOfQueuedTicks) {
+        this.shardIndex = shardIndex;
+        this.shardTag = String.valueOf(shardIndex);
+        this.snapshotBuilder = snapshotBuilder;
+        this.listener = listener;
+        this.yieldCurveSupplier = yieldCurveSupplier;
+        this.queuedTickPermits = new Semaphore(maxNrOfQueuedTicks);
+        this.maxNrOfQueuedTicks = maxNrOfQueuedTicks;
+        this.thread = new Thread(this::run, "quantlib-pricing-shard-" + shardIndex);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        isRunning = false;
+        tasks.offer(new Stop());
+        thread.join();
+        // Producers still blocked on a full queue are let through, their ticks are never applied
+        queuedTickPermits.release(maxNrOfQueuedTicks);
+    }
+
+    int getShardIndex() {
+        return shardIndex;
+    }
+
+    Collection<UnderlyingBook> getBooks() {
+        return underlyingIdToBook.values();
+    }
+
+    ShardStats getStats() {
+        return new ShardStats(shardIndex, underlyingIdToBook.size(), tasks.size(), nrOfProcessedUpdates.get(), nrOfBuilds.get(), nrOfFailedBuilds.get());
+    }
+
+    void register(UnderlyingBook book) {
+        tasks.offer(new Register(book));
+    }
+
+    // Blocks the producer while the shard has its max number of ticks queued
+    void onPriceUpdate(PriceUpdate priceUpdate, UnderlyingRoute route) throws InterruptedException {
+        queuedTickPermits.acquire();
+        tasks.offer(new Tick(priceUpdate, route.nrOfTicks.incrementAndGet(), route, true));
+    }
+
+    private void forward(Tick tick) {
+        tasks.offer(new Tick(tick.priceUpdate(), tick.sequence(), tick.route(), false));
+    }
+
+    void migrate(UnderlyingRoute route, PricingShard target) {
+        tasks.offer(new Migrate(route, target));
+    }
+
+    void rebuildAll() {
+        tasks.offer(new RebuildAll());
+    }
+
+    private void run() {
+        while (isRunning) {
+            try {
+                drainedTasks.add(tasks.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            tasks.drainTo(drainedTasks);
+            QuantLibMetrics.record(PRICING_SHARD_QUEUE_DEPTH, drainedTasks.size(), "shard", shardTag);
+            // Every queued tick is folded in before building, so a burst costs one build per underlying
+            for (var task : drainedTasks) {
+                apply(task);
+            }
+            drainedTasks.clear();
+            buildDirtyBooks();
+        }
+    }
+
+    private void apply(Task task) {
+        switch (task) {
+            case Tick tick -> applyTick(tick);
+            case Register register -> applyRegister(register.book());
+            case Adopt adopt -> {
+                underlyingIdToBook.put(adopt.book().underlyingInstrumentId(), adopt.book());
+                if (adopt.isDirty()) {
+                    dirtyBooks.add(adopt.book());
+                }
+            }
+            case Migrate migrate -> applyMigrate(migrate);
+            case RebuildAll rebuildAll -> dirtyBooks.addAll(underlyingIdToBook.values());
+            case Stop stop -> {
+            }
+        }
+    }
+
+    private void applyTick(Tick tick) {
+        if (tick.holdsPermit()) {
+            queuedTickPermits.release();
+        }
+        var book = underlyingIdToBook.get(tick.route().underlyingInstrumentId);
+        if (book == null) {
+            // The underlying moved after the producer read its route
+            var owner = tick.route().shard;
+            if (owner != this) {
+                owner.forward(tick);
+            }
+            return;
+        }
+        var priceUpdate = tick.priceUpdate();
+        var previous = book.instrumentToUpdate.get(priceUpdate.instrument());
+        if (previous != null && isStale(priceUpdate, tick.sequence(), previous, book.instrumentToSequence.get(priceUpdate.instrument()))) {
+            return;
+        }
+        book.instrumentToUpdate.put(priceUpdate.instrument(), priceUpdate);
+        book.instrumentToSequence.put(priceUpdate.instrument(), tick.sequence());
+        if (book.lastTimeOfEvent == null || !priceUpdate.timeOfEvent().isBefore(book.lastTimeOfEvent)) {
+            book.lastTimeOfEvent = priceUpdate.timeOfEvent();
+        }
+        book.nrOfUpdates++;
+        nrOfProcessedUpdates.incrementAndGet();
+        dirtyBooks.add(book);
+    }
+
+    private static boolean isStale(PriceUpdate priceUpdate, long sequence, PriceUpdate previous, long previousSequence) {
+        if (priceUpdate.timeOfEvent().isBefore(previous.timeOfEvent())) {
+            return true;
+        }
+        return !priceUpdate.timeOfEvent().isAfter(previous.timeOfEvent()) && sequence < previousSequence;
+    }
+
+    private void applyRegister(UnderlyingBook book) {
+        var owner = book.route.shard;
+        if (owner != this) {
+            owner.register(book);
+            return;
+        }
+        var previous = underlyingIdToBook.put(book.underlyingInstrumentId(), book);
+        if (previous != null) {
+            book.instrumentToUpdate.putAll(previous.instrumentToUpdate);
+            book.instrumentToSequence.putAll(previous.instrumentToSequence);
+            book.lastTimeOfEvent = previous.lastTimeOfEvent;
+            book.nrOfUpdates = previous.nrOfUpdates;
+            dirtyBooks.remove(previous);
+        }
+        dirtyBooks.add(book);
+    }
+
+    // The adopt task is queued before the route switches, so the new owner sees the book before any tick routed to it
+    private void applyMigrate(Migrate migrate) {
+        var book = underlyingIdToBook.remove(migrate.route().underlyingInstrumentId);
+        if (book == null) {
+            return;
+        }
+        boolean isDirty = dirtyBooks.remove(book);
+        migrate.target().tasks.offer(new Adopt(book, isDirty));
+        migrate.route().shard = migrate.target();
+    }
+
+    private void buildDirtyBooks() {
+        for (var book : dirtyBooks) {
+            if (book.lastTimeOfEvent == null || !book.instrumentToUpdate.containsKey(book.underlying)) {
+                continue;
+            }
+            Map<Instrument, Price> instrumentToPrice = new HashMap<>();
+            for (var priceUpdate : book.instrumentToUpdate.values()) {
+                instrumentToPrice.put(priceUpdate.instrument(), priceUpdate.price());
+            }
+            var marketState = new MarketState(book.underlying, book.options, instrumentToPrice, yieldCurveSupplier.get(), book.lastTimeOfEvent);
+            try {
+                var snapshot = snapshotBuilder.apply(marketState);
+                nrOfBuilds.incrementAndGet();
+                if (snapshot != null) {
+                    listener.accept(snapshot);
+                }
+            } catch (RuntimeException e) {
+                nrOfFailedBuilds.incrementAndGet();
+                QuantLibMetrics.increment(PRICING_PIPELINE_STAGE_FAILURES);
+            }
+        }
+        dirtyBooks.clear();
+    }
+
+    private sealed interface Task permits Tick, Register, Adopt, Migrate, RebuildAll, Stop {
+    }
+
+    private record Tick(PriceUpdate priceUpdate, long sequence, UnderlyingRoute route, boolean holdsPermit) implements Task {
+    }
+
+    private record Register(UnderlyingBook book) implements Task {
+    }
+
+    private record Adopt(UnderlyingBook book, boolean isDirty) implements Task {
+    }
+
+    private record Migrate(UnderlyingRoute route, PricingShard target) implements Task {
+    }
+
+    private record RebuildAll() implements Task {
+    }
+
+    private record Stop() implements Task {
+    }
+}
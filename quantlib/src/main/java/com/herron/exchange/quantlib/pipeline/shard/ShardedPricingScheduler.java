@@ -0,0 +1,217 @@
+package com.herron.exchange.quantlib.pipeline.shard;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.pipeline.TickPricingPipeline;
+import com.herron.exchange.quantlib.pipeline.model.MarketState;
+import com.herron.exchange.quantlib.pipeline.model.PriceUpdate;
+import com.herron.exchange.quantlib.pipeline.model.PricingSnapshot;
+import com.herron.exchange.quantlib.pipeline.shard.model.ShardStats;
+import com.herron.exchange.quantlib.pipeline.shard.model.ShardedSchedulerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.PRICING_SHARD_REBALANCES;
+
+public class ShardedPricingScheduler implements Flow.Subscriber<PriceUpdate>, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedPricingScheduler.class);
+    private final ShardedSchedulerConfig config;
+    private final PricingShard[] shards;
+    private final int[] shardToNrOfUnderlyings;
+    private final Map<String, UnderlyingRoute> instrumentIdToRoute = new ConcurrentHashMap<>();
+    private final Map<String, UnderlyingRoute> underlyingIdToRoute = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService rebalanceExecutor;
+    private volatile YieldCurve yieldCurve;
+
+    public ShardedPricingScheduler(YieldCurve yieldCurve,
+                                   Function<MarketState, PricingSnapshot> snapshotBuilder,
+                                   Consumer<PricingSnapshot> listener,
+                                   ShardedSchedulerConfig config) {
+        this.config = config;
+        this.yieldCurve = yieldCurve;
+        this.shards = new PricingShard[config.nrOfShards()];
+        this.shardToNrOfUnderlyings = new int[config.nrOfShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new PricingShard(i, snapshotBuilder, listener, this::getYieldCurve, config.maxNrOfQueuedTicksPerShard());
+            shards[i].start();
+        }
+        if (config.rebalanceIntervalNanos() > 0) {
+            rebalanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "quantlib-pricing-shard-rebalancer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            rebalanceExecutor.scheduleWithFixedDelay(this::rebalance, config.rebalanceIntervalNanos(), config.rebalanceIntervalNanos(), TimeUnit.NANOSECONDS);
+        } else {
+            rebalanceExecutor = null;
+        }
+    }
+
+    public static ShardedPricingScheduler create(YieldCurve yieldCurve, Consumer<PricingSnapshot> listener, ShardedSchedulerConfig config) {
+        return new ShardedPricingScheduler(yieldCurve, ShardedPricingScheduler::buildSnapshot, listener, config);
+    }
+
+    public static PricingSnapshot buildSnapshot(MarketState marketState) {
+        return TickPricingPipeline.calculateGreeks(TickPricingPipeline.buildSurface(TickPricingPipeline.buildForwardCurve(marketState)));
+    }
+
+    public synchronized void registerUnderlying(Instrument underlying, List<OptionInstrument> options) {
+        String underlyingId = underlying.instrumentId();
+        var route = underlyingIdToRoute.get(underlyingId);
+        if (route == null) {
+            var shard = shards[leastLoadedShardIndex()];
+            shardToNrOfUnderlyings[shard.getShardIndex()]++;
+            route = new UnderlyingRoute(underlyingId, shard);
+        }
+        // The book is queued before the route is published, so no tick can reach the shard ahead of it
+        route.shard.register(new UnderlyingBook(underlying, List.copyOf(options), route));
+        underlyingIdToRoute.put(underlyingId, route);
+        instrumentIdToRoute.put(underlyingId, route);
+        for (var option : options) {
+            instrumentIdToRoute.put(option.instrumentId(), route);
+        }
+    }
+
+    // Blocks while the owning shard is full, which holds back a publisher delivering through onNext
+    public boolean onPriceUpdate(PriceUpdate priceUpdate) {
+        var route = instrumentIdToRoute.get(priceUpdate.instrument().instrumentId());
+        if (route == null) {
+            return false;
+        }
+        try {
+            route.shard.onPriceUpdate(priceUpdate, route);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    public void onYieldCurve(YieldCurve yieldCurve) {
+        this.yieldCurve = yieldCurve;
+        for (var shard : shards) {
+            shard.rebuildAll();
+        }
+    }
+
+    public YieldCurve getYieldCurve() {
+        return yieldCurve;
+    }
+
+    // Moves one hot underlying from the busiest to the idlest shard when their update counts since the last call diverge too far
+    public synchronized boolean rebalance() {
+        long[] shardToLoad = new long[shards.length];
+        Map<UnderlyingBook, Long> bookToLoad = new HashMap<>();
+        for (var shard : shards) {
+            for (var book : shard.getBooks()) {
+                long nrOfUpdates = book.nrOfUpdates;
+                long load = nrOfUpdates - book.nrOfUpdatesAtLastRebalance;
+                book.nrOfUpdatesAtLastRebalance = nrOfUpdates;
+                shardToLoad[shard.getShardIndex()] += load;
+                bookToLoad.put(book, load);
+            }
+        }
+
+        int busiest = 0;
+        int idlest = 0;
+        for (int i = 1; i < shards.length; i++) {
+            busiest = shardToLoad[i] > shardToLoad[busiest] ? i : busiest;
+            idlest = shardToLoad[i] < shardToLoad[idlest] ? i : idlest;
+        }
+        if (busiest == idlest || shardToLoad[busiest] <= config.maxLoadImbalance() * Math.max(1, shardToLoad[idlest])) {
+            return false;
+        }
+
+        // The best candidate halves the gap, moving a name hotter than the gap would just swap the roles of the two shards
+        long gap = shardToLoad[busiest] - shardToLoad[idlest];
+        UnderlyingBook candidate = null;
+        long candidateLoad = 0;
+        List<UnderlyingBook> busiestBooks = new ArrayList<>(shards[busiest].getBooks());
+        if (busiestBooks.size() < 2) {
+            return false;
+        }
+        for (var book : busiestBooks) {
+            long load = bookToLoad.getOrDefault(book, 0L);
+            if (load > 0 && load < gap && Math.abs(gap - 2 * load) < Math.abs(gap - 2 * candidateLoad)) {
+                candidate = book;
+                candidateLoad = load;
+            }
+        }
+        if (candidate == null) {
+            return false;
+        }
+
+        shards[busiest].migrate(candidate.route, shards[idlest]);
+        shardToNrOfUnderlyings[busiest]--;
+        shardToNrOfUnderlyings[idlest]++;
+        QuantLibMetrics.increment(PRICING_SHARD_REBALANCES);
+        return true;
+    }
+
+    public int getShardIndex(String underlyingInstrumentId) {
+        var route = underlyingIdToRoute.get(underlyingInstrumentId);
+        return route != null ? route.shard.getShardIndex() : -1;
+    }
+
+    public List<ShardStats> getShardStats() {
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for (var shard : shards) {
+            stats.add(shard.getStats());
+        }
+        return stats;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(PriceUpdate priceUpdate) {
+        onPriceUpdate(priceUpdate);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        LOGGER.error("Price update stream failed, shards keep serving the last built snapshots", throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        LOGGER.info("Price update stream completed, shards keep serving the last built snapshots");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (rebalanceExecutor != null) {
+            rebalanceExecutor.shutdownNow();
+        }
+        for (var shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private int leastLoadedShardIndex() {
+        int leastLoaded = 0;
+        for (int i = 1; i < shardToNrOfUnderlyings.length; i++) {
+            if (shardToNrOfUnderlyings[i] < shardToNrOfUnderlyings[leastLoaded]) {
+                leastLoaded = i;
+            }
+        }
+        return leastLoaded;
+    }
+}
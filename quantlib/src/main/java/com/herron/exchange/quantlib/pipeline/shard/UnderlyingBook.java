@@ -0,0 +1,33 @@
+package com.herron.exchange.quantlib.pipeline.shard;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pipeline.model.PriceUpdate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Owned by exactly one shard at a time, the hand over through the shard queues publishes its state to the next owner
+final class UnderlyingBook {
+    final Instrument underlying;
+    final List<OptionInstrument> options;
+    final UnderlyingRoute route;
+    final Map<Instrument, PriceUpdate> instrumentToUpdate = new HashMap<>();
+    final Map<Instrument, Long> instrumentToSequence = new HashMap<>();
+    Timestamp lastTimeOfEvent;
+    // Written by the owning shard, read by the rebalancer
+    volatile long nrOfUpdates;
+    long nrOfUpdatesAtLastRebalance;
+
+    UnderlyingBook(Instrument underlying, List<OptionInstrument> options, UnderlyingRoute route) {
+        this.underlying = underlying;
+        this.options = options;
+        this.route = route;
+    }
+
+    String underlyingInstrumentId() {
+        return underlying.instrumentId();
+    }
+}
@@ -0,0 +1,16 @@
+package com.herron.exchange.quantlib.pipeline.shard;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class UnderlyingRoute {
+    final String underlyingInstrumentId;
+    // Switched by the owning shard when it hands the underlying over, producers always enqueue on the current owner
+    volatile PricingShard shard;
+    // Stamped on every tick at ingress, breaks timestamp ties when a forwarded tick arrives after a newer direct one
+    final AtomicLong nrOfTicks = new AtomicLong();
+
+    UnderlyingRoute(String underlyingInstrumentId, PricingShard shard) {
+        this.underlyingInstrumentId = underlyingInstrumentId;
+        this.shard = shard;
+    }
+}
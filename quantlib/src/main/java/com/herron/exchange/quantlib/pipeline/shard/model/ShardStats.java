@@ -0,0 +1,9 @@
+package com.herron.exchange.quantlib.pipeline.shard.model;
+
+public record ShardStats(int shardIndex,
+                         int nrOfUnderlyings,
+                         int queueDepth,
+                         long nrOfProcessedUpdates,
+                         long nrOfBuilds,
+                         long nrOfFailedBuilds) {
+}
@@ -0,0 +1,30 @@
+package com.herron.exchange.quantlib.pipeline.shard.model;
+
+import java.time.Duration;
+
+public record ShardedSchedulerConfig(int nrOfShards, double maxLoadImbalance, long rebalanceIntervalNanos, int maxNrOfQueuedTicksPerShard) {
+
+    public ShardedSchedulerConfig {
+        if (nrOfShards < 1) {
+            throw new IllegalArgumentException(String.format("Number of shards must be positive: %s", nrOfShards));
+        }
+        if (maxLoadImbalance < 1) {
+            throw new IllegalArgumentException(String.format("Max load imbalance must be at least one: %s", maxLoadImbalance));
+        }
+        if (rebalanceIntervalNanos < 0) {
+            throw new IllegalArgumentException(String.format("Rebalance interval cannot be negative: %s", rebalanceIntervalNanos));
+        }
+        if (maxNrOfQueuedTicksPerShard < 1) {
+            throw new IllegalArgumentException(String.format("Max number of queued ticks per shard must be positive: %s", maxNrOfQueuedTicksPerShard));
+        }
+    }
+
+    // A zero interval disables periodic rebalancing, rebalance() can still be called explicitly
+    public static ShardedSchedulerConfig create(int nrOfShards, Duration rebalanceInterval) {
+        return new ShardedSchedulerConfig(nrOfShards, 1.5, rebalanceInterval.toNanos(), 65_536);
+    }
+
+    public static ShardedSchedulerConfig defaultConfig() {
+        return create(Runtime.getRuntime().availableProcessors(), Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,113 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelResult;
+import com.herron.exchange.quantlib.calendar.YearFractionCache;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceWithSecondOrderGreeks;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.GARMAN_KOHLHAGEN_BATCH_PRICE_LATENCY;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_ITERATIONS;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_LATENCY;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_NOT_CONVERGED;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.GARMAN_KOHLHAGEN_PRICE_LATENCY;
+
+public class GarmanKohlhagen {
+
+    public static double calculateTimeToMaturity(Timestamp valuationTime, OptionInstrument optionInstrument) {
+        return YearFractionCache.of(valuationTime).getYearFraction(optionInstrument.maturityDate());
+    }
+
+    public static BlackScholesPriceModelResult calculateOptionPrice(Timestamp valuationTime,
+                                                                    OptionTypeEnum optionType,
+                                                                    double strikePrice,
+                                                                    double spotRate,
+                                                                    double volatility,
+                                                                    double timeToMaturity,
+                                                                    double domesticRiskFreeRate,
+                                                                    double foreignRiskFreeRate) {
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            return GeneralizedBlack.calculateOptionPrice(valuationTime, optionType, strikePrice, spotRate, volatility, timeToMaturity, domesticRiskFreeRate, foreignRiskFreeRate);
+        } finally {
+            QuantLibMetrics.stopTimer(GARMAN_KOHLHAGEN_PRICE_LATENCY, startTime);
+        }
+    }
+
+    // Opt-in, the second order greeks reuse the d1, d2, density and discount terms of the same evaluation
+    public static OptionPriceWithSecondOrderGreeks calculateOptionPriceWithSecondOrderGreeks(Timestamp valuationTime,
+                                                                                             OptionTypeEnum optionType,
+                                                                                             double strikePrice,
+                                                                                             double spotRate,
+                                                                                             double volatility,
+                                                                                             double timeToMaturity,
+                                                                                             double domesticRiskFreeRate,
+                                                                                             double foreignRiskFreeRate) {
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            return GeneralizedBlack.calculateOptionPriceWithSecondOrderGreeks(valuationTime, optionType, strikePrice, spotRate, volatility, timeToMaturity, domesticRiskFreeRate, foreignRiskFreeRate);
+        } finally {
+            QuantLibMetrics.stopTimer(GARMAN_KOHLHAGEN_PRICE_LATENCY, startTime);
+        }
+    }
+
+    // Columnar pricing without result objects, the underlying prices are spot exchange rates and the dividend yields hold the foreign rates
+    public static void calculateOptionPrices(OptionPriceBatch batch, int size) {
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            GeneralizedBlack.calculateOptionPrices(batch, size, false);
+        } finally {
+            QuantLibMetrics.stopTimer(GARMAN_KOHLHAGEN_BATCH_PRICE_LATENCY, startTime);
+        }
+    }
+
+    public static PureNumber calculateImpliedVolatility(OptionTypeEnum optionType,
+                                                        double strikePrice,
+                                                        double marketPrice,
+                                                        double spotRate,
+                                                        double timeToMaturity,
+                                                        double domesticRiskFreeRate,
+                                                        double foreignRiskFreeRate) {
+        var result = solveImpliedVolatility(optionType, strikePrice, marketPrice, spotRate, timeToMaturity, domesticRiskFreeRate, foreignRiskFreeRate, ImpliedVolatilitySolverConfig.defaultConfig());
+        return PureNumber.create(result.impliedVolatility());
+    }
+
+    public static ImpliedVolatilityResult solveImpliedVolatility(OptionTypeEnum optionType,
+                                                                 double strikePrice,
+                                                                 double marketPrice,
+                                                                 double spotRate,
+                                                                 double timeToMaturity,
+                                                                 double domesticRiskFreeRate,
+                                                                 double foreignRiskFreeRate,
+                                                                 ImpliedVolatilitySolverConfig solverConfig) {
+        return solveImpliedVolatility(optionType, strikePrice, marketPrice, spotRate, timeToMaturity, domesticRiskFreeRate, foreignRiskFreeRate, Double.NaN, solverConfig);
+    }
+
+    public static ImpliedVolatilityResult solveImpliedVolatility(OptionTypeEnum optionType,
+                                                                 double strikePrice,
+                                                                 double marketPrice,
+                                                                 double spotRate,
+                                                                 double timeToMaturity,
+                                                                 double domesticRiskFreeRate,
+                                                                 double foreignRiskFreeRate,
+                                                                 double initialGuess,
+                                                                 ImpliedVolatilitySolverConfig solverConfig) {
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            var result = GeneralizedBlack.solveImpliedVolatility(optionType, strikePrice, marketPrice, spotRate, timeToMaturity, domesticRiskFreeRate, foreignRiskFreeRate, initialGuess, solverConfig);
+            QuantLibMetrics.record(GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_ITERATIONS, result.iterations());
+            if (!result.isConverged()) {
+                QuantLibMetrics.increment(GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_NOT_CONVERGED);
+            }
+            return result;
+        } finally {
+            QuantLibMetrics.stopTimer(GARMAN_KOHLHAGEN_IMPLIED_VOLATILITY_LATENCY, startTime);
+        }
+    }
+}
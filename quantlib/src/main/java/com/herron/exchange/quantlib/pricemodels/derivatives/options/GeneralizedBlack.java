@@ -0,0 +1,361 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options;
+
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelResult;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBlackScholesPriceModelResult;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableOptionGreeks;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityStatus;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceWithSecondOrderGreeks;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.SecondOrderGreeks;
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+import static com.herron.exchange.common.api.common.enums.EventType.SYSTEM;
+import static com.herron.exchange.common.api.common.enums.Status.OK;
+
+// Generalized Black model, the cost of carry is riskFreeRate - carryYield:
+// Black Scholes Merton uses the dividend yield, Black 76 the risk free rate and Garman Kohlhagen the foreign rate
+public final class GeneralizedBlack {
+    private static final double DAYS_PER_YEAR = DayCountConventionEnum.ACT365.getDaysPerYear();
+    private static final double IMPLIED_VOLATILITY_VALUE_MIN = 0.0;
+    private static final double IMPLIED_VOLATILITY_VALUE_MAX = 5.0;
+    private static final double IMPLIED_VOLATILITY_NEWTON_VALUE_MAX = 2.0;
+    private static final NormalDistribution STANDARD_NORMAL_DISTRIBUTION = new NormalDistribution();
+
+    private GeneralizedBlack() {
+    }
+
+    public static BlackScholesPriceModelResult calculateOptionPrice(Timestamp valuationTime,
+                                                                    OptionTypeEnum optionType,
+                                                                    double strikePrice,
+                                                                    double underlyingPrice,
+                                                                    double volatility,
+                                                                    double timeToMaturity,
+                                                                    double riskFreeRate,
+                                                                    double carryYield) {
+        var commonCalculations = CommonCalculations.from(underlyingPrice, strikePrice, riskFreeRate, carryYield, volatility, timeToMaturity);
+        return createResult(valuationTime, optionType, strikePrice, underlyingPrice, volatility, timeToMaturity, riskFreeRate, carryYield, commonCalculations);
+    }
+
+    public static OptionPriceWithSecondOrderGreeks calculateOptionPriceWithSecondOrderGreeks(Timestamp valuationTime,
+                                                                                             OptionTypeEnum optionType,
+                                                                                             double strikePrice,
+                                                                                             double underlyingPrice,
+                                                                                             double volatility,
+                                                                                             double timeToMaturity,
+                                                                                             double riskFreeRate,
+                                                                                             double carryYield) {
+        var commonCalculations = CommonCalculations.from(underlyingPrice, strikePrice, riskFreeRate, carryYield, volatility, timeToMaturity);
+        var result = createResult(valuationTime, optionType, strikePrice, underlyingPrice, volatility, timeToMaturity, riskFreeRate, carryYield, commonCalculations);
+        var secondOrderGreeks = calculateSecondOrderGreeks(optionType, underlyingPrice, volatility, timeToMaturity, riskFreeRate, carryYield, commonCalculations);
+        return new OptionPriceWithSecondOrderGreeks(result, secondOrderGreeks);
+    }
+
+    // Forward prices carry at the risk free rate, otherwise the dividend yield column holds the carry yield
+    public static void calculateOptionPrices(OptionPriceBatch batch, int size, boolean isForwardPrice) {
+        for (int i = 0; i < size; i++) {
+            var optionType = batch.isCall()[i] ? OptionTypeEnum.CALL : OptionTypeEnum.PUT;
+            double strikePrice = batch.strikePrices()[i];
+            double underlyingPrice = batch.underlyingPrices()[i];
+            double volatility = batch.volatilities()[i];
+            double timeToMaturity = batch.timeToMaturities()[i];
+            double riskFreeRate = batch.riskFreeRates()[i];
+            double carryYield = isForwardPrice ? riskFreeRate : batch.dividendYields()[i];
+            var commonCalculations = CommonCalculations.from(underlyingPrice, strikePrice, riskFreeRate, carryYield, volatility, timeToMaturity);
+            batch.prices()[i] = calculateOptionPrice(optionType, underlyingPrice, strikePrice, commonCalculations);
+            batch.deltas()[i] = calculateDelta(optionType, commonCalculations);
+            batch.thetas()[i] = calculateTheta(optionType, underlyingPrice, volatility, strikePrice, timeToMaturity, riskFreeRate, carryYield, commonCalculations);
+            batch.vegas()[i] = calculateVega(underlyingPrice, timeToMaturity, commonCalculations);
+            batch.gammas()[i] = calculateGamma(underlyingPrice, volatility, timeToMaturity, commonCalculations);
+            batch.rhos()[i] = calculateRho(optionType, strikePrice, timeToMaturity, commonCalculations);
+        }
+    }
+
+    public static ImpliedVolatilityResult solveImpliedVolatility(OptionTypeEnum optionType,
+                                                                 double strikePrice,
+                                                                 double marketPrice,
+                                                                 double underlyingPrice,
+                                                                 double timeToMaturity,
+                                                                 double riskFreeRate,
+                                                                 double carryYield,
+                                                                 double initialGuess,
+                                                                 ImpliedVolatilitySolverConfig solverConfig) {
+        long deadline = solverConfig.hasTimeBudget() ? System.nanoTime() + solverConfig.timeBudgetNanos() : 0;
+        ImpliedVolatilityResult result = null;
+        int warmStartIterations = 0;
+        if (initialGuess > IMPLIED_VOLATILITY_VALUE_MIN && initialGuess < IMPLIED_VOLATILITY_NEWTON_VALUE_MAX) {
+            result = solveImpliedVolatilityWithNewton(optionType, strikePrice, marketPrice, underlyingPrice, timeToMaturity, riskFreeRate, carryYield, initialGuess, solverConfig.maxIterations(), solverConfig, deadline);
+            warmStartIterations = result.iterations();
+        }
+
+        if (result == null || !result.isConverged() && result.status() != ImpliedVolatilityStatus.TIME_BUDGET_EXCEEDED) {
+            double coldGuess = calculateInitialGuess(optionType, strikePrice, marketPrice, underlyingPrice, timeToMaturity, riskFreeRate, carryYield);
+            int remainingIterations = Math.max(1, solverConfig.maxIterations() - warmStartIterations);
+            var coldResult = solveImpliedVolatilityWithNewton(optionType, strikePrice, marketPrice, underlyingPrice, timeToMaturity, riskFreeRate, carryYield, coldGuess, remainingIterations, solverConfig, deadline);
+            result = new ImpliedVolatilityResult(coldResult.impliedVolatility(), warmStartIterations + coldResult.iterations(), coldResult.residual(), coldResult.vega(), coldResult.status());
+        }
+        return result;
+    }
+
+    private static ImpliedVolatilityResult solveImpliedVolatilityWithNewton(OptionTypeEnum optionType,
+                                                                            double strikePrice,
+                                                                            double marketPrice,
+                                                                            double underlyingPrice,
+                                                                            double timeToMaturity,
+                                                                            double riskFreeRate,
+                                                                            double carryYield,
+                                                                            double impliedVolatility,
+                                                                            int maxIterations,
+                                                                            ImpliedVolatilitySolverConfig solverConfig,
+                                                                            long deadline) {
+        int iterations = 0;
+        double priceDifference = Double.NaN;
+        double vega = Double.NaN;
+        ImpliedVolatilityStatus status = ImpliedVolatilityStatus.MAX_ITERATIONS_REACHED;
+        while (iterations < maxIterations) {
+            iterations++;
+            var commonCalculations = CommonCalculations.from(underlyingPrice, strikePrice, riskFreeRate, carryYield, impliedVolatility, timeToMaturity);
+            double theoreticalPrice = calculateOptionPrice(optionType, underlyingPrice, strikePrice, commonCalculations);
+            vega = calculateVega(underlyingPrice, timeToMaturity, commonCalculations);
+            priceDifference = theoreticalPrice - marketPrice;
+            double updatedImpliedVolatility = impliedVolatility - (priceDifference / (vega * 100));
+            updatedImpliedVolatility = Math.max(IMPLIED_VOLATILITY_VALUE_MIN, Math.min(updatedImpliedVolatility, IMPLIED_VOLATILITY_NEWTON_VALUE_MAX));
+            double ivDifference = updatedImpliedVolatility - impliedVolatility;
+            impliedVolatility = updatedImpliedVolatility;
+            if (Math.abs(priceDifference) <= solverConfig.threshold() || Math.abs(ivDifference) <= solverConfig.threshold()) {
+                status = ImpliedVolatilityStatus.CONVERGED;
+                break;
+            }
+            if (solverConfig.hasTimeBudget() && System.nanoTime() - deadline > 0) {
+                status = ImpliedVolatilityStatus.TIME_BUDGET_EXCEEDED;
+                break;
+            }
+        }
+
+        // Only a solve that settled on a bound is clamped, a capped or timed out solve keeps its own status
+        if (status == ImpliedVolatilityStatus.CONVERGED) {
+            if (impliedVolatility <= IMPLIED_VOLATILITY_VALUE_MIN) {
+                status = ImpliedVolatilityStatus.CLAMPED_TO_LOWER_BOUND;
+            } else if (impliedVolatility >= IMPLIED_VOLATILITY_NEWTON_VALUE_MAX) {
+                status = ImpliedVolatilityStatus.CLAMPED_TO_UPPER_BOUND;
+            }
+        }
+        // The loop measured the residual before its last update, so it is taken again at the returned volatility
+        var commonCalculations = CommonCalculations.from(underlyingPrice, strikePrice, riskFreeRate, carryYield, impliedVolatility, timeToMaturity);
+        priceDifference = calculateOptionPrice(optionType, underlyingPrice, strikePrice, commonCalculations) - marketPrice;
+        vega = calculateVega(underlyingPrice, timeToMaturity, commonCalculations);
+        return new ImpliedVolatilityResult(impliedVolatility, iterations, priceDifference, vega, status);
+    }
+
+    private static double calculateInitialGuess(OptionTypeEnum optionType,
+                                                double strikePrice,
+                                                double marketPrice,
+                                                double underlyingPrice,
+                                                double timeToMaturity,
+                                                double riskFreeRate,
+                                                double carryYield) {
+        double lowerBound = IMPLIED_VOLATILITY_VALUE_MIN;
+        double upperBound = IMPLIED_VOLATILITY_VALUE_MAX;
+
+        for (int i = 0; i < 10; i++) {
+            double impliedVolatility = (upperBound - lowerBound) / 2.0;
+            var commonCalculations = CommonCalculations.from(underlyingPrice, strikePrice, riskFreeRate, carryYield, impliedVolatility, timeToMaturity);
+            double theoreticalPrice = calculateOptionPrice(optionType, underlyingPrice, strikePrice, commonCalculations);
+
+            if (theoreticalPrice > marketPrice) {
+                upperBound = impliedVolatility;
+            } else if (theoreticalPrice < marketPrice) {
+                lowerBound = impliedVolatility;
+            } else {
+                return impliedVolatility;
+            }
+
+        }
+        return (lowerBound + upperBound) / 2.0;
+    }
+
+    private static double calculateOptionPrice(OptionTypeEnum optionTypeEnum,
+                                               double underlyingPrice,
+                                               double strikePrice,
+                                               CommonCalculations commonCalculations) {
+        return switch (optionTypeEnum) {
+            case CALL -> calculateCallOptionPrice(underlyingPrice, strikePrice, commonCalculations);
+            case PUT -> calculatePutOptionPrice(underlyingPrice, strikePrice, commonCalculations);
+        };
+    }
+
+    private static double calculatePutOptionPrice(double underlyingPrice,
+                                                  double strikePrice,
+                                                  CommonCalculations commonCalculations) {
+        return strikePrice * commonCalculations.compoundedRiskFreeRate * STANDARD_NORMAL_DISTRIBUTION.cumulativeProbability(-commonCalculations.d2) -
+                underlyingPrice * commonCalculations.compoundedYield * STANDARD_NORMAL_DISTRIBUTION.cumulativeProbability(-commonCalculations.d1);
+    }
+
+    private static double calculateCallOptionPrice(double underlyingPrice,
+                                                   double strikePrice,
+                                                   CommonCalculations commonCalculations) {
+        return underlyingPrice * commonCalculations.compoundedYield * commonCalculations.cdfNormD1 -
+                strikePrice * commonCalculations.compoundedRiskFreeRate * commonCalculations.cdfNormD2;
+    }
+
+    private static double calculateDelta(OptionTypeEnum optionTypeEnum,
+                                         CommonCalculations commonCalculation) {
+        return switch (optionTypeEnum) {
+            case CALL -> commonCalculation.compoundedYield * commonCalculation.cdfNormD1;
+            case PUT -> commonCalculation.compoundedYield * (commonCalculation.cdfNormD1 - 1);
+        };
+    }
+
+    private static double calculateGamma(double underlyingPrice,
+                                         double volatility,
+                                         double timeToMaturity,
+                                         CommonCalculations commonCalculations) {
+        var rise = commonCalculations.compoundedYield * commonCalculations.pdfNormD1;
+        var run = underlyingPrice * volatility * Math.sqrt(timeToMaturity);
+        return rise / run;
+    }
+
+    private static double calculateVega(double underlyingPrice,
+                                        double timeToMaturity,
+                                        CommonCalculations commonCalculations) {
+        var rise = commonCalculations.compoundedYield * underlyingPrice * Math.sqrt(timeToMaturity) * commonCalculations.pdfNormD1;
+        return rise / 100;
+    }
+
+    private static double calculateRho(OptionTypeEnum optionTypeEnum,
+                                       double strikePrice,
+                                       double timeToMaturity,
+                                       CommonCalculations commonCalculations) {
+        return switch (optionTypeEnum) {
+            case CALL -> strikePrice * timeToMaturity * commonCalculations.compoundedRiskFreeRate * commonCalculations.cdfNormD2 * (1 / 100.0);
+            case PUT ->
+                    strikePrice * timeToMaturity * commonCalculations.compoundedRiskFreeRate * STANDARD_NORMAL_DISTRIBUTION.cumulativeProbability(-commonCalculations.d2) * (-1 / 100.0);
+        };
+    }
+
+    private static double calculateTheta(OptionTypeEnum optionTypeEnum,
+                                         double underlyingPrice,
+                                         double volatility,
+                                         double strikePrice,
+                                         double timeToMaturity,
+                                         double riskFreeRate,
+                                         double carryYield,
+                                         CommonCalculations commonCalculations) {
+        var sharedPart = -underlyingPrice * volatility * commonCalculations.compoundedYield * commonCalculations.pdfNormD1 / (2 * Math.sqrt(timeToMaturity));
+        var sidePart = switch (optionTypeEnum) {
+            case CALL -> -riskFreeRate * strikePrice * commonCalculations.compoundedRiskFreeRate * commonCalculations.pdfNormD2 +
+                    carryYield * underlyingPrice * commonCalculations.compoundedYield * commonCalculations.cdfNormD1;
+            case PUT ->
+                    riskFreeRate * strikePrice * commonCalculations.compoundedRiskFreeRate * STANDARD_NORMAL_DISTRIBUTION.cumulativeProbability(-commonCalculations.d2) -
+                            carryYield * underlyingPrice * commonCalculations.compoundedYield * STANDARD_NORMAL_DISTRIBUTION.cumulativeProbability(-commonCalculations.d1);
+        };
+
+        return (1 / DAYS_PER_YEAR) * (sharedPart + sidePart);
+    }
+
+    private static BlackScholesPriceModelResult createResult(Timestamp valuationTime,
+                                                             OptionTypeEnum optionType,
+                                                             double strikePrice,
+                                                             double underlyingPrice,
+                                                             double volatility,
+                                                             double timeToMaturity,
+                                                             double riskFreeRate,
+                                                             double carryYield,
+                                                             CommonCalculations commonCalculations) {
+        double optionPrice = calculateOptionPrice(optionType, underlyingPrice, strikePrice, commonCalculations);
+        double delta = calculateDelta(optionType, commonCalculations);
+        double theta = calculateTheta(optionType, underlyingPrice, volatility, strikePrice, timeToMaturity, riskFreeRate, carryYield, commonCalculations);
+        double vega = calculateVega(underlyingPrice, timeToMaturity, commonCalculations);
+        double gamma = calculateGamma(underlyingPrice, volatility, timeToMaturity, commonCalculations);
+        double rho = calculateRho(optionType, strikePrice, timeToMaturity, commonCalculations);
+        return ImmutableBlackScholesPriceModelResult.builder()
+                .price(Price.create(optionPrice).scale(5))
+                .sensitivity(ImmutableOptionGreeks.builder()
+                        .delta(PureNumber.create(delta).scale(5))
+                        .theta(PureNumber.create(theta).scale(5))
+                        .vega(PureNumber.create(vega).scale(5))
+                        .gamma(PureNumber.create(gamma).scale(5))
+                        .rho(PureNumber.create(rho).scale(5))
+                        .build())
+                .eventType(SYSTEM)
+                .timeOfEvent(Timestamp.now())
+                .marketTime(valuationTime)
+                .status(OK)
+                .build();
+    }
+
+    private static SecondOrderGreeks calculateSecondOrderGreeks(OptionTypeEnum optionType,
+                                                                double underlyingPrice,
+                                                                double volatility,
+                                                                double timeToMaturity,
+                                                                double riskFreeRate,
+                                                                double carryYield,
+                                                                CommonCalculations commonCalculations) {
+        double volatilitySqrtTime = volatility * Math.sqrt(timeToMaturity);
+        double discountedDensity = commonCalculations.compoundedYield * commonCalculations.pdfNormD1;
+        double gamma = discountedDensity / (underlyingPrice * volatilitySqrtTime);
+        double vanna = -discountedDensity * commonCalculations.d2 / volatility;
+        double volga = underlyingPrice * discountedDensity * Math.sqrt(timeToMaturity) * commonCalculations.d1 * commonCalculations.d2 / volatility;
+        double driftPart = discountedDensity * (2 * (riskFreeRate - carryYield) * timeToMaturity - commonCalculations.d2 * volatilitySqrtTime) / (2 * timeToMaturity * volatilitySqrtTime);
+        double charm = switch (optionType) {
+            case CALL -> carryYield * commonCalculations.compoundedYield * commonCalculations.cdfNormD1 - driftPart;
+            case PUT -> carryYield * commonCalculations.compoundedYield * (commonCalculations.cdfNormD1 - 1) - driftPart;
+        };
+        double speed = -gamma / underlyingPrice * (commonCalculations.d1 / volatilitySqrtTime + 1);
+        return new SecondOrderGreeks(vanna / 100, volga / 10000, charm / DAYS_PER_YEAR, speed);
+    }
+
+    private record CommonCalculations(double d1,
+                                      double d2,
+                                      double cdfNormD1,
+                                      double cdfNormD2,
+                                      double pdfNormD1,
+                                      double pdfNormD2,
+                                      double compoundedYield,
+                                      double compoundedRiskFreeRate) {
+
+        public static CommonCalculations from(double underlyingPrice,
+                                              double strikePrice,
+                                              double riskFreeRate,
+                                              double carryYield,
+                                              double volatility,
+                                              double timeToMaturity) {
+            var d1 = d1(underlyingPrice, strikePrice, volatility, carryYield, riskFreeRate, timeToMaturity);
+            var d2 = d2(d1, volatility, timeToMaturity);
+            var compoundedYield = Math.exp(-carryYield * timeToMaturity);
+            var compoundedRiskFreeRate = Math.exp(-riskFreeRate * timeToMaturity);
+            return new CommonCalculations(
+                    d1,
+                    d2,
+                    STANDARD_NORMAL_DISTRIBUTION.cumulativeProbability(d1),
+                    STANDARD_NORMAL_DISTRIBUTION.cumulativeProbability(d2),
+                    STANDARD_NORMAL_DISTRIBUTION.density(d1),
+                    STANDARD_NORMAL_DISTRIBUTION.density(d2),
+                    compoundedYield,
+                    compoundedRiskFreeRate
+            );
+        }
+
+        private static double d1(double underlyingPrice,
+                                 double strikePrice,
+                                 double volatility,
+                                 double carryYield,
+                                 double riskFreeRate,
+                                 double timeToMaturity) {
+
+            var rise = Math.log(underlyingPrice / strikePrice) + (riskFreeRate - carryYield + (volatility * volatility * 0.5)) * timeToMaturity;
+            var run = volatility * Math.sqrt(timeToMaturity);
+            return rise / run;
+        }
+
+        private static double d2(double d1, double volatility, double timeToMaturity) {
+            return d1 - volatility * Math.sqrt(timeToMaturity);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySeed;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ImpliedVolatilityWarmStartCache {
+    private final Map<String, ImpliedVolatilitySeed> instrumentIdToSeed = new ConcurrentHashMap<>();
+
+    public double getInitialGuess(String instrumentId) {
+        var seed = instrumentIdToSeed.get(instrumentId);
+        return seed != null && seed.isValid() ? seed.impliedVolatility() : Double.NaN;
+    }
+
+    public ImpliedVolatilitySeed getSeed(String instrumentId) {
+        return instrumentIdToSeed.get(instrumentId);
+    }
+
+    public void update(String instrumentId, Timestamp maturityDate, ImpliedVolatilityResult result) {
+        var seed = new ImpliedVolatilitySeed(result.impliedVolatility(), maturityDate);
+        // Vega is not seeded, a zero vega only marks a flat region where the solved volatility is not a reliable start
+        if (result.isConverged() && seed.isValid() && result.vega() > 0) {
+            instrumentIdToSeed.put(instrumentId, seed);
+        } else {
+            instrumentIdToSeed.remove(instrumentId);
+        }
+    }
+
+    public void evictExpired(Timestamp valuationTime) {
+        instrumentIdToSeed.values().removeIf(seed -> seed.maturityDate().isBefore(valuationTime));
+    }
+
+    public int size() {
+        return instrumentIdToSeed.size();
+    }
+
+    public void clear() {
+        instrumentIdToSeed.clear();
+    }
+}
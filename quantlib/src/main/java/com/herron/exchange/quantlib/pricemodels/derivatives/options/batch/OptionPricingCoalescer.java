@@ -0,0 +1,213 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.batch;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.enums.PriceModel;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model.CoalescerConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model.OptionPricingRequest;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model.OptionPricingResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.OPTION_PRICING_BATCH_SIZE;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.OPTION_PRICING_INLINE_FALLBACKS;
+
+public class OptionPricingCoalescer implements AutoCloseable {
+    private final CoalescerConfig config;
+    private final BlockingQueue<PendingRequest> queue;
+    private final List<PendingRequest> gathered;
+    private final List<PendingRequest> blackScholesRequests;
+    private final List<PendingRequest> black76Requests;
+    private final OptionPriceBatch blackScholesBatch;
+    private final OptionPriceBatch black76Batch;
+    private final Thread batcherThread;
+    private final AtomicLong nrOfBatches = new AtomicLong();
+    private final AtomicLong nrOfBatchedRequests = new AtomicLong();
+    private volatile boolean isClosed = false;
+
+    public OptionPricingCoalescer(CoalescerConfig config) {
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.queueCapacity());
+        this.gathered = new ArrayList<>(config.maxBatchSize());
+        this.blackScholesRequests = new ArrayList<>(config.maxBatchSize());
+        this.black76Requests = new ArrayList<>(config.maxBatchSize());
+        this.blackScholesBatch = OptionPriceBatch.create(config.maxBatchSize());
+        this.black76Batch = OptionPriceBatch.create(config.maxBatchSize());
+        this.batcherThread = Thread.ofPlatform().name("option-pricing-coalescer").daemon().unstarted(this::run);
+        this.batcherThread.start();
+    }
+
+    public static OptionPricingCoalescer create() {
+        return new OptionPricingCoalescer(CoalescerConfig.defaultConfig());
+    }
+
+    public CompletableFuture<OptionPricingResult> submit(OptionPricingRequest request) {
+        if (request.priceModel() != PriceModel.BLACK_SCHOLES && request.priceModel() != PriceModel.BLACK_76) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(String.format("Price model %s is not supported by the coalescer", request.priceModel())));
+        }
+        if (isClosed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Coalescer is closed"));
+        }
+        var pendingRequest = new PendingRequest(request, new CompletableFuture<>());
+        if (!queue.offer(pendingRequest)) {
+            // A saturated batcher should not add queueing delay on top, the caller prices it directly
+            QuantLibMetrics.increment(OPTION_PRICING_INLINE_FALLBACKS);
+            pendingRequest.future().complete(priceInline(request));
+        } else if (isClosed && queue.remove(pendingRequest)) {
+            // Closed while offering, the final drain in close() may already have run and would never see this request
+            pendingRequest.future().completeExceptionally(new CancellationException("Coalescer closed before request was priced"));
+        }
+        return pendingRequest.future();
+    }
+
+    public long getNrOfBatches() {
+        return nrOfBatches.get();
+    }
+
+    public long getNrOfBatchedRequests() {
+        return nrOfBatchedRequests.get();
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        batcherThread.interrupt();
+        try {
+            batcherThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingRequest pendingRequest;
+        while ((pendingRequest = queue.poll()) != null) {
+            pendingRequest.future().completeExceptionally(new CancellationException("Coalescer closed before request was priced"));
+        }
+    }
+
+    private void run() {
+        while (!isClosed) {
+            try {
+                gather();
+            } catch (InterruptedException e) {
+                break;
+            }
+            dispatch();
+        }
+        for (var pendingRequest : gathered) {
+            pendingRequest.future().completeExceptionally(new CancellationException("Coalescer closed before request was priced"));
+        }
+        gathered.clear();
+    }
+
+    private void gather() throws InterruptedException {
+        gathered.add(queue.take());
+        queue.drainTo(gathered, config.maxBatchSize() - gathered.size());
+        if (gathered.size() == 1) {
+            // Nothing else was waiting, so an idle caller is served immediately instead of waiting out the window
+            return;
+        }
+
+        long deadline = System.nanoTime() + config.maxDelayNanos();
+        while (gathered.size() < config.maxBatchSize()) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                break;
+            }
+            var pendingRequest = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (pendingRequest == null) {
+                break;
+            }
+            gathered.add(pendingRequest);
+            queue.drainTo(gathered, config.maxBatchSize() - gathered.size());
+        }
+    }
+
+    private void dispatch() {
+        for (var pendingRequest : gathered) {
+            if (pendingRequest.request().priceModel() == PriceModel.BLACK_76) {
+                black76Requests.add(pendingRequest);
+            } else {
+                blackScholesRequests.add(pendingRequest);
+            }
+        }
+        QuantLibMetrics.record(OPTION_PRICING_BATCH_SIZE, gathered.size());
+        nrOfBatches.incrementAndGet();
+        nrOfBatchedRequests.addAndGet(gathered.size());
+        gathered.clear();
+
+        price(blackScholesRequests, blackScholesBatch, PriceModel.BLACK_SCHOLES);
+        price(black76Requests, black76Batch, PriceModel.BLACK_76);
+    }
+
+    private static void price(List<PendingRequest> pendingRequests, OptionPriceBatch batch, PriceModel priceModel) {
+        if (pendingRequests.isEmpty()) {
+            return;
+        }
+        int size = pendingRequests.size();
+        for (int i = 0; i < size; i++) {
+            var request = pendingRequests.get(i).request();
+            batch.isCall()[i] = request.optionType() == OptionTypeEnum.CALL;
+            batch.strikePrices()[i] = request.strikePrice();
+            batch.underlyingPrices()[i] = request.underlyingPrice();
+            batch.volatilities()[i] = request.volatility();
+            batch.timeToMaturities()[i] = request.timeToMaturity();
+            batch.riskFreeRates()[i] = request.riskFreeRate();
+            batch.dividendYields()[i] = request.dividendYield();
+        }
+
+        try {
+            calculateOptionPrices(priceModel, batch, size);
+        } catch (RuntimeException e) {
+            for (var pendingRequest : pendingRequests) {
+                pendingRequest.future().completeExceptionally(e);
+            }
+            pendingRequests.clear();
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            pendingRequests.get(i).future().complete(new OptionPricingResult(
+                    batch.prices()[i],
+                    batch.deltas()[i],
+                    batch.gammas()[i],
+                    batch.vegas()[i],
+                    batch.thetas()[i],
+                    batch.rhos()[i]
+            ));
+        }
+        pendingRequests.clear();
+    }
+
+    private static OptionPricingResult priceInline(OptionPricingRequest request) {
+        var batch = OptionPriceBatch.create(1);
+        batch.isCall()[0] = request.optionType() == OptionTypeEnum.CALL;
+        batch.strikePrices()[0] = request.strikePrice();
+        batch.underlyingPrices()[0] = request.underlyingPrice();
+        batch.volatilities()[0] = request.volatility();
+        batch.timeToMaturities()[0] = request.timeToMaturity();
+        batch.riskFreeRates()[0] = request.riskFreeRate();
+        batch.dividendYields()[0] = request.dividendYield();
+        calculateOptionPrices(request.priceModel(), batch, 1);
+        return new OptionPricingResult(batch.prices()[0], batch.deltas()[0], batch.gammas()[0], batch.vegas()[0], batch.thetas()[0], batch.rhos()[0]);
+    }
+
+    private static void calculateOptionPrices(PriceModel priceModel, OptionPriceBatch batch, int size) {
+        if (priceModel == PriceModel.BLACK_76) {
+            Black76.calculateOptionPrices(batch, size);
+        } else {
+            BlackScholesMerton.calculateOptionPrices(batch, size);
+        }
+    }
+
+    private record PendingRequest(OptionPricingRequest request, CompletableFuture<OptionPricingResult> future) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model;
+
+import java.time.Duration;
+
+public record CoalescerConfig(int maxBatchSize, long maxDelayNanos, int queueCapacity) {
+
+    public CoalescerConfig {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException(String.format("Max batch size must be positive: %s", maxBatchSize));
+        }
+        if (maxDelayNanos < 0) {
+            throw new IllegalArgumentException(String.format("Max delay cannot be negative: %s", maxDelayNanos));
+        }
+        if (queueCapacity < maxBatchSize) {
+            throw new IllegalArgumentException(String.format("Queue capacity %s must be at least the max batch size %s", queueCapacity, maxBatchSize));
+        }
+    }
+
+    public static CoalescerConfig create(int maxBatchSize, Duration maxDelay) {
+        return new CoalescerConfig(maxBatchSize, maxDelay.toNanos(), 64 * maxBatchSize);
+    }
+
+    public static CoalescerConfig defaultConfig() {
+        return create(256, Duration.ofMillis(1));
+    }
+}
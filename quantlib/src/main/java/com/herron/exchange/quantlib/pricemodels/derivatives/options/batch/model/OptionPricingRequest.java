@@ -0,0 +1,33 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.enums.PriceModel;
+
+public record OptionPricingRequest(PriceModel priceModel,
+                                   OptionTypeEnum optionType,
+                                   double strikePrice,
+                                   double underlyingPrice,
+                                   double volatility,
+                                   double timeToMaturity,
+                                   double riskFreeRate,
+                                   double dividendYield) {
+
+    public static OptionPricingRequest blackScholes(OptionTypeEnum optionType,
+                                                    double strikePrice,
+                                                    double spotPrice,
+                                                    double volatility,
+                                                    double timeToMaturity,
+                                                    double riskFreeRate,
+                                                    double dividendYield) {
+        return new OptionPricingRequest(PriceModel.BLACK_SCHOLES, optionType, strikePrice, spotPrice, volatility, timeToMaturity, riskFreeRate, dividendYield);
+    }
+
+    public static OptionPricingRequest black76(OptionTypeEnum optionType,
+                                               double strikePrice,
+                                               double forwardPrice,
+                                               double volatility,
+                                               double timeToMaturity,
+                                               double riskFreeRate) {
+        return new OptionPricingRequest(PriceModel.BLACK_76, optionType, strikePrice, forwardPrice, volatility, timeToMaturity, riskFreeRate, 0);
+    }
+}
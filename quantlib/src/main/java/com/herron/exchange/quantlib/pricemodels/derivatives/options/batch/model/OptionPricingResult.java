@@ -0,0 +1,9 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model;
+
+public record OptionPricingResult(double price,
+                                  double delta,
+                                  double gamma,
+                                  double vega,
+                                  double theta,
+                                  double rho) {
+}
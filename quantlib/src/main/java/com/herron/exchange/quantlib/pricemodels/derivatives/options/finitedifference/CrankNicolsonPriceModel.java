@@ -0,0 +1,239 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference;
+
+import com.herron.exchange.common.api.common.enums.OptionExerciseTyleEnum;
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference.model.FiniteDifferenceGrid;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference.model.FiniteDifferenceResult;
+
+import java.util.function.DoubleBinaryOperator;
+
+import static com.herron.exchange.common.api.common.enums.OptionExerciseTyleEnum.AMERICAN;
+
+public class CrankNicolsonPriceModel {
+    private static final double CRANK_NICOLSON_THETA = 0.5;
+    private static final double IMPLICIT_THETA = 1.0;
+    // Fully implicit start steps damp the oscillations caused by the non-smooth payoff (Rannacher smoothing)
+    private static final int NR_OF_IMPLICIT_START_STEPS = 2;
+
+    public static FiniteDifferenceResult calculateOptionPrices(OptionTypeEnum optionType,
+                                                               OptionExerciseTyleEnum exerciseStyle,
+                                                               double[] strikePrices,
+                                                               double spotPrice,
+                                                               double volatility,
+                                                               double timeToMaturity,
+                                                               double riskFreeRate,
+                                                               double dividendYield,
+                                                               FiniteDifferenceGrid grid) {
+        return calculateOptionPrices(optionType,
+                exerciseStyle,
+                strikePrices,
+                spotPrice,
+                (time, spot) -> volatility,
+                true,
+                timeToMaturity,
+                riskFreeRate,
+                dividendYield,
+                grid
+        );
+    }
+
+    public static FiniteDifferenceResult calculateOptionPrices(OptionTypeEnum optionType,
+                                                               OptionExerciseTyleEnum exerciseStyle,
+                                                               double[] strikePrices,
+                                                               double spotPrice,
+                                                               DoubleBinaryOperator localVolatility,
+                                                               double timeToMaturity,
+                                                               double riskFreeRate,
+                                                               double dividendYield,
+                                                               FiniteDifferenceGrid grid) {
+        return calculateOptionPrices(optionType,
+                exerciseStyle,
+                strikePrices,
+                spotPrice,
+                localVolatility,
+                false,
+                timeToMaturity,
+                riskFreeRate,
+                dividendYield,
+                grid
+        );
+    }
+
+    private static FiniteDifferenceResult calculateOptionPrices(OptionTypeEnum optionType,
+                                                                OptionExerciseTyleEnum exerciseStyle,
+                                                                double[] strikePrices,
+                                                                double spotPrice,
+                                                                DoubleBinaryOperator localVolatility,
+                                                                boolean isConstantVolatility,
+                                                                double timeToMaturity,
+                                                                double riskFreeRate,
+                                                                double dividendYield,
+                                                                FiniteDifferenceGrid grid) {
+        int nrOfStrikes = strikePrices.length;
+        if (timeToMaturity <= 0) {
+            return calculateIntrinsicValues(optionType, strikePrices, spotPrice);
+        }
+
+        boolean isAmerican = exerciseStyle == AMERICAN;
+        int nrOfSpotSteps = grid.nrOfSpotSteps();
+        int nrOfNodes = nrOfSpotSteps + 1;
+        int nrOfInteriorNodes = nrOfSpotSteps - 1;
+        int nrOfTimeSteps = grid.nrOfTimeSteps();
+        double maxStrikePrice = 0;
+        for (double strikePrice : strikePrices) {
+            maxStrikePrice = Math.max(maxStrikePrice, strikePrice);
+        }
+        double spotUpperBound = grid.spotUpperBoundMultiplier() * Math.max(spotPrice, maxStrikePrice);
+        double spotStep = spotUpperBound / nrOfSpotSteps;
+        double timeStep = timeToMaturity / nrOfTimeSteps;
+
+        double[] payoffs = new double[nrOfStrikes * nrOfNodes];
+        double[] values = new double[nrOfStrikes * nrOfNodes];
+        for (int k = 0; k < nrOfStrikes; k++) {
+            int offset = k * nrOfNodes;
+            for (int j = 0; j < nrOfNodes; j++) {
+                payoffs[offset + j] = calculatePayoff(optionType, j * spotStep, strikePrices[k]);
+            }
+        }
+        System.arraycopy(payoffs, 0, values, 0, values.length);
+
+        double[] explicitLower = new double[nrOfInteriorNodes];
+        double[] explicitDiagonal = new double[nrOfInteriorNodes];
+        double[] explicitUpper = new double[nrOfInteriorNodes];
+        double[] implicitLower = new double[nrOfInteriorNodes];
+        double[] implicitDiagonal = new double[nrOfInteriorNodes];
+        double[] implicitUpper = new double[nrOfInteriorNodes];
+        double[] upperPrime = new double[nrOfInteriorNodes];
+        double[] inverseDenominator = new double[nrOfInteriorNodes];
+        double[] rhs = new double[nrOfInteriorNodes];
+
+        double previousTheta = Double.NaN;
+        for (int step = 0; step < nrOfTimeSteps; step++) {
+            double theta = step < NR_OF_IMPLICIT_START_STEPS ? IMPLICIT_THETA : CRANK_NICOLSON_THETA;
+            if (!isConstantVolatility || theta != previousTheta) {
+                double calendarTime = timeToMaturity - (step + 0.5) * timeStep;
+                for (int i = 0; i < nrOfInteriorNodes; i++) {
+                    int j = i + 1;
+                    double volatility = localVolatility.applyAsDouble(calendarTime, j * spotStep);
+                    double diffusion = volatility * volatility * j * j;
+                    double drift = (riskFreeRate - dividendYield) * j;
+                    double lower = 0.5 * timeStep * (diffusion - drift);
+                    double diagonal = -timeStep * (diffusion + riskFreeRate);
+                    double upper = 0.5 * timeStep * (diffusion + drift);
+                    explicitLower[i] = (1 - theta) * lower;
+                    explicitDiagonal[i] = 1 + (1 - theta) * diagonal;
+                    explicitUpper[i] = (1 - theta) * upper;
+                    implicitLower[i] = -theta * lower;
+                    implicitDiagonal[i] = 1 - theta * diagonal;
+                    implicitUpper[i] = -theta * upper;
+                }
+                TridiagonalSolver.factorize(implicitLower, implicitDiagonal, implicitUpper, nrOfInteriorNodes, upperPrime, inverseDenominator);
+                previousTheta = theta;
+            }
+
+            double timeLeft = (step + 1) * timeStep;
+            double compoundedRiskFreeRate = Math.exp(-riskFreeRate * timeLeft);
+            double compoundedYield = Math.exp(-dividendYield * timeLeft);
+            for (int k = 0; k < nrOfStrikes; k++) {
+                int offset = k * nrOfNodes;
+                double strikePrice = strikePrices[k];
+                double lowerBoundaryValue = calculateLowerBoundaryValue(optionType, isAmerican, strikePrice, compoundedRiskFreeRate);
+                double upperBoundaryValue = calculateUpperBoundaryValue(optionType, isAmerican, strikePrice, spotUpperBound, compoundedRiskFreeRate, compoundedYield);
+
+                for (int i = 0; i < nrOfInteriorNodes; i++) {
+                    int node = offset + i + 1;
+                    rhs[i] = explicitLower[i] * values[node - 1] + explicitDiagonal[i] * values[node] + explicitUpper[i] * values[node + 1];
+                }
+                rhs[0] -= implicitLower[0] * lowerBoundaryValue;
+                rhs[nrOfInteriorNodes - 1] -= implicitUpper[nrOfInteriorNodes - 1] * upperBoundaryValue;
+
+                TridiagonalSolver.solveFactorized(implicitLower, upperPrime, inverseDenominator, rhs, rhs, nrOfInteriorNodes);
+
+                values[offset] = lowerBoundaryValue;
+                values[offset + nrOfSpotSteps] = upperBoundaryValue;
+                if (isAmerican) {
+                    for (int i = 0; i < nrOfInteriorNodes; i++) {
+                        values[offset + i + 1] = Math.max(rhs[i], payoffs[offset + i + 1]);
+                    }
+                } else {
+                    System.arraycopy(rhs, 0, values, offset + 1, nrOfInteriorNodes);
+                }
+            }
+        }
+
+        return interpolateAtSpot(strikePrices, values, nrOfNodes, spotPrice, spotStep);
+    }
+
+    private static FiniteDifferenceResult interpolateAtSpot(double[] strikePrices,
+                                                            double[] values,
+                                                            int nrOfNodes,
+                                                            double spotPrice,
+                                                            double spotStep) {
+        int nrOfStrikes = strikePrices.length;
+        double[] prices = new double[nrOfStrikes];
+        double[] deltas = new double[nrOfStrikes];
+        double[] gammas = new double[nrOfStrikes];
+        int node = (int) Math.round(spotPrice / spotStep);
+        node = Math.max(1, Math.min(node, nrOfNodes - 2));
+        double distance = spotPrice - node * spotStep;
+        for (int k = 0; k < nrOfStrikes; k++) {
+            int offset = k * nrOfNodes + node;
+            double down = values[offset - 1];
+            double mid = values[offset];
+            double up = values[offset + 1];
+            double firstDerivative = (up - down) / (2 * spotStep);
+            double secondDerivative = (up - 2 * mid + down) / (spotStep * spotStep);
+            prices[k] = mid + distance * firstDerivative + 0.5 * distance * distance * secondDerivative;
+            deltas[k] = firstDerivative + distance * secondDerivative;
+            gammas[k] = secondDerivative;
+        }
+        return new FiniteDifferenceResult(strikePrices.clone(), prices, deltas, gammas);
+    }
+
+    private static FiniteDifferenceResult calculateIntrinsicValues(OptionTypeEnum optionType,
+                                                                   double[] strikePrices,
+                                                                   double spotPrice) {
+        int nrOfStrikes = strikePrices.length;
+        double[] prices = new double[nrOfStrikes];
+        double[] deltas = new double[nrOfStrikes];
+        for (int k = 0; k < nrOfStrikes; k++) {
+            prices[k] = calculatePayoff(optionType, spotPrice, strikePrices[k]);
+            if (prices[k] > 0) {
+                deltas[k] = optionType == OptionTypeEnum.CALL ? 1 : -1;
+            }
+        }
+        return new FiniteDifferenceResult(strikePrices.clone(), prices, deltas, new double[nrOfStrikes]);
+    }
+
+    private static double calculatePayoff(OptionTypeEnum optionType, double spotPrice, double strikePrice) {
+        return switch (optionType) {
+            case CALL -> Math.max(spotPrice - strikePrice, 0);
+            case PUT -> Math.max(strikePrice - spotPrice, 0);
+        };
+    }
+
+    private static double calculateLowerBoundaryValue(OptionTypeEnum optionType,
+                                                      boolean isAmerican,
+                                                      double strikePrice,
+                                                      double compoundedRiskFreeRate) {
+        return switch (optionType) {
+            case CALL -> 0;
+            case PUT -> isAmerican ? strikePrice : strikePrice * compoundedRiskFreeRate;
+        };
+    }
+
+    private static double calculateUpperBoundaryValue(OptionTypeEnum optionType,
+                                                      boolean isAmerican,
+                                                      double strikePrice,
+                                                      double spotUpperBound,
+                                                      double compoundedRiskFreeRate,
+                                                      double compoundedYield) {
+        return switch (optionType) {
+            case CALL -> {
+                double europeanValue = spotUpperBound * compoundedYield - strikePrice * compoundedRiskFreeRate;
+                yield isAmerican ? Math.max(europeanValue, spotUpperBound - strikePrice) : europeanValue;
+            }
+            case PUT -> 0;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference;
+
+public class TridiagonalSolver {
+
+    public static void solve(double[] lower,
+                             double[] diagonal,
+                             double[] upper,
+                             double[] rhs,
+                             double[] solution,
+                             int size,
+                             double[] upperPrimeScratch,
+                             double[] inverseDenominatorScratch) {
+        factorize(lower, diagonal, upper, size, upperPrimeScratch, inverseDenominatorScratch);
+        solveFactorized(lower, upperPrimeScratch, inverseDenominatorScratch, rhs, solution, size);
+    }
+
+    public static void factorize(double[] lower,
+                                 double[] diagonal,
+                                 double[] upper,
+                                 int size,
+                                 double[] upperPrime,
+                                 double[] inverseDenominator) {
+        inverseDenominator[0] = 1.0 / diagonal[0];
+        upperPrime[0] = upper[0] * inverseDenominator[0];
+        for (int i = 1; i < size; i++) {
+            inverseDenominator[i] = 1.0 / (diagonal[i] - lower[i] * upperPrime[i - 1]);
+            upperPrime[i] = upper[i] * inverseDenominator[i];
+        }
+    }
+
+    public static void solveFactorized(double[] lower,
+                                       double[] upperPrime,
+                                       double[] inverseDenominator,
+                                       double[] rhs,
+                                       double[] solution,
+                                       int size) {
+        solution[0] = rhs[0] * inverseDenominator[0];
+        for (int i = 1; i < size; i++) {
+            solution[i] = (rhs[i] - lower[i] * solution[i - 1]) * inverseDenominator[i];
+        }
+        for (int i = size - 2; i >= 0; i--) {
+            solution[i] -= upperPrime[i] * solution[i + 1];
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference.model;
+
+public record FiniteDifferenceGrid(int nrOfSpotSteps, int nrOfTimeSteps, double spotUpperBoundMultiplier) {
+
+    public FiniteDifferenceGrid {
+        if (nrOfSpotSteps < 3 || nrOfTimeSteps < 1 || spotUpperBoundMultiplier <= 1) {
+            throw new IllegalArgumentException(String.format("Invalid finite difference grid: spot steps=%s, time steps=%s, multiplier=%s", nrOfSpotSteps, nrOfTimeSteps, spotUpperBoundMultiplier));
+        }
+    }
+
+    public static FiniteDifferenceGrid defaultGrid() {
+        return new FiniteDifferenceGrid(400, 200, 3.0);
+    }
+}
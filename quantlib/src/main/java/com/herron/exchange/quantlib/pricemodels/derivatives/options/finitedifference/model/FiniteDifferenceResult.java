@@ -0,0 +1,8 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference.model;
+
+public record FiniteDifferenceResult(double[] strikePrices, double[] prices, double[] deltas, double[] gammas) {
+
+    public int size() {
+        return strikePrices.length;
+    }
+}
@@ -0,0 +1,16 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.model;
+
+public record ImpliedVolatilityResult(double impliedVolatility,
+                                      int iterations,
+                                      double residual,
+                                      double vega,
+                                      ImpliedVolatilityStatus status) {
+
+    public boolean isConverged() {
+        return status == ImpliedVolatilityStatus.CONVERGED;
+    }
+
+    public boolean isWithinBudget() {
+        return status != ImpliedVolatilityStatus.MAX_ITERATIONS_REACHED && status != ImpliedVolatilityStatus.TIME_BUDGET_EXCEEDED;
+    }
+}
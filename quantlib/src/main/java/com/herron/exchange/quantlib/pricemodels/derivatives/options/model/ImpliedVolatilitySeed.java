@@ -0,0 +1,10 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.model;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+
+public record ImpliedVolatilitySeed(double impliedVolatility, Timestamp maturityDate) {
+
+    public boolean isValid() {
+        return Double.isFinite(impliedVolatility) && impliedVolatility > 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.model;
+
+public record ImpliedVolatilitySolverConfig(int maxIterations, long timeBudgetNanos, double threshold) {
+    public static final long NO_TIME_BUDGET = 0;
+    private static final ImpliedVolatilitySolverConfig DEFAULT_CONFIG = new ImpliedVolatilitySolverConfig(1000, NO_TIME_BUDGET, 0.0001);
+
+    public ImpliedVolatilitySolverConfig {
+        if (maxIterations < 1 || timeBudgetNanos < 0 || threshold <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid implied volatility solver config: max iterations=%s, time budget=%s, threshold=%s", maxIterations, timeBudgetNanos, threshold));
+        }
+    }
+
+    public static ImpliedVolatilitySolverConfig defaultConfig() {
+        return DEFAULT_CONFIG;
+    }
+
+    public boolean hasTimeBudget() {
+        return timeBudgetNanos != NO_TIME_BUDGET;
+    }
+}
@@ -0,0 +1,9 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.model;
+
+public enum ImpliedVolatilityStatus {
+    CONVERGED,
+    CLAMPED_TO_LOWER_BOUND,
+    CLAMPED_TO_UPPER_BOUND,
+    MAX_ITERATIONS_REACHED,
+    TIME_BUDGET_EXCEEDED
+}
@@ -0,0 +1,37 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.model;
+
+public record OptionPriceBatch(boolean[] isCall,
+                               double[] strikePrices,
+                               double[] underlyingPrices,
+                               double[] volatilities,
+                               double[] timeToMaturities,
+                               double[] riskFreeRates,
+                               double[] dividendYields,
+                               double[] prices,
+                               double[] deltas,
+                               double[] gammas,
+                               double[] vegas,
+                               double[] thetas,
+                               double[] rhos) {
+
+    public static OptionPriceBatch create(int capacity) {
+        return new OptionPriceBatch(new boolean[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity],
+                new double[capacity]
+        );
+    }
+
+    public int capacity() {
+        return strikePrices.length;
+    }
+}
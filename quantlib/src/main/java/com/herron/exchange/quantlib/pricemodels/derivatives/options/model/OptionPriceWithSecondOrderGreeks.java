@@ -0,0 +1,7 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.model;
+
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelResult;
+
+public record OptionPriceWithSecondOrderGreeks(BlackScholesPriceModelResult priceModelResult,
+                                               SecondOrderGreeks secondOrderGreeks) {
+}
@@ -0,0 +1,8 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.model;
+
+// Scaled like the first order greeks: per volatility point for vanna and volga, per day for charm
+public record SecondOrderGreeks(double vanna,
+                                double volga,
+                                double charm,
+                                double speed) {
+}
@@ -10,6 +10,8 @@ import com.herron.exchange.common.api.common.messages.common.Timestamp;
 import com.herron.exchange.common.api.common.messages.pricing.BondDiscountPriceModelResult;
 import com.herron.exchange.common.api.common.messages.pricing.ImmutableBondDiscountPriceModelResult;
 import com.herron.exchange.common.api.common.messages.pricing.ImmutableDiscountedPaymentResult;
+import com.herron.exchange.quantlib.calendar.YearFractionCache;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
 import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.model.CouponPeriod;
 
 import java.util.ArrayList;
@@ -18,7 +20,7 @@ import java.util.function.DoubleUnaryOperator;
 
 import static com.herron.exchange.common.api.common.enums.EventType.SYSTEM;
 import static com.herron.exchange.common.api.common.enums.Status.OK;
-import static java.time.temporal.ChronoUnit.DAYS;
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.BOND_PRICE_LATENCY;
 
 public class BondDiscountingPriceModel {
 
@@ -33,12 +35,17 @@ public class BondDiscountingPriceModel {
     private static PriceModelResult calculateBondPrice(BondInstrument bondInstrument,
                                                        DoubleUnaryOperator yieldAtMaturityExtractor,
                                                        Timestamp valuationTime) {
-        if (valuationTime.isBefore(bondInstrument.startDate())) {
-            valuationTime = bondInstrument.startDate();
-        }
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            if (valuationTime.isBefore(bondInstrument.startDate())) {
+                valuationTime = bondInstrument.startDate();
+            }
 
-        List<CouponPeriod> coupons = CouponCalculationUtils.generateCouponPeriods(bondInstrument);
-        return calculateBondPrice(bondInstrument, yieldAtMaturityExtractor, valuationTime, coupons);
+            List<CouponPeriod> coupons = CouponCalculationUtils.generateCouponPeriods(bondInstrument);
+            return calculateBondPrice(bondInstrument, yieldAtMaturityExtractor, valuationTime, coupons);
+        } finally {
+            QuantLibMetrics.stopTimer(BOND_PRICE_LATENCY, startTime);
+        }
     }
 
     private static PriceModelResult calculateBondPrice(BondInstrument bondInstrument,
@@ -49,6 +56,7 @@ public class BondDiscountingPriceModel {
         double accruedInterest = 0;
         List<BondDiscountPriceModelResult.DiscountedPaymentResult> discountPaymentResults = new ArrayList<>();
         Timestamp maturityDate = bondInstrument.maturityDate();
+        var yearFractionCache = YearFractionCache.of(valuationTime);
         for (CouponPeriod coupon : coupons) {
             if (coupon.endDate().isBefore(valuationTime)) {
                 continue;
@@ -58,13 +66,13 @@ public class BondDiscountingPriceModel {
                 accruedInterest += calculateAccruedInterest(bondInstrument.couponRate(), coupon.startDate(), valuationTime, bondInstrument.priceModelParameters().dayCountConvention());
             }
 
-            var discountedCouponPayment = calculatePaymentValue(bondInstrument, coupon, maturityDate, yieldAtMaturityExtractor);
+            var discountedCouponPayment = calculatePaymentValue(bondInstrument, coupon, maturityDate, yieldAtMaturityExtractor, yearFractionCache);
             discountPaymentResults.add(discountedCouponPayment);
             presentValue += discountedCouponPayment.couponValuePercentage();
         }
 
         var nominalValuePeriod = new CouponPeriod(valuationTime, maturityDate, 1);
-        var discountedNominalPayment = calculatePaymentValue(bondInstrument, nominalValuePeriod, maturityDate, yieldAtMaturityExtractor);
+        var discountedNominalPayment = calculatePaymentValue(bondInstrument, nominalValuePeriod, maturityDate, yieldAtMaturityExtractor, yearFractionCache);
         discountPaymentResults.add(discountedNominalPayment);
         presentValue += discountedNominalPayment.couponValuePercentage();
 
@@ -86,8 +94,9 @@ public class BondDiscountingPriceModel {
     private static BondDiscountPriceModelResult.DiscountedPaymentResult calculatePaymentValue(BondInstrument bondInstrument,
                                                                                               CouponPeriod period,
                                                                                               Timestamp maturityDate,
-                                                                                              DoubleUnaryOperator yieldAtMaturityExtractor) {
-        double timeToMaturity = DAYS.between(period.startDate().toLocalDate(), maturityDate.toLocalDate()) / bondInstrument.priceModelParameters().dayCountConvention().getDaysPerYear();
+                                                                                              DoubleUnaryOperator yieldAtMaturityExtractor,
+                                                                                              YearFractionCache yearFractionCache) {
+        double timeToMaturity = yearFractionCache.getYearFraction(period.startDate(), maturityDate, bondInstrument.priceModelParameters().dayCountConvention());
         double yieldAtTimeToMaturity = yieldAtMaturityExtractor.applyAsDouble(timeToMaturity);
         double discountFactor = bondInstrument.priceModelParameters().compoundingMethod().calculateValue(yieldAtTimeToMaturity, timeToMaturity, bondInstrument.couponAnnualFrequency());
         double couponValuePercentage = period.couponRate() / discountFactor;
@@ -1,22 +1,52 @@
 package com.herron.exchange.quantlib.pricemodels.fixedincome.bonds;
 
 import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
 import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.calendar.BusinessDayIndex;
 import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.model.CouponPeriod;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class CouponCalculationUtils {
 
+    public static Map<String, List<CouponPeriod>> generateCouponSchedules(List<BondInstrument> instruments) {
+        Set<String> instrumentIds = new HashSet<>();
+        for (var instrument : instruments) {
+            if (!instrumentIds.add(instrument.instrumentId())) {
+                throw new IllegalArgumentException(String.format("Duplicate instrument id in coupon schedule request: %s", instrument.instrumentId()));
+            }
+        }
+
+        // Indexing the distinct calendars over the span of their schedules first keeps the schedule generation itself free of calendar walks
+        Map<BusinessCalendar, BusinessDayIndex> calendarToIndex = instruments.stream()
+                .filter(instrument -> !instrument.isZeroCouponBond())
+                .collect(Collectors.groupingBy(instrument -> instrument.product().businessCalendar()))
+                .entrySet()
+                .parallelStream()
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey, entry -> prebuildIndex(entry.getKey(), entry.getValue())));
+        return instruments.parallelStream()
+                .collect(Collectors.toConcurrentMap(BondInstrument::instrumentId,
+                        instrument -> instrument.isZeroCouponBond() ? List.of() : generateCouponPeriods(instrument, calendarToIndex.get(instrument.product().businessCalendar()))
+                ));
+    }
+
     public static List<CouponPeriod> generateCouponPeriods(BondInstrument instrument) {
         if (instrument.isZeroCouponBond()) {
             return List.of();
         }
+        return generateCouponPeriods(instrument, BusinessDayIndex.of(instrument.product().businessCalendar()));
+    }
 
+    private static List<CouponPeriod> generateCouponPeriods(BondInstrument instrument, BusinessDayIndex businessCalendar) {
         // This does not handle all corner cases
-        var businessCalendar = instrument.product().businessCalendar();
         var startDate = instrument.startDate().toLocalDate();
         var maturityDate = instrument.maturityDate().toLocalDate();
 
@@ -39,4 +69,17 @@ public class CouponCalculationUtils {
         couponPeriods.sort(Comparator.comparing(CouponPeriod::startDate));
         return couponPeriods;
     }
+
+    // The first coupon period starts up to one period before the start date and is adjusted forward from there
+    private static BusinessDayIndex prebuildIndex(BusinessCalendar businessCalendar, List<BondInstrument> instruments) {
+        LocalDate firstDate = LocalDate.MAX;
+        LocalDate lastDate = LocalDate.MIN;
+        for (var instrument : instruments) {
+            var startDate = instrument.startDate().toLocalDate().minusMonths(12 / instrument.couponAnnualFrequency());
+            var maturityDate = instrument.maturityDate().toLocalDate();
+            firstDate = startDate.isBefore(firstDate) ? startDate : firstDate;
+            lastDate = maturityDate.isAfter(lastDate) ? maturityDate : lastDate;
+        }
+        return BusinessDayIndex.prebuild(businessCalendar, firstDate, lastDate);
+    }
 }
@@ -0,0 +1,31 @@
+package com.herron.exchange.quantlib.registry;
+
+import com.herron.exchange.quantlib.pipeline.model.PricingSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Flow;
+
+// Callers read the curve and surface from one getLatest snapshot, two separate reads could straddle a publish
+public class PricingSnapshotRegistry extends VersionedRegistry<PricingSnapshot> implements Flow.Subscriber<PricingSnapshot> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PricingSnapshotRegistry.class);
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(PricingSnapshot snapshot) {
+        publish(snapshot.underlyingInstrumentId(), snapshot);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        LOGGER.error("Pricing snapshot stream failed, registry keeps serving the last published snapshots", throwable);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+}
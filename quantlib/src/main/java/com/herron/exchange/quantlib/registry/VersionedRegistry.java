@@ -0,0 +1,105 @@
+package com.herron.exchange.quantlib.registry;
+
+import com.herron.exchange.quantlib.registry.model.VersionedSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class VersionedRegistry<V> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionedRegistry.class);
+    private final Map<String, AtomicReference<VersionedSnapshot<V>>> idToSnapshot = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<VersionedSnapshot<V>>>> idToListeners = new ConcurrentHashMap<>();
+    private final List<Consumer<VersionedSnapshot<V>>> listeners = new CopyOnWriteArrayList<>();
+
+    // Reads never lock, a snapshot is immutable once published so its parts are always consistent with each other
+    public VersionedSnapshot<V> getSnapshot(String id) {
+        var reference = idToSnapshot.get(id);
+        return reference != null ? reference.get() : null;
+    }
+
+    public V getLatest(String id) {
+        var snapshot = getSnapshot(id);
+        return snapshot != null ? snapshot.value() : null;
+    }
+
+    public long getVersion(String id) {
+        var snapshot = getSnapshot(id);
+        return snapshot != null ? snapshot.version() : 0;
+    }
+
+    public VersionedSnapshot<V> publish(String id, V value) {
+        var reference = idToSnapshot.computeIfAbsent(id, key -> new AtomicReference<>());
+        VersionedSnapshot<V> previous;
+        VersionedSnapshot<V> snapshot;
+        do {
+            previous = reference.get();
+            long version = previous != null ? previous.version() + 1 : 1;
+            snapshot = new VersionedSnapshot<>(id, version, System.currentTimeMillis(), value);
+        } while (!reference.compareAndSet(previous, snapshot));
+        notifyListeners(snapshot);
+        return snapshot;
+    }
+
+    // Publishes only if nothing newer was published since expectedVersion, so a slow builder cannot overwrite a fresher build
+    public boolean compareAndPublish(String id, long expectedVersion, V value) {
+        var reference = idToSnapshot.computeIfAbsent(id, key -> new AtomicReference<>());
+        var previous = reference.get();
+        long version = previous != null ? previous.version() : 0;
+        if (version != expectedVersion) {
+            return false;
+        }
+        var snapshot = new VersionedSnapshot<>(id, version + 1, System.currentTimeMillis(), value);
+        if (!reference.compareAndSet(previous, snapshot)) {
+            return false;
+        }
+        notifyListeners(snapshot);
+        return true;
+    }
+
+    public void subscribe(String id, Consumer<VersionedSnapshot<V>> listener) {
+        idToListeners.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void subscribe(Consumer<VersionedSnapshot<V>> listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(String id, Consumer<VersionedSnapshot<V>> listener) {
+        var idListeners = idToListeners.get(id);
+        if (idListeners != null) {
+            idListeners.remove(listener);
+        }
+    }
+
+    public void unsubscribe(Consumer<VersionedSnapshot<V>> listener) {
+        listeners.remove(listener);
+    }
+
+    // Listeners run on the publishing thread, concurrent publishes may notify out of order so listeners should compare versions
+    private void notifyListeners(VersionedSnapshot<V> snapshot) {
+        var idListeners = idToListeners.get(snapshot.id());
+        if (idListeners != null) {
+            for (var listener : idListeners) {
+                notifyListener(listener, snapshot);
+            }
+        }
+        for (var listener : listeners) {
+            notifyListener(listener, snapshot);
+        }
+    }
+
+    // A failing listener must neither fail the publish, which already happened, nor starve the listeners after it
+    private void notifyListener(Consumer<VersionedSnapshot<V>> listener, VersionedSnapshot<V> snapshot) {
+        try {
+            listener.accept(snapshot);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Listener failed on snapshot {} version {}", snapshot.id(), snapshot.version(), e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.herron.exchange.quantlib.registry.model;
+
+public record VersionedSnapshot<V>(String id, long version, long publishTimeMs, V value) {
+}
@@ -0,0 +1,131 @@
+package com.herron.exchange.quantlib.risk.greeks;
+
+import com.herron.exchange.quantlib.risk.greeks.model.NetGreeks;
+import com.herron.exchange.quantlib.risk.model.OptionPosition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class PortfolioGreeksAggregator {
+    private final Map<String, UnderlyingGreeksBook> underlyingToBook = new ConcurrentHashMap<>();
+    private final Map<String, String> instrumentToUnderlying = new ConcurrentHashMap<>();
+    private final List<Consumer<NetGreeks>> listeners = new CopyOnWriteArrayList<>();
+    private final double taylorRevaluationThreshold;
+
+    private PortfolioGreeksAggregator(double taylorRevaluationThreshold) {
+        this.taylorRevaluationThreshold = taylorRevaluationThreshold;
+    }
+
+    public static PortfolioGreeksAggregator withFullRevaluation() {
+        return new PortfolioGreeksAggregator(0);
+    }
+
+    public static PortfolioGreeksAggregator withTaylorApproximation(double relativeSpotMoveThreshold) {
+        return new PortfolioGreeksAggregator(relativeSpotMoveThreshold);
+    }
+
+    public void addListener(Consumer<NetGreeks> listener) {
+        listeners.add(listener);
+    }
+
+    public NetGreeks addPosition(OptionPosition position, double spotPrice) {
+        String previousUnderlying = instrumentToUnderlying.put(position.instrumentId(), position.underlyingInstrumentId());
+        if (previousUnderlying != null && !previousUnderlying.equals(position.underlyingInstrumentId())) {
+            removePosition(previousUnderlying, position.instrumentId());
+        }
+        var book = underlyingToBook.computeIfAbsent(position.underlyingInstrumentId(), underlying -> new UnderlyingGreeksBook(underlying, spotPrice));
+        NetGreeks netGreeks;
+        synchronized (book) {
+            // An existing book moves to the given spot first, so the new position is valued at the same spot as the rest
+            book.updateSpotPrice(spotPrice, taylorRevaluationThreshold);
+            book.addPosition(position);
+            netGreeks = book.getNetGreeks();
+        }
+        return publish(netGreeks);
+    }
+
+    public NetGreeks removePosition(String instrumentId) {
+        String underlying = instrumentToUnderlying.remove(instrumentId);
+        if (underlying == null) {
+            return null;
+        }
+        return removePosition(underlying, instrumentId);
+    }
+
+    public NetGreeks onSpotPrice(String underlyingInstrumentId, double spotPrice) {
+        var book = underlyingToBook.get(underlyingInstrumentId);
+        if (book == null) {
+            return null;
+        }
+        NetGreeks netGreeks;
+        synchronized (book) {
+            book.updateSpotPrice(spotPrice, taylorRevaluationThreshold);
+            netGreeks = book.getNetGreeks();
+        }
+        return publish(netGreeks);
+    }
+
+    public NetGreeks onVolatility(String instrumentId, double volatility) {
+        String underlying = instrumentToUnderlying.get(instrumentId);
+        var book = underlying != null ? underlyingToBook.get(underlying) : null;
+        if (book == null) {
+            return null;
+        }
+        NetGreeks netGreeks;
+        synchronized (book) {
+            if (!book.updateVolatility(instrumentId, volatility)) {
+                return null;
+            }
+            netGreeks = book.getNetGreeks();
+        }
+        return publish(netGreeks);
+    }
+
+    public NetGreeks revalue(String underlyingInstrumentId, double spotPrice) {
+        var book = underlyingToBook.get(underlyingInstrumentId);
+        if (book == null) {
+            return null;
+        }
+        NetGreeks netGreeks;
+        synchronized (book) {
+            book.revalue(spotPrice);
+            netGreeks = book.getNetGreeks();
+        }
+        return publish(netGreeks);
+    }
+
+    public NetGreeks getNetGreeks(String underlyingInstrumentId) {
+        var book = underlyingToBook.get(underlyingInstrumentId);
+        if (book == null) {
+            return null;
+        }
+        synchronized (book) {
+            return book.getNetGreeks();
+        }
+    }
+
+    private NetGreeks removePosition(String underlying, String instrumentId) {
+        var book = underlyingToBook.get(underlying);
+        if (book == null) {
+            return null;
+        }
+        NetGreeks netGreeks;
+        synchronized (book) {
+            book.removePosition(instrumentId);
+            netGreeks = book.getNetGreeks();
+        }
+        return publish(netGreeks);
+    }
+
+    private NetGreeks publish(NetGreeks netGreeks) {
+        // Called outside the book lock, a slow or re-entrant listener must not hold up updates to the book.
+        // Concurrent updates to one book can arrive out of order, the version tells which snapshot is latest
+        for (var listener : listeners) {
+            listener.accept(netGreeks);
+        }
+        return netGreeks;
+    }
+}
@@ -0,0 +1,240 @@
+package com.herron.exchange.quantlib.risk.greeks;
+
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.quantlib.math.FastNormalDistribution;
+import com.herron.exchange.quantlib.risk.greeks.model.NetGreeks;
+import com.herron.exchange.quantlib.risk.model.OptionPosition;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+class UnderlyingGreeksBook {
+    private static final double DAYS_PER_YEAR = DayCountConventionEnum.ACT365.getDaysPerYear();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String underlyingInstrumentId;
+    private final Map<String, Integer> instrumentToIndex = new HashMap<>();
+    private String[] instrumentIds = new String[INITIAL_CAPACITY];
+    private boolean[] isCall = new boolean[INITIAL_CAPACITY];
+    private double[] strikePrices = new double[INITIAL_CAPACITY];
+    private double[] volatilities = new double[INITIAL_CAPACITY];
+    private double[] timeToMaturities = new double[INITIAL_CAPACITY];
+    private double[] riskFreeRates = new double[INITIAL_CAPACITY];
+    private double[] dividendYields = new double[INITIAL_CAPACITY];
+    private double[] quantities = new double[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private double[] deltas = new double[INITIAL_CAPACITY];
+    private double[] gammas = new double[INITIAL_CAPACITY];
+    private double[] vegas = new double[INITIAL_CAPACITY];
+    private double[] thetas = new double[INITIAL_CAPACITY];
+    private int size = 0;
+    private long version = 0;
+
+    private double referenceSpotPrice;
+    private double spotPrice;
+    private double netValue;
+    private double netDelta;
+    private double netGamma;
+    private double netVega;
+    private double netTheta;
+
+    UnderlyingGreeksBook(String underlyingInstrumentId, double spotPrice) {
+        this.underlyingInstrumentId = underlyingInstrumentId;
+        this.referenceSpotPrice = spotPrice;
+        this.spotPrice = spotPrice;
+    }
+
+    void addPosition(OptionPosition position) {
+        removePosition(position.instrumentId());
+        if (isApproximation()) {
+            revalue(spotPrice);
+        }
+        ensureCapacity(size + 1);
+        int index = size++;
+        instrumentToIndex.put(position.instrumentId(), index);
+        instrumentIds[index] = position.instrumentId();
+        isCall[index] = position.optionType() == OptionTypeEnum.CALL;
+        strikePrices[index] = position.strikePrice();
+        volatilities[index] = position.volatility();
+        timeToMaturities[index] = position.timeToMaturity();
+        riskFreeRates[index] = position.riskFreeRate();
+        dividendYields[index] = position.dividendYield();
+        quantities[index] = position.quantity();
+        evaluate(index, referenceSpotPrice);
+        addContribution(index, 1);
+        version++;
+    }
+
+    boolean removePosition(String instrumentId) {
+        Integer index = instrumentToIndex.remove(instrumentId);
+        if (index == null) {
+            return false;
+        }
+        addContribution(index, -1);
+        int last = --size;
+        if (index != last) {
+            move(last, index);
+            instrumentToIndex.put(instrumentIds[index], index);
+        }
+        instrumentIds[last] = null;
+        version++;
+        return true;
+    }
+
+    boolean updateVolatility(String instrumentId, double volatility) {
+        Integer index = instrumentToIndex.get(instrumentId);
+        if (index == null) {
+            return false;
+        }
+        addContribution(index, -1);
+        volatilities[index] = volatility;
+        evaluate(index, referenceSpotPrice);
+        addContribution(index, 1);
+        version++;
+        return true;
+    }
+
+    void updateSpotPrice(double spotPrice, double taylorRevaluationThreshold) {
+        double relativeMove = Math.abs(spotPrice / referenceSpotPrice - 1);
+        if (relativeMove <= taylorRevaluationThreshold) {
+            this.spotPrice = spotPrice;
+            version++;
+        } else {
+            revalue(spotPrice);
+        }
+    }
+
+    void revalue(double spotPrice) {
+        this.referenceSpotPrice = spotPrice;
+        this.spotPrice = spotPrice;
+        netValue = 0;
+        netDelta = 0;
+        netGamma = 0;
+        netVega = 0;
+        netTheta = 0;
+        for (int i = 0; i < size; i++) {
+            evaluate(i, spotPrice);
+            addContribution(i, 1);
+        }
+        version++;
+    }
+
+    NetGreeks getNetGreeks() {
+        if (!isApproximation()) {
+            return new NetGreeks(underlyingInstrumentId, version, spotPrice, size, netValue, netDelta, netGamma, netVega, netTheta, false);
+        }
+        double spotMove = spotPrice - referenceSpotPrice;
+        return new NetGreeks(underlyingInstrumentId,
+                version,
+                spotPrice,
+                size,
+                netValue + netDelta * spotMove + 0.5 * netGamma * spotMove * spotMove,
+                netDelta + netGamma * spotMove,
+                netGamma,
+                netVega,
+                netTheta,
+                true
+        );
+    }
+
+    private boolean isApproximation() {
+        return spotPrice != referenceSpotPrice;
+    }
+
+    private void addContribution(int index, int sign) {
+        netValue += sign * values[index];
+        netDelta += sign * deltas[index];
+        netGamma += sign * gammas[index];
+        netVega += sign * vegas[index];
+        netTheta += sign * thetas[index];
+    }
+
+    private void evaluate(int index, double spotPrice) {
+        double quantity = quantities[index];
+        double strikePrice = strikePrices[index];
+        double timeToMaturity = timeToMaturities[index];
+        if (timeToMaturity <= 0) {
+            double intrinsic = isCall[index] ? spotPrice - strikePrice : strikePrice - spotPrice;
+            boolean inTheMoney = intrinsic > 0;
+            values[index] = inTheMoney ? quantity * intrinsic : 0;
+            deltas[index] = inTheMoney ? quantity * (isCall[index] ? 1 : -1) : 0;
+            gammas[index] = 0;
+            vegas[index] = 0;
+            thetas[index] = 0;
+            return;
+        }
+
+        double volatility = volatilities[index];
+        double riskFreeRate = riskFreeRates[index];
+        double dividendYield = dividendYields[index];
+        double sqrtTimeToMaturity = Math.sqrt(timeToMaturity);
+        double standardDeviation = volatility * sqrtTimeToMaturity;
+        double compoundedYield = Math.exp(-dividendYield * timeToMaturity);
+        double compoundedRiskFreeRate = Math.exp(-riskFreeRate * timeToMaturity);
+        double d1 = (Math.log(spotPrice / strikePrice) + (riskFreeRate - dividendYield + 0.5 * volatility * volatility) * timeToMaturity) / standardDeviation;
+        double d2 = d1 - standardDeviation;
+        double pdfNormD1 = FastNormalDistribution.density(d1);
+        double cdfNormD1 = FastNormalDistribution.cumulativeProbability(d1);
+        double cdfNormD2 = FastNormalDistribution.cumulativeProbability(d2);
+        double discountedSpotPrice = spotPrice * compoundedYield;
+        double discountedStrikePrice = strikePrice * compoundedRiskFreeRate;
+        double sharedTheta = -discountedSpotPrice * pdfNormD1 * volatility / (2 * sqrtTimeToMaturity);
+
+        double value;
+        double delta;
+        double theta;
+        if (isCall[index]) {
+            value = discountedSpotPrice * cdfNormD1 - discountedStrikePrice * cdfNormD2;
+            delta = compoundedYield * cdfNormD1;
+            theta = sharedTheta - riskFreeRate * discountedStrikePrice * cdfNormD2 + dividendYield * discountedSpotPrice * cdfNormD1;
+        } else {
+            value = discountedStrikePrice * (1 - cdfNormD2) - discountedSpotPrice * (1 - cdfNormD1);
+            delta = compoundedYield * (cdfNormD1 - 1);
+            theta = sharedTheta + riskFreeRate * discountedStrikePrice * (1 - cdfNormD2) - dividendYield * discountedSpotPrice * (1 - cdfNormD1);
+        }
+
+        values[index] = quantity * value;
+        deltas[index] = quantity * delta;
+        gammas[index] = quantity * compoundedYield * pdfNormD1 / (spotPrice * standardDeviation);
+        vegas[index] = quantity * discountedSpotPrice * sqrtTimeToMaturity * pdfNormD1 / 100;
+        thetas[index] = quantity * theta / DAYS_PER_YEAR;
+    }
+
+    private void move(int from, int to) {
+        instrumentIds[to] = instrumentIds[from];
+        isCall[to] = isCall[from];
+        strikePrices[to] = strikePrices[from];
+        volatilities[to] = volatilities[from];
+        timeToMaturities[to] = timeToMaturities[from];
+        riskFreeRates[to] = riskFreeRates[from];
+        dividendYields[to] = dividendYields[from];
+        quantities[to] = quantities[from];
+        values[to] = values[from];
+        deltas[to] = deltas[from];
+        gammas[to] = gammas[from];
+        vegas[to] = vegas[from];
+        thetas[to] = thetas[from];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= instrumentIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, instrumentIds.length * 2);
+        instrumentIds = Arrays.copyOf(instrumentIds, newCapacity);
+        isCall = Arrays.copyOf(isCall, newCapacity);
+        strikePrices = Arrays.copyOf(strikePrices, newCapacity);
+        volatilities = Arrays.copyOf(volatilities, newCapacity);
+        timeToMaturities = Arrays.copyOf(timeToMaturities, newCapacity);
+        riskFreeRates = Arrays.copyOf(riskFreeRates, newCapacity);
+        dividendYields = Arrays.copyOf(dividendYields, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        deltas = Arrays.copyOf(deltas, newCapacity);
+        gammas = Arrays.copyOf(gammas, newCapacity);
+        vegas = Arrays.copyOf(vegas, newCapacity);
+        thetas = Arrays.copyOf(thetas, newCapacity);
+    }
+}
@@ -0,0 +1,14 @@
+package com.herron.exchange.quantlib.risk.greeks.model;
+
+// The version increases with every change to the book, listeners can drop snapshots older than one they already saw
+public record NetGreeks(String underlyingInstrumentId,
+                        long version,
+                        double spotPrice,
+                        int nrOfPositions,
+                        double value,
+                        double delta,
+                        double gamma,
+                        double vega,
+                        double theta,
+                        boolean isApproximation) {
+}
@@ -0,0 +1,14 @@
+package com.herron.exchange.quantlib.risk.model;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+
+public record OptionPosition(String instrumentId,
+                             String underlyingInstrumentId,
+                             OptionTypeEnum optionType,
+                             double strikePrice,
+                             double volatility,
+                             double timeToMaturity,
+                             double riskFreeRate,
+                             double dividendYield,
+                             double quantity) {
+}
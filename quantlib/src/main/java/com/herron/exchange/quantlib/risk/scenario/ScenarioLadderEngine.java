@@ -0,0 +1,119 @@
+package com.herron.exchange.quantlib.risk.scenario;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.quantlib.math.FastNormalDistribution;
+import com.herron.exchange.quantlib.risk.model.OptionPosition;
+import com.herron.exchange.quantlib.risk.scenario.model.ScenarioLadder;
+import com.herron.exchange.quantlib.risk.scenario.model.ScenarioLadderResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ScenarioLadderEngine {
+    private static final double VOLATILITY_FLOOR = 0.0001;
+
+    public static Map<String, ScenarioLadderResult> calculate(List<OptionPosition> positions,
+                                                              Map<String, Double> underlyingToSpotPrice,
+                                                              ScenarioLadder ladder) {
+        Map<String, List<OptionPosition>> underlyingToPositions = positions.stream().collect(Collectors.groupingBy(OptionPosition::underlyingInstrumentId));
+        for (String underlyingInstrumentId : underlyingToPositions.keySet()) {
+            // Dropping the positions would under-report the ladder
+            if (underlyingToSpotPrice.get(underlyingInstrumentId) == null) {
+                throw new IllegalArgumentException(String.format("Missing spot price for underlying %s", underlyingInstrumentId));
+            }
+        }
+        return underlyingToPositions.entrySet().parallelStream()
+                .map(entry -> calculate(entry.getKey(), underlyingToSpotPrice.get(entry.getKey()), entry.getValue(), ladder))
+                .collect(Collectors.toMap(ScenarioLadderResult::underlyingInstrumentId, result -> result));
+    }
+
+    public static ScenarioLadderResult calculate(String underlyingInstrumentId,
+                                                 double spotPrice,
+                                                 List<OptionPosition> positions,
+                                                 ScenarioLadder ladder) {
+        int nrOfSpotShocks = ladder.nrOfSpotShocks();
+        int nrOfVolatilityShocks = ladder.nrOfVolatilityShocks();
+        double[] shockedSpotPrices = new double[nrOfSpotShocks];
+        double[] logShockedSpotPrices = new double[nrOfSpotShocks];
+        for (int i = 0; i < nrOfSpotShocks; i++) {
+            shockedSpotPrices[i] = spotPrice * (1 + ladder.relativeSpotShocks()[i]);
+            logShockedSpotPrices[i] = Math.log(shockedSpotPrices[i]);
+        }
+
+        double[] profitAndLoss = new double[nrOfSpotShocks * nrOfVolatilityShocks];
+        for (var position : positions) {
+            accumulate(position, spotPrice, shockedSpotPrices, logShockedSpotPrices, ladder.absoluteVolatilityShocks(), profitAndLoss);
+        }
+        return new ScenarioLadderResult(underlyingInstrumentId, spotPrice, ladder, profitAndLoss);
+    }
+
+    private static void accumulate(OptionPosition position,
+                                   double spotPrice,
+                                   double[] shockedSpotPrices,
+                                   double[] logShockedSpotPrices,
+                                   double[] volatilityShocks,
+                                   double[] profitAndLoss) {
+        boolean isCall = position.optionType() == OptionTypeEnum.CALL;
+        double quantity = position.quantity();
+        double strikePrice = position.strikePrice();
+        double timeToMaturity = position.timeToMaturity();
+        int nrOfSpotShocks = shockedSpotPrices.length;
+        int nrOfVolatilityShocks = volatilityShocks.length;
+
+        if (timeToMaturity <= 0) {
+            double basePrice = calculatePayoff(isCall, spotPrice, strikePrice);
+            for (int s = 0; s < nrOfSpotShocks; s++) {
+                double change = quantity * (calculatePayoff(isCall, shockedSpotPrices[s], strikePrice) - basePrice);
+                int offset = s * nrOfVolatilityShocks;
+                for (int v = 0; v < nrOfVolatilityShocks; v++) {
+                    profitAndLoss[offset + v] += change;
+                }
+            }
+            return;
+        }
+
+        double logStrikePrice = Math.log(strikePrice);
+        double sqrtTimeToMaturity = Math.sqrt(timeToMaturity);
+        double compoundedYield = Math.exp(-position.dividendYield() * timeToMaturity);
+        double discountedStrikePrice = strikePrice * Math.exp(-position.riskFreeRate() * timeToMaturity);
+        double carry = (position.riskFreeRate() - position.dividendYield()) * timeToMaturity;
+        double basePrice = calculatePrice(isCall, spotPrice, Math.log(spotPrice) - logStrikePrice, Math.max(position.volatility(), VOLATILITY_FLOOR), sqrtTimeToMaturity, carry, compoundedYield, discountedStrikePrice);
+
+        for (int v = 0; v < nrOfVolatilityShocks; v++) {
+            double volatility = Math.max(position.volatility() + volatilityShocks[v], VOLATILITY_FLOOR);
+            double standardDeviation = volatility * sqrtTimeToMaturity;
+            double inverseStandardDeviation = 1.0 / standardDeviation;
+            double drift = carry + 0.5 * standardDeviation * standardDeviation;
+            for (int s = 0; s < nrOfSpotShocks; s++) {
+                double shockedSpotPrice = shockedSpotPrices[s];
+                double d1 = (logShockedSpotPrices[s] - logStrikePrice + drift) * inverseStandardDeviation;
+                double d2 = d1 - standardDeviation;
+                double forwardValue = shockedSpotPrice * compoundedYield;
+                double callPrice = forwardValue * FastNormalDistribution.cumulativeProbability(d1) - discountedStrikePrice * FastNormalDistribution.cumulativeProbability(d2);
+                double price = isCall ? callPrice : callPrice - forwardValue + discountedStrikePrice;
+                profitAndLoss[s * nrOfVolatilityShocks + v] += quantity * (price - basePrice);
+            }
+        }
+    }
+
+    private static double calculatePrice(boolean isCall,
+                                         double spotPrice,
+                                         double logMoneyness,
+                                         double volatility,
+                                         double sqrtTimeToMaturity,
+                                         double carry,
+                                         double compoundedYield,
+                                         double discountedStrikePrice) {
+        double standardDeviation = volatility * sqrtTimeToMaturity;
+        double d1 = (logMoneyness + carry + 0.5 * standardDeviation * standardDeviation) / standardDeviation;
+        double d2 = d1 - standardDeviation;
+        double forwardValue = spotPrice * compoundedYield;
+        double callPrice = forwardValue * FastNormalDistribution.cumulativeProbability(d1) - discountedStrikePrice * FastNormalDistribution.cumulativeProbability(d2);
+        return isCall ? callPrice : callPrice - forwardValue + discountedStrikePrice;
+    }
+
+    private static double calculatePayoff(boolean isCall, double spotPrice, double strikePrice) {
+        return isCall ? Math.max(spotPrice - strikePrice, 0) : Math.max(strikePrice - spotPrice, 0);
+    }
+}
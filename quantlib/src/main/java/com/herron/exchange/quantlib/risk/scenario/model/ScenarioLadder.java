@@ -0,0 +1,46 @@
+package com.herron.exchange.quantlib.risk.scenario.model;
+
+public record ScenarioLadder(double[] relativeSpotShocks, double[] absoluteVolatilityShocks) {
+
+    public ScenarioLadder {
+        for (double relativeSpotShock : relativeSpotShocks) {
+            // A shock of -100% or below leaves no positive spot to revalue at
+            if (relativeSpotShock <= -1) {
+                throw new IllegalArgumentException(String.format("Relative spot shock has to be above -100%%: %s", relativeSpotShock));
+            }
+        }
+    }
+
+    public static ScenarioLadder create(int nrOfSpotShocks,
+                                        double maxRelativeSpotShock,
+                                        int nrOfVolatilityShocks,
+                                        double maxAbsoluteVolatilityShock) {
+        return new ScenarioLadder(
+                createSymmetricShocks(nrOfSpotShocks, maxRelativeSpotShock),
+                createSymmetricShocks(nrOfVolatilityShocks, maxAbsoluteVolatilityShock)
+        );
+    }
+
+    private static double[] createSymmetricShocks(int nrOfShocks, double maxShock) {
+        if (nrOfShocks < 1) {
+            throw new IllegalArgumentException(String.format("Number of shocks has to be positive: %s", nrOfShocks));
+        }
+        double[] shocks = new double[nrOfShocks];
+        if (nrOfShocks == 1) {
+            return shocks;
+        }
+        double step = 2 * maxShock / (nrOfShocks - 1);
+        for (int i = 0; i < nrOfShocks; i++) {
+            shocks[i] = -maxShock + i * step;
+        }
+        return shocks;
+    }
+
+    public int nrOfSpotShocks() {
+        return relativeSpotShocks.length;
+    }
+
+    public int nrOfVolatilityShocks() {
+        return absoluteVolatilityShocks.length;
+    }
+}
@@ -0,0 +1,11 @@
+package com.herron.exchange.quantlib.risk.scenario.model;
+
+public record ScenarioLadderResult(String underlyingInstrumentId,
+                                   double spotPrice,
+                                   ScenarioLadder ladder,
+                                   double[] profitAndLoss) {
+
+    public double getProfitAndLoss(int spotShockIndex, int volatilityShockIndex) {
+        return profitAndLoss[spotShockIndex * ladder.nrOfVolatilityShocks() + volatilityShockIndex];
+    }
+}
@@ -0,0 +1,353 @@
+package com.herron.exchange.quantlib.risk.var;
+
+import com.herron.exchange.common.api.common.enums.CompoundingMethodEnum;
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.enums.PriceModel;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.calendar.YearFractionCache;
+import com.herron.exchange.quantlib.math.FastNormalDistribution;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.CouponCalculationUtils;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.model.CouponPeriod;
+import com.herron.exchange.quantlib.risk.var.model.BondPosition;
+import com.herron.exchange.quantlib.risk.var.model.HistoricalScenarioSet;
+import com.herron.exchange.quantlib.risk.var.model.OptionExposure;
+import com.herron.exchange.quantlib.risk.var.model.PortfolioNode;
+import com.herron.exchange.quantlib.risk.var.model.ValueAtRiskResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.HISTORICAL_VAR_LATENCY;
+
+public class HistoricalVarEngine {
+    private static final double VOLATILITY_FLOOR = 0.0001;
+    private final HistoricalScenarioSet scenarioSet;
+    private final Map<String, Integer> underlyingToIndex = new HashMap<>();
+
+    private HistoricalVarEngine(HistoricalScenarioSet scenarioSet) {
+        this.scenarioSet = scenarioSet;
+        for (int i = 0; i < scenarioSet.nrOfUnderlyings(); i++) {
+            underlyingToIndex.put(scenarioSet.underlyingInstrumentIds().get(i), i);
+        }
+    }
+
+    public static HistoricalVarEngine create(HistoricalScenarioSet scenarioSet) {
+        return new HistoricalVarEngine(scenarioSet);
+    }
+
+    public HistoricalScenarioSet getScenarioSet() {
+        return scenarioSet;
+    }
+
+    public Map<String, ValueAtRiskResult> calculate(PortfolioNode root,
+                                                    Map<String, Double> underlyingToSpotPrice,
+                                                    YieldCurve yieldCurve,
+                                                    Timestamp valuationTime,
+                                                    double confidenceLevel) {
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) {
+            throw new IllegalArgumentException(String.format("Confidence level has to be in (0, 1): %s", confidenceLevel));
+        }
+        long startTime = QuantLibMetrics.startTimer();
+        try {
+            List<PortfolioNode> nodes = new ArrayList<>();
+            List<Integer> parentIndices = new ArrayList<>();
+            flatten(root, -1, nodes, parentIndices, new HashSet<>());
+            int nrOfNodes = nodes.size();
+            int[] nodeToParent = parentIndices.stream().mapToInt(Integer::intValue).toArray();
+
+            var optionBook = new OptionBook(nodes, underlyingToSpotPrice);
+            var bondBook = new BondBook(nodes, yieldCurve, valuationTime);
+            int nrOfScenarios = scenarioSet.nrOfScenarios();
+            // Scenario major, every worker owns whole rows of the buffer
+            double[] profitAndLoss = new double[nrOfScenarios * nrOfNodes];
+            IntStream.range(0, nrOfScenarios).parallel().forEach(scenario -> {
+                int offset = scenario * nrOfNodes;
+                optionBook.revalue(scenario, profitAndLoss, offset);
+                bondBook.revalue(scenario, profitAndLoss, offset);
+                // Children always come after their parent in pre-order, so one reverse sweep rolls the tree up
+                for (int node = nrOfNodes - 1; node > 0; node--) {
+                    profitAndLoss[offset + nodeToParent[node]] += profitAndLoss[offset + node];
+                }
+            });
+
+            return IntStream.range(0, nrOfNodes).parallel()
+                    .mapToObj(node -> calculateResult(nodes.get(node).nodeId(), node, nrOfNodes, profitAndLoss, confidenceLevel))
+                    .collect(Collectors.toMap(ValueAtRiskResult::nodeId, result -> result));
+        } finally {
+            QuantLibMetrics.stopTimer(HISTORICAL_VAR_LATENCY, startTime);
+        }
+    }
+
+    private ValueAtRiskResult calculateResult(String nodeId, int node, int nrOfNodes, double[] profitAndLoss, double confidenceLevel) {
+        int nrOfScenarios = scenarioSet.nrOfScenarios();
+        double[] nodeProfitAndLoss = new double[nrOfScenarios];
+        for (int scenario = 0; scenario < nrOfScenarios; scenario++) {
+            nodeProfitAndLoss[scenario] = profitAndLoss[scenario * nrOfNodes + node];
+        }
+        double[] sorted = nodeProfitAndLoss.clone();
+        Arrays.sort(sorted);
+        int nrOfTailScenarios = Math.max(1, (int) Math.ceil((1 - confidenceLevel) * nrOfScenarios - 1e-9));
+        double tailSum = 0;
+        for (int i = 0; i < nrOfTailScenarios; i++) {
+            tailSum += sorted[i];
+        }
+        return new ValueAtRiskResult(nodeId, confidenceLevel, -sorted[nrOfTailScenarios - 1], -tailSum / nrOfTailScenarios, nodeProfitAndLoss);
+    }
+
+    private static void flatten(PortfolioNode node, int parentIndex, List<PortfolioNode> nodes, List<Integer> parentIndices, Set<String> nodeIds) {
+        if (!nodeIds.add(node.nodeId())) {
+            throw new IllegalArgumentException(String.format("Duplicate portfolio node %s", node.nodeId()));
+        }
+        int index = nodes.size();
+        nodes.add(node);
+        parentIndices.add(parentIndex);
+        for (var child : node.children()) {
+            flatten(child, index, nodes, parentIndices, nodeIds);
+        }
+    }
+
+    private double interpolateYieldShift(int scenario, int lowerTenorIndex, int upperTenorIndex, double tenorWeight) {
+        int offset = scenario * scenarioSet.nrOfCurveTenors();
+        double lower = scenarioSet.yieldShifts()[offset + lowerTenorIndex];
+        return lower + tenorWeight * (scenarioSet.yieldShifts()[offset + upperTenorIndex] - lower);
+    }
+
+    // Flat outside the tenor range, linear in between
+    private int locateTenor(double timeToMaturity) {
+        double[] tenors = scenarioSet.curveTenors();
+        if (timeToMaturity <= tenors[0]) {
+            return 0;
+        }
+        if (timeToMaturity >= tenors[tenors.length - 1]) {
+            return tenors.length - 1;
+        }
+        int index = Arrays.binarySearch(tenors, timeToMaturity);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private double tenorWeight(int lowerTenorIndex, double timeToMaturity) {
+        double[] tenors = scenarioSet.curveTenors();
+        if (lowerTenorIndex == tenors.length - 1 || timeToMaturity <= tenors[0]) {
+            return 0;
+        }
+        return (timeToMaturity - tenors[lowerTenorIndex]) / (tenors[lowerTenorIndex + 1] - tenors[lowerTenorIndex]);
+    }
+
+    // Each cash flow is {position amount, time to maturity, base yield}
+    private static List<double[]> createCashFlows(BondPosition position, YieldCurve yieldCurve, Timestamp valuationTime) {
+        var bond = position.bond();
+        var parameters = bond.priceModelParameters();
+        Timestamp bondValuationTime = valuationTime.isBefore(bond.startDate()) ? bond.startDate() : valuationTime;
+        Timestamp maturityDate = bond.maturityDate();
+        if (maturityDate.isBefore(bondValuationTime)) {
+            return List.of();
+        }
+        if (parameters.calculateWithCurve() && yieldCurve == null) {
+            throw new IllegalArgumentException(String.format("Bond %s is priced with a curve but no yield curve was given", bond.instrumentId()));
+        }
+        double notional = bond.nominalValue().getRealValue() * position.quantity();
+        var yearFractionCache = YearFractionCache.of(bondValuationTime);
+        List<CouponPeriod> periods = new ArrayList<>();
+        for (CouponPeriod coupon : CouponCalculationUtils.generateCouponPeriods(bond)) {
+            if (!coupon.endDate().isBefore(bondValuationTime)) {
+                periods.add(coupon);
+            }
+        }
+        periods.add(new CouponPeriod(bondValuationTime, maturityDate, 1));
+
+        List<double[]> cashFlows = new ArrayList<>(periods.size());
+        for (var period : periods) {
+            double timeToMaturity = yearFractionCache.getYearFraction(period.startDate(), maturityDate, parameters.dayCountConvention());
+            double baseYield = parameters.calculateWithCurve() ? yieldCurve.getYield(timeToMaturity) : parameters.constantYield();
+            cashFlows.add(new double[]{notional * period.couponRate(), timeToMaturity, baseYield});
+        }
+        return cashFlows;
+    }
+
+    private static double calculateOptionPrice(boolean isCall,
+                                               boolean isForwardPrice,
+                                               double spotPrice,
+                                               double strikePrice,
+                                               double logStrikePrice,
+                                               double volatility,
+                                               double timeToMaturity,
+                                               double sqrtTimeToMaturity,
+                                               double riskFreeRate,
+                                               double dividendYield) {
+        if (timeToMaturity <= 0) {
+            return isCall ? Math.max(spotPrice - strikePrice, 0) : Math.max(strikePrice - spotPrice, 0);
+        }
+        double standardDeviation = Math.max(volatility, VOLATILITY_FLOOR) * sqrtTimeToMaturity;
+        double discountFactor = Math.exp(-riskFreeRate * timeToMaturity);
+        double forwardValue = isForwardPrice ? spotPrice * discountFactor : spotPrice * Math.exp(-dividendYield * timeToMaturity);
+        double carry = isForwardPrice ? 0 : (riskFreeRate - dividendYield) * timeToMaturity;
+        double d1 = (Math.log(spotPrice) - logStrikePrice + carry + 0.5 * standardDeviation * standardDeviation) / standardDeviation;
+        double d2 = d1 - standardDeviation;
+        double discountedStrikePrice = strikePrice * discountFactor;
+        double callPrice = forwardValue * FastNormalDistribution.cumulativeProbability(d1) - discountedStrikePrice * FastNormalDistribution.cumulativeProbability(d2);
+        return isCall ? callPrice : callPrice - forwardValue + discountedStrikePrice;
+    }
+
+    private class OptionBook {
+        private final int nrOfOptions;
+        private final int[] nodeIndices;
+        private final int[] underlyingIndices;
+        private final boolean[] isCall;
+        private final boolean[] isForwardPrice;
+        private final double[] quantities;
+        private final double[] spotPrices;
+        private final double[] strikePrices;
+        private final double[] logStrikePrices;
+        private final double[] volatilities;
+        private final double[] timeToMaturities;
+        private final double[] sqrtTimeToMaturities;
+        private final double[] riskFreeRates;
+        private final double[] dividendYields;
+        private final int[] lowerTenorIndices;
+        private final int[] upperTenorIndices;
+        private final double[] tenorWeights;
+        private final double[] basePrices;
+
+        private OptionBook(List<PortfolioNode> nodes, Map<String, Double> underlyingToSpotPrice) {
+            this.nrOfOptions = nodes.stream().mapToInt(node -> node.options().size()).sum();
+            this.nodeIndices = new int[nrOfOptions];
+            this.underlyingIndices = new int[nrOfOptions];
+            this.isCall = new boolean[nrOfOptions];
+            this.isForwardPrice = new boolean[nrOfOptions];
+            this.quantities = new double[nrOfOptions];
+            this.spotPrices = new double[nrOfOptions];
+            this.strikePrices = new double[nrOfOptions];
+            this.logStrikePrices = new double[nrOfOptions];
+            this.volatilities = new double[nrOfOptions];
+            this.timeToMaturities = new double[nrOfOptions];
+            this.sqrtTimeToMaturities = new double[nrOfOptions];
+            this.riskFreeRates = new double[nrOfOptions];
+            this.dividendYields = new double[nrOfOptions];
+            this.lowerTenorIndices = new int[nrOfOptions];
+            this.upperTenorIndices = new int[nrOfOptions];
+            this.tenorWeights = new double[nrOfOptions];
+            this.basePrices = new double[nrOfOptions];
+
+            int i = 0;
+            for (int node = 0; node < nodes.size(); node++) {
+                for (OptionExposure exposure : nodes.get(node).options()) {
+                    var position = exposure.position();
+                    Double spotPrice = underlyingToSpotPrice.get(position.underlyingInstrumentId());
+                    if (spotPrice == null) {
+                        throw new IllegalArgumentException(String.format("Missing spot price for underlying %s of option %s", position.underlyingInstrumentId(), position.instrumentId()));
+                    }
+                    Integer underlyingIndex = underlyingToIndex.get(position.underlyingInstrumentId());
+                    if (underlyingIndex == null) {
+                        throw new IllegalArgumentException(String.format("Missing scenarios for underlying %s of option %s", position.underlyingInstrumentId(), position.instrumentId()));
+                    }
+                    double timeToMaturity = position.timeToMaturity();
+                    nodeIndices[i] = node;
+                    underlyingIndices[i] = underlyingIndex;
+                    isCall[i] = position.optionType() == OptionTypeEnum.CALL;
+                    isForwardPrice[i] = exposure.priceModel() == PriceModel.BLACK_76;
+                    quantities[i] = position.quantity();
+                    spotPrices[i] = spotPrice;
+                    strikePrices[i] = position.strikePrice();
+                    logStrikePrices[i] = Math.log(position.strikePrice());
+                    volatilities[i] = position.volatility();
+                    timeToMaturities[i] = timeToMaturity;
+                    sqrtTimeToMaturities[i] = Math.sqrt(Math.max(timeToMaturity, 0));
+                    riskFreeRates[i] = position.riskFreeRate();
+                    dividendYields[i] = position.dividendYield();
+                    lowerTenorIndices[i] = locateTenor(timeToMaturity);
+                    upperTenorIndices[i] = Math.min(lowerTenorIndices[i] + 1, scenarioSet.nrOfCurveTenors() - 1);
+                    tenorWeights[i] = tenorWeight(lowerTenorIndices[i], timeToMaturity);
+                    basePrices[i] = calculateOptionPrice(isCall[i], isForwardPrice[i], spotPrice, strikePrices[i], logStrikePrices[i], volatilities[i], timeToMaturity, sqrtTimeToMaturities[i], riskFreeRates[i], dividendYields[i]);
+                    i++;
+                }
+            }
+        }
+
+        private void revalue(int scenario, double[] profitAndLoss, int offset) {
+            int shockOffset = scenario * scenarioSet.nrOfUnderlyings();
+            double[] spotShocks = scenarioSet.relativeSpotShocks();
+            double[] volatilityShocks = scenarioSet.absoluteVolatilityShocks();
+            for (int i = 0; i < nrOfOptions; i++) {
+                double spotShock = spotShocks[shockOffset + underlyingIndices[i]];
+                double volatilityShock = volatilityShocks[shockOffset + underlyingIndices[i]];
+                double riskFreeRate = riskFreeRates[i] + interpolateYieldShift(scenario, lowerTenorIndices[i], upperTenorIndices[i], tenorWeights[i]);
+                double price = calculateOptionPrice(isCall[i], isForwardPrice[i], spotPrices[i] * (1 + spotShock), strikePrices[i], logStrikePrices[i],
+                        volatilities[i] + volatilityShock, timeToMaturities[i], sqrtTimeToMaturities[i], riskFreeRate, dividendYields[i]);
+                profitAndLoss[offset + nodeIndices[i]] += quantities[i] * (price - basePrices[i]);
+            }
+        }
+    }
+
+    // Mirrors the discounting in BondDiscountingPriceModel, accrued interest does not move with yields and is left out
+    private class BondBook {
+        private final int nrOfCashFlows;
+        private final int[] nodeIndices;
+        private final double[] amounts;
+        private final double[] timeToMaturities;
+        private final double[] baseYields;
+        private final int[] frequencies;
+        private final CompoundingMethodEnum[] compoundingMethods;
+        private final int[] lowerTenorIndices;
+        private final int[] upperTenorIndices;
+        private final double[] tenorWeights;
+        private final double[] baseValues;
+
+        private BondBook(List<PortfolioNode> nodes, YieldCurve yieldCurve, Timestamp valuationTime) {
+            List<double[]> cashFlows = new ArrayList<>();
+            List<BondPosition> cashFlowPositions = new ArrayList<>();
+            List<Integer> cashFlowNodes = new ArrayList<>();
+            for (int node = 0; node < nodes.size(); node++) {
+                for (BondPosition position : nodes.get(node).bonds()) {
+                    for (var cashFlow : createCashFlows(position, yieldCurve, valuationTime)) {
+                        cashFlows.add(cashFlow);
+                        cashFlowPositions.add(position);
+                        cashFlowNodes.add(node);
+                    }
+                }
+            }
+
+            this.nrOfCashFlows = cashFlows.size();
+            this.nodeIndices = new int[nrOfCashFlows];
+            this.amounts = new double[nrOfCashFlows];
+            this.timeToMaturities = new double[nrOfCashFlows];
+            this.baseYields = new double[nrOfCashFlows];
+            this.frequencies = new int[nrOfCashFlows];
+            this.compoundingMethods = new CompoundingMethodEnum[nrOfCashFlows];
+            this.lowerTenorIndices = new int[nrOfCashFlows];
+            this.upperTenorIndices = new int[nrOfCashFlows];
+            this.tenorWeights = new double[nrOfCashFlows];
+            this.baseValues = new double[nrOfCashFlows];
+            for (int i = 0; i < nrOfCashFlows; i++) {
+                var bond = cashFlowPositions.get(i).bond();
+                double[] cashFlow = cashFlows.get(i);
+                nodeIndices[i] = cashFlowNodes.get(i);
+                amounts[i] = cashFlow[0];
+                timeToMaturities[i] = cashFlow[1];
+                baseYields[i] = cashFlow[2];
+                frequencies[i] = bond.couponAnnualFrequency();
+                compoundingMethods[i] = bond.priceModelParameters().compoundingMethod();
+                lowerTenorIndices[i] = locateTenor(timeToMaturities[i]);
+                upperTenorIndices[i] = Math.min(lowerTenorIndices[i] + 1, scenarioSet.nrOfCurveTenors() - 1);
+                tenorWeights[i] = tenorWeight(lowerTenorIndices[i], timeToMaturities[i]);
+                baseValues[i] = amounts[i] / compoundingMethods[i].calculateValue(baseYields[i], timeToMaturities[i], frequencies[i]);
+            }
+        }
+
+        private void revalue(int scenario, double[] profitAndLoss, int offset) {
+            for (int i = 0; i < nrOfCashFlows; i++) {
+                double yield = baseYields[i] + interpolateYieldShift(scenario, lowerTenorIndices[i], upperTenorIndices[i], tenorWeights[i]);
+                double value = amounts[i] / compoundingMethods[i].calculateValue(yield, timeToMaturities[i], frequencies[i]);
+                profitAndLoss[offset + nodeIndices[i]] += value - baseValues[i];
+            }
+        }
+    }
+}
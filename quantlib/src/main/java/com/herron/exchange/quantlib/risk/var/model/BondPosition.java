@@ -0,0 +1,6 @@
+package com.herron.exchange.quantlib.risk.var.model;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+
+public record BondPosition(BondInstrument bond, double quantity) {
+}
@@ -0,0 +1,72 @@
+package com.herron.exchange.quantlib.risk.var.model;
+
+import java.util.List;
+
+// Scenario major flat arrays, the shocks of one scenario are contiguous
+public record HistoricalScenarioSet(List<String> underlyingInstrumentIds,
+                                    double[] curveTenors,
+                                    int nrOfScenarios,
+                                    double[] relativeSpotShocks,
+                                    double[] absoluteVolatilityShocks,
+                                    double[] yieldShifts) {
+
+    public HistoricalScenarioSet {
+        int nrOfUnderlyings = underlyingInstrumentIds.size();
+        if (nrOfScenarios < 1 || curveTenors.length < 1
+                || relativeSpotShocks.length != nrOfScenarios * nrOfUnderlyings
+                || absoluteVolatilityShocks.length != nrOfScenarios * nrOfUnderlyings
+                || yieldShifts.length != nrOfScenarios * curveTenors.length) {
+            throw new IllegalArgumentException(String.format("Invalid scenario set: scenarios=%s, underlyings=%s, tenors=%s, spot shocks=%s, volatility shocks=%s, yield shifts=%s",
+                    nrOfScenarios, nrOfUnderlyings, curveTenors.length, relativeSpotShocks.length, absoluteVolatilityShocks.length, yieldShifts.length));
+        }
+        for (double relativeSpotShock : relativeSpotShocks) {
+            // A shock of -100% or below leaves no positive spot to revalue at, and a NaN loss would sort past the quantile
+            if (!(relativeSpotShock > -1)) {
+                throw new IllegalArgumentException(String.format("Relative spot shock has to be above -100%%: %s", relativeSpotShock));
+            }
+        }
+        for (int i = 1; i < curveTenors.length; i++) {
+            if (curveTenors[i] <= curveTenors[i - 1]) {
+                throw new IllegalArgumentException(String.format("Curve tenors have to be increasing: %s after %s", curveTenors[i], curveTenors[i - 1]));
+            }
+        }
+    }
+
+    public static HistoricalScenarioSet create(List<String> underlyingInstrumentIds,
+                                               double[] curveTenors,
+                                               double[][] relativeSpotShocks,
+                                               double[][] absoluteVolatilityShocks,
+                                               double[][] yieldShifts) {
+        int nrOfScenarios = relativeSpotShocks.length;
+        if (absoluteVolatilityShocks.length != nrOfScenarios || yieldShifts.length != nrOfScenarios) {
+            throw new IllegalArgumentException(String.format("Scenario count mismatch: spot=%s, volatility=%s, yield=%s", nrOfScenarios, absoluteVolatilityShocks.length, yieldShifts.length));
+        }
+        return new HistoricalScenarioSet(
+                List.copyOf(underlyingInstrumentIds),
+                curveTenors.clone(),
+                nrOfScenarios,
+                flatten(relativeSpotShocks, underlyingInstrumentIds.size()),
+                flatten(absoluteVolatilityShocks, underlyingInstrumentIds.size()),
+                flatten(yieldShifts, curveTenors.length)
+        );
+    }
+
+    private static double[] flatten(double[][] shocks, int nrOfColumns) {
+        double[] values = new double[shocks.length * nrOfColumns];
+        for (int s = 0; s < shocks.length; s++) {
+            if (shocks[s].length != nrOfColumns) {
+                throw new IllegalArgumentException(String.format("Scenario %s has %s shocks, expected %s", s, shocks[s].length, nrOfColumns));
+            }
+            System.arraycopy(shocks[s], 0, values, s * nrOfColumns, nrOfColumns);
+        }
+        return values;
+    }
+
+    public int nrOfUnderlyings() {
+        return underlyingInstrumentIds.size();
+    }
+
+    public int nrOfCurveTenors() {
+        return curveTenors.length;
+    }
+}
@@ -0,0 +1,14 @@
+package com.herron.exchange.quantlib.risk.var.model;
+
+import com.herron.exchange.common.api.common.enums.PriceModel;
+import com.herron.exchange.quantlib.risk.model.OptionPosition;
+
+// For BLACK_76 the underlying is the forward or future, its spot shock moves the forward and the dividend yield is unused
+public record OptionExposure(OptionPosition position, PriceModel priceModel) {
+
+    public OptionExposure {
+        if (priceModel != PriceModel.BLACK_SCHOLES && priceModel != PriceModel.BLACK_76) {
+            throw new IllegalArgumentException(String.format("Price model %s is not supported for option %s", priceModel, position.instrumentId()));
+        }
+    }
+}
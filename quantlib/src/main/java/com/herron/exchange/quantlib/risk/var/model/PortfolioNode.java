@@ -0,0 +1,17 @@
+package com.herron.exchange.quantlib.risk.var.model;
+
+import java.util.List;
+
+public record PortfolioNode(String nodeId,
+                            List<OptionExposure> options,
+                            List<BondPosition> bonds,
+                            List<PortfolioNode> children) {
+
+    public static PortfolioNode leaf(String nodeId, List<OptionExposure> options, List<BondPosition> bonds) {
+        return new PortfolioNode(nodeId, options, bonds, List.of());
+    }
+
+    public static PortfolioNode parent(String nodeId, List<PortfolioNode> children) {
+        return new PortfolioNode(nodeId, List.of(), List.of(), children);
+    }
+}
@@ -0,0 +1,17 @@
+package com.herron.exchange.quantlib.risk.var.model;
+
+public record ValueAtRiskResult(String nodeId,
+                                double confidenceLevel,
+                                double valueAtRisk,
+                                double expectedShortfall,
+                                double[] profitAndLoss) {
+
+    // Each caller gets its own copy, the scenario vector is also the input for any later aggregation
+    public double[] profitAndLoss() {
+        return profitAndLoss.clone();
+    }
+
+    public int nrOfScenarios() {
+        return profitAndLoss.length;
+    }
+}
@@ -0,0 +1,384 @@
+package com.herron.exchange.quantlib.warmup;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.enums.CompoundingMethodEnum;
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.enums.InterpolationMethod;
+import com.herron.exchange.common.api.common.enums.OptionExerciseTyleEnum;
+import com.herron.exchange.common.api.common.enums.OptionSubTypeEnum;
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.enums.SettlementTypeEnum;
+import com.herron.exchange.common.api.common.math.MathUtils;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.model.YieldCurveModelParameters;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import com.herron.exchange.common.api.common.messages.common.MonetaryAmount;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BondDiscountPriceModelResult;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBlackScholesPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBondDiscountPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableIntangiblePriceModelParameters;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultBondInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultEquityInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultOptionInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.parametricmodels.ForwardPriceCurveConstructor;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ImpliedVolatilityConstructor;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.SviSurfaceConstructor;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.BondDiscountingPriceModel;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.CouponCalculationUtils;
+import com.herron.exchange.quantlib.warmup.model.WarmUpConfig;
+import com.herron.exchange.quantlib.warmup.model.WarmUpReport;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.herron.exchange.quantlib.metrics.QuantLibMetric.PRICING_WARM_UP_LATENCY;
+
+public class PricingKernelWarmUp {
+    private static final double SPOT_PRICE = 100.0;
+    private static final double RISK_FREE_RATE = 0.03;
+    private static final double DIVIDEND_YIELD = 0.01;
+    private static final double MIN_LOG_MONEYNESS = -0.4;
+    private static final double MAX_LOG_MONEYNESS = 0.4;
+    private final WarmUpConfig config;
+    private final Timestamp valuationTime;
+    private final List<BondInstrument> bondBook;
+    private final YieldCurve yieldCurve;
+    private final Instrument underlying;
+    private final List<OptionInstrument> optionChain;
+    private final Map<Instrument, Price> instrumentToPrice;
+    private final OptionPriceBatch batch;
+    // The batch and chain buffers are reused across rounds, so only the first caller of start or run executes the warm-up
+    private final AtomicBoolean isStarted = new AtomicBoolean();
+    private final CompletableFuture<WarmUpReport> completion = new CompletableFuture<>();
+    // Results are folded in here so the JIT cannot eliminate the warm-up work as dead code
+    private volatile double sink;
+
+    private PricingKernelWarmUp(WarmUpConfig config, Timestamp valuationTime, List<BondInstrument> bondBook, YieldCurve yieldCurve) {
+        this.config = config;
+        this.valuationTime = valuationTime;
+        this.bondBook = bondBook;
+        this.yieldCurve = yieldCurve;
+        this.underlying = createUnderlying();
+        this.optionChain = createOptionChain(underlying.instrumentId(), valuationTime);
+        // Priced with the production kernels, so kept out of the production meters like the rounds themselves
+        this.instrumentToPrice = QuantLibMetrics.callSuppressed(() -> createOptionChainPrices(underlying, optionChain, valuationTime));
+        this.batch = OptionPriceBatch.create(config.nrOfMaturities() * config.nrOfStrikesPerMaturity());
+    }
+
+    public static PricingKernelWarmUp create(WarmUpConfig config) {
+        var valuationDate = LocalDate.now();
+        return new PricingKernelWarmUp(config, Timestamp.from(valuationDate), createBondBook(config.nrOfBonds(), valuationDate), createYieldCurve(valuationDate));
+    }
+
+    public CompletableFuture<WarmUpReport> start() {
+        if (isStarted.compareAndSet(false, true)) {
+            var thread = new Thread(this::complete, "quantlib-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return completion;
+    }
+
+    public WarmUpReport run() {
+        if (isStarted.compareAndSet(false, true)) {
+            complete();
+        }
+        return completion.join();
+    }
+
+    public boolean isWarmedUp() {
+        return completion.isDone() && !completion.isCompletedExceptionally();
+    }
+
+    public CompletableFuture<WarmUpReport> getCompletion() {
+        return completion;
+    }
+
+    private void complete() {
+        try {
+            completion.complete(warmUp());
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    private WarmUpReport warmUp() {
+        long timerStartTime = QuantLibMetrics.startTimer();
+        try {
+            // The kernels record into the production meters, warm-up calls would skew their startup percentiles
+            return QuantLibMetrics.callSuppressed(this::runRounds);
+        } finally {
+            QuantLibMetrics.stopTimer(PRICING_WARM_UP_LATENCY, timerStartTime);
+        }
+    }
+
+    // Runs until every hot path has been invoked well past the C2 thresholds and the JIT stops compiling, or the budget runs out
+    private WarmUpReport runRounds() {
+        long startTime = System.nanoTime();
+        long deadline = startTime + config.timeBudgetNanos();
+        CompilationMXBean compilationBean = ManagementFactory.getCompilationMXBean();
+        boolean isCompilationTimeMonitored = compilationBean != null && compilationBean.isCompilationTimeMonitoringSupported();
+
+        long nrOfRounds = 0;
+        long nrOfOptionPricings = 0;
+        long nrOfImpliedVolatilities = 0;
+        long nrOfSurfaces = 0;
+        long nrOfForwardCurves = 0;
+        long nrOfBondPricings = 0;
+        long previousCompilationTime = isCompilationTimeMonitored ? compilationBean.getTotalCompilationTime() : 0;
+        int nrOfQuietRounds = 0;
+        boolean isCompilationSettled = false;
+        // Business day indices are built here once, so the bond pricing rounds only read them
+        CouponCalculationUtils.generateCouponSchedules(bondBook);
+        while (System.nanoTime() - deadline < 0) {
+            nrOfOptionPricings += priceOptionChain();
+            nrOfImpliedVolatilities += solveImpliedVolatilitiesAndConstructSurface();
+            nrOfSurfaces++;
+            constructOptionChainCurveAndSurface();
+            nrOfForwardCurves++;
+            nrOfSurfaces++;
+            nrOfBondPricings += priceBondBook();
+            nrOfRounds++;
+
+            long compilationTime = isCompilationTimeMonitored ? compilationBean.getTotalCompilationTime() : 0;
+            nrOfQuietRounds = compilationTime == previousCompilationTime ? nrOfQuietRounds + 1 : 0;
+            previousCompilationTime = compilationTime;
+            if (nrOfRounds >= config.minNrOfRounds() && nrOfQuietRounds >= config.nrOfQuietRounds()) {
+                isCompilationSettled = true;
+                break;
+            }
+        }
+
+        return new WarmUpReport(nrOfRounds,
+                nrOfOptionPricings,
+                nrOfImpliedVolatilities,
+                nrOfSurfaces,
+                nrOfForwardCurves,
+                nrOfBondPricings,
+                System.nanoTime() - startTime,
+                previousCompilationTime,
+                isCompilationSettled
+        );
+    }
+
+    private int priceOptionChain() {
+        int size = 0;
+        double result = 0;
+        for (int i = 0; i < config.nrOfMaturities(); i++) {
+            double timeToMaturity = timeToMaturity(i);
+            double forwardPrice = SPOT_PRICE * Math.exp((RISK_FREE_RATE - DIVIDEND_YIELD) * timeToMaturity);
+            for (int j = 0; j < config.nrOfStrikesPerMaturity(); j++) {
+                double logMoneyness = logMoneyness(j);
+                double strikePrice = SPOT_PRICE * Math.exp(logMoneyness);
+                double volatility = impliedVolatility(timeToMaturity, logMoneyness);
+                var optionType = logMoneyness < 0 ? OptionTypeEnum.PUT : OptionTypeEnum.CALL;
+                var blackScholes = BlackScholesMerton.calculateOptionPrice(valuationTime, optionType, strikePrice, SPOT_PRICE, volatility, timeToMaturity, RISK_FREE_RATE, DIVIDEND_YIELD);
+                var black76 = Black76.calculateOptionPrice(valuationTime, optionType, strikePrice, forwardPrice, volatility, timeToMaturity, RISK_FREE_RATE);
+                result += blackScholes.price().getRealValue() + black76.price().getRealValue();
+
+                batch.isCall()[size] = optionType == OptionTypeEnum.CALL;
+                batch.strikePrices()[size] = strikePrice;
+                batch.underlyingPrices()[size] = SPOT_PRICE;
+                batch.volatilities()[size] = volatility;
+                batch.timeToMaturities()[size] = timeToMaturity;
+                batch.riskFreeRates()[size] = RISK_FREE_RATE;
+                batch.dividendYields()[size] = DIVIDEND_YIELD;
+                size++;
+            }
+        }
+        BlackScholesMerton.calculateOptionPrices(batch, size);
+        result += batch.prices()[size - 1];
+        Black76.calculateOptionPrices(batch, size);
+        result += batch.prices()[size - 1];
+        sink = result;
+        return 4 * size;
+    }
+
+    private int solveImpliedVolatilitiesAndConstructSurface() {
+        var solverConfig = ImpliedVolatilitySolverConfig.defaultConfig();
+        List<ImpliedVolPoint> points = new ArrayList<>(batch.capacity());
+        int nrOfSolves = 0;
+        double result = 0;
+        for (int i = 0; i < config.nrOfMaturities(); i++) {
+            double timeToMaturity = timeToMaturity(i);
+            double forwardPrice = SPOT_PRICE * Math.exp((RISK_FREE_RATE - DIVIDEND_YIELD) * timeToMaturity);
+            for (int j = 0; j < config.nrOfStrikesPerMaturity(); j++) {
+                double logMoneyness = logMoneyness(j);
+                double strikePrice = SPOT_PRICE * Math.exp(logMoneyness);
+                double volatility = impliedVolatility(timeToMaturity, logMoneyness);
+                var optionType = logMoneyness < 0 ? OptionTypeEnum.PUT : OptionTypeEnum.CALL;
+                double marketPrice = BlackScholesMerton.calculateOptionPrice(valuationTime, optionType, strikePrice, SPOT_PRICE, volatility, timeToMaturity, RISK_FREE_RATE, DIVIDEND_YIELD).price().getRealValue();
+                var blackScholes = BlackScholesMerton.solveImpliedVolatility(optionType, strikePrice, marketPrice, SPOT_PRICE, timeToMaturity, RISK_FREE_RATE, DIVIDEND_YIELD, solverConfig);
+                var black76 = Black76.solveImpliedVolatility(optionType, strikePrice, marketPrice, forwardPrice, timeToMaturity, RISK_FREE_RATE, volatility, solverConfig);
+                result += black76.impliedVolatility();
+                nrOfSolves += 2;
+                if (blackScholes.isConverged()) {
+                    points.add(new ImpliedVolPoint(timeToMaturity, logMoneyness, blackScholes.impliedVolatility()));
+                }
+            }
+        }
+        var surface = SviSurfaceConstructor.construct("warm-up", points);
+        sink = result + surface.getImpliedVolatility(timeToMaturity(0), 0);
+        return nrOfSolves;
+    }
+
+    // Runs the production surface path, forward curve from put-call parity then a Hermite bicubic surface over the filtered chain
+    private void constructOptionChainCurveAndSurface() {
+        var forwardPriceCurve = ForwardPriceCurveConstructor.construct(valuationTime, underlying, optionChain, instrumentToPrice, yieldCurve);
+        var surface = ImpliedVolatilityConstructor.construct(valuationTime, underlying, optionChain, instrumentToPrice, yieldCurve, forwardPriceCurve);
+        sink = forwardPriceCurve.getForwardPrice(timeToMaturity(0)) + surface.getImpliedVolatility(timeToMaturity(0), 0);
+    }
+
+    private int priceBondBook() {
+        double result = 0;
+        for (var bond : bondBook) {
+            var constantYieldResult = (BondDiscountPriceModelResult) BondDiscountingPriceModel.calculate(bond, bond.priceModelParameters().constantYield(), valuationTime);
+            var curveResult = (BondDiscountPriceModelResult) BondDiscountingPriceModel.calculate(bond, yieldCurve, valuationTime);
+            result += constantYieldResult.dirtyPrice().getRealValue() + curveResult.dirtyPrice().getRealValue();
+        }
+        sink = result;
+        return 2 * bondBook.size();
+    }
+
+    private double timeToMaturity(int maturityIndex) {
+        return 0.25 * (maturityIndex + 1);
+    }
+
+    private double logMoneyness(int strikeIndex) {
+        return MIN_LOG_MONEYNESS + strikeIndex * (MAX_LOG_MONEYNESS - MIN_LOG_MONEYNESS) / (config.nrOfStrikesPerMaturity() - 1);
+    }
+
+    private static double impliedVolatility(double timeToMaturity, double logMoneyness) {
+        return 0.2 + 0.02 * Math.sqrt(timeToMaturity) - 0.1 * logMoneyness + 0.3 * logMoneyness * logMoneyness;
+    }
+
+    private Instrument createUnderlying() {
+        return ImmutableDefaultEquityInstrument.builder()
+                .instrumentId("warm-up-underlying")
+                .product(createProduct())
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .priceModelParameters(ImmutableIntangiblePriceModelParameters.builder().build())
+                .build();
+    }
+
+    // A put and a call at every strike so the forward curve finds its put-call pairs
+    private List<OptionInstrument> createOptionChain(String underlyingInstrumentId, Timestamp valuationTime) {
+        var product = createProduct();
+        var priceModelParameters = ImmutableBlackScholesPriceModelParameters.builder()
+                .yieldCurveId("warm-up")
+                .dividendYield(PureNumber.create(DIVIDEND_YIELD))
+                .build();
+        List<OptionInstrument> options = new ArrayList<>(2 * config.nrOfMaturities() * config.nrOfStrikesPerMaturity());
+        for (int i = 0; i < config.nrOfMaturities(); i++) {
+            var maturityDate = Timestamp.from(valuationTime.toLocalDate().plusMonths(3L * (i + 1)));
+            for (int j = 0; j < config.nrOfStrikesPerMaturity(); j++) {
+                double strikePrice = MathUtils.roundDouble(SPOT_PRICE * Math.exp(logMoneyness(j)), 2);
+                for (var optionType : OptionTypeEnum.values()) {
+                    options.add(ImmutableDefaultOptionInstrument.builder()
+                            .instrumentId(String.format("warm-up-%s-%s-%s", optionType, i, j))
+                            .underlyingInstrumentId(underlyingInstrumentId)
+                            .settlementType(SettlementTypeEnum.PHYSICAL)
+                            .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                            .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                            .maturityDate(maturityDate)
+                            .strikePrice(PureNumber.create(strikePrice))
+                            .optionType(optionType)
+                            .optionSubType(OptionSubTypeEnum.OOE)
+                            .optionExerciseStyle(OptionExerciseTyleEnum.EUROPEAN)
+                            .priceModelParameters(priceModelParameters)
+                            .product(product)
+                            .build());
+                }
+            }
+        }
+        return options;
+    }
+
+    private static Map<Instrument, Price> createOptionChainPrices(Instrument underlying, List<OptionInstrument> optionChain, Timestamp valuationTime) {
+        Map<Instrument, Price> instrumentToPrice = new HashMap<>();
+        instrumentToPrice.put(underlying, Price.create(SPOT_PRICE));
+        for (var option : optionChain) {
+            double strikePrice = option.strikePrice().getRealValue();
+            double timeToMaturity = BlackScholesMerton.calculateTimeToMaturity(valuationTime, option);
+            double volatility = impliedVolatility(timeToMaturity, Math.log(strikePrice / SPOT_PRICE));
+            var result = BlackScholesMerton.calculateOptionPrice(valuationTime, option.optionType(), strikePrice, SPOT_PRICE, volatility, timeToMaturity, RISK_FREE_RATE, DIVIDEND_YIELD);
+            instrumentToPrice.put(option, result.price());
+        }
+        return instrumentToPrice;
+    }
+
+    private static ImmutableProduct createProduct() {
+        var businessCalendar = BusinessCalendar.noHolidayCalendar();
+        return ImmutableProduct.builder()
+                .productId("warm-up")
+                .businessCalendar(businessCalendar)
+                .market(ImmutableMarket.builder().marketId("warm-up").businessCalendar(businessCalendar).build())
+                .currency("eur")
+                .build();
+    }
+
+    private static List<BondInstrument> createBondBook(int nrOfBonds, LocalDate valuationDate) {
+        var product = createProduct();
+        DayCountConventionEnum[] dayCountConventions = {DayCountConventionEnum.ACT365, DayCountConventionEnum.BOND_BASIS_30360};
+        List<BondInstrument> bondBook = new ArrayList<>(nrOfBonds);
+        for (int i = 0; i < nrOfBonds; i++) {
+            bondBook.add(ImmutableDefaultBondInstrument.builder()
+                    .instrumentId("warm-up-bond-" + i)
+                    .couponAnnualFrequency(i % 4 == 0 ? 1 : 2)
+                    .startDate(Timestamp.from(valuationDate.minusDays(30L + 17L * i)))
+                    .maturityDate(Timestamp.from(valuationDate.plusYears(1 + i % 30).plusDays(i)))
+                    .nominalValue(MonetaryAmount.create(1000, "eur"))
+                    .couponRate(PureNumber.create(i % 8 == 0 ? 0 : 0.01 + 0.0025 * (i % 16)))
+                    .priceModelParameters(ImmutableBondDiscountPriceModelParameters.builder()
+                            .dayCountConvention(dayCountConventions[i % dayCountConventions.length])
+                            .compoundingMethod(CompoundingMethodEnum.COMPOUNDING)
+                            .calculateWithCurve(false)
+                            .constantYield(0.02 + 0.001 * (i % 20))
+                            .yieldCurveId("warm-up")
+                            .build())
+                    .product(product)
+                    .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                    .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                    .build());
+        }
+        return bondBook;
+    }
+
+    private static YieldCurve createYieldCurve(LocalDate valuationDate) {
+        int[] maturityYears = {1, 2, 3, 5, 7, 10, 20, 30, 50};
+        double[] yields = {0.025, 0.026, 0.027, 0.028, 0.029, 0.03, 0.032, 0.033, 0.034};
+        LocalDate[] maturityDates = new LocalDate[maturityYears.length];
+        for (int i = 0; i < maturityYears.length; i++) {
+            maturityDates[i] = valuationDate.plusYears(maturityYears[i]);
+        }
+        var parameters = YieldCurveModelParameters.create(DayCountConventionEnum.ACT365,
+                InterpolationMethod.CUBIC_SPLINE,
+                valuationDate,
+                maturityDates[0],
+                maturityDates,
+                yields
+        );
+        return YieldCurve.create("warm-up", parameters);
+    }
+}
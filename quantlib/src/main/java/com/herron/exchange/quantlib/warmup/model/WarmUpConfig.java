@@ -0,0 +1,31 @@
+package com.herron.exchange.quantlib.warmup.model;
+
+import java.time.Duration;
+
+public record WarmUpConfig(long timeBudgetNanos,
+                           int nrOfMaturities,
+                           int nrOfStrikesPerMaturity,
+                           int nrOfBonds,
+                           int minNrOfRounds,
+                           int nrOfQuietRounds) {
+
+    public WarmUpConfig {
+        if (timeBudgetNanos <= 0) {
+            throw new IllegalArgumentException(String.format("Time budget must be positive: %s", timeBudgetNanos));
+        }
+        if (nrOfMaturities < 1 || nrOfStrikesPerMaturity < 3) {
+            throw new IllegalArgumentException(String.format("Synthetic chain needs at least one maturity and three strikes: %s x %s", nrOfMaturities, nrOfStrikesPerMaturity));
+        }
+        if (nrOfBonds < 0 || minNrOfRounds < 1 || nrOfQuietRounds < 1) {
+            throw new IllegalArgumentException(String.format("Invalid warm-up sizes: bonds %s, min rounds %s, quiet rounds %s", nrOfBonds, minNrOfRounds, nrOfQuietRounds));
+        }
+    }
+
+    public static WarmUpConfig create(Duration timeBudget) {
+        return new WarmUpConfig(timeBudget.toNanos(), 8, 21, 64, 200, 20);
+    }
+
+    public static WarmUpConfig defaultConfig() {
+        return create(Duration.ofSeconds(60));
+    }
+}
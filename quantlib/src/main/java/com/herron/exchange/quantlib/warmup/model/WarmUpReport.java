@@ -0,0 +1,16 @@
+package com.herron.exchange.quantlib.warmup.model;
+
+public record WarmUpReport(long nrOfRounds,
+                           long nrOfOptionPricings,
+                           long nrOfImpliedVolatilities,
+                           long nrOfSurfaces,
+                           long nrOfForwardCurves,
+                           long nrOfBondPricings,
+                           long elapsedNanos,
+                           long compilationTimeMs,
+                           boolean isCompilationSettled) {
+
+    public boolean isTimeBudgetExceeded() {
+        return !isCompilationSettled;
+    }
+}
@@ -0,0 +1,129 @@
+package com.herron.exchange.quantlib.accuracy;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+final class AccuracyHarness {
+    private static final int CHUNK_SIZE = 8192;
+    private static final String SAMPLES_PROPERTY = "quantlib.accuracy.samples";
+
+    @FunctionalInterface
+    interface Kernel {
+        // Fills outputs[output][i] for every sample i in [from, to)
+        void evaluate(int from, int to, double[][] outputs);
+    }
+
+    private AccuracyHarness() {
+    }
+
+    static int nrOfSamples(int defaultNrOfSamples) {
+        return Integer.getInteger(SAMPLES_PROPERTY, defaultNrOfSamples);
+    }
+
+    static OptionParameters generateOptionParameters(int nrOfSamples, long seed) {
+        var parameters = OptionParameters.create(nrOfSamples);
+        IntStream.range(0, nrOfChunks(nrOfSamples)).parallel().forEach(chunk -> {
+            // One generator per chunk keeps the samples reproducible regardless of scheduling
+            var random = new SplittableRandom(seed + chunk);
+            for (int i = chunk * CHUNK_SIZE; i < Math.min(nrOfSamples, (chunk + 1) * CHUNK_SIZE); i++) {
+                double underlyingPrice = Math.exp(random.nextDouble(Math.log(0.5), Math.log(5000)));
+                // Mostly realistic moneyness, with a tail of deep in and out of the money strikes
+                double logMoneyness = random.nextInt(10) == 0 ? random.nextDouble(-4, 4) : random.nextDouble(-0.7, 0.7);
+                parameters.isCall()[i] = random.nextBoolean();
+                parameters.underlyingPrices()[i] = underlyingPrice;
+                parameters.strikePrices()[i] = underlyingPrice * Math.exp(logMoneyness);
+                // Log uniform between one hour and thirty years
+                parameters.timeToMaturities()[i] = Math.exp(random.nextDouble(Math.log(1.0 / (365 * 24)), Math.log(30)));
+                parameters.volatilities()[i] = random.nextDouble(0.01, 3.0);
+                parameters.riskFreeRates()[i] = random.nextDouble(-0.02, 0.15);
+                parameters.dividendYields()[i] = random.nextDouble(0, 0.1);
+            }
+        });
+        return parameters;
+    }
+
+    static AccuracyReport compare(String name,
+                                  int nrOfSamples,
+                                  String[] outputNames,
+                                  double[] absoluteBudgets,
+                                  double[] relativeBudgets,
+                                  Kernel reference,
+                                  Kernel fast) {
+        int nrOfOutputs = outputNames.length;
+        double[][] referenceOutputs = new double[nrOfOutputs][nrOfSamples];
+        double[][] fastOutputs = new double[nrOfOutputs][nrOfSamples];
+
+        // Warm both kernels on the first chunk so the timings are not dominated by interpretation
+        int warmUpSize = Math.min(nrOfSamples, CHUNK_SIZE);
+        reference.evaluate(0, warmUpSize, referenceOutputs);
+        fast.evaluate(0, warmUpSize, fastOutputs);
+
+        long referenceNanos = evaluate(nrOfSamples, reference, referenceOutputs);
+        long fastNanos = evaluate(nrOfSamples, fast, fastOutputs);
+
+        double[] maxAbsoluteErrors = new double[nrOfOutputs];
+        double[] maxRelativeErrors = new double[nrOfOutputs];
+        int[] nrOfBudgetBreaches = new int[nrOfOutputs];
+        int[] worstSampleIndices = new int[nrOfOutputs];
+        for (int output = 0; output < nrOfOutputs; output++) {
+            double[] expected = referenceOutputs[output];
+            double[] actual = fastOutputs[output];
+            double worstExcess = 0;
+            for (int i = 0; i < nrOfSamples; i++) {
+                double absoluteError = Math.abs(actual[i] - expected[i]);
+                if (Double.isNaN(actual[i]) != Double.isNaN(expected[i])) {
+                    absoluteError = Double.POSITIVE_INFINITY;
+                } else if (Double.isNaN(absoluteError)) {
+                    absoluteError = 0;
+                }
+                double relativeError = expected[i] != 0 ? absoluteError / Math.abs(expected[i]) : absoluteError;
+                maxAbsoluteErrors[output] = Math.max(maxAbsoluteErrors[output], absoluteError);
+                if (Math.abs(expected[i]) > absoluteBudgets[output]) {
+                    maxRelativeErrors[output] = Math.max(maxRelativeErrors[output], relativeError);
+                }
+                // A sample is accepted when either budget holds, tiny values are judged absolutely and large ones relatively
+                if (absoluteError > absoluteBudgets[output] && relativeError > relativeBudgets[output]) {
+                    nrOfBudgetBreaches[output]++;
+                    double excess = absoluteError / absoluteBudgets[output];
+                    if (excess > worstExcess) {
+                        worstExcess = excess;
+                        worstSampleIndices[output] = i;
+                    }
+                }
+            }
+        }
+        return new AccuracyReport(name, nrOfSamples, outputNames, maxAbsoluteErrors, maxRelativeErrors, nrOfBudgetBreaches, worstSampleIndices, referenceNanos, fastNanos);
+    }
+
+    private static long evaluate(int nrOfSamples, Kernel kernel, double[][] outputs) {
+        long startTime = System.nanoTime();
+        IntStream.range(0, nrOfChunks(nrOfSamples)).parallel().forEach(chunk ->
+                kernel.evaluate(chunk * CHUNK_SIZE, Math.min(nrOfSamples, (chunk + 1) * CHUNK_SIZE), outputs)
+        );
+        return System.nanoTime() - startTime;
+    }
+
+    private static int nrOfChunks(int nrOfSamples) {
+        return (nrOfSamples + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    record OptionParameters(boolean[] isCall,
+                            double[] underlyingPrices,
+                            double[] strikePrices,
+                            double[] timeToMaturities,
+                            double[] volatilities,
+                            double[] riskFreeRates,
+                            double[] dividendYields) {
+
+        static OptionParameters create(int nrOfSamples) {
+            return new OptionParameters(new boolean[nrOfSamples],
+                    new double[nrOfSamples],
+                    new double[nrOfSamples],
+                    new double[nrOfSamples],
+                    new double[nrOfSamples],
+                    new double[nrOfSamples],
+                    new double[nrOfSamples]
+            );
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.herron.exchange.quantlib.accuracy;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+record AccuracyReport(String name,
+                      int nrOfSamples,
+                      String[] outputNames,
+                      double[] maxAbsoluteErrors,
+                      double[] maxRelativeErrors,
+                      int[] nrOfBudgetBreaches,
+                      int[] worstSampleIndices,
+                      long referenceNanos,
+                      long fastNanos) {
+
+    double speedup() {
+        return fastNanos > 0 ? (double) referenceNanos / fastNanos : Double.NaN;
+    }
+
+    void assertWithinBudget() {
+        for (int output = 0; output < outputNames.length; output++) {
+            if (nrOfBudgetBreaches[output] > 0) {
+                fail(String.format("%s: %s samples of %s exceeded the error budget, worst sample %s%n%s", name, nrOfBudgetBreaches[output], outputNames[output], worstSampleIndices[output], this));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder(String.format("%s over %s samples, reference %.1f ms, fast %.1f ms, speedup %.2fx%n", name, nrOfSamples, referenceNanos / 1e6, fastNanos / 1e6, speedup()));
+        for (int output = 0; output < outputNames.length; output++) {
+            builder.append(String.format("  %-8s max abs error %.3e, max rel error %.3e, breaches %s%n", outputNames[output], maxAbsoluteErrors[output], maxRelativeErrors[output], nrOfBudgetBreaches[output]));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,209 @@
+package com.herron.exchange.quantlib.accuracy;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelResult;
+import com.herron.exchange.quantlib.math.FastNormalDistribution;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+
+class PricingKernelAccuracyTest {
+    private static final String[] OPTION_OUTPUTS = {"price", "delta", "gamma", "vega", "theta", "rho"};
+    // The reference results are rounded to five decimals, so half a unit in the last decimal is the best achievable agreement
+    private static final double ROUNDED_REFERENCE_BUDGET = 5e-6 + 1e-9;
+    private static final double[] OPTION_ABSOLUTE_BUDGETS = filled(ROUNDED_REFERENCE_BUDGET);
+    private static final double[] OPTION_RELATIVE_BUDGETS = filled(1e-12);
+    private static final Timestamp VT = Timestamp.now();
+    private static final ImpliedVolatilitySolverConfig ROUND_TRIP_SOLVER_CONFIG = new ImpliedVolatilitySolverConfig(100, ImpliedVolatilitySolverConfig.NO_TIME_BUDGET, 1e-12);
+
+    @Test
+    void test_fast_normal_distribution_matches_reference() {
+        int nrOfSamples = AccuracyHarness.nrOfSamples(200_000);
+        double[] x = new double[nrOfSamples];
+        var random = new SplittableRandom(41);
+        for (int i = 0; i < nrOfSamples; i++) {
+            x[i] = random.nextInt(20) == 0 ? random.nextDouble(-40, 40) : random.nextDouble(-8, 8);
+        }
+        var reference = new NormalDistribution(0, 1);
+
+        var report = AccuracyHarness.compare("normal distribution",
+                nrOfSamples,
+                new String[]{"cdf", "pdf"},
+                new double[]{1e-14, 1e-15},
+                new double[]{1e-9, 1e-13},
+                (from, to, outputs) -> {
+                    for (int i = from; i < to; i++) {
+                        outputs[0][i] = reference.cumulativeProbability(x[i]);
+                        outputs[1][i] = reference.density(x[i]);
+                    }
+                },
+                (from, to, outputs) -> {
+                    for (int i = from; i < to; i++) {
+                        outputs[0][i] = FastNormalDistribution.cumulativeProbability(x[i]);
+                        outputs[1][i] = FastNormalDistribution.density(x[i]);
+                    }
+                }
+        );
+
+        report.assertWithinBudget();
+    }
+
+    @Test
+    void test_black_scholes_batch_kernel_matches_reference() {
+        int nrOfSamples = AccuracyHarness.nrOfSamples(100_000);
+        var parameters = AccuracyHarness.generateOptionParameters(nrOfSamples, 42);
+
+        var report = AccuracyHarness.compare("black scholes batch",
+                nrOfSamples,
+                OPTION_OUTPUTS,
+                OPTION_ABSOLUTE_BUDGETS,
+                OPTION_RELATIVE_BUDGETS,
+                (from, to, outputs) -> {
+                    for (int i = from; i < to; i++) {
+                        var result = BlackScholesMerton.calculateOptionPrice(VT,
+                                parameters.isCall()[i] ? CALL : PUT,
+                                parameters.strikePrices()[i],
+                                parameters.underlyingPrices()[i],
+                                parameters.volatilities()[i],
+                                parameters.timeToMaturities()[i],
+                                parameters.riskFreeRates()[i],
+                                parameters.dividendYields()[i]
+                        );
+                        copyResult(result, outputs, i);
+                    }
+                },
+                (from, to, outputs) -> calculateBatch(parameters, from, to, outputs, false)
+        );
+
+        report.assertWithinBudget();
+    }
+
+    @Test
+    void test_black_76_batch_kernel_matches_reference() {
+        int nrOfSamples = AccuracyHarness.nrOfSamples(100_000);
+        var parameters = AccuracyHarness.generateOptionParameters(nrOfSamples, 76);
+
+        var report = AccuracyHarness.compare("black 76 batch",
+                nrOfSamples,
+                OPTION_OUTPUTS,
+                OPTION_ABSOLUTE_BUDGETS,
+                OPTION_RELATIVE_BUDGETS,
+                (from, to, outputs) -> {
+                    for (int i = from; i < to; i++) {
+                        var result = Black76.calculateOptionPrice(VT,
+                                parameters.isCall()[i] ? CALL : PUT,
+                                parameters.strikePrices()[i],
+                                parameters.underlyingPrices()[i],
+                                parameters.volatilities()[i],
+                                parameters.timeToMaturities()[i],
+                                parameters.riskFreeRates()[i]
+                        );
+                        copyResult(result, outputs, i);
+                    }
+                },
+                (from, to, outputs) -> calculateBatch(parameters, from, to, outputs, true)
+        );
+
+        report.assertWithinBudget();
+    }
+
+    @Test
+    void test_black_scholes_implied_volatility_round_trips() {
+        int nrOfSamples = AccuracyHarness.nrOfSamples(50_000);
+        var parameters = generateQuotedOptionParameters(nrOfSamples, 43);
+        double[][] prices = new double[OPTION_OUTPUTS.length][nrOfSamples];
+        calculateBatch(parameters, 0, nrOfSamples, prices, false);
+
+        var report = AccuracyHarness.compare("black scholes implied volatility",
+                nrOfSamples,
+                new String[]{"implied volatility"},
+                new double[]{1e-8},
+                new double[]{1e-8},
+                (from, to, outputs) -> System.arraycopy(parameters.volatilities(), from, outputs[0], from, to - from),
+                (from, to, outputs) -> {
+                    for (int i = from; i < to; i++) {
+                        outputs[0][i] = BlackScholesMerton.solveImpliedVolatility(parameters.isCall()[i] ? CALL : PUT,
+                                parameters.strikePrices()[i],
+                                prices[0][i],
+                                parameters.underlyingPrices()[i],
+                                parameters.timeToMaturities()[i],
+                                parameters.riskFreeRates()[i],
+                                parameters.dividendYields()[i],
+                                ROUND_TRIP_SOLVER_CONFIG
+                        ).impliedVolatility();
+                    }
+                }
+        );
+
+        report.assertWithinBudget();
+    }
+
+    // Quoted strikes stay within two standard deviations of the forward, where vega is large enough for the price to pin down the volatility
+    private static AccuracyHarness.OptionParameters generateQuotedOptionParameters(int nrOfSamples, long seed) {
+        var parameters = AccuracyHarness.OptionParameters.create(nrOfSamples);
+        var random = new SplittableRandom(seed);
+        for (int i = 0; i < nrOfSamples; i++) {
+            double underlyingPrice = Math.exp(random.nextDouble(Math.log(10), Math.log(1000)));
+            double timeToMaturity = random.nextDouble(0.05, 3);
+            double volatility = random.nextDouble(0.05, 1.0);
+            double riskFreeRate = random.nextDouble(0, 0.08);
+            double dividendYield = random.nextDouble(0, 0.05);
+            double logForward = Math.log(underlyingPrice) + (riskFreeRate - dividendYield) * timeToMaturity;
+            parameters.isCall()[i] = random.nextBoolean();
+            parameters.underlyingPrices()[i] = underlyingPrice;
+            parameters.strikePrices()[i] = Math.exp(logForward + random.nextDouble(-2, 2) * volatility * Math.sqrt(timeToMaturity));
+            parameters.timeToMaturities()[i] = timeToMaturity;
+            parameters.volatilities()[i] = volatility;
+            parameters.riskFreeRates()[i] = riskFreeRate;
+            parameters.dividendYields()[i] = dividendYield;
+        }
+        return parameters;
+    }
+
+    private static void calculateBatch(AccuracyHarness.OptionParameters parameters, int from, int to, double[][] outputs, boolean isBlack76) {
+        int size = to - from;
+        var batch = OptionPriceBatch.create(size);
+        System.arraycopy(parameters.isCall(), from, batch.isCall(), 0, size);
+        System.arraycopy(parameters.strikePrices(), from, batch.strikePrices(), 0, size);
+        System.arraycopy(parameters.underlyingPrices(), from, batch.underlyingPrices(), 0, size);
+        System.arraycopy(parameters.volatilities(), from, batch.volatilities(), 0, size);
+        System.arraycopy(parameters.timeToMaturities(), from, batch.timeToMaturities(), 0, size);
+        System.arraycopy(parameters.riskFreeRates(), from, batch.riskFreeRates(), 0, size);
+        System.arraycopy(parameters.dividendYields(), from, batch.dividendYields(), 0, size);
+        if (isBlack76) {
+            Black76.calculateOptionPrices(batch, size);
+        } else {
+            BlackScholesMerton.calculateOptionPrices(batch, size);
+        }
+        System.arraycopy(batch.prices(), 0, outputs[0], from, size);
+        System.arraycopy(batch.deltas(), 0, outputs[1], from, size);
+        System.arraycopy(batch.gammas(), 0, outputs[2], from, size);
+        System.arraycopy(batch.vegas(), 0, outputs[3], from, size);
+        System.arraycopy(batch.thetas(), 0, outputs[4], from, size);
+        System.arraycopy(batch.rhos(), 0, outputs[5], from, size);
+    }
+
+    private static void copyResult(BlackScholesPriceModelResult result, double[][] outputs, int i) {
+        outputs[0][i] = result.price().getRealValue();
+        outputs[1][i] = result.sensitivity().delta().getRealValue();
+        outputs[2][i] = result.sensitivity().gamma().getRealValue();
+        outputs[3][i] = result.sensitivity().vega().getRealValue();
+        outputs[4][i] = result.sensitivity().theta().getRealValue();
+        outputs[5][i] = result.sensitivity().rho().getRealValue();
+    }
+
+    private static double[] filled(double value) {
+        double[] values = new double[OPTION_OUTPUTS.length];
+        Arrays.fill(values, value);
+        return values;
+    }
+}
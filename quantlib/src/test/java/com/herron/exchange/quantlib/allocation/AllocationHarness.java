@@ -0,0 +1,39 @@
+package com.herron.exchange.quantlib.allocation;
+
+import java.lang.management.ManagementFactory;
+
+final class AllocationHarness {
+    private static final String BUDGET_PROPERTY_PREFIX = "quantlib.allocation.budget.";
+    private static final int NR_OF_WARM_UP_CALLS = 50_000;
+    private static final int NR_OF_MEASURED_CALLS = 10_000;
+    private static final int NR_OF_ATTEMPTS = 5;
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationHarness() {
+    }
+
+    static boolean isSupported() {
+        return THREAD_MX_BEAN.isThreadAllocatedMemorySupported() && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled();
+    }
+
+    static long budget(String path, long defaultBudget) {
+        return Long.getLong(BUDGET_PROPERTY_PREFIX + path, defaultBudget);
+    }
+
+    // The lowest of several attempts filters out one-off allocations from compilation, deoptimization and class loading
+    static double measureBytesPerCall(Runnable call) {
+        for (int i = 0; i < NR_OF_WARM_UP_CALLS; i++) {
+            call.run();
+        }
+        double minBytesPerCall = Double.MAX_VALUE;
+        for (int attempt = 0; attempt < NR_OF_ATTEMPTS; attempt++) {
+            long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < NR_OF_MEASURED_CALLS; i++) {
+                call.run();
+            }
+            long allocatedBytes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            minBytesPerCall = Math.min(minBytesPerCall, (double) allocatedBytes / NR_OF_MEASURED_CALLS);
+        }
+        return minBytesPerCall;
+    }
+}
@@ -0,0 +1,155 @@
+package com.herron.exchange.quantlib.allocation;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+import com.herron.exchange.common.api.common.enums.CompoundingMethodEnum;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import com.herron.exchange.common.api.common.messages.common.MonetaryAmount;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BondDiscountPriceModelResult;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBondDiscountPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultBondInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.BondDiscountingPriceModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.herron.exchange.common.api.common.enums.DayCountConventionEnum.ACT365;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Budgets are derived from per element bounds rather than from the measured totals, with HEADROOM on top so JIT differences do not flake.
+// The normal distribution in commons math allocates on every cdf evaluation, so a pricing evaluation is not yet allocation free.
+// Tighten them with -Dquantlib.allocation.budget.<path>=<bytes per call> as paths become allocation free.
+class HotPathAllocationTest {
+    private static final int BATCH_SIZE = 64;
+    private static final ImpliedVolatilitySolverConfig SOLVER_CONFIG = ImpliedVolatilitySolverConfig.defaultConfig();
+    private static final long HEADROOM = 2;
+    // Up to seven cdf evaluations of about 32 bytes each, plus the intermediate record when it is not scalar replaced
+    private static final long BYTES_PER_PRICE_EVALUATION = 256;
+    // The result, its scaled price and greeks, their builders and the event timestamp
+    private static final long BYTES_PER_RESULT = 4096;
+    // The coupon date and discounted cash flow of one coupon period
+    private static final long BYTES_PER_COUPON = 512;
+    // The cold start brackets the volatility with ten bisection steps, and every solve prices once more at the returned volatility
+    private static final int NR_OF_BISECTION_STEPS = 10;
+    // The test bond pays semiannual coupons over ten years
+    private static final int NR_OF_COUPONS = 20;
+    private static volatile double sink;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(AllocationHarness.isSupported(), "Thread allocation measurement is not supported by this JVM");
+    }
+
+    @Test
+    void test_black_scholes_batch_allocation() {
+        var batch = createBatch();
+
+        assertWithinBudget("black_scholes.batch", BATCH_SIZE * BYTES_PER_PRICE_EVALUATION, () -> BlackScholesMerton.calculateOptionPrices(batch, BATCH_SIZE));
+    }
+
+    @Test
+    void test_black_76_batch_allocation() {
+        var batch = createBatch();
+
+        assertWithinBudget("black_76.batch", BATCH_SIZE * BYTES_PER_PRICE_EVALUATION, () -> Black76.calculateOptionPrices(batch, BATCH_SIZE));
+    }
+
+    @Test
+    void test_black_scholes_single_option_allocation() {
+        var valuationTime = Timestamp.now();
+
+        assertWithinBudget("black_scholes.single", BYTES_PER_PRICE_EVALUATION + BYTES_PER_RESULT,
+                () -> sink = BlackScholesMerton.calculateOptionPrice(valuationTime, PUT, 105, 100, 0.25, 0.5, 0.03, 0.01).price().getRealValue());
+    }
+
+    @Test
+    void test_black_scholes_implied_volatility_allocation() {
+        int nrOfIterations = BlackScholesMerton.solveImpliedVolatility(CALL, 105, 5.0, 100, 0.5, 0.03, 0.01, SOLVER_CONFIG).iterations();
+
+        assertWithinBudget("black_scholes.implied_volatility", (NR_OF_BISECTION_STEPS + nrOfIterations + 1) * BYTES_PER_PRICE_EVALUATION,
+                () -> sink = BlackScholesMerton.solveImpliedVolatility(CALL, 105, 5.0, 100, 0.5, 0.03, 0.01, SOLVER_CONFIG).impliedVolatility());
+    }
+
+    @Test
+    void test_black_scholes_warm_start_implied_volatility_allocation() {
+        int nrOfIterations = BlackScholesMerton.solveImpliedVolatility(CALL, 105, 5.0, 100, 0.5, 0.03, 0.01, 0.2, SOLVER_CONFIG).iterations();
+
+        assertWithinBudget("black_scholes.implied_volatility.warm_start", (nrOfIterations + 1) * BYTES_PER_PRICE_EVALUATION,
+                () -> sink = BlackScholesMerton.solveImpliedVolatility(CALL, 105, 5.0, 100, 0.5, 0.03, 0.01, 0.2, SOLVER_CONFIG).impliedVolatility());
+    }
+
+    @Test
+    void test_black_76_implied_volatility_allocation() {
+        int nrOfIterations = Black76.solveImpliedVolatility(PUT, 95, 4.0, 100, 0.5, 0.03, SOLVER_CONFIG).iterations();
+
+        assertWithinBudget("black_76.implied_volatility", (NR_OF_BISECTION_STEPS + nrOfIterations + 1) * BYTES_PER_PRICE_EVALUATION,
+                () -> sink = Black76.solveImpliedVolatility(PUT, 95, 4.0, 100, 0.5, 0.03, SOLVER_CONFIG).impliedVolatility());
+    }
+
+    @Test
+    void test_bond_discounting_allocation() {
+        var bond = createBond();
+        var valuationTime = Timestamp.from(LocalDate.of(2024, 3, 15));
+
+        assertWithinBudget("bond_discounting", NR_OF_COUPONS * BYTES_PER_COUPON + BYTES_PER_RESULT,
+                () -> sink = ((BondDiscountPriceModelResult) BondDiscountingPriceModel.calculate(bond, 0.035, valuationTime)).dirtyPrice().getRealValue());
+    }
+
+    private static void assertWithinBudget(String path, long bound, Runnable call) {
+        long budget = AllocationHarness.budget(path, HEADROOM * bound);
+        double bytesPerCall = AllocationHarness.measureBytesPerCall(call);
+        assertTrue(bytesPerCall <= budget, String.format("%s allocates %.1f bytes per call, budget is %s", path, bytesPerCall, budget));
+    }
+
+    private static OptionPriceBatch createBatch() {
+        var batch = OptionPriceBatch.create(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.isCall()[i] = i % 2 == 0;
+            batch.strikePrices()[i] = 70 + i;
+            batch.underlyingPrices()[i] = 100;
+            batch.volatilities()[i] = 0.15 + 0.005 * i;
+            batch.timeToMaturities()[i] = 0.1 + 0.05 * i;
+            batch.riskFreeRates()[i] = 0.03;
+            batch.dividendYields()[i] = 0.01;
+        }
+        return batch;
+    }
+
+    private static BondInstrument createBond() {
+        var businessCalendar = BusinessCalendar.noHolidayCalendar();
+        return ImmutableDefaultBondInstrument.builder()
+                .instrumentId("instrumentId")
+                .couponAnnualFrequency(2)
+                .maturityDate(Timestamp.from(LocalDate.of(2033, 1, 1)))
+                .startDate(Timestamp.from(LocalDate.of(2023, 1, 1)))
+                .nominalValue(MonetaryAmount.create(1000, "eur"))
+                .couponRate(PureNumber.create(0.04))
+                .priceModelParameters(ImmutableBondDiscountPriceModelParameters.builder().dayCountConvention(ACT365)
+                        .compoundingMethod(CompoundingMethodEnum.COMPOUNDING)
+                        .calculateWithCurve(false)
+                        .constantYield(0.035)
+                        .yieldCurveId("id")
+                        .build()
+                )
+                .product(ImmutableProduct.builder()
+                        .productId("product")
+                        .businessCalendar(businessCalendar)
+                        .market(ImmutableMarket.builder().marketId("market").businessCalendar(businessCalendar).build())
+                        .currency("eur")
+                        .build())
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.herron.exchange.quantlib.calendar;
+
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BusinessDayIndexTest {
+
+    @Test
+    void test_index_matches_calendar() {
+        var calendar = BusinessCalendar.defaultWeekendCalendar();
+        var index = BusinessDayIndex.create(calendar, LocalDate.of(2020, 1, 1), LocalDate.of(2030, 12, 31));
+
+        for (var date = LocalDate.of(2019, 12, 1); date.isBefore(LocalDate.of(2031, 2, 1)); date = date.plusDays(1)) {
+            assertEquals(calendar.getFirstDateAfterHoliday(date), index.getFirstDateAfterHoliday(date));
+            assertEquals(calendar.getFirstDateBeforeHoliday(date), index.getFirstDateBeforeHoliday(date));
+            assertEquals(calendar.getFirstDateAfterHoliday(date).equals(date), index.isBusinessDay(date));
+        }
+    }
+
+    @Test
+    void test_adjustment_at_index_boundary_falls_back_to_calendar() {
+        var calendar = BusinessCalendar.defaultWeekendCalendar();
+        // Saturday 2023-12-30 is the last indexed day, so the next business day lies outside the index
+        var index = BusinessDayIndex.create(calendar, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 30));
+
+        assertFalse(index.isBusinessDay(LocalDate.of(2023, 12, 30)));
+        assertTrue(index.isBusinessDay(LocalDate.of(2023, 12, 29)));
+        assertEquals(LocalDate.of(2024, 1, 1), index.getFirstDateAfterHoliday(LocalDate.of(2023, 12, 30)));
+        assertEquals(LocalDate.of(2023, 12, 29), index.getFirstDateBeforeHoliday(LocalDate.of(2023, 12, 30)));
+    }
+
+    @Test
+    void test_shared_index_per_calendar() {
+        var calendar = BusinessCalendar.defaultWeekendCalendar();
+
+        var index = BusinessDayIndex.prebuild(calendar, LocalDate.of(2024, 1, 1), LocalDate.of(2034, 12, 31));
+
+        assertSame(index, BusinessDayIndex.of(calendar));
+        assertSame(index, BusinessDayIndex.prebuild(calendar, LocalDate.of(2025, 1, 1), LocalDate.of(2030, 12, 31)));
+    }
+
+    @Test
+    void test_prebuild_widens_shared_index() {
+        var calendar = BusinessCalendar.defaultWeekendCalendar();
+        BusinessDayIndex.prebuild(calendar, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        var index = BusinessDayIndex.prebuild(calendar, LocalDate.of(2023, 6, 1), LocalDate.of(2024, 3, 31));
+
+        assertSame(index, BusinessDayIndex.of(calendar));
+        for (var date = LocalDate.of(2023, 6, 1); date.isBefore(LocalDate.of(2025, 1, 1)); date = date.plusDays(1)) {
+            assertEquals(calendar.getFirstDateAfterHoliday(date), index.getFirstDateAfterHoliday(date));
+        }
+    }
+
+    @Test
+    void test_calendar_without_index_is_answered_by_calendar() {
+        var calendar = BusinessCalendar.noHolidayCalendar();
+        var index = BusinessDayIndex.of(calendar);
+
+        for (var date = LocalDate.of(2024, 1, 1); date.isBefore(LocalDate.of(2024, 3, 1)); date = date.plusDays(1)) {
+            assertEquals(calendar.getFirstDateAfterHoliday(date), index.getFirstDateAfterHoliday(date));
+            assertEquals(calendar.getFirstDateBeforeHoliday(date), index.getFirstDateBeforeHoliday(date));
+            assertEquals(calendar.getFirstDateAfterHoliday(date).equals(date), index.isBusinessDay(date));
+        }
+    }
+
+    @Test
+    void test_invalid_range_throws() {
+        assertThrows(IllegalArgumentException.class, () -> BusinessDayIndex.create(BusinessCalendar.noHolidayCalendar(), LocalDate.of(2024, 1, 1), LocalDate.of(2023, 1, 1)));
+    }
+}
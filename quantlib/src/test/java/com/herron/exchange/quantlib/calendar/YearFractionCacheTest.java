@@ -0,0 +1,60 @@
+package com.herron.exchange.quantlib.calendar;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.herron.exchange.common.api.common.enums.DayCountConventionEnum.ACT365;
+import static com.herron.exchange.common.api.common.enums.DayCountConventionEnum.BOND_BASIS_30360;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class YearFractionCacheTest {
+
+    @Test
+    void test_year_fraction_matches_day_count() {
+        var valuationDate = LocalDate.of(2023, 11, 5);
+        var cache = YearFractionCache.create(Timestamp.from(valuationDate));
+
+        for (int i = 0; i < 3000; i += 7) {
+            var maturityDate = valuationDate.plusDays(i);
+            double nrOfDays = DAYS.between(valuationDate, maturityDate);
+            assertEquals(nrOfDays / ACT365.getDaysPerYear(), cache.getYearFraction(Timestamp.from(maturityDate)), 1e-15);
+            assertEquals(nrOfDays / BOND_BASIS_30360.getDaysPerYear(), cache.getYearFraction(Timestamp.from(maturityDate), BOND_BASIS_30360), 1e-15);
+        }
+    }
+
+    @Test
+    void test_year_fraction_between_dates() {
+        var cache = YearFractionCache.create(Timestamp.from(LocalDate.of(2023, 11, 5)));
+        var startDate = Timestamp.from(LocalDate.of(2024, 1, 1));
+        var endDate = Timestamp.from(LocalDate.of(2025, 1, 1));
+
+        assertEquals(366 / ACT365.getDaysPerYear(), cache.getYearFraction(startDate, endDate, ACT365), 1e-15);
+        assertEquals(-366 / ACT365.getDaysPerYear(), cache.getYearFraction(endDate, startDate, ACT365), 1e-15);
+    }
+
+    @Test
+    void test_shared_cache_is_scoped_to_valuation_date() {
+        var first = YearFractionCache.of(Timestamp.from(LocalDate.of(2023, 11, 5)));
+
+        assertSame(first, YearFractionCache.of(Timestamp.from(LocalDate.of(2023, 11, 5))));
+        var second = YearFractionCache.of(Timestamp.from(LocalDate.of(2023, 11, 6)));
+        assertNotSame(first, second);
+        assertEquals(LocalDate.of(2023, 11, 6).toEpochDay(), second.getValuationEpochDay());
+    }
+
+    @Test
+    void test_alternating_valuation_dates_keep_their_caches() {
+        var first = YearFractionCache.of(Timestamp.from(LocalDate.of(2023, 12, 1)));
+        var second = YearFractionCache.of(Timestamp.from(LocalDate.of(2023, 12, 2)));
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, YearFractionCache.of(Timestamp.from(LocalDate.of(2023, 12, 1))));
+            assertSame(second, YearFractionCache.of(Timestamp.from(LocalDate.of(2023, 12, 2))));
+        }
+    }
+}
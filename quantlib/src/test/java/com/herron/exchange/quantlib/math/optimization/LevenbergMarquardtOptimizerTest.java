@@ -0,0 +1,55 @@
+package com.herron.exchange.quantlib.math.optimization;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LevenbergMarquardtOptimizerTest {
+    private static final double[] X = {0, 1, 2, 3, 4, 5};
+    private static final double[] Y = {1.1, 2.9, 5.2, 6.8, 9.1, 11.0};
+
+    @Test
+    void test_line_fit_converges() {
+        // The ordinary least squares line through the points
+        var result = LevenbergMarquardtOptimizer.defaultOptimizer().optimize(new LineProblem(1), new double[]{0, 0});
+
+        assertEquals(LeastSquaresStatus.CONVERGED, result.status());
+        assertTrue(result.isConverged());
+        assertEquals(1.0380952, result.parameters()[0], 1e-6);
+        assertEquals(1.9914286, result.parameters()[1], 1e-6);
+    }
+
+    @Test
+    void test_stall_at_max_damping_is_not_converged() {
+        // A jacobian of the wrong sign makes every damped step uphill, so the search can only stall
+        var result = LevenbergMarquardtOptimizer.defaultOptimizer().optimize(new LineProblem(-1), new double[]{0, 0});
+
+        assertEquals(LeastSquaresStatus.STALLED, result.status());
+        assertFalse(result.isConverged());
+        assertEquals(1, result.iterations());
+    }
+
+    private record LineProblem(double jacobianSign) implements LeastSquaresProblem {
+
+        @Override
+        public int nrOfParameters() {
+            return 2;
+        }
+
+        @Override
+        public int nrOfResiduals() {
+            return X.length;
+        }
+
+        @Override
+        public void evaluate(double[] parameters, double[] residuals, double[] jacobian) {
+            for (int i = 0; i < X.length; i++) {
+                residuals[i] = parameters[0] + parameters[1] * X[i] - Y[i];
+                jacobian[i * 2] = jacobianSign;
+                jacobian[i * 2 + 1] = jacobianSign * X[i];
+            }
+        }
+    }
+}
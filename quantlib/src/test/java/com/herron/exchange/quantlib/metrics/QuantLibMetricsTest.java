@@ -0,0 +1,65 @@
+package com.herron.exchange.quantlib.metrics;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.ImpliedVolatilityConstructor;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantLibMetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        QuantLibMetrics.disable();
+    }
+
+    @Test
+    void test_implied_volatility_solve_is_recorded() {
+        var registry = new SimpleMeterRegistry();
+        QuantLibMetrics.enable(registry);
+
+        BlackScholesMerton.calculateImpliedVolatility(CALL, 1001, 5.22539, 1000, 0.167, 0.02, 0.01);
+
+        assertEquals(1, registry.get("quantlib.option.implied.volatility").tag("model", "black_scholes").timer().count());
+        assertTrue(registry.get("quantlib.option.implied.volatility.iterations").tag("model", "black_scholes").summary().totalAmount() >= 1);
+    }
+
+    @Test
+    void test_failed_surface_construction_is_still_timed() {
+        var registry = new SimpleMeterRegistry();
+        QuantLibMetrics.enable(registry);
+
+        assertThrows(RuntimeException.class, () -> ImpliedVolatilityConstructor.construct(Timestamp.now(), null, List.of(), Map.of(), null, null));
+
+        assertEquals(1, registry.get("quantlib.ivsurface.construct").timer().count());
+    }
+
+    @Test
+    void test_suppressed_calls_are_not_recorded() {
+        var registry = new SimpleMeterRegistry();
+        QuantLibMetrics.enable(registry);
+
+        var impliedVolatility = QuantLibMetrics.callSuppressed(() -> BlackScholesMerton.calculateImpliedVolatility(CALL, 1001, 5.22539, 1000, 0.167, 0.02, 0.01));
+
+        assertTrue(impliedVolatility.getRealValue() > 0);
+        assertEquals(0, registry.get("quantlib.option.implied.volatility").tag("model", "black_scholes").timer().count());
+        BlackScholesMerton.calculateImpliedVolatility(CALL, 1001, 5.22539, 1000, 0.167, 0.02, 0.01);
+        assertEquals(1, registry.get("quantlib.option.implied.volatility").tag("model", "black_scholes").timer().count());
+    }
+
+    @Test
+    void test_disabled_metrics_are_not_timed() {
+        assertFalse(QuantLibMetrics.isEnabled());
+        assertEquals(0, QuantLibMetrics.startTimer());
+    }
+}
@@ -0,0 +1,74 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.grid;
+
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.grid.model.VolatilityGridConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VolatilitySurfaceGridTest {
+    private static final DoubleBinaryOperator SMILE = (t, k) -> 0.2 + 0.05 * Math.sqrt(t) - 0.1 * k + 0.3 * k * k / (1 + t);
+
+    @Test
+    void test_grid_lookup_is_within_tolerance() {
+        var config = new VolatilityGridConfig(9, 17, 0.0001, 4);
+
+        var grid = VolatilitySurfaceGrid.create("surface", SMILE, 0.05, 2.0, -0.5, 0.5, config);
+
+        assertTrue(grid.isWithinTolerance(config.tolerance()));
+        assertTrue(grid.getNrOfLogMoneynessNodes() > 17);
+        for (int i = 0; i <= 50; i++) {
+            double t = 0.05 + i * 1.95 / 50;
+            for (int j = 0; j <= 50; j++) {
+                double k = -0.5 + j * 0.02;
+                assertEquals(SMILE.applyAsDouble(t, k), grid.getImpliedVolatility(t, k), config.tolerance());
+            }
+        }
+    }
+
+    @Test
+    void test_refinement_reuses_existing_nodes() {
+        var nrOfEvaluations = new AtomicLong();
+        DoubleBinaryOperator countingSmile = (t, k) -> {
+            nrOfEvaluations.incrementAndGet();
+            return SMILE.applyAsDouble(t, k);
+        };
+
+        var grid = VolatilitySurfaceGrid.create("surface", countingSmile, 0.05, 2.0, -0.5, 0.5, new VolatilityGridConfig(3, 3, 1e-12, 1));
+
+        // 3x3 nodes and 2x2 cell centres, then only the 16 new nodes of the 5x5 grid and its 4x4 cell centres
+        assertEquals(5, grid.getNrOfMaturityNodes());
+        assertEquals(9 + 4 + 16 + 16, nrOfEvaluations.get());
+        assertEquals(SMILE.applyAsDouble(0.05 + 1.95 / 4, -0.25), grid.getImpliedVolatility(0.05 + 1.95 / 4, -0.25), 1e-12);
+    }
+
+    @Test
+    void test_batch_lookup_matches_single_lookups() {
+        var grid = VolatilitySurfaceGrid.create("surface", SMILE, 0.05, 2.0, -0.5, 0.5, VolatilityGridConfig.defaultConfig());
+        double[] logMoneyness = {-0.8, -0.5, -0.23, 0.0, 0.17, 0.5, 0.9};
+        double[] result = new double[logMoneyness.length];
+
+        grid.getImpliedVolatilities(0.7, logMoneyness, result);
+
+        for (int i = 0; i < logMoneyness.length; i++) {
+            assertEquals(grid.getImpliedVolatility(0.7, logMoneyness[i]), result[i], 1e-15);
+        }
+    }
+
+    @Test
+    void test_lookup_outside_grid_falls_back_to_surface() {
+        var grid = VolatilitySurfaceGrid.create("surface", SMILE, 0.05, 2.0, -0.5, 0.5, VolatilityGridConfig.defaultConfig());
+
+        assertEquals(SMILE.applyAsDouble(3.0, 0.1), grid.getImpliedVolatility(3.0, 0.1), 1e-15);
+        assertEquals(SMILE.applyAsDouble(1.0, 0.9), grid.getImpliedVolatility(1.0, 0.9), 1e-15);
+    }
+
+    @Test
+    void test_invalid_bounds_throws() {
+        assertThrows(IllegalArgumentException.class, () -> VolatilitySurfaceGrid.create("surface", SMILE, 1.0, 1.0, -0.5, 0.5, VolatilityGridConfig.defaultConfig()));
+    }
+}
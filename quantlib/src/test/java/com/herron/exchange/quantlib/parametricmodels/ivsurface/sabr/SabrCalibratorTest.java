@@ -0,0 +1,76 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr;
+
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.sabr.model.SabrParameters;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SabrCalibratorTest {
+    private static final double FORWARD_PRICE = 100;
+
+    @Test
+    void test_hagan_atm_volatility_matches_leading_order() {
+        double volatility = SabrParameters.impliedVolatility(FORWARD_PRICE, FORWARD_PRICE, 1e-9, 2.0, 0.5, -0.3, 0.4);
+
+        assertEquals(2.0 / Math.sqrt(FORWARD_PRICE), volatility, 1e-9);
+    }
+
+    @Test
+    void test_calibration_recovers_generating_parameters() {
+        var generating = List.of(
+                new SabrParameters(0.25, FORWARD_PRICE, 2.5, 0.5, -0.4, 0.6),
+                new SabrParameters(1.0, FORWARD_PRICE, 2.2, 0.5, -0.25, 0.4)
+        );
+        var calibrator = SabrCalibrator.create(0.5);
+
+        var surface = calibrator.calibrate("future", FORWARD_PRICE, createPoints(generating), null);
+
+        assertEquals(2, surface.getSlices().size());
+        for (int i = 0; i < generating.size(); i++) {
+            var expected = generating.get(i);
+            var actual = surface.getSlices().get(i);
+            assertEquals(expected.alpha(), actual.alpha(), 1e-3);
+            assertEquals(expected.rho(), actual.rho(), 1e-3);
+            assertEquals(expected.nu(), actual.nu(), 1e-3);
+            assertEquals(expected.impliedVolatility(120), surface.getVolatility(expected.timeToMaturity(), 120), 1e-6);
+        }
+    }
+
+    @Test
+    void test_recalibration_warm_starts_from_previous_surface() {
+        var initial = List.of(new SabrParameters(0.5, FORWARD_PRICE, 2.5, 0.5, -0.4, 0.6));
+        var shifted = List.of(new SabrParameters(0.5, FORWARD_PRICE, 2.55, 0.5, -0.38, 0.62));
+        var calibrator = SabrCalibrator.create(0.5);
+
+        calibrator.calibrate("future", FORWARD_PRICE, createPoints(initial), null);
+        var surface = calibrator.calibrate("future", FORWARD_PRICE, createPoints(shifted), null);
+
+        assertEquals(surface, calibrator.getPreviousSurface("future"));
+        assertEquals(2.55, surface.getSlices().get(0).alpha(), 1e-3);
+        assertEquals(-0.38, surface.getSlices().get(0).rho(), 1e-3);
+        assertEquals(0.62, surface.getSlices().get(0).nu(), 1e-3);
+    }
+
+    @Test
+    void test_calibration_without_points_throws() {
+        var calibrator = SabrCalibrator.create(0.5);
+
+        assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate("future", FORWARD_PRICE, List.of(), null));
+    }
+
+    private static List<ImpliedVolPoint> createPoints(List<SabrParameters> slices) {
+        List<ImpliedVolPoint> points = new ArrayList<>();
+        for (var slice : slices) {
+            for (int i = -8; i <= 8; i++) {
+                double strikePrice = FORWARD_PRICE * Math.exp(i * 0.04);
+                points.add(new ImpliedVolPoint(slice.timeToMaturity(), Math.log(strikePrice / FORWARD_PRICE), slice.impliedVolatility(strikePrice)));
+            }
+        }
+        return points;
+    }
+}
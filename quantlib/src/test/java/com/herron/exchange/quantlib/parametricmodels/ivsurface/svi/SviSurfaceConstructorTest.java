@@ -0,0 +1,141 @@
+package com.herron.exchange.quantlib.parametricmodels.ivsurface.svi;
+
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.quantlib.math.optimization.LevenbergMarquardtOptimizer;
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SsviParameters;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SviParameters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SviSurfaceConstructorTest {
+
+    @AfterEach
+    void tearDown() {
+        QuantLibMetrics.disable();
+    }
+
+    @Test
+    void test_svi_fit_recovers_generating_smile() {
+        var generating = List.of(
+                new SviParameters(0.25, 0.01, 0.1, -0.4, 0.02, 0.15),
+                new SviParameters(0.5, 0.02, 0.12, -0.35, 0.03, 0.2),
+                new SviParameters(1.0, 0.04, 0.14, -0.3, 0.05, 0.25)
+        );
+        List<ImpliedVolPoint> points = new ArrayList<>();
+        for (var slice : generating) {
+            for (int i = -10; i <= 10; i++) {
+                double k = i * 0.04;
+                points.add(new ImpliedVolPoint(slice.timeToMaturity(), k, slice.impliedVolatility(k)));
+            }
+        }
+
+        var surface = SviSurfaceConstructor.construct("svi", points);
+
+        assertEquals(3, surface.getSlices().size());
+        for (var slice : generating) {
+            for (int i = -10; i <= 10; i++) {
+                double k = i * 0.04;
+                assertEquals(slice.impliedVolatility(k), surface.getImpliedVolatility(slice.timeToMaturity(), k), 0.001);
+            }
+        }
+    }
+
+    @Test
+    void test_svi_surface_is_free_of_calendar_and_butterfly_arbitrage() {
+        List<ImpliedVolPoint> points = new ArrayList<>();
+        for (int i = -8; i <= 8; i++) {
+            double k = i * 0.05;
+            // Short expiry deliberately more volatile than the long expiry to create crossing total variances
+            points.add(new ImpliedVolPoint(0.2, k, 0.45 + 0.3 * k * k + 0.01 * Math.sin(7 * k)));
+            points.add(new ImpliedVolPoint(0.25, k, 0.2 + 0.1 * k * k));
+        }
+
+        var surface = SviSurfaceConstructor.construct("svi", points);
+
+        var slices = surface.getSlices();
+        for (int i = -20; i <= 20; i++) {
+            double k = i * 0.05;
+            assertTrue(slices.get(1).totalVariance(k) >= slices.get(0).totalVariance(k) - 1e-12);
+            for (var slice : slices) {
+                assertTrue(slice.butterflyDensity(k) >= -1e-3);
+            }
+        }
+    }
+
+    @Test
+    void test_ssvi_fit_recovers_generating_surface() {
+        var generating = new SsviParameters(-0.5, 1.2, 0.5);
+        double[] maturities = {0.1, 0.25, 0.5, 1.0};
+        List<ImpliedVolPoint> points = new ArrayList<>();
+        for (double t : maturities) {
+            double atmTotalVariance = 0.04 * t;
+            for (int i = -10; i <= 10; i++) {
+                double k = i * 0.03;
+                points.add(new ImpliedVolPoint(t, k, Math.sqrt(generating.totalVariance(k, atmTotalVariance) / t)));
+            }
+        }
+
+        var surface = SviSurfaceConstructor.constructSsvi("ssvi", points);
+
+        assertEquals(generating.rho(), surface.getParameters().rho(), 0.01);
+        assertEquals(generating.eta(), surface.getParameters().eta(), 0.01);
+        assertEquals(0.04 * 0.75, surface.getAtmTotalVariance(0.75), 1e-6);
+    }
+
+    @Test
+    void test_sparse_slice_falls_back_to_flat_smile() {
+        var points = List.of(
+                new ImpliedVolPoint(0.5, -0.1, 0.2),
+                new ImpliedVolPoint(0.5, 0.0, 0.2),
+                new ImpliedVolPoint(0.5, 0.1, 0.2)
+        );
+
+        var surface = SviSurfaceConstructor.construct("svi", points);
+
+        assertEquals(0.2, surface.getImpliedVolatility(0.5, 0.3), 1e-9);
+    }
+
+    @Test
+    void test_non_converging_slice_falls_back_to_flat_smile() {
+        var registry = new SimpleMeterRegistry();
+        QuantLibMetrics.enable(registry);
+        var generating = new SviParameters(0.5, 0.02, 0.12, -0.35, 0.03, 0.2);
+        List<ImpliedVolPoint> points = new ArrayList<>();
+        double meanTotalVariance = 0;
+        for (int i = -10; i <= 10; i++) {
+            double k = i * 0.04;
+            points.add(new ImpliedVolPoint(generating.timeToMaturity(), k, generating.impliedVolatility(k)));
+            meanTotalVariance += generating.totalVariance(k) / 21;
+        }
+
+        var surface = SviSurfaceConstructor.construct("svi", points, new LevenbergMarquardtOptimizer(1, 1e-12));
+
+        var slice = surface.getSlices().get(0);
+        assertEquals(0, slice.b());
+        assertEquals(meanTotalVariance, slice.a(), 1e-12);
+        assertEquals(1, registry.get("quantlib.ivsurface.svi.slice.not.converged").counter().count());
+    }
+
+    @Test
+    void test_non_converging_ssvi_fit_throws() {
+        var generating = new SsviParameters(-0.5, 1.2, 0.5);
+        List<ImpliedVolPoint> points = new ArrayList<>();
+        for (double t : new double[]{0.25, 1.0}) {
+            for (int i = -10; i <= 10; i++) {
+                double k = i * 0.03;
+                points.add(new ImpliedVolPoint(t, k, Math.sqrt(generating.totalVariance(k, 0.04 * t) / t)));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> SviSurfaceConstructor.constructSsvi("ssvi", points, new LevenbergMarquardtOptimizer(1, 1e-12)));
+    }
+}
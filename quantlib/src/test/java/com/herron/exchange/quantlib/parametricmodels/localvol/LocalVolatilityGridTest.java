@@ -0,0 +1,125 @@
+package com.herron.exchange.quantlib.parametricmodels.localvol;
+
+import com.herron.exchange.common.api.common.enums.InterpolationMethod;
+import com.herron.exchange.common.api.common.enums.SurfaceConstructionMethod;
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.ForwardPriceCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.model.ForwardCurveModelParameters;
+import com.herron.exchange.common.api.common.math.parametricmodels.forwardcurve.model.ForwardPricePoint;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.ImpliedVolatilitySurface;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolatilitySurfaceModelParameters;
+import com.herron.exchange.quantlib.parametricmodels.localvol.model.LocalVolatilityGridConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalVolatilityGridTest {
+    private static final DoubleUnaryOperator LOG_FORWARD = t -> 0.03 * t;
+
+    @Test
+    void test_flat_surface_gives_flat_local_volatility() {
+        var grid = LocalVolatilityGrid.create("surface", (t, k) -> 0.2, LOG_FORWARD, 0.05, 2.0, -0.5, 0.5, LocalVolatilityGridConfig.defaultConfig());
+
+        assertEquals(0, grid.getNrOfRepairedNodes());
+        for (int i = 0; i <= 20; i++) {
+            for (int j = 0; j <= 20; j++) {
+                assertEquals(0.2, grid.getLocalVolatility(0.05 + i * 0.0975, -0.5 + j * 0.05), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void test_bounds_from_points_are_in_forward_log_moneyness() {
+        // Forward drift of 10% a year, so a quote at log(K / S) = x sits at x - 0.1 t on the grid axis
+        var forwardPriceCurve = ForwardPriceCurve.create("forward", new ForwardCurveModelParameters(List.of(
+                new ForwardPricePoint(0.5, 100 * Math.exp(0.05)),
+                new ForwardPricePoint(1.0, 100 * Math.exp(0.1))
+        ), InterpolationMethod.CUBIC_SPLINE));
+        List<ImpliedVolPoint> points = List.of(
+                new ImpliedVolPoint(0.5, -0.2, 0.2),
+                new ImpliedVolPoint(0.5, 0.2, 0.2),
+                new ImpliedVolPoint(1.0, -0.2, 0.2),
+                new ImpliedVolPoint(1.0, 0.2, 0.2)
+        );
+        var surface = ImpliedVolatilitySurface.create("surface", 100, new ImpliedVolatilitySurfaceModelParameters(SurfaceConstructionMethod.HERMITE_BICUBIC, points));
+
+        var grid = LocalVolatilityGrid.create(surface, "surface", points, 100, forwardPriceCurve, LocalVolatilityGridConfig.defaultConfig());
+
+        assertTrue(grid.isInsideGrid(0.75, -0.3 + 1e-9));
+        assertTrue(grid.isInsideGrid(0.75, 0.15 - 1e-9));
+        assertFalse(grid.isInsideGrid(0.75, -0.3 - 1e-6));
+        assertFalse(grid.isInsideGrid(0.75, 0.15 + 1e-6));
+    }
+
+    @Test
+    void test_term_structure_matches_forward_variance() {
+        // Total variance 0.04 t + 0.02 t^2 has local variance 0.04 + 0.04 t
+        var grid = LocalVolatilityGrid.create("surface", (t, k) -> Math.sqrt(0.04 + 0.02 * t), LOG_FORWARD, 0.05, 2.0, -0.5, 0.5, LocalVolatilityGridConfig.defaultConfig());
+
+        for (double t : new double[]{0.1, 0.5, 1.0, 1.7}) {
+            assertEquals(Math.sqrt(0.04 + 0.04 * t), grid.getLocalVolatility(t, 0.1), 1e-4);
+        }
+    }
+
+    @Test
+    void test_short_dated_skew_is_twice_the_implied_skew() {
+        var grid = LocalVolatilityGrid.create("surface", (t, k) -> 0.2 - 0.1 * k, t -> 0, 0.01, 0.1, -0.2, 0.2, LocalVolatilityGridConfig.defaultConfig());
+
+        double localSkew = (grid.getLocalVolatility(0.01, 0.05) - grid.getLocalVolatility(0.01, -0.05)) / 0.1;
+
+        assertEquals(-0.2, localSkew, 0.01);
+    }
+
+    @Test
+    void test_calendar_arbitrage_is_floored() {
+        var config = LocalVolatilityGridConfig.defaultConfig();
+
+        var grid = LocalVolatilityGrid.create("surface", (t, k) -> 0.2 / t, LOG_FORWARD, 0.5, 2.0, -0.5, 0.5, config);
+
+        assertEquals(grid.getNrOfMaturityNodes() * grid.getNrOfLogMoneynessNodes(), grid.getNrOfRepairedNodes());
+        assertEquals(config.minLocalVolatility(), grid.getLocalVolatility(1.0, 0.0), 1e-12);
+    }
+
+    @Test
+    void test_negative_density_is_repaired() {
+        var config = LocalVolatilityGridConfig.defaultConfig();
+
+        // A steep concave smile breaks the butterfly condition in the wings
+        var grid = LocalVolatilityGrid.create("surface", (t, k) -> Math.max(0.4 - 2.0 * k * k, 0.05), LOG_FORWARD, 0.1, 1.0, -0.4, 0.4, config);
+
+        assertTrue(grid.getNrOfRepairedNodes() > 0);
+        for (int i = 0; i <= 20; i++) {
+            for (int j = 0; j <= 20; j++) {
+                double localVolatility = grid.getLocalVolatility(0.1 + i * 0.045, -0.4 + j * 0.04);
+                assertTrue(localVolatility >= config.minLocalVolatility() && localVolatility <= config.maxLocalVolatility());
+            }
+        }
+    }
+
+    @Test
+    void test_batch_lookup_matches_single_lookups() {
+        var grid = LocalVolatilityGrid.create("surface", (t, k) -> 0.2 - 0.1 * k + 0.3 * k * k, LOG_FORWARD, 0.05, 2.0, -0.5, 0.5, LocalVolatilityGridConfig.defaultConfig());
+        double[] logMoneyness = {-0.8, -0.5, -0.23, 0.0, 0.17, 0.5, 0.9};
+        double[] result = new double[logMoneyness.length];
+
+        grid.getLocalVolatilities(0.7, logMoneyness, result);
+
+        for (int i = 0; i < logMoneyness.length; i++) {
+            assertEquals(grid.getLocalVolatility(0.7, logMoneyness[i]), result[i], 1e-15);
+        }
+        assertEquals(grid.getLocalVolatility(0.7, 0.5), grid.getLocalVolatility(0.7, 0.9), 1e-15);
+        assertEquals(grid.getLocalVolatility(2.0, 0.1), grid.getLocalVolatility(3.0, 0.1), 1e-15);
+    }
+
+    @Test
+    void test_invalid_bounds_throws() {
+        assertThrows(IllegalArgumentException.class, () -> LocalVolatilityGrid.create("surface", (t, k) -> 0.2, LOG_FORWARD, 0.0, 1.0, -0.5, 0.5, LocalVolatilityGridConfig.defaultConfig()));
+        assertThrows(IllegalArgumentException.class, () -> new LocalVolatilityGridConfig(65, 161, 0.5, 0.4, 0.05));
+    }
+}
@@ -0,0 +1,181 @@
+package com.herron.exchange.quantlib.parametricmodels.yieldcurve;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+import com.herron.exchange.common.api.common.enums.CompoundingMethodEnum;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import com.herron.exchange.common.api.common.messages.common.MonetaryAmount;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BondDiscountPriceModelResult;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBondDiscountPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultBondInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.BondDiscountingPriceModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.herron.exchange.common.api.common.enums.DayCountConventionEnum.ACT365;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class YieldCurveBootstrapperTest {
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2023, 1, 2);
+    private static final Timestamp VT = Timestamp.from(VALUATION_DATE);
+
+    @Test
+    void test_flat_curve_is_recovered() {
+        var bonds = createBonds();
+        var bondToPrice = new HashMap<BondInstrument, Price>();
+        for (var bond : bonds) {
+            bondToPrice.put(bond, calculateCleanPrice(bond, 0.03));
+        }
+
+        var bootstrapper = YieldCurveBootstrapper.create("curve", VT, bondToPrice);
+
+        assertEquals(bonds.size(), bootstrapper.getNrOfNodes());
+        for (double t = 0.25; t <= 10; t += 0.25) {
+            assertEquals(0.03, bootstrapper.getZeroYield(t), 1e-9);
+        }
+    }
+
+    @Test
+    void test_bootstrapped_curve_reprices_bonds() {
+        var bonds = createBonds();
+        var bondToPrice = new HashMap<BondInstrument, Price>();
+        double[] marketPrices = {985, 1001, 990, 1012, 970};
+        for (int i = 0; i < bonds.size(); i++) {
+            bondToPrice.put(bonds.get(i), Price.create(marketPrices[i]));
+        }
+
+        var bootstrapper = YieldCurveBootstrapper.create("curve", VT, bondToPrice);
+
+        for (int i = 0; i < bonds.size(); i++) {
+            assertEquals(marketPrices[i], bootstrapper.calculatePresentValue(bonds.get(i)), 1e-6);
+        }
+    }
+
+    @Test
+    void test_published_curve_reprices_bonds_through_price_model() {
+        var bonds = createBonds();
+        var bondToPrice = new HashMap<BondInstrument, Price>();
+        double[] marketPrices = {985, 1001, 990, 1012, 970};
+        for (int i = 0; i < bonds.size(); i++) {
+            bondToPrice.put(bonds.get(i), Price.create(marketPrices[i]));
+        }
+
+        var bootstrapper = YieldCurveBootstrapper.create("curve", VT, bondToPrice);
+        bootstrapper.updatePrice(bonds.get(3), Price.create(1005));
+        marketPrices[3] = 1005;
+
+        for (int i = 0; i < bonds.size(); i++) {
+            var result = (BondDiscountPriceModelResult) BondDiscountingPriceModel.calculate(bonds.get(i), bootstrapper.getYieldCurve(), VT);
+            assertEquals(marketPrices[i], result.cleanPrice().getRealValue(), 1e-6);
+        }
+    }
+
+    @Test
+    void test_incremental_update_only_changes_later_nodes() {
+        var bonds = createBonds();
+        Map<BondInstrument, Price> bondToPrice = new HashMap<>();
+        for (var bond : bonds) {
+            bondToPrice.put(bond, calculateCleanPrice(bond, 0.03));
+        }
+        var bootstrapper = YieldCurveBootstrapper.create("curve", VT, bondToPrice);
+        double shortYield = bootstrapper.getZeroYield(1.0);
+        double longYield = bootstrapper.getZeroYield(10.0);
+
+        bootstrapper.updatePrice(bonds.get(2), Price.create(950));
+
+        // The zero coupon short bond only depends on its own node
+        assertEquals(shortYield, bootstrapper.getZeroYield(1.0), 1e-12);
+        assertNotEquals(longYield, bootstrapper.getZeroYield(10.0));
+        assertEquals(950, bootstrapper.calculatePresentValue(bonds.get(2)), 1e-6);
+        for (int i = 3; i < bonds.size(); i++) {
+            assertEquals(bondToPrice.get(bonds.get(i)).getRealValue(), bootstrapper.calculatePresentValue(bonds.get(i)), 1e-6);
+        }
+        for (int i = 0; i < 2; i++) {
+            assertEquals(bondToPrice.get(bonds.get(i)).getRealValue(), bootstrapper.calculatePresentValue(bonds.get(i)), 1e-6);
+        }
+    }
+
+    @Test
+    void test_failed_update_keeps_previous_curve() {
+        var bonds = createBonds();
+        var bondToPrice = new HashMap<BondInstrument, Price>();
+        double[] marketPrices = {985, 1001, 990, 1012, 970};
+        for (int i = 0; i < bonds.size(); i++) {
+            bondToPrice.put(bonds.get(i), Price.create(marketPrices[i]));
+        }
+        var bootstrapper = YieldCurveBootstrapper.create("curve", VT, bondToPrice);
+        var yieldCurve = bootstrapper.getYieldCurve();
+        double longYield = bootstrapper.getZeroYield(10.0);
+
+        assertThrows(IllegalArgumentException.class, () -> bootstrapper.updatePrice(bonds.get(3), Price.create(1e9)));
+
+        assertSame(yieldCurve, bootstrapper.getYieldCurve());
+        assertEquals(longYield, bootstrapper.getZeroYield(10.0), 1e-15);
+        for (int i = 0; i < bonds.size(); i++) {
+            assertEquals(marketPrices[i], bootstrapper.calculatePresentValue(bonds.get(i)), 1e-6);
+        }
+        bootstrapper.updatePrice(bonds.get(4), Price.create(975));
+        assertEquals(975, bootstrapper.calculatePresentValue(bonds.get(4)), 1e-6);
+        assertEquals(marketPrices[3], bootstrapper.calculatePresentValue(bonds.get(3)), 1e-6);
+    }
+
+    @Test
+    void test_duplicate_maturities_throws() {
+        var first = buildInstrument("first", 0.02, VALUATION_DATE.plusYears(2));
+        var second = buildInstrument("second", 0.03, VALUATION_DATE.plusYears(2));
+
+        assertThrows(IllegalArgumentException.class, () -> YieldCurveBootstrapper.create("curve", VT, Map.of(first, Price.create(1000), second, Price.create(1010))));
+    }
+
+    private static List<BondInstrument> createBonds() {
+        return List.of(
+                buildInstrument("bond1y", 0, VALUATION_DATE.plusYears(1)),
+                buildInstrument("bond2y", 0.02, VALUATION_DATE.plusYears(2)),
+                buildInstrument("bond3y", 0.025, VALUATION_DATE.plusYears(3)),
+                buildInstrument("bond5y", 0.04, VALUATION_DATE.plusYears(5)),
+                buildInstrument("bond10y", 0.03, VALUATION_DATE.plusYears(10))
+        );
+    }
+
+    private static Price calculateCleanPrice(BondInstrument bond, double yield) {
+        return ((BondDiscountPriceModelResult) BondDiscountingPriceModel.calculate(bond, yield, VT)).cleanPrice();
+    }
+
+    private static BondInstrument buildInstrument(String instrumentId, double couponRate, LocalDate maturityDate) {
+        var businessCalendar = BusinessCalendar.noHolidayCalendar();
+        return ImmutableDefaultBondInstrument.builder()
+                .instrumentId(instrumentId)
+                .couponAnnualFrequency(2)
+                .maturityDate(Timestamp.from(maturityDate))
+                .startDate(Timestamp.from(maturityDate.minusYears(10)))
+                .nominalValue(MonetaryAmount.create(1000, "eur"))
+                .couponRate(PureNumber.create(couponRate))
+                .priceModelParameters(ImmutableBondDiscountPriceModelParameters.builder().dayCountConvention(ACT365)
+                        .compoundingMethod(CompoundingMethodEnum.COMPOUNDING)
+                        .calculateWithCurve(true)
+                        .constantYield(0)
+                        .yieldCurveId("curve")
+                        .build()
+                )
+                .product(ImmutableProduct.builder()
+                        .productId("product")
+                        .businessCalendar(businessCalendar)
+                        .market(ImmutableMarket.builder().marketId("market").businessCalendar(businessCalendar).build())
+                        .currency("eur")
+                        .build())
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .build();
+    }
+}
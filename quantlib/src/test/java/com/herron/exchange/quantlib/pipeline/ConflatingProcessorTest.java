@@ -0,0 +1,183 @@
+package com.herron.exchange.quantlib.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflatingProcessorTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void test_only_latest_item_per_key_is_processed_while_busy() throws InterruptedException {
+        var isProcessing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var processor = new ConflatingProcessor<String[], String>(item -> item[0], item -> {
+            if (item[1].equals("1")) {
+                isProcessing.countDown();
+                await(release);
+            }
+            return item[0] + item[1];
+        }, executor, 16);
+        var subscriber = new CollectingSubscriber();
+        processor.subscribe(subscriber);
+
+        processor.onNext(new String[]{"A", "1"});
+        assertTrue(isProcessing.await(5, TimeUnit.SECONDS));
+        processor.onNext(new String[]{"A", "2"});
+        processor.onNext(new String[]{"A", "3"});
+        processor.onNext(new String[]{"B", "1"});
+        release.countDown();
+        processor.onComplete();
+
+        assertTrue(subscriber.isCompleted.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("A1", "A3", "B1"), subscriber.items);
+        assertEquals(1, processor.getNrOfConflatedItems());
+        assertEquals(3, processor.getNrOfProcessedItems());
+    }
+
+    @Test
+    void test_failing_item_does_not_stop_the_stage() throws InterruptedException {
+        var processor = new ConflatingProcessor<String, String>(item -> item, item -> {
+            if (item.equals("bad")) {
+                throw new IllegalStateException(item);
+            }
+            return item.toUpperCase();
+        }, executor, 16);
+        var subscriber = new CollectingSubscriber();
+        processor.subscribe(subscriber);
+
+        processor.onNext("bad");
+        processor.onNext("good");
+        processor.onComplete();
+
+        assertTrue(subscriber.isCompleted.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("GOOD"), subscriber.items);
+        assertEquals(1, processor.getNrOfFailedItems());
+    }
+
+    @Test
+    void test_chained_stages_deliver_latest_state() throws InterruptedException {
+        var first = new ConflatingProcessor<Integer, Integer>(item -> "key", item -> item * 10, executor, 1);
+        var second = new ConflatingProcessor<Integer, Integer>(item -> "key", item -> item + 1, executor, 1);
+        var subscriber = new CollectingSubscriber();
+        first.subscribe(second);
+        second.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                subscriber.onNext(String.valueOf(item));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+
+        for (int i = 1; i <= 1000; i++) {
+            first.onNext(i);
+        }
+        first.onComplete();
+
+        assertTrue(subscriber.isCompleted.await(5, TimeUnit.SECONDS));
+        assertEquals("10001", subscriber.items.get(subscriber.items.size() - 1));
+        assertTrue(subscriber.items.size() <= 1000);
+    }
+
+    @Test
+    void test_stages_on_dedicated_threads_drain_in_parallel() throws InterruptedException {
+        var intakeExecutor = Executors.newSingleThreadExecutor();
+        var firstExecutor = Executors.newSingleThreadExecutor();
+        var secondExecutor = Executors.newSingleThreadExecutor();
+        var deliveryExecutor = Executors.newSingleThreadExecutor();
+        var stageToThreads = List.of(new CopyOnWriteArraySet<Thread>(), new CopyOnWriteArraySet<Thread>());
+        try (var input = new SubmissionPublisher<String>(intakeExecutor, 1)) {
+            var first = new ConflatingProcessor<String, String>(item -> item, item -> {
+                stageToThreads.get(0).add(Thread.currentThread());
+                return item;
+            }, firstExecutor, secondExecutor, 1);
+            var second = new ConflatingProcessor<String, String>(item -> item, item -> {
+                stageToThreads.get(1).add(Thread.currentThread());
+                return item.toUpperCase();
+            }, secondExecutor, deliveryExecutor, 1);
+            var subscriber = new CollectingSubscriber();
+            input.subscribe(first);
+            first.subscribe(second);
+            second.subscribe(subscriber);
+
+            // Distinct keys cannot conflate, every submit has to pass buffers of one without a stage blocking itself
+            for (int i = 0; i < 500; i++) {
+                input.submit("key" + i);
+            }
+            input.close();
+
+            assertTrue(subscriber.isCompleted.await(5, TimeUnit.SECONDS));
+            assertEquals(500, subscriber.items.size());
+            assertEquals(1, stageToThreads.get(0).size());
+            assertEquals(1, stageToThreads.get(1).size());
+            assertNotEquals(stageToThreads.get(0), stageToThreads.get(1));
+        } finally {
+            List.of(intakeExecutor, firstExecutor, secondExecutor, deliveryExecutor).forEach(ExecutorService::shutdownNow);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CollectingSubscriber implements Flow.Subscriber<String> {
+        private final List<String> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch isCompleted = new CountDownLatch(1);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            isCompleted.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            isCompleted.countDown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.herron.exchange.quantlib.pipeline.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordedTickReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_recorded_ticks_are_read_back_in_order() throws IOException {
+        var path = directory.resolve("ticks.bin");
+        var instrumentIds = List.of("underlying", "call-100", "put-100");
+        try (var writer = new RecordedTickWriter(path, instrumentIds)) {
+            for (int i = 0; i < 10_000; i++) {
+                writer.write(1_700_000_000_000L + i, instrumentIds.get(i % 3), 100 + i * 0.01);
+            }
+        }
+
+        // A tiny segment size forces the reader to remap across segment boundaries
+        try (var reader = new RecordedTickReader(path, 7 * RecordedTickFormat.RECORD_SIZE)) {
+            assertEquals(instrumentIds, reader.getInstrumentIds());
+            assertEquals(10_000, reader.getNrOfTicks());
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(reader.advance());
+                assertEquals(1_700_000_000_000L + i, reader.timeOfEventMs());
+                assertEquals(i % 3, reader.instrumentIndex());
+                assertEquals(100 + i * 0.01, reader.price(), 0);
+            }
+            assertFalse(reader.advance());
+        }
+    }
+
+    @Test
+    void test_out_of_order_and_unknown_ticks_are_rejected() throws IOException {
+        try (var writer = new RecordedTickWriter(directory.resolve("ticks.bin"), List.of("underlying"))) {
+            writer.write(2, "underlying", 100);
+
+            assertThrows(IllegalArgumentException.class, () -> writer.write(1, "underlying", 100));
+            assertThrows(IllegalArgumentException.class, () -> writer.write(3, "unknown", 100));
+        }
+    }
+
+    @Test
+    void test_invalid_file_throws() throws IOException {
+        var path = directory.resolve("invalid.bin");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThrows(IllegalArgumentException.class, () -> new RecordedTickReader(path));
+    }
+
+    @Test
+    void test_latency_percentiles() {
+        var recorder = new LatencyRecorder();
+        for (int i = 1000; i >= 1; i--) {
+            recorder.record(i);
+        }
+
+        var percentiles = recorder.summarize();
+
+        assertEquals(1000, percentiles.count());
+        assertEquals(500, percentiles.p50Nanos());
+        assertEquals(900, percentiles.p90Nanos());
+        assertEquals(990, percentiles.p99Nanos());
+        assertEquals(999, percentiles.p999Nanos());
+        assertEquals(1000, percentiles.maxNanos());
+    }
+}
@@ -0,0 +1,124 @@
+package com.herron.exchange.quantlib.pipeline.replay;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.api.referencedata.instruments.OptionInstrument;
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.enums.InterpolationMethod;
+import com.herron.exchange.common.api.common.enums.OptionExerciseTyleEnum;
+import com.herron.exchange.common.api.common.enums.OptionSubTypeEnum;
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.enums.SettlementTypeEnum;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.model.YieldCurveModelParameters;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBlackScholesPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableIntangiblePriceModelParameters;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultEquityInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultOptionInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.pipeline.model.PricingSnapshot;
+import com.herron.exchange.quantlib.pipeline.replay.model.ReplayConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickReplayEngineTest {
+    private static final long START_TIME_MS = 1_700_000_000_000L;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_replay_drives_conflating_pipeline_and_values_at_last_tick() throws IOException {
+        var underlying = createUnderlying();
+        var call = createOption(OptionTypeEnum.CALL);
+        var put = createOption(OptionTypeEnum.PUT);
+        var path = directory.resolve("ticks.bin");
+        int nrOfKnownTicks = 0;
+        long lastTimeOfEventMs = START_TIME_MS;
+        try (var writer = new RecordedTickWriter(path, List.of("underlying", "call", "put", "unknown"))) {
+            for (int i = 0; i < 3_000; i++) {
+                // Two minute ticks span four UTC days, the valuation time must follow the ticks rather than the day they fall on
+                lastTimeOfEventMs = START_TIME_MS + i * MILLIS_PER_HOUR / 30;
+                writer.write(lastTimeOfEventMs, "call", 5 + (i % 5) * 0.01);
+                writer.write(lastTimeOfEventMs, "put", 4 + (i % 5) * 0.01);
+                writer.write(lastTimeOfEventMs, "underlying", 100 + (i % 7) * 0.1);
+                writer.write(lastTimeOfEventMs, "unknown", 1);
+                nrOfKnownTicks += 3;
+            }
+        }
+        var engine = new TickReplayEngine(List.of(underlying), List.of(call, put), createYieldCurve(), ReplayConfig.maximumSpeed());
+        List<PricingSnapshot> snapshots = new CopyOnWriteArrayList<>();
+
+        var report = engine.replay(path, snapshots::add);
+
+        assertEquals(4 * 3_000, report.nrOfTicks());
+        assertEquals(3_000, report.nrOfIgnoredTicks());
+        assertEquals(0, report.nrOfFailedRebuilds());
+        assertEquals(snapshots.size(), report.nrOfRebuilds());
+        assertTrue(report.nrOfRebuilds() > 0);
+        assertEquals(report.nrOfRebuilds(), report.stageToLatency().get(TickReplayEngine.OPTION_PRICING_STAGE).count());
+        assertEquals(nrOfKnownTicks, report.stageToLatency().get(TickReplayEngine.TICK_TO_SNAPSHOT_STAGE).count());
+        var lastTimeOfEvent = Timestamp.from(LocalDateTime.ofInstant(Instant.ofEpochMilli(lastTimeOfEventMs), ZoneOffset.UTC));
+        assertEquals(lastTimeOfEvent, snapshots.get(snapshots.size() - 1).valuationTime());
+    }
+
+    private static Instrument createUnderlying() {
+        return ImmutableDefaultEquityInstrument.builder()
+                .instrumentId("underlying")
+                .product(createProduct())
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .priceModelParameters(ImmutableIntangiblePriceModelParameters.builder().build())
+                .build();
+    }
+
+    private static OptionInstrument createOption(OptionTypeEnum optionType) {
+        return ImmutableDefaultOptionInstrument.builder()
+                .instrumentId(optionType == OptionTypeEnum.CALL ? "call" : "put")
+                .underlyingInstrumentId("underlying")
+                .settlementType(SettlementTypeEnum.PHYSICAL)
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .maturityDate(Timestamp.from(LocalDate.of(2024, 6, 21)))
+                .strikePrice(PureNumber.create(100))
+                .optionType(optionType)
+                .optionSubType(OptionSubTypeEnum.OOE)
+                .optionExerciseStyle(OptionExerciseTyleEnum.EUROPEAN)
+                .priceModelParameters(ImmutableBlackScholesPriceModelParameters.builder().yieldCurveId("").build())
+                .product(createProduct())
+                .build();
+    }
+
+    private static ImmutableProduct createProduct() {
+        return ImmutableProduct.builder().currency("eur").productId("product").market(ImmutableMarket.builder().marketId("market").businessCalendar(BusinessCalendar.defaultWeekendCalendar()).build()).build();
+    }
+
+    private static YieldCurve createYieldCurve() {
+        var startDate = LocalDate.of(2023, 11, 14);
+        LocalDate[] maturityDates = {startDate.plusYears(1), startDate.plusYears(2)};
+        var parameters = YieldCurveModelParameters.create(DayCountConventionEnum.ACT365,
+                InterpolationMethod.LINEAR,
+                startDate,
+                maturityDates[0],
+                maturityDates,
+                new double[]{0.03, 0.03}
+        );
+        return YieldCurve.create("replay", parameters);
+    }
+}
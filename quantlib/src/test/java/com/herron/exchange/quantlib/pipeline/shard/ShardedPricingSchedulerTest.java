@@ -0,0 +1,229 @@
+package com.herron.exchange.quantlib.pipeline.shard;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.Instrument;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import com.herron.exchange.common.api.common.messages.common.Price;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableIntangiblePriceModelParameters;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultEquityInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.pipeline.model.MarketState;
+import com.herron.exchange.quantlib.pipeline.model.PriceUpdate;
+import com.herron.exchange.quantlib.pipeline.model.PricingSnapshot;
+import com.herron.exchange.quantlib.pipeline.shard.model.ShardedSchedulerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedPricingSchedulerTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final Map<String, List<Double>> underlyingIdToBuiltPrices = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> underlyingIdToThreads = new ConcurrentHashMap<>();
+    private ShardedPricingScheduler scheduler;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void test_updates_for_an_underlying_are_built_in_order_on_one_shard() {
+        scheduler = createScheduler(4);
+        List<Instrument> underlyings = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            var underlying = createUnderlying("U" + i);
+            underlyings.add(underlying);
+            scheduler.registerUnderlying(underlying, List.of());
+        }
+
+        for (int tick = 1; tick <= 200; tick++) {
+            for (var underlying : underlyings) {
+                scheduler.onPriceUpdate(createPriceUpdate(underlying, tick, tick));
+            }
+        }
+
+        for (var underlying : underlyings) {
+            String underlyingId = underlying.instrumentId();
+            awaitCondition(() -> lastBuiltPrice(underlyingId) == 200);
+            assertEquals(1, underlyingIdToThreads.get(underlyingId).size());
+            assertIncreasing(underlyingIdToBuiltPrices.get(underlyingId));
+        }
+        assertEquals(2, scheduler.getShardStats().get(0).nrOfUnderlyings());
+        assertEquals(1600, scheduler.getShardStats().stream().mapToLong(stats -> stats.nrOfProcessedUpdates()).sum());
+    }
+
+    @Test
+    void test_rebalance_moves_hot_underlying_to_idle_shard() {
+        scheduler = createScheduler(2);
+        var first = createUnderlying("A");
+        var second = createUnderlying("B");
+        var third = createUnderlying("C");
+        scheduler.registerUnderlying(first, List.of());
+        scheduler.registerUnderlying(second, List.of());
+        scheduler.registerUnderlying(third, List.of());
+        assertEquals(scheduler.getShardIndex("A"), scheduler.getShardIndex("C"));
+
+        for (int tick = 1; tick <= 100; tick++) {
+            scheduler.onPriceUpdate(createPriceUpdate(first, tick, tick));
+            scheduler.onPriceUpdate(createPriceUpdate(third, tick, tick));
+        }
+        scheduler.onPriceUpdate(createPriceUpdate(second, 1, 1));
+        awaitCondition(() -> lastBuiltPrice("A") == 100 && lastBuiltPrice("C") == 100 && lastBuiltPrice("B") == 1);
+
+        assertTrue(scheduler.rebalance());
+        awaitCondition(() -> scheduler.getShardIndex("A") != scheduler.getShardIndex("C"));
+        for (int tick = 101; tick <= 200; tick++) {
+            scheduler.onPriceUpdate(createPriceUpdate(first, tick, tick));
+            scheduler.onPriceUpdate(createPriceUpdate(third, tick, tick));
+        }
+
+        awaitCondition(() -> lastBuiltPrice("A") == 200 && lastBuiltPrice("C") == 200);
+        assertIncreasing(underlyingIdToBuiltPrices.get("A"));
+        assertIncreasing(underlyingIdToBuiltPrices.get("C"));
+        assertEquals(3, underlyingIdToThreads.get("A").size() + underlyingIdToThreads.get("C").size());
+    }
+
+    @Test
+    void test_stale_tick_does_not_overwrite_newer_price() {
+        scheduler = createScheduler(1);
+        var underlying = createUnderlying("A");
+        scheduler.registerUnderlying(underlying, List.of());
+
+        scheduler.onPriceUpdate(createPriceUpdate(underlying, 5, 105));
+        scheduler.onPriceUpdate(createPriceUpdate(underlying, 3, 103));
+        scheduler.onPriceUpdate(createPriceUpdate(underlying, 6, 106));
+
+        awaitCondition(() -> lastBuiltPrice("A") == 106);
+        assertTrue(underlyingIdToBuiltPrices.get("A").stream().noneMatch(price -> price == 103));
+        assertEquals(2, scheduler.getShardStats().get(0).nrOfProcessedUpdates());
+    }
+
+    @Test
+    void test_forwarded_tick_with_same_timestamp_does_not_overwrite_newer_price() throws InterruptedException {
+        var underlying = createUnderlying("A");
+        var marker = createUnderlying("B");
+        var previousOwner = new PricingShard(0, this::recordBuild, snapshot -> {
+        }, () -> null, 16);
+        var owner = new PricingShard(1, this::recordBuild, snapshot -> {
+        }, () -> null, 16);
+        var route = new UnderlyingRoute("A", previousOwner);
+        var markerRoute = new UnderlyingRoute("B", owner);
+        var book = new UnderlyingBook(underlying, List.of(), route);
+        owner.register(new UnderlyingBook(marker, List.of(), markerRoute));
+
+        // The first tick is read with the old route and only reaches the new owner after the second tick
+        previousOwner.onPriceUpdate(createPriceUpdate(underlying, 1, 101), route);
+        route.shard = owner;
+        owner.register(book);
+        owner.onPriceUpdate(createPriceUpdate(underlying, 1, 102), route);
+        owner.start();
+        awaitCondition(() -> lastBuiltPrice("A") == 102);
+        // Forwarded behind the first tick, so once it is built the first tick has been applied
+        previousOwner.onPriceUpdate(createPriceUpdate(marker, 1, 1), markerRoute);
+        previousOwner.start();
+        awaitCondition(() -> lastBuiltPrice("B") == 1);
+        previousOwner.stop();
+        owner.stop();
+
+        assertEquals(102, book.instrumentToUpdate.get(underlying).price().getRealValue());
+        assertEquals(List.of(102.0), underlyingIdToBuiltPrices.get("A"));
+    }
+
+    @Test
+    void test_producer_blocks_while_shard_queue_is_full() throws InterruptedException {
+        var buildLatch = new CountDownLatch(1);
+        scheduler = new ShardedPricingScheduler(null, marketState -> {
+            try {
+                buildLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return recordBuild(marketState);
+        }, snapshot -> {
+        }, new ShardedSchedulerConfig(1, 1.5, 0, 1));
+        var underlying = createUnderlying("A");
+        scheduler.registerUnderlying(underlying, List.of());
+
+        var producer = Thread.ofPlatform().name("producer").start(() -> {
+            for (int tick = 1; tick <= 3; tick++) {
+                scheduler.onPriceUpdate(createPriceUpdate(underlying, tick, tick));
+            }
+        });
+        awaitCondition(() -> producer.getState() == Thread.State.WAITING && scheduler.getShardStats().get(0).queueDepth() == 1);
+        assertTrue(producer.isAlive());
+
+        buildLatch.countDown();
+        producer.join();
+        awaitCondition(() -> lastBuiltPrice("A") == 3);
+    }
+
+    @Test
+    void test_invalid_config_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedSchedulerConfig(0, 1.5, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedSchedulerConfig(2, 0.5, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedSchedulerConfig(2, 1.5, 0, 0));
+    }
+
+    private ShardedPricingScheduler createScheduler(int nrOfShards) {
+        return new ShardedPricingScheduler(null, this::recordBuild, snapshot -> {
+        }, ShardedSchedulerConfig.create(nrOfShards, Duration.ZERO));
+    }
+
+    private PricingSnapshot recordBuild(MarketState marketState) {
+        String underlyingId = marketState.underlyingInstrumentId();
+        underlyingIdToThreads.computeIfAbsent(underlyingId, key -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+        underlyingIdToBuiltPrices.computeIfAbsent(underlyingId, key -> new CopyOnWriteArrayList<>())
+                .add(marketState.instrumentToPrice().get(marketState.underlying()).getRealValue());
+        return new PricingSnapshot(underlyingId, marketState.valuationTime(), null, null, Map.of());
+    }
+
+    private double lastBuiltPrice(String underlyingId) {
+        var prices = underlyingIdToBuiltPrices.get(underlyingId);
+        return prices == null || prices.isEmpty() ? Double.NaN : prices.get(prices.size() - 1);
+    }
+
+    private static void assertIncreasing(List<Double> prices) {
+        for (int i = 1; i < prices.size(); i++) {
+            assertTrue(prices.get(i) > prices.get(i - 1), String.format("Prices built out of order: %s", prices));
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() - deadline < 0, "Timed out waiting for the shards");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static PriceUpdate createPriceUpdate(Instrument instrument, int day, double price) {
+        return new PriceUpdate(instrument, Price.create(price), Timestamp.from(START_DATE.plusDays(day)));
+    }
+
+    private static Instrument createUnderlying(String instrumentId) {
+        return ImmutableDefaultEquityInstrument.builder()
+                .instrumentId(instrumentId)
+                .product(ImmutableProduct.builder().currency("eur").productId("product").market(ImmutableMarket.builder().marketId("market").businessCalendar(BusinessCalendar.defaultWeekendCalendar()).build()).build())
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .priceModelParameters(ImmutableIntangiblePriceModelParameters.builder().build())
+                .build();
+    }
+}
@@ -13,6 +13,9 @@ import com.herron.exchange.common.api.common.messages.pricing.ImmutableBlackScho
 import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultOptionInstrument;
 import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
 import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityStatus;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
@@ -20,6 +23,8 @@ import java.time.LocalDate;
 import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
 import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BlackScholesMertonTest {
 
@@ -71,6 +76,96 @@ class BlackScholesMertonTest {
         assertEquals(PureNumber.create(0.03), iv.scale(2));
     }
 
+    @Test
+    void test_option_call_implied_volatility_solve_result() {
+        var option = createOption(CALL, 1001, Timestamp.from(LocalDate.of(2023, 12, 31)));
+        var result = BlackScholesMerton.solveImpliedVolatility(
+                option.optionType(),
+                option.strikePrice().getRealValue(),
+                5.22539,
+                1000,
+                BlackScholesMerton.calculateTimeToMaturity(Timestamp.from(LocalDate.of(2023, 10, 31)), option),
+                0.02,
+                0.01,
+                ImpliedVolatilitySolverConfig.defaultConfig()
+        );
+
+        assertEquals(ImpliedVolatilityStatus.CONVERGED, result.status());
+        assertEquals(0.03, result.impliedVolatility(), 0.001);
+        assertTrue(result.iterations() >= 1);
+        assertTrue(Math.abs(result.residual()) < 0.01);
+    }
+
+    @Test
+    void test_option_call_implied_volatility_iteration_budget() {
+        var option = createOption(CALL, 1001, Timestamp.from(LocalDate.of(2023, 12, 31)));
+        var result = BlackScholesMerton.solveImpliedVolatility(
+                option.optionType(),
+                option.strikePrice().getRealValue(),
+                5.22539,
+                1000,
+                BlackScholesMerton.calculateTimeToMaturity(Timestamp.from(LocalDate.of(2023, 10, 31)), option),
+                0.02,
+                0.01,
+                new ImpliedVolatilitySolverConfig(1, ImpliedVolatilitySolverConfig.NO_TIME_BUDGET, 1e-12)
+        );
+
+        assertEquals(ImpliedVolatilityStatus.MAX_ITERATIONS_REACHED, result.status());
+        assertEquals(1, result.iterations());
+    }
+
+    @Test
+    void test_option_call_implied_volatility_clamped_only_when_settled_on_bound() {
+        var option = createOption(CALL, 1001, Timestamp.from(LocalDate.of(2023, 12, 31)));
+        double timeToMaturity = BlackScholesMerton.calculateTimeToMaturity(Timestamp.from(LocalDate.of(2023, 10, 31)), option);
+        var settled = BlackScholesMerton.solveImpliedVolatility(CALL, 1001, 999, 1000, timeToMaturity, 0.02, 0.01, ImpliedVolatilitySolverConfig.defaultConfig());
+        var capped = BlackScholesMerton.solveImpliedVolatility(CALL, 1001, 999, 1000, timeToMaturity, 0.02, 0.01, new ImpliedVolatilitySolverConfig(1, ImpliedVolatilitySolverConfig.NO_TIME_BUDGET, 1e-12));
+
+        assertEquals(ImpliedVolatilityStatus.CLAMPED_TO_UPPER_BOUND, settled.status());
+        assertFalse(settled.isConverged());
+        assertEquals(ImpliedVolatilityStatus.MAX_ITERATIONS_REACHED, capped.status());
+    }
+
+    @Test
+    void test_option_call_implied_volatility_residual_at_returned_volatility() {
+        var option = createOption(CALL, 1001, Timestamp.from(LocalDate.of(2023, 12, 31)));
+        double timeToMaturity = BlackScholesMerton.calculateTimeToMaturity(Timestamp.from(LocalDate.of(2023, 10, 31)), option);
+        var result = BlackScholesMerton.solveImpliedVolatility(CALL, 1001, 25, 1000, timeToMaturity, 0.02, 0.01, new ImpliedVolatilitySolverConfig(2, ImpliedVolatilitySolverConfig.NO_TIME_BUDGET, 1e-12));
+        var price = BlackScholesMerton.calculateOptionPrice(Timestamp.from(LocalDate.of(2023, 10, 31)), CALL, 1001, 1000, result.impliedVolatility(), timeToMaturity, 0.02, 0.01).price();
+
+        assertEquals(price.getRealValue() - 25, result.residual(), 1e-4);
+    }
+
+    @Test
+    void test_option_call_implied_volatility_warm_start() {
+        var option = createOption(CALL, 1001, Timestamp.from(LocalDate.of(2023, 12, 31)));
+        double timeToMaturity = BlackScholesMerton.calculateTimeToMaturity(Timestamp.from(LocalDate.of(2023, 10, 31)), option);
+        var config = new ImpliedVolatilitySolverConfig(1000, ImpliedVolatilitySolverConfig.NO_TIME_BUDGET, 1e-8);
+        var cold = BlackScholesMerton.solveImpliedVolatility(CALL, 1001, 5.22539, 1000, timeToMaturity, 0.02, 0.01, config);
+        var warm = BlackScholesMerton.solveImpliedVolatility(CALL, 1001, 5.22539, 1000, timeToMaturity, 0.02, 0.01, cold.impliedVolatility() + 0.0005, config);
+        var invalidSeed = BlackScholesMerton.solveImpliedVolatility(CALL, 1001, 5.22539, 1000, timeToMaturity, 0.02, 0.01, Double.NaN, config);
+
+        assertEquals(ImpliedVolatilityStatus.CONVERGED, warm.status());
+        assertEquals(cold.impliedVolatility(), warm.impliedVolatility(), 1e-6);
+        assertTrue(warm.iterations() <= cold.iterations());
+        assertEquals(cold.iterations(), invalidSeed.iterations());
+    }
+
+    @Test
+    void test_warm_start_cache_evicts_expired_contracts() {
+        var cache = new ImpliedVolatilityWarmStartCache();
+        var converged = new ImpliedVolatilityResult(0.3, 2, 0.0, 1.5, ImpliedVolatilityStatus.CONVERGED);
+        cache.update("expired", Timestamp.from(LocalDate.of(2023, 10, 1)), converged);
+        cache.update("live", Timestamp.from(LocalDate.of(2023, 12, 31)), converged);
+        cache.update("failed", Timestamp.from(LocalDate.of(2023, 12, 31)), new ImpliedVolatilityResult(2.0, 1000, 0.5, 0.0, ImpliedVolatilityStatus.CLAMPED_TO_UPPER_BOUND));
+
+        cache.evictExpired(Timestamp.from(LocalDate.of(2023, 10, 31)));
+
+        assertEquals(1, cache.size());
+        assertEquals(0.3, cache.getInitialGuess("live"));
+        assertTrue(Double.isNaN(cache.getInitialGuess("failed")));
+    }
+
     @Test
     void test_option_put_price() {
         var vt = Timestamp.from(LocalDate.of(2023, 10, 31));
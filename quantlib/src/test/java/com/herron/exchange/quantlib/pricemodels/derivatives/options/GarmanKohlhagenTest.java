@@ -0,0 +1,72 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GarmanKohlhagenTest {
+    private static final Timestamp VALUATION_TIME = Timestamp.from(LocalDate.of(2023, 10, 31));
+
+    @Test
+    void test_fx_call_price() {
+        var result = GarmanKohlhagen.calculateOptionPrice(VALUATION_TIME, CALL, 1.60, 1.56, 0.12, 0.5, 0.06, 0.08);
+
+        assertEquals(0.0291, result.price().getRealValue(), 1e-4);
+    }
+
+    @Test
+    void test_put_call_parity() {
+        double spotRate = 1.0850;
+        double strikePrice = 1.1;
+        double timeToMaturity = 0.75;
+        double domesticRiskFreeRate = 0.045;
+        double foreignRiskFreeRate = 0.035;
+        var batch = OptionPriceBatch.create(2);
+        for (int i = 0; i < 2; i++) {
+            batch.isCall()[i] = i == 0;
+            batch.strikePrices()[i] = strikePrice;
+            batch.underlyingPrices()[i] = spotRate;
+            batch.volatilities()[i] = 0.09;
+            batch.timeToMaturities()[i] = timeToMaturity;
+            batch.riskFreeRates()[i] = domesticRiskFreeRate;
+            batch.dividendYields()[i] = foreignRiskFreeRate;
+        }
+
+        GarmanKohlhagen.calculateOptionPrices(batch, 2);
+
+        double forwardValue = spotRate * Math.exp(-foreignRiskFreeRate * timeToMaturity) - strikePrice * Math.exp(-domesticRiskFreeRate * timeToMaturity);
+        assertEquals(forwardValue, batch.prices()[0] - batch.prices()[1], 1e-12);
+    }
+
+    @Test
+    void test_adapters_agree_on_shared_kernel() {
+        double forwardPrice = 1000;
+        double riskFreeRate = 0.02;
+        double timeToMaturity = 0.25;
+
+        var black76 = Black76.calculateOptionPrice(VALUATION_TIME, CALL, 1001, forwardPrice, 0.3, timeToMaturity, riskFreeRate);
+        var blackScholesMerton = BlackScholesMerton.calculateOptionPrice(VALUATION_TIME, CALL, 1001, forwardPrice, 0.3, timeToMaturity, riskFreeRate, riskFreeRate);
+        var garmanKohlhagen = GarmanKohlhagen.calculateOptionPrice(VALUATION_TIME, CALL, 1001, forwardPrice, 0.3, timeToMaturity, riskFreeRate, riskFreeRate);
+
+        assertEquals(black76.price(), blackScholesMerton.price());
+        assertEquals(black76.price(), garmanKohlhagen.price());
+        assertEquals(black76.sensitivity().delta(), garmanKohlhagen.sensitivity().delta());
+        assertEquals(black76.sensitivity().gamma(), garmanKohlhagen.sensitivity().gamma());
+        assertEquals(black76.sensitivity().vega(), garmanKohlhagen.sensitivity().vega());
+        assertEquals(black76.sensitivity().theta(), garmanKohlhagen.sensitivity().theta());
+    }
+
+    @Test
+    void test_implied_volatility_round_trip() {
+        var price = GarmanKohlhagen.calculateOptionPrice(VALUATION_TIME, CALL, 150, 148.5, 0.11, 0.5, 0.05, 0.001);
+
+        var iv = GarmanKohlhagen.calculateImpliedVolatility(CALL, 150, price.price().getRealValue(), 148.5, 0.5, 0.05, 0.001);
+
+        assertEquals(0.11, iv.getRealValue(), 1e-4);
+    }
+}
@@ -0,0 +1,100 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.OptionPriceBatch;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.SecondOrderGreeks;
+import org.junit.jupiter.api.Test;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SecondOrderGreeksTest {
+    private static final double DAYS_PER_YEAR = 365;
+    private static final double BUMP = 1e-4;
+
+    @Test
+    void test_black_scholes_second_order_greeks_match_finite_differences() {
+        for (var optionType : OptionTypeEnum.values()) {
+            for (double strikePrice : new double[]{70, 100, 135}) {
+                var result = BlackScholesMerton.calculateOptionPriceWithSecondOrderGreeks(Timestamp.now(), optionType, strikePrice, 100, 0.25, 0.75, 0.03, 0.015);
+
+                var expected = calculateWithFiniteDifferences(false, optionType, strikePrice, 100, 0.25, 0.75, 0.03, 0.015);
+                assertGreeks(expected, result.secondOrderGreeks());
+                var firstOrder = BlackScholesMerton.calculateOptionPrice(Timestamp.now(), optionType, strikePrice, 100, 0.25, 0.75, 0.03, 0.015);
+                assertEquals(firstOrder.price(), result.priceModelResult().price());
+            }
+        }
+    }
+
+    @Test
+    void test_black_76_second_order_greeks_match_finite_differences() {
+        for (var optionType : OptionTypeEnum.values()) {
+            for (double strikePrice : new double[]{70, 100, 135}) {
+                var result = Black76.calculateOptionPriceWithSecondOrderGreeks(Timestamp.now(), optionType, strikePrice, 102, 0.3, 1.5, 0.04);
+
+                var expected = calculateWithFiniteDifferences(true, optionType, strikePrice, 102, 0.3, 1.5, 0.04, 0);
+                assertGreeks(expected, result.secondOrderGreeks());
+            }
+        }
+    }
+
+    @Test
+    void test_put_call_second_order_greeks_relations() {
+        var call = BlackScholesMerton.calculateOptionPriceWithSecondOrderGreeks(Timestamp.now(), CALL, 110, 100, 0.2, 0.5, 0.02, 0.01).secondOrderGreeks();
+        var put = BlackScholesMerton.calculateOptionPriceWithSecondOrderGreeks(Timestamp.now(), PUT, 110, 100, 0.2, 0.5, 0.02, 0.01).secondOrderGreeks();
+
+        assertEquals(call.vanna(), put.vanna(), 1e-15);
+        assertEquals(call.volga(), put.volga(), 1e-15);
+        assertEquals(call.speed(), put.speed(), 1e-15);
+        // Put delta is call delta minus the dividend discount factor, whose time decay is q * exp(-qT)
+        assertEquals(call.charm() - put.charm(), 0.01 * Math.exp(-0.01 * 0.5) / DAYS_PER_YEAR, 1e-15);
+    }
+
+    private static void assertGreeks(SecondOrderGreeks expected, SecondOrderGreeks actual) {
+        assertEquals(expected.vanna(), actual.vanna(), 1e-7);
+        assertEquals(expected.volga(), actual.volga(), 1e-7);
+        assertEquals(expected.charm(), actual.charm(), 1e-7);
+        assertEquals(expected.speed(), actual.speed(), 1e-7);
+    }
+
+    private static SecondOrderGreeks calculateWithFiniteDifferences(boolean isBlack76,
+                                                                    OptionTypeEnum optionType,
+                                                                    double strikePrice,
+                                                                    double underlyingPrice,
+                                                                    double volatility,
+                                                                    double timeToMaturity,
+                                                                    double riskFreeRate,
+                                                                    double dividendYield) {
+        var batch = OptionPriceBatch.create(6);
+        double[][] bumps = {
+                {underlyingPrice, volatility + BUMP, timeToMaturity},
+                {underlyingPrice, volatility - BUMP, timeToMaturity},
+                {underlyingPrice, volatility, timeToMaturity + BUMP},
+                {underlyingPrice, volatility, timeToMaturity - BUMP},
+                {underlyingPrice + BUMP, volatility, timeToMaturity},
+                {underlyingPrice - BUMP, volatility, timeToMaturity}
+        };
+        for (int i = 0; i < bumps.length; i++) {
+            batch.isCall()[i] = optionType == CALL;
+            batch.strikePrices()[i] = strikePrice;
+            batch.underlyingPrices()[i] = bumps[i][0];
+            batch.volatilities()[i] = bumps[i][1];
+            batch.timeToMaturities()[i] = bumps[i][2];
+            batch.riskFreeRates()[i] = riskFreeRate;
+            batch.dividendYields()[i] = dividendYield;
+        }
+        if (isBlack76) {
+            Black76.calculateOptionPrices(batch, bumps.length);
+        } else {
+            BlackScholesMerton.calculateOptionPrices(batch, bumps.length);
+        }
+
+        double vanna = (batch.deltas()[0] - batch.deltas()[1]) / (2 * BUMP) / 100;
+        double volga = (batch.vegas()[0] - batch.vegas()[1]) / (2 * BUMP) / 100;
+        double charm = -(batch.deltas()[2] - batch.deltas()[3]) / (2 * BUMP) / DAYS_PER_YEAR;
+        double speed = (batch.gammas()[4] - batch.gammas()[5]) / (2 * BUMP);
+        return new SecondOrderGreeks(vanna, volga, charm, speed);
+    }
+}
@@ -0,0 +1,113 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.batch;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model.CoalescerConfig;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model.OptionPricingRequest;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.batch.model.OptionPricingResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptionPricingCoalescerTest {
+
+    @Test
+    void test_single_request_matches_black_scholes() throws Exception {
+        try (var coalescer = OptionPricingCoalescer.create()) {
+            var result = coalescer.submit(OptionPricingRequest.blackScholes(PUT, 105, 100, 0.25, 0.5, 0.03, 0.01)).get();
+
+            var expected = BlackScholesMerton.calculateOptionPrice(Timestamp.now(), PUT, 105, 100, 0.25, 0.5, 0.03, 0.01);
+            assertEquals(expected.price().getRealValue(), result.price(), 1e-5);
+            assertEquals(expected.sensitivity().delta().getRealValue(), result.delta(), 1e-5);
+            assertEquals(expected.sensitivity().gamma().getRealValue(), result.gamma(), 1e-5);
+            assertEquals(expected.sensitivity().vega().getRealValue(), result.vega(), 1e-5);
+            assertEquals(expected.sensitivity().theta().getRealValue(), result.theta(), 1e-5);
+            assertEquals(expected.sensitivity().rho().getRealValue(), result.rho(), 1e-5);
+        }
+    }
+
+    @Test
+    void test_concurrent_requests_are_batched_and_completed() throws Exception {
+        int nrOfRequests = 2000;
+        var config = CoalescerConfig.create(128, Duration.ofMillis(2));
+        try (var coalescer = new OptionPricingCoalescer(config);
+             var executor = Executors.newFixedThreadPool(8)) {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<CompletableFuture<CompletableFuture<Double>>>();
+            for (int i = 0; i < nrOfRequests; i++) {
+                double strikePrice = 80 + (i % 40);
+                boolean isBlack76 = i % 2 == 0;
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    var request = isBlack76
+                            ? OptionPricingRequest.black76(CALL, strikePrice, 100, 0.2, 1.0, 0.02)
+                            : OptionPricingRequest.blackScholes(CALL, strikePrice, 100, 0.2, 1.0, 0.02, 0.0);
+                    return coalescer.submit(request).thenApply(result -> result.price());
+                }, executor));
+            }
+            start.countDown();
+
+            for (int i = 0; i < nrOfRequests; i++) {
+                double strikePrice = 80 + (i % 40);
+                double expected = i % 2 == 0
+                        ? Black76.calculateOptionPrice(Timestamp.now(), CALL, strikePrice, 100, 0.2, 1.0, 0.02).price().getRealValue()
+                        : BlackScholesMerton.calculateOptionPrice(Timestamp.now(), CALL, strikePrice, 100, 0.2, 1.0, 0.02, 0.0).price().getRealValue();
+                assertEquals(expected, futures.get(i).get().get(), 1e-5);
+            }
+            assertEquals(nrOfRequests, coalescer.getNrOfBatchedRequests());
+            assertTrue(coalescer.getNrOfBatches() < nrOfRequests);
+        }
+    }
+
+    @Test
+    void test_closed_coalescer_rejects_requests() {
+        var coalescer = OptionPricingCoalescer.create();
+        coalescer.close();
+
+        var future = coalescer.submit(OptionPricingRequest.blackScholes(CALL, 100, 100, 0.2, 1.0, 0.02, 0.0));
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void test_requests_racing_close_are_always_completed() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            var coalescer = OptionPricingCoalescer.create();
+            var futures = new CopyOnWriteArrayList<CompletableFuture<OptionPricingResult>>();
+            var submitter = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    futures.add(coalescer.submit(OptionPricingRequest.blackScholes(CALL, 100, 100, 0.2, 1.0, 0.02, 0.0)));
+                }
+            });
+            submitter.start();
+            coalescer.close();
+            submitter.join();
+
+            for (var future : futures) {
+                assertTrue(future.isDone());
+            }
+        }
+    }
+
+    @Test
+    void test_invalid_config_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new CoalescerConfig(0, 1000, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CoalescerConfig(16, 1000, 8));
+    }
+}
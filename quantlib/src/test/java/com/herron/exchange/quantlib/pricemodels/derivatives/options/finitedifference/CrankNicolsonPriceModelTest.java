@@ -0,0 +1,80 @@
+package com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.finitedifference.model.FiniteDifferenceGrid;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.herron.exchange.common.api.common.enums.OptionExerciseTyleEnum.AMERICAN;
+import static com.herron.exchange.common.api.common.enums.OptionExerciseTyleEnum.EUROPEAN;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrankNicolsonPriceModelTest {
+    private static final Timestamp VT = Timestamp.from(LocalDate.of(2023, 10, 31));
+    private static final double[] STRIKES = new double[]{80, 90, 100, 110, 120};
+
+    @Test
+    void test_european_call_matches_black_scholes() {
+        var result = CrankNicolsonPriceModel.calculateOptionPrices(CALL, EUROPEAN, STRIKES, 100, 0.25, 0.5, 0.03, 0.01, FiniteDifferenceGrid.defaultGrid());
+        for (int i = 0; i < STRIKES.length; i++) {
+            var reference = BlackScholesMerton.calculateOptionPrice(VT, CALL, STRIKES[i], 100, 0.25, 0.5, 0.03, 0.01);
+            assertEquals(reference.price().getRealValue(), result.prices()[i], 0.01);
+            assertEquals(reference.sensitivity().delta().getRealValue(), result.deltas()[i], 0.001);
+            assertEquals(reference.sensitivity().gamma().getRealValue(), result.gammas()[i], 0.001);
+        }
+    }
+
+    @Test
+    void test_european_put_matches_black_scholes() {
+        var result = CrankNicolsonPriceModel.calculateOptionPrices(PUT, EUROPEAN, STRIKES, 100, 0.25, 0.5, 0.03, 0.01, FiniteDifferenceGrid.defaultGrid());
+        for (int i = 0; i < STRIKES.length; i++) {
+            var reference = BlackScholesMerton.calculateOptionPrice(VT, PUT, STRIKES[i], 100, 0.25, 0.5, 0.03, 0.01);
+            assertEquals(reference.price().getRealValue(), result.prices()[i], 0.01);
+        }
+    }
+
+    @Test
+    void test_american_put_has_early_exercise_premium() {
+        var european = CrankNicolsonPriceModel.calculateOptionPrices(PUT, EUROPEAN, new double[]{100}, 100, 0.2, 1, 0.06, 0, FiniteDifferenceGrid.defaultGrid());
+        var american = CrankNicolsonPriceModel.calculateOptionPrices(PUT, AMERICAN, new double[]{100}, 100, 0.2, 1, 0.06, 0, FiniteDifferenceGrid.defaultGrid());
+        assertEquals(5.80, american.prices()[0], 0.01);
+        assertTrue(american.prices()[0] > european.prices()[0]);
+    }
+
+    @Test
+    void test_american_call_without_dividends_equals_european() {
+        var european = CrankNicolsonPriceModel.calculateOptionPrices(CALL, EUROPEAN, STRIKES, 100, 0.3, 1, 0.05, 0, FiniteDifferenceGrid.defaultGrid());
+        var american = CrankNicolsonPriceModel.calculateOptionPrices(CALL, AMERICAN, STRIKES, 100, 0.3, 1, 0.05, 0, FiniteDifferenceGrid.defaultGrid());
+        for (int i = 0; i < STRIKES.length; i++) {
+            assertEquals(european.prices()[i], american.prices()[i], 0.001);
+        }
+    }
+
+    @Test
+    void test_flat_local_volatility_matches_constant_volatility() {
+        var constant = CrankNicolsonPriceModel.calculateOptionPrices(PUT, AMERICAN, STRIKES, 100, 0.25, 0.5, 0.03, 0.01, FiniteDifferenceGrid.defaultGrid());
+        var local = CrankNicolsonPriceModel.calculateOptionPrices(PUT, AMERICAN, STRIKES, 100, (time, spot) -> 0.25, 0.5, 0.03, 0.01, FiniteDifferenceGrid.defaultGrid());
+        for (int i = 0; i < STRIKES.length; i++) {
+            assertEquals(constant.prices()[i], local.prices()[i], 1e-12);
+        }
+    }
+
+    @Test
+    void test_tridiagonal_solver() {
+        double[] lower = new double[]{0, 1, 1};
+        double[] diagonal = new double[]{4, 4, 4};
+        double[] upper = new double[]{1, 1, 0};
+        double[] rhs = new double[]{5, 6, 5};
+        double[] solution = new double[3];
+        TridiagonalSolver.solve(lower, diagonal, upper, rhs, solution, 3, new double[3], new double[3]);
+        assertEquals(1, solution[0], 1e-12);
+        assertEquals(1, solution[1], 1e-12);
+        assertEquals(1, solution[2], 1e-12);
+    }
+}
@@ -0,0 +1,116 @@
+package com.herron.exchange.quantlib.pricemodels.fixedincome.bonds;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+import com.herron.exchange.common.api.common.enums.CompoundingMethodEnum;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import com.herron.exchange.common.api.common.messages.common.MonetaryAmount;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBondDiscountPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultBondInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.model.CouponPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.herron.exchange.common.api.common.enums.DayCountConventionEnum.ACT365;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CouponCalculationUtilsTest {
+
+    @Test
+    void test_coupon_dates_are_business_days() {
+        var calendar = BusinessCalendar.defaultWeekendCalendar();
+        var bond = buildInstrument("bond", LocalDate.of(2034, 6, 17), calendar);
+
+        var coupons = CouponCalculationUtils.generateCouponPeriods(bond);
+
+        assertEquals(20, coupons.size());
+        for (var coupon : coupons) {
+            var endDate = coupon.endDate().toLocalDate();
+            assertEquals(calendar.getFirstDateAfterHoliday(endDate), endDate);
+            assertEquals(0.02, coupon.couponRate(), 1e-15);
+        }
+    }
+
+    @Test
+    void test_bulk_schedules_match_single_schedules() {
+        var calendar = BusinessCalendar.defaultWeekendCalendar();
+        List<BondInstrument> bonds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            bonds.add(buildInstrument("bond" + i, LocalDate.of(2030, 1, 1).plusDays(17L * i), calendar));
+        }
+
+        var instrumentIdToCoupons = CouponCalculationUtils.generateCouponSchedules(bonds);
+
+        assertEquals(bonds.size(), instrumentIdToCoupons.size());
+        for (var bond : bonds) {
+            var coupons = instrumentIdToCoupons.get(bond.instrumentId());
+            assertTrue(!coupons.isEmpty());
+            assertEquals(generateCalendarWalkCouponPeriods(bond), coupons);
+            assertEquals(coupons, CouponCalculationUtils.generateCouponPeriods(bond));
+        }
+    }
+
+    @Test
+    void test_duplicate_instrument_id_throws() {
+        var calendar = BusinessCalendar.defaultWeekendCalendar();
+        var bonds = List.of(
+                buildInstrument("bond", LocalDate.of(2030, 1, 1), calendar),
+                buildInstrument("bond", LocalDate.of(2032, 1, 1), calendar)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> CouponCalculationUtils.generateCouponSchedules(bonds));
+    }
+
+    // The schedule as generated before business day indexing, walking the calendar for every adjustment
+    private static List<CouponPeriod> generateCalendarWalkCouponPeriods(BondInstrument instrument) {
+        var businessCalendar = instrument.product().businessCalendar();
+        var startDate = instrument.startDate().toLocalDate();
+        long nrOfMonthsPerPeriod = 12 / instrument.couponAnnualFrequency();
+
+        List<CouponPeriod> couponPeriods = new ArrayList<>();
+        var couponEndDate = businessCalendar.getFirstDateBeforeHoliday(instrument.maturityDate().toLocalDate());
+        var couponStartDate = businessCalendar.getFirstDateAfterHoliday(couponEndDate.minusMonths(nrOfMonthsPerPeriod));
+        while (!couponStartDate.isBefore(startDate)) {
+            couponPeriods.add(new CouponPeriod(Timestamp.from(couponStartDate), Timestamp.from(couponEndDate), instrument.couponRate().divide(instrument.couponAnnualFrequency()).getRealValue()));
+            couponEndDate = couponStartDate;
+            couponStartDate = businessCalendar.getFirstDateAfterHoliday(couponEndDate.minusMonths(nrOfMonthsPerPeriod));
+        }
+        couponPeriods.sort(Comparator.comparing(CouponPeriod::startDate));
+        return couponPeriods;
+    }
+
+    private static BondInstrument buildInstrument(String instrumentId, LocalDate maturityDate, BusinessCalendar businessCalendar) {
+        return ImmutableDefaultBondInstrument.builder()
+                .instrumentId(instrumentId)
+                .couponAnnualFrequency(2)
+                .maturityDate(Timestamp.from(maturityDate))
+                .startDate(Timestamp.from(maturityDate.minusYears(10)))
+                .nominalValue(MonetaryAmount.create(1000, "eur"))
+                .couponRate(PureNumber.create(0.04))
+                .priceModelParameters(ImmutableBondDiscountPriceModelParameters.builder().dayCountConvention(ACT365)
+                        .compoundingMethod(CompoundingMethodEnum.COMPOUNDING)
+                        .calculateWithCurve(false)
+                        .constantYield(0.03)
+                        .yieldCurveId("id")
+                        .build()
+                )
+                .product(ImmutableProduct.builder()
+                        .productId("product")
+                        .businessCalendar(businessCalendar)
+                        .market(ImmutableMarket.builder().marketId("market").businessCalendar(businessCalendar).build())
+                        .currency("eur")
+                        .build())
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .build();
+    }
+}
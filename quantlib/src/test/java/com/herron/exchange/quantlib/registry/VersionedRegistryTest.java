@@ -0,0 +1,133 @@
+package com.herron.exchange.quantlib.registry;
+
+import com.herron.exchange.quantlib.registry.model.VersionedSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionedRegistryTest {
+
+    @Test
+    void test_publish_increments_version_per_id() {
+        var registry = new VersionedRegistry<String>();
+
+        assertNull(registry.getSnapshot("A"));
+        assertEquals(0, registry.getVersion("A"));
+
+        registry.publish("A", "first");
+        var snapshot = registry.publish("A", "second");
+        registry.publish("B", "other");
+
+        assertEquals(2, snapshot.version());
+        assertEquals("second", registry.getLatest("A"));
+        assertEquals(1, registry.getVersion("B"));
+        assertTrue(snapshot.publishTimeMs() > 0);
+    }
+
+    @Test
+    void test_compare_and_publish_rejects_stale_version() {
+        var registry = new VersionedRegistry<String>();
+        registry.publish("A", "first");
+
+        assertFalse(registry.compareAndPublish("A", 0, "stale"));
+        assertTrue(registry.compareAndPublish("A", 1, "fresh"));
+
+        assertEquals("fresh", registry.getLatest("A"));
+        assertEquals(2, registry.getVersion("A"));
+    }
+
+    @Test
+    void test_subscribers_are_notified_until_unsubscribed() {
+        var registry = new VersionedRegistry<String>();
+        List<VersionedSnapshot<String>> idUpdates = new CopyOnWriteArrayList<>();
+        List<VersionedSnapshot<String>> allUpdates = new CopyOnWriteArrayList<>();
+        Consumer<VersionedSnapshot<String>> idListener = idUpdates::add;
+        Consumer<VersionedSnapshot<String>> allListener = allUpdates::add;
+        registry.subscribe("A", idListener);
+        registry.subscribe(allListener);
+
+        registry.publish("A", "first");
+        registry.publish("B", "other");
+
+        assertEquals(1, idUpdates.size());
+        assertEquals(2, allUpdates.size());
+
+        registry.unsubscribe("A", idListener);
+        registry.unsubscribe(allListener);
+        registry.publish("A", "second");
+
+        assertEquals(1, idUpdates.size());
+        assertEquals(2, allUpdates.size());
+        assertEquals(1, idUpdates.get(0).version());
+    }
+
+    @Test
+    void test_failing_listener_does_not_block_other_listeners() {
+        var registry = new VersionedRegistry<String>();
+        List<VersionedSnapshot<String>> updates = new CopyOnWriteArrayList<>();
+        registry.subscribe("A", snapshot -> {
+            throw new IllegalStateException("listener failure");
+        });
+        registry.subscribe("A", updates::add);
+        registry.subscribe(updates::add);
+
+        var snapshot = registry.publish("A", "first");
+
+        assertEquals(1, snapshot.version());
+        assertEquals(2, updates.size());
+        assertEquals("first", registry.getLatest("A"));
+    }
+
+    @Test
+    void test_readers_always_see_consistent_pairs() throws InterruptedException {
+        var registry = new VersionedRegistry<long[]>();
+        registry.publish("A", new long[]{0, 0});
+        var isRunning = new AtomicBoolean(true);
+        var nrOfInconsistentReads = new AtomicLong();
+        var nrOfVersionRegressions = new AtomicLong();
+
+        Runnable reader = () -> {
+            long lastVersion = 0;
+            while (isRunning.get()) {
+                var snapshot = registry.getSnapshot("A");
+                if (snapshot.value()[0] != snapshot.value()[1]) {
+                    nrOfInconsistentReads.incrementAndGet();
+                }
+                if (snapshot.version() < lastVersion) {
+                    nrOfVersionRegressions.incrementAndGet();
+                }
+                lastVersion = snapshot.version();
+            }
+        };
+        Runnable writer = () -> {
+            for (long i = 1; i <= 20_000; i++) {
+                registry.publish("A", new long[]{i, i});
+            }
+        };
+
+        var readers = List.of(new Thread(reader), new Thread(reader));
+        var writers = List.of(new Thread(writer), new Thread(writer));
+        readers.forEach(Thread::start);
+        writers.forEach(Thread::start);
+        for (var thread : writers) {
+            thread.join();
+        }
+        isRunning.set(false);
+        for (var thread : readers) {
+            thread.join();
+        }
+
+        assertEquals(0, nrOfInconsistentReads.get());
+        assertEquals(0, nrOfVersionRegressions.get());
+        assertEquals(40_001, registry.getVersion("A"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.herron.exchange.quantlib.risk.greeks;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.risk.greeks.model.NetGreeks;
+import com.herron.exchange.quantlib.risk.model.OptionPosition;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioGreeksAggregatorTest {
+    private static final Timestamp VT = Timestamp.from(LocalDate.of(2023, 10, 31));
+    private static final OptionPosition CALL_POSITION = new OptionPosition("call", "underlying", CALL, 105, 0.25, 0.5, 0.03, 0.01, 10);
+    private static final OptionPosition PUT_POSITION = new OptionPosition("put", "underlying", PUT, 95, 0.3, 0.25, 0.03, 0.01, -5);
+
+    @Test
+    void test_net_greeks_match_black_scholes_sum() {
+        var aggregator = PortfolioGreeksAggregator.withFullRevaluation();
+        aggregator.addPosition(CALL_POSITION, 100);
+        aggregator.addPosition(PUT_POSITION, 100);
+
+        var netGreeks = aggregator.onSpotPrice("underlying", 102);
+
+        assertEquals(sumDelta(List.of(CALL_POSITION, PUT_POSITION), 102), netGreeks.delta(), 0.0001);
+        assertEquals(2, netGreeks.nrOfPositions());
+        assertFalse(netGreeks.isApproximation());
+    }
+
+    @Test
+    void test_volatility_update_only_changes_affected_position() {
+        var aggregator = PortfolioGreeksAggregator.withFullRevaluation();
+        aggregator.addPosition(CALL_POSITION, 100);
+        aggregator.addPosition(PUT_POSITION, 100);
+
+        var netGreeks = aggregator.onVolatility("put", 0.35);
+        var updatedPut = new OptionPosition("put", "underlying", PUT, 95, 0.35, 0.25, 0.03, 0.01, -5);
+
+        assertEquals(sumDelta(List.of(CALL_POSITION, updatedPut), 100), netGreeks.delta(), 0.0001);
+    }
+
+    @Test
+    void test_taylor_approximation_within_threshold() {
+        var aggregator = PortfolioGreeksAggregator.withTaylorApproximation(0.01);
+        aggregator.addPosition(CALL_POSITION, 100);
+        aggregator.addPosition(PUT_POSITION, 100);
+
+        var approximated = aggregator.onSpotPrice("underlying", 100.5);
+        assertTrue(approximated.isApproximation());
+        assertEquals(sumDelta(List.of(CALL_POSITION, PUT_POSITION), 100.5), approximated.delta(), 0.01);
+
+        var revalued = aggregator.onSpotPrice("underlying", 103);
+        assertFalse(revalued.isApproximation());
+        assertEquals(sumDelta(List.of(CALL_POSITION, PUT_POSITION), 103), revalued.delta(), 0.0001);
+    }
+
+    @Test
+    void test_remove_position() {
+        var aggregator = PortfolioGreeksAggregator.withFullRevaluation();
+        aggregator.addPosition(CALL_POSITION, 100);
+        aggregator.addPosition(PUT_POSITION, 100);
+
+        var netGreeks = aggregator.removePosition("call");
+
+        assertEquals(1, netGreeks.nrOfPositions());
+        assertEquals(sumDelta(List.of(PUT_POSITION), 100), netGreeks.delta(), 0.0001);
+    }
+
+    @Test
+    void test_add_position_moves_existing_book_to_given_spot() {
+        var aggregator = PortfolioGreeksAggregator.withFullRevaluation();
+        aggregator.addPosition(CALL_POSITION, 100);
+
+        var netGreeks = aggregator.addPosition(PUT_POSITION, 102);
+
+        assertEquals(102, netGreeks.spotPrice());
+        assertEquals(sumDelta(List.of(CALL_POSITION, PUT_POSITION), 102), netGreeks.delta(), 0.0001);
+    }
+
+    @Test
+    void test_concurrent_books_stay_isolated() throws Exception {
+        int nrOfUnderlyings = 4;
+        int nrOfUpdates = 2_000;
+        var aggregator = PortfolioGreeksAggregator.withTaylorApproximation(0.01);
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(nrOfUnderlyings)) {
+            var futures = new ArrayList<Future<?>>();
+            for (int u = 0; u < nrOfUnderlyings; u++) {
+                String underlying = "underlying" + u;
+                double strikePrice = 90 + 5 * u;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < nrOfUpdates; i++) {
+                        aggregator.addPosition(new OptionPosition(underlying + "-" + (i % 10), underlying, i % 2 == 0 ? CALL : PUT, strikePrice, 0.25, 0.5, 0.03, 0.01, 1), 100 + (i % 7) * 0.1);
+                        aggregator.onSpotPrice(underlying, 100 + (i % 5) * 0.5);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        for (int u = 0; u < nrOfUnderlyings; u++) {
+            String underlying = "underlying" + u;
+            double strikePrice = 90 + 5 * u;
+            var positions = new ArrayList<OptionPosition>();
+            for (int i = nrOfUpdates - 10; i < nrOfUpdates; i++) {
+                positions.add(new OptionPosition(underlying + "-" + (i % 10), underlying, i % 2 == 0 ? CALL : PUT, strikePrice, 0.25, 0.5, 0.03, 0.01, 1));
+            }
+            var netGreeks = aggregator.revalue(underlying, 101);
+            assertEquals(underlying, netGreeks.underlyingInstrumentId());
+            assertEquals(10, netGreeks.nrOfPositions());
+            assertEquals(sumDelta(positions, 101), netGreeks.delta(), 0.0001);
+        }
+    }
+
+    @Test
+    void test_listeners_are_notified_outside_the_book_lock() throws Exception {
+        var aggregator = PortfolioGreeksAggregator.withFullRevaluation();
+        aggregator.addPosition(CALL_POSITION, 100);
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var readsFromListener = new ArrayList<NetGreeks>();
+            aggregator.addListener(netGreeks -> {
+                // Reading the same book from another thread would wait forever if the lock was still held
+                try {
+                    readsFromListener.add(executor.submit(() -> aggregator.getNetGreeks("underlying")).get(5, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            aggregator.onSpotPrice("underlying", 101);
+
+            assertEquals(1, readsFromListener.size());
+            assertEquals(101, readsFromListener.get(0).spotPrice());
+        }
+    }
+
+    @Test
+    void test_latest_version_delivered_matches_book_under_concurrent_updates() throws Exception {
+        var aggregator = PortfolioGreeksAggregator.withTaylorApproximation(0.01);
+        aggregator.addPosition(CALL_POSITION, 100);
+        aggregator.addPosition(PUT_POSITION, 100);
+        var latestDelivered = new AtomicReference<NetGreeks>();
+        aggregator.addListener(netGreeks -> latestDelivered.accumulateAndGet(netGreeks, (current, next) -> current == null || next.version() > current.version() ? next : current));
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            var futures = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        aggregator.onSpotPrice("underlying", 100 + ((i + offset) % 9) * 0.3);
+                        aggregator.onVolatility(offset % 2 == 0 ? "call" : "put", 0.2 + ((i + offset) % 5) * 0.01);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(aggregator.getNetGreeks("underlying"), latestDelivered.get());
+    }
+
+    private double sumDelta(List<OptionPosition> positions, double spotPrice) {
+        return positions.stream()
+                .mapToDouble(p -> p.quantity() * BlackScholesMerton.calculateOptionPrice(VT, p.optionType(), p.strikePrice(), spotPrice, p.volatility(), p.timeToMaturity(), p.riskFreeRate(), p.dividendYield())
+                        .sensitivity().delta().getRealValue())
+                .sum();
+    }
+}
@@ -0,0 +1,69 @@
+package com.herron.exchange.quantlib.risk.scenario;
+
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.risk.model.OptionPosition;
+import com.herron.exchange.quantlib.risk.scenario.model.ScenarioLadder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScenarioLadderEngineTest {
+    private static final Timestamp VT = Timestamp.from(LocalDate.of(2023, 10, 31));
+
+    @Test
+    void test_ladder_matches_black_scholes_revaluation() {
+        var call = new OptionPosition("call", "underlying", CALL, 105, 0.25, 0.5, 0.03, 0.01, 10);
+        var put = new OptionPosition("put", "underlying", PUT, 95, 0.3, 0.25, 0.03, 0.01, -5);
+        var ladder = ScenarioLadder.create(21, 0.2, 11, 0.1);
+
+        var results = ScenarioLadderEngine.calculate(List.of(call, put), Map.of("underlying", 100.0), ladder);
+        var result = results.get("underlying");
+
+        for (int s = 0; s < ladder.nrOfSpotShocks(); s++) {
+            for (int v = 0; v < ladder.nrOfVolatilityShocks(); v++) {
+                double spotPrice = 100 * (1 + ladder.relativeSpotShocks()[s]);
+                double volatilityShock = ladder.absoluteVolatilityShocks()[v];
+                double expected = revalue(call, spotPrice, volatilityShock) + revalue(put, spotPrice, volatilityShock);
+                assertEquals(expected, result.getProfitAndLoss(s, v), 0.001);
+            }
+        }
+    }
+
+    @Test
+    void test_unshocked_scenario_has_zero_profit_and_loss() {
+        var call = new OptionPosition("call", "underlying", CALL, 100, 0.2, 1, 0.02, 0, 1);
+        var result = ScenarioLadderEngine.calculate("underlying", 100, List.of(call), ScenarioLadder.create(3, 0.1, 3, 0.05));
+        assertEquals(0, result.getProfitAndLoss(1, 1), 1e-12);
+    }
+
+    @Test
+    void test_spot_shocks_of_minus_hundred_percent_or_below_are_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> ScenarioLadder.create(3, 1.0, 3, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> ScenarioLadder.create(5, 1.5, 3, 0.05));
+        assertEquals(-0.99, ScenarioLadder.create(3, 0.99, 1, 0.05).relativeSpotShocks()[0], 1e-12);
+    }
+
+    @Test
+    void test_missing_spot_price_throws() {
+        var call = new OptionPosition("call", "underlying", CALL, 100, 0.2, 1, 0.02, 0, 1);
+        var otherCall = new OptionPosition("other-call", "other", CALL, 50, 0.2, 1, 0.02, 0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> ScenarioLadderEngine.calculate(List.of(call, otherCall), Map.of("underlying", 100.0), ScenarioLadder.create(3, 0.1, 3, 0.05)));
+    }
+
+    private double revalue(OptionPosition position, double spotPrice, double volatilityShock) {
+        double base = BlackScholesMerton.calculateOptionPrice(VT, position.optionType(), position.strikePrice(), 100, position.volatility(), position.timeToMaturity(), position.riskFreeRate(), position.dividendYield())
+                .price().getRealValue();
+        double shocked = BlackScholesMerton.calculateOptionPrice(VT, position.optionType(), position.strikePrice(), spotPrice, position.volatility() + volatilityShock, position.timeToMaturity(), position.riskFreeRate(), position.dividendYield())
+                .price().getRealValue();
+        return position.quantity() * (shocked - base);
+    }
+}
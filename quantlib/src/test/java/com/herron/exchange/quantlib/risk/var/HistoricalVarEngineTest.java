@@ -0,0 +1,172 @@
+package com.herron.exchange.quantlib.risk.var;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+import com.herron.exchange.common.api.common.enums.CompoundingMethodEnum;
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.messages.common.BusinessCalendar;
+import com.herron.exchange.common.api.common.messages.common.MonetaryAmount;
+import com.herron.exchange.common.api.common.messages.common.PureNumber;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.ImmutableBondDiscountPriceModelParameters;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableDefaultBondInstrument;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableMarket;
+import com.herron.exchange.common.api.common.messages.refdata.ImmutableProduct;
+import com.herron.exchange.quantlib.calendar.YearFractionCache;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.risk.model.OptionPosition;
+import com.herron.exchange.quantlib.risk.var.model.BondPosition;
+import com.herron.exchange.quantlib.risk.var.model.HistoricalScenarioSet;
+import com.herron.exchange.quantlib.risk.var.model.OptionExposure;
+import com.herron.exchange.quantlib.risk.var.model.PortfolioNode;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.CALL;
+import static com.herron.exchange.common.api.common.enums.OptionTypeEnum.PUT;
+import static com.herron.exchange.common.api.common.enums.PriceModel.BLACK_76;
+import static com.herron.exchange.common.api.common.enums.PriceModel.BLACK_SCHOLES;
+import static com.herron.exchange.common.api.common.enums.PriceModel.BOND_DISCOUNT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistoricalVarEngineTest {
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2024, 1, 1);
+    private static final Timestamp VT = Timestamp.from(VALUATION_DATE);
+    private static final double[] TENORS = {0.5, 1, 2, 5};
+
+    @Test
+    void test_options_match_full_model_revaluation() {
+        var call = new OptionPosition("call", "equity", CALL, 105, 0.25, 0.5, 0.03, 0.01, 10);
+        var put = new OptionPosition("put", "future", PUT, 95, 0.3, 0.75, 0.03, 0.0, -5);
+        double[][] spotShocks = {{0.0, 0.0}, {-0.1, 0.05}, {0.08, -0.12}};
+        double[][] volatilityShocks = {{0.0, 0.0}, {0.05, -0.02}, {-0.03, 0.04}};
+        double[][] yieldShifts = {{0, 0, 0, 0}, {0.01, 0.01, 0.02, 0.02}, {-0.005, -0.01, 0, 0}};
+        var scenarioSet = HistoricalScenarioSet.create(List.of("equity", "future"), TENORS, spotShocks, volatilityShocks, yieldShifts);
+        var root = PortfolioNode.leaf("book", List.of(new OptionExposure(call, BLACK_SCHOLES), new OptionExposure(put, BLACK_76)), List.of());
+
+        var result = HistoricalVarEngine.create(scenarioSet).calculate(root, Map.of("equity", 100.0, "future", 98.0), null, VT, 0.9).get("book");
+
+        double[] callRateShifts = {0, 0.01, -0.005};
+        double[] putRateShifts = {0, 0.01, -0.0075};
+        double callBase = BlackScholesMerton.calculateOptionPrice(VT, CALL, 105, 100, 0.25, 0.5, 0.03, 0.01).price().getRealValue();
+        double putBase = Black76.calculateOptionPrice(VT, PUT, 95, 98, 0.3, 0.75, 0.03).price().getRealValue();
+        for (int s = 0; s < spotShocks.length; s++) {
+            double callPrice = BlackScholesMerton.calculateOptionPrice(VT, CALL, 105, 100 * (1 + spotShocks[s][0]), 0.25 + volatilityShocks[s][0], 0.5, 0.03 + callRateShifts[s], 0.01).price().getRealValue();
+            double putPrice = Black76.calculateOptionPrice(VT, PUT, 95, 98 * (1 + spotShocks[s][1]), 0.3 + volatilityShocks[s][1], 0.75, 0.03 + putRateShifts[s]).price().getRealValue();
+            assertEquals(10 * (callPrice - callBase) - 5 * (putPrice - putBase), result.profitAndLoss()[s], 2e-3);
+        }
+    }
+
+    @Test
+    void test_var_and_expected_shortfall_from_linear_book() {
+        // An expired deep in the money call is linear in the spot, scenario s moves the book by s - 50
+        int nrOfScenarios = 100;
+        double[][] spotShocks = new double[nrOfScenarios][1];
+        for (int s = 0; s < nrOfScenarios; s++) {
+            spotShocks[s][0] = (s - 50) / 100.0;
+        }
+        var scenarioSet = HistoricalScenarioSet.create(List.of("equity"), TENORS, spotShocks, new double[nrOfScenarios][1], new double[nrOfScenarios][TENORS.length]);
+        var position = new OptionPosition("call", "equity", CALL, 1, 0.2, 0, 0.03, 0, 1);
+        var root = PortfolioNode.leaf("book", List.of(new OptionExposure(position, BLACK_SCHOLES)), List.of());
+
+        var result = HistoricalVarEngine.create(scenarioSet).calculate(root, Map.of("equity", 100.0), null, VT, 0.95).get("book");
+
+        assertEquals(46, result.valueAtRisk(), 1e-9);
+        assertEquals(48, result.expectedShortfall(), 1e-9);
+        assertEquals(nrOfScenarios, result.nrOfScenarios());
+    }
+
+    @Test
+    void test_parent_node_aggregates_children() {
+        var first = new OptionPosition("first", "equity", CALL, 100, 0.2, 1.0, 0.03, 0.0, 3);
+        var second = new OptionPosition("second", "equity", PUT, 100, 0.2, 1.0, 0.03, 0.0, 2);
+        double[][] spotShocks = {{-0.2}, {-0.1}, {0.0}, {0.1}, {0.2}};
+        var scenarioSet = HistoricalScenarioSet.create(List.of("equity"), TENORS, spotShocks, new double[5][1], new double[5][TENORS.length]);
+        var root = PortfolioNode.parent("desk", List.of(
+                PortfolioNode.leaf("calls", List.of(new OptionExposure(first, BLACK_SCHOLES)), List.of()),
+                PortfolioNode.leaf("puts", List.of(new OptionExposure(second, BLACK_SCHOLES)), List.of())
+        ));
+
+        var results = HistoricalVarEngine.create(scenarioSet).calculate(root, Map.of("equity", 100.0), null, VT, 0.8);
+
+        assertEquals(3, results.size());
+        for (int s = 0; s < spotShocks.length; s++) {
+            assertEquals(results.get("calls").profitAndLoss()[s] + results.get("puts").profitAndLoss()[s], results.get("desk").profitAndLoss()[s], 1e-12);
+        }
+        for (var result : results.values()) {
+            assertTrue(result.expectedShortfall() >= result.valueAtRisk());
+        }
+    }
+
+    @Test
+    void test_zero_coupon_bond_revalues_with_interpolated_yield_shift() {
+        LocalDate maturityDate = VALUATION_DATE.plusYears(3);
+        var bond = createZeroCouponBond(maturityDate);
+        double[][] yieldShifts = {{0, 0, 0, 0}, {0.01, 0.01, 0.01, 0.01}, {0, 0, 0.01, 0.03}};
+        var scenarioSet = HistoricalScenarioSet.create(List.of(), TENORS, new double[3][0], new double[3][0], yieldShifts);
+        var root = PortfolioNode.leaf("rates", List.of(), List.of(new BondPosition(bond, 10)));
+
+        var result = HistoricalVarEngine.create(scenarioSet).calculate(root, Map.of(), null, VT, 0.5).get("rates");
+
+        double timeToMaturity = YearFractionCache.create(VT).getYearFraction(VT, Timestamp.from(maturityDate), DayCountConventionEnum.ACT365);
+        double baseValue = 10_000 / CompoundingMethodEnum.COMPOUNDING.calculateValue(0.03, timeToMaturity, 1);
+        double interpolatedShift = 0.01 + (timeToMaturity - 2) / 3 * 0.02;
+        assertEquals(0, result.profitAndLoss()[0], 1e-9);
+        assertEquals(10_000 / CompoundingMethodEnum.COMPOUNDING.calculateValue(0.04, timeToMaturity, 1) - baseValue, result.profitAndLoss()[1], 1e-6);
+        assertEquals(10_000 / CompoundingMethodEnum.COMPOUNDING.calculateValue(0.03 + interpolatedShift, timeToMaturity, 1) - baseValue, result.profitAndLoss()[2], 1e-6);
+        assertTrue(result.valueAtRisk() > 0);
+    }
+
+    @Test
+    void test_invalid_input_throws() {
+        var scenarioSet = HistoricalScenarioSet.create(List.of("equity"), TENORS, new double[][]{{0.1}}, new double[][]{{0.0}}, new double[][]{{0, 0, 0, 0}});
+        var position = new OptionPosition("call", "equity", CALL, 100, 0.2, 1.0, 0.03, 0.0, 1);
+        var root = PortfolioNode.leaf("book", List.of(new OptionExposure(position, BLACK_SCHOLES)), List.of());
+        var unknownUnderlying = new OptionPosition("other-call", "other", CALL, 50, 0.2, 1.0, 0.03, 0.0, 1);
+        var unknownRoot = PortfolioNode.leaf("book", List.of(new OptionExposure(unknownUnderlying, BLACK_SCHOLES)), List.of());
+        var engine = HistoricalVarEngine.create(scenarioSet);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.calculate(root, Map.of(), null, VT, 0.99));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculate(unknownRoot, Map.of("equity", 100.0, "other", 50.0), null, VT, 0.99));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculate(root, Map.of("equity", 100.0), null, VT, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculate(PortfolioNode.parent("book", List.of(root)), Map.of("equity", 100.0), null, VT, 0.99));
+        assertThrows(IllegalArgumentException.class, () -> new OptionExposure(position, BOND_DISCOUNT));
+        assertThrows(IllegalArgumentException.class, () -> HistoricalScenarioSet.create(List.of("equity"), new double[]{2, 1}, new double[][]{{0.1}}, new double[][]{{0.0}}, new double[][]{{0, 0}}));
+    }
+
+    @Test
+    void test_spot_shocks_of_minus_hundred_percent_or_below_are_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> HistoricalScenarioSet.create(List.of("equity"), TENORS, new double[][]{{0.1}, {-1.0}}, new double[2][1], new double[2][TENORS.length]));
+        assertThrows(IllegalArgumentException.class, () -> HistoricalScenarioSet.create(List.of("equity"), TENORS, new double[][]{{-1.5}}, new double[1][1], new double[1][TENORS.length]));
+        assertThrows(IllegalArgumentException.class, () -> HistoricalScenarioSet.create(List.of("equity"), TENORS, new double[][]{{Double.NaN}}, new double[1][1], new double[1][TENORS.length]));
+        assertEquals(-0.99, HistoricalScenarioSet.create(List.of("equity"), TENORS, new double[][]{{-0.99}}, new double[1][1], new double[1][TENORS.length]).relativeSpotShocks()[0]);
+    }
+
+    private static BondInstrument createZeroCouponBond(LocalDate maturityDate) {
+        var businessCalendar = BusinessCalendar.noHolidayCalendar();
+        return ImmutableDefaultBondInstrument.builder()
+                .instrumentId("bond")
+                .couponAnnualFrequency(1)
+                .startDate(Timestamp.from(VALUATION_DATE))
+                .maturityDate(Timestamp.from(maturityDate))
+                .nominalValue(MonetaryAmount.create(1000, "eur"))
+                .couponRate(PureNumber.create(0))
+                .priceModelParameters(ImmutableBondDiscountPriceModelParameters.builder()
+                        .dayCountConvention(DayCountConventionEnum.ACT365)
+                        .compoundingMethod(CompoundingMethodEnum.COMPOUNDING)
+                        .calculateWithCurve(false)
+                        .constantYield(0.03)
+                        .yieldCurveId("curve")
+                        .build())
+                .product(ImmutableProduct.builder().productId("bonds").businessCalendar(businessCalendar)
+                        .market(ImmutableMarket.builder().marketId("market").businessCalendar(businessCalendar).build()).currency("eur").build())
+                .firstTradingDate(Timestamp.from(LocalDate.MIN))
+                .lastTradingDate(Timestamp.from(LocalDate.MAX))
+                .build();
+    }
+}
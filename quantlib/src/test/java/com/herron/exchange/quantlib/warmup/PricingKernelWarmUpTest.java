@@ -0,0 +1,90 @@
+package com.herron.exchange.quantlib.warmup;
+
+import com.herron.exchange.quantlib.metrics.QuantLibMetrics;
+import com.herron.exchange.quantlib.warmup.model.WarmUpConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PricingKernelWarmUpTest {
+
+    @AfterEach
+    void tearDown() {
+        QuantLibMetrics.disable();
+    }
+
+    @Test
+    void test_warm_up_runs_every_path_and_reports_completion() throws Exception {
+        var config = new WarmUpConfig(Duration.ofSeconds(30).toNanos(), 2, 5, 0, 20, 2);
+        var warmUp = PricingKernelWarmUp.create(config);
+
+        assertFalse(warmUp.isWarmedUp());
+        var report = warmUp.start().get(60, TimeUnit.SECONDS);
+
+        assertTrue(warmUp.isWarmedUp());
+        assertTrue(report.nrOfRounds() >= config.minNrOfRounds());
+        assertEquals(report.nrOfRounds() * 4 * 10, report.nrOfOptionPricings());
+        assertEquals(report.nrOfRounds() * 2 * 10, report.nrOfImpliedVolatilities());
+        assertEquals(report.nrOfRounds() * 2, report.nrOfSurfaces());
+        assertEquals(report.nrOfRounds(), report.nrOfForwardCurves());
+        assertEquals(0, report.nrOfBondPricings());
+        assertTrue(report.isCompilationSettled());
+    }
+
+    @Test
+    void test_warm_up_stops_at_time_budget() {
+        var config = new WarmUpConfig(Duration.ofMillis(50).toNanos(), 2, 5, 0, Integer.MAX_VALUE, 1);
+
+        var report = PricingKernelWarmUp.create(config).run();
+
+        assertTrue(report.isTimeBudgetExceeded());
+        assertTrue(report.elapsedNanos() >= config.timeBudgetNanos());
+    }
+
+    @Test
+    void test_warm_up_runs_once_when_started_and_run_concurrently() throws Exception {
+        var config = new WarmUpConfig(Duration.ofMillis(200).toNanos(), 2, 5, 4, Integer.MAX_VALUE, 1);
+        var warmUp = PricingKernelWarmUp.create(config);
+
+        var started = warmUp.start();
+        var report = warmUp.run();
+
+        assertSame(report, started.get(60, TimeUnit.SECONDS));
+        assertSame(report, warmUp.run());
+    }
+
+    @Test
+    void test_warm_up_does_not_record_into_production_meters() {
+        var registry = new SimpleMeterRegistry();
+        QuantLibMetrics.enable(registry);
+        var config = new WarmUpConfig(Duration.ofMillis(200).toNanos(), 2, 5, 4, 1, 1);
+
+        PricingKernelWarmUp.create(config).run();
+
+        assertEquals(1, registry.get("quantlib.warmup").timer().count());
+        for (var timer : registry.find("quantlib.option.price").timers()) {
+            assertEquals(0, timer.count());
+        }
+        for (var timer : registry.find("quantlib.option.implied.volatility").timers()) {
+            assertEquals(0, timer.count());
+        }
+        assertEquals(0, registry.get("quantlib.ivsurface.construct").timer().count());
+        assertEquals(0, registry.get("quantlib.bond.price").timer().count());
+        assertTrue(QuantLibMetrics.startTimer() != 0);
+    }
+
+    @Test
+    void test_invalid_config_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new WarmUpConfig(0, 8, 21, 64, 200, 20));
+        assertThrows(IllegalArgumentException.class, () -> new WarmUpConfig(1, 8, 2, 64, 200, 20));
+    }
+}
@@ -7,6 +7,7 @@ dependencyResolutionManagement {
             library("spring.boot.starter.web", "org.springframework.boot:spring-boot-starter-web:3.2.0")
             library("spring.boot.starter.parent", "org.springframework.boot:spring-boot-starter-parent:3.2.0")
             library("commons.math", "org.apache.commons:commons-math3:3.2")
+            library("micrometer.core", "io.micrometer:micrometer-core:1.12.0")
             library("common.api", "com.herron.exchange:common-api:1.0.0-SNAPSHOT")
             library("common", "com.herron.exchange:common:1.0.0-SNAPSHOT")
         }
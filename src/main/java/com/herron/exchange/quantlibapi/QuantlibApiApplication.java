@@ -0,0 +1,12 @@
+package com.herron.exchange.quantlibapi;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class QuantlibApiApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(QuantlibApiApplication.class, args);
+    }
+}
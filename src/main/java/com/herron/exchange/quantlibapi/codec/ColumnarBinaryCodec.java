@@ -0,0 +1,153 @@
+package com.herron.exchange.quantlibapi.codec;
+
+import com.herron.exchange.common.api.common.enums.PriceModel;
+import com.herron.exchange.quantlibapi.model.ImpliedVolatilityBatchRequest;
+import com.herron.exchange.quantlibapi.model.ImpliedVolatilityBatchResponse;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchRequest;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchResponse;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/*
+ * Little endian columnar layout used by the binary endpoints:
+ * request:  [price model ordinal: int32][n: int32][is call: n bytes][6 columns of n float64]
+ * response: [n: int32][columns of n values]
+ * The third request column holds volatilities for pricing and market prices for implied volatility.
+ */
+public class ColumnarBinaryCodec {
+    private static final int NR_OF_REQUEST_COLUMNS = 6;
+    private static final int NR_OF_PRICE_RESPONSE_COLUMNS = 6;
+
+    public static OptionPriceBatchRequest decodeOptionPriceRequest(byte[] payload) {
+        var buffer = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+        var priceModel = readPriceModel(buffer);
+        int size = readSize(buffer);
+        boolean[] isCall = readBooleans(buffer, size);
+        double[][] columns = readColumns(buffer, size);
+        return new OptionPriceBatchRequest(priceModel, isCall, columns[0], columns[1], columns[2], columns[3], columns[4], columns[5]);
+    }
+
+    public static ImpliedVolatilityBatchRequest decodeImpliedVolatilityRequest(byte[] payload) {
+        var buffer = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+        var priceModel = readPriceModel(buffer);
+        int size = readSize(buffer);
+        boolean[] isCall = readBooleans(buffer, size);
+        double[][] columns = readColumns(buffer, size);
+        return new ImpliedVolatilityBatchRequest(priceModel, isCall, columns[0], columns[1], columns[2], columns[3], columns[4], columns[5]);
+    }
+
+    public static byte[] encodeOptionPriceRequest(OptionPriceBatchRequest request) {
+        return encodeRequest(request.priceModel(), request.isCall(), request.strikePrices(), request.underlyingPrices(), request.volatilities(), request.timeToMaturities(), request.riskFreeRates(), request.dividendYields());
+    }
+
+    public static byte[] encodeImpliedVolatilityRequest(ImpliedVolatilityBatchRequest request) {
+        return encodeRequest(request.priceModel(), request.isCall(), request.strikePrices(), request.underlyingPrices(), request.marketPrices(), request.timeToMaturities(), request.riskFreeRates(), request.dividendYields());
+    }
+
+    public static byte[] encodeOptionPriceResponse(OptionPriceBatchResponse response) {
+        int size = response.prices().length;
+        var buffer = ByteBuffer.allocate(Integer.BYTES + NR_OF_PRICE_RESPONSE_COLUMNS * size * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(size);
+        writeColumn(buffer, response.prices());
+        writeColumn(buffer, response.deltas());
+        writeColumn(buffer, response.gammas());
+        writeColumn(buffer, response.vegas());
+        writeColumn(buffer, response.thetas());
+        writeColumn(buffer, response.rhos());
+        return buffer.array();
+    }
+
+    public static OptionPriceBatchResponse decodeOptionPriceResponse(byte[] payload) {
+        var buffer = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+        int size = readSize(buffer);
+        requireRemaining(buffer, NR_OF_PRICE_RESPONSE_COLUMNS * (long) size * Double.BYTES, size);
+        var response = OptionPriceBatchResponse.create(size);
+        readColumn(buffer, response.prices());
+        readColumn(buffer, response.deltas());
+        readColumn(buffer, response.gammas());
+        readColumn(buffer, response.vegas());
+        readColumn(buffer, response.thetas());
+        readColumn(buffer, response.rhos());
+        return response;
+    }
+
+    public static byte[] encodeImpliedVolatilityResponse(ImpliedVolatilityBatchResponse response) {
+        int size = response.impliedVolatilities().length;
+        var buffer = ByteBuffer.allocate(Integer.BYTES + size * (Double.BYTES + Integer.BYTES + Byte.BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(size);
+        writeColumn(buffer, response.impliedVolatilities());
+        for (int iterations : response.iterations()) {
+            buffer.putInt(iterations);
+        }
+        for (var status : response.statuses()) {
+            buffer.put((byte) status.ordinal());
+        }
+        return buffer.array();
+    }
+
+    private static byte[] encodeRequest(PriceModel priceModel, boolean[] isCall, double[]... columns) {
+        int size = isCall.length;
+        var buffer = ByteBuffer.allocate(2 * Integer.BYTES + size + NR_OF_REQUEST_COLUMNS * size * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(priceModel.ordinal());
+        buffer.putInt(size);
+        for (boolean call : isCall) {
+            buffer.put((byte) (call ? 1 : 0));
+        }
+        for (double[] column : columns) {
+            writeColumn(buffer, column);
+        }
+        return buffer.array();
+    }
+
+    private static PriceModel readPriceModel(ByteBuffer buffer) {
+        int ordinal = buffer.getInt();
+        var priceModels = PriceModel.values();
+        if (ordinal < 0 || ordinal >= priceModels.length) {
+            throw new IllegalArgumentException(String.format("Unknown price model ordinal %s", ordinal));
+        }
+        return priceModels[ordinal];
+    }
+
+    private static int readSize(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0) {
+            throw new IllegalArgumentException(String.format("Invalid batch size %s", size));
+        }
+        return size;
+    }
+
+    private static boolean[] readBooleans(ByteBuffer buffer, int size) {
+        requireRemaining(buffer, size + NR_OF_REQUEST_COLUMNS * (long) size * Double.BYTES, size);
+        boolean[] values = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = buffer.get() != 0;
+        }
+        return values;
+    }
+
+    // Checked before allocating, so a forged size cannot allocate columns the payload does not hold
+    private static void requireRemaining(ByteBuffer buffer, long nrOfBytes, int size) {
+        if (buffer.remaining() < nrOfBytes) {
+            throw new IllegalArgumentException(String.format("Payload too short for batch size %s", size));
+        }
+    }
+
+    private static double[][] readColumns(ByteBuffer buffer, int size) {
+        double[][] columns = new double[NR_OF_REQUEST_COLUMNS][size];
+        for (double[] column : columns) {
+            readColumn(buffer, column);
+        }
+        return columns;
+    }
+
+    private static void readColumn(ByteBuffer buffer, double[] column) {
+        buffer.asDoubleBuffer().get(column);
+        buffer.position(buffer.position() + column.length * Double.BYTES);
+    }
+
+    private static void writeColumn(ByteBuffer buffer, double[] column) {
+        buffer.asDoubleBuffer().put(column);
+        buffer.position(buffer.position() + column.length * Double.BYTES);
+    }
+}
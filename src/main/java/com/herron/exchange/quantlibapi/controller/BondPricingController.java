@@ -0,0 +1,26 @@
+package com.herron.exchange.quantlibapi.controller;
+
+import com.herron.exchange.quantlibapi.model.BondPriceBatchRequest;
+import com.herron.exchange.quantlibapi.model.BondPriceResponse;
+import com.herron.exchange.quantlibapi.service.BondPricingService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/bonds")
+public class BondPricingController {
+    private final BondPricingService bondPricingService;
+
+    public BondPricingController(BondPricingService bondPricingService) {
+        this.bondPricingService = bondPricingService;
+    }
+
+    @PostMapping("/prices")
+    public List<BondPriceResponse> price(@RequestBody BondPriceBatchRequest request) {
+        return bondPricingService.price(request);
+    }
+}
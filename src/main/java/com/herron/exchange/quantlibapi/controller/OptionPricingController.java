@@ -0,0 +1,47 @@
+package com.herron.exchange.quantlibapi.controller;
+
+import com.herron.exchange.quantlibapi.codec.ColumnarBinaryCodec;
+import com.herron.exchange.quantlibapi.model.ImpliedVolatilityBatchRequest;
+import com.herron.exchange.quantlibapi.model.ImpliedVolatilityBatchResponse;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchRequest;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchResponse;
+import com.herron.exchange.quantlibapi.service.OptionPricingService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+@RestController
+@RequestMapping("/api/v1/options")
+public class OptionPricingController {
+    private final OptionPricingService optionPricingService;
+
+    public OptionPricingController(OptionPricingService optionPricingService) {
+        this.optionPricingService = optionPricingService;
+    }
+
+    @PostMapping(value = "/prices", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public OptionPriceBatchResponse price(@RequestBody OptionPriceBatchRequest request) {
+        return optionPricingService.price(request);
+    }
+
+    @PostMapping(value = "/prices", consumes = APPLICATION_OCTET_STREAM_VALUE, produces = APPLICATION_OCTET_STREAM_VALUE)
+    public byte[] price(@RequestBody byte[] payload) {
+        var response = optionPricingService.price(ColumnarBinaryCodec.decodeOptionPriceRequest(payload));
+        return ColumnarBinaryCodec.encodeOptionPriceResponse(response);
+    }
+
+    @PostMapping(value = "/implied-volatilities", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ImpliedVolatilityBatchResponse solveImpliedVolatilities(@RequestBody ImpliedVolatilityBatchRequest request) {
+        return optionPricingService.solveImpliedVolatilities(request);
+    }
+
+    @PostMapping(value = "/implied-volatilities", consumes = APPLICATION_OCTET_STREAM_VALUE, produces = APPLICATION_OCTET_STREAM_VALUE)
+    public byte[] solveImpliedVolatilities(@RequestBody byte[] payload) {
+        var response = optionPricingService.solveImpliedVolatilities(ColumnarBinaryCodec.decodeImpliedVolatilityRequest(payload));
+        return ColumnarBinaryCodec.encodeImpliedVolatilityResponse(response);
+    }
+}
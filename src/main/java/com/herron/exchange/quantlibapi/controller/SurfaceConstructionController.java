@@ -0,0 +1,24 @@
+package com.herron.exchange.quantlibapi.controller;
+
+import com.herron.exchange.quantlibapi.model.SurfaceConstructionRequest;
+import com.herron.exchange.quantlibapi.model.SurfaceConstructionResponse;
+import com.herron.exchange.quantlibapi.service.SurfaceConstructionService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/surfaces")
+public class SurfaceConstructionController {
+    private final SurfaceConstructionService surfaceConstructionService;
+
+    public SurfaceConstructionController(SurfaceConstructionService surfaceConstructionService) {
+        this.surfaceConstructionService = surfaceConstructionService;
+    }
+
+    @PostMapping("/svi")
+    public SurfaceConstructionResponse constructSviSurface(@RequestBody SurfaceConstructionRequest request) {
+        return surfaceConstructionService.constructSviSurface(request);
+    }
+}
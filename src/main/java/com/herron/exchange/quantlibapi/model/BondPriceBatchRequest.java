@@ -0,0 +1,9 @@
+package com.herron.exchange.quantlibapi.model;
+
+import com.herron.exchange.common.api.common.api.referencedata.instruments.BondInstrument;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BondPriceBatchRequest(LocalDate valuationDate, List<BondInstrument> bonds, YieldCurveRequest yieldCurve) {
+}
@@ -0,0 +1,4 @@
+package com.herron.exchange.quantlibapi.model;
+
+public record BondPriceResponse(String instrumentId, double cleanPrice, double dirtyPrice, double accruedInterest) {
+}
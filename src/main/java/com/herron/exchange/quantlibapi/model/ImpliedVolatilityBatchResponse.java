@@ -0,0 +1,12 @@
+package com.herron.exchange.quantlibapi.model;
+
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityStatus;
+
+public record ImpliedVolatilityBatchResponse(double[] impliedVolatilities,
+                                             int[] iterations,
+                                             ImpliedVolatilityStatus[] statuses) {
+
+    public static ImpliedVolatilityBatchResponse create(int size) {
+        return new ImpliedVolatilityBatchResponse(new double[size], new int[size], new ImpliedVolatilityStatus[size]);
+    }
+}
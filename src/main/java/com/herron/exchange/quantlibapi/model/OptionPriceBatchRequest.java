@@ -0,0 +1,17 @@
+package com.herron.exchange.quantlibapi.model;
+
+import com.herron.exchange.common.api.common.enums.PriceModel;
+
+public record OptionPriceBatchRequest(PriceModel priceModel,
+                                      boolean[] isCall,
+                                      double[] strikePrices,
+                                      double[] underlyingPrices,
+                                      double[] volatilities,
+                                      double[] timeToMaturities,
+                                      double[] riskFreeRates,
+                                      double[] dividendYields) {
+
+    public int size() {
+        return strikePrices.length;
+    }
+}
@@ -0,0 +1,13 @@
+package com.herron.exchange.quantlibapi.model;
+
+public record OptionPriceBatchResponse(double[] prices,
+                                       double[] deltas,
+                                       double[] gammas,
+                                       double[] vegas,
+                                       double[] thetas,
+                                       double[] rhos) {
+
+    public static OptionPriceBatchResponse create(int size) {
+        return new OptionPriceBatchResponse(new double[size], new double[size], new double[size], new double[size], new double[size], new double[size]);
+    }
+}
@@ -0,0 +1,15 @@
+package com.herron.exchange.quantlibapi.model;
+
+public record SurfaceConstructionRequest(String id,
+                                         double spotPrice,
+                                         double riskFreeRate,
+                                         double dividendYield,
+                                         boolean[] isCall,
+                                         double[] strikePrices,
+                                         double[] timeToMaturities,
+                                         double[] marketPrices) {
+
+    public int size() {
+        return strikePrices.length;
+    }
+}
@@ -0,0 +1,8 @@
+package com.herron.exchange.quantlibapi.model;
+
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.model.SviParameters;
+
+import java.util.List;
+
+public record SurfaceConstructionResponse(String id, int nrOfPoints, List<SviParameters> slices) {
+}
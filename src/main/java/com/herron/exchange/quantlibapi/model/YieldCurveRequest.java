@@ -0,0 +1,6 @@
+package com.herron.exchange.quantlibapi.model;
+
+import java.time.LocalDate;
+
+public record YieldCurveRequest(String id, LocalDate startDate, LocalDate[] maturityDates, double[] yields) {
+}
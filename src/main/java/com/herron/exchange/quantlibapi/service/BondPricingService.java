@@ -0,0 +1,55 @@
+package com.herron.exchange.quantlibapi.service;
+
+import com.herron.exchange.common.api.common.enums.DayCountConventionEnum;
+import com.herron.exchange.common.api.common.enums.InterpolationMethod;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.YieldCurve;
+import com.herron.exchange.common.api.common.math.parametricmodels.yieldcurve.model.YieldCurveModelParameters;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BondDiscountPriceModelResult;
+import com.herron.exchange.quantlib.pricemodels.fixedincome.bonds.BondDiscountingPriceModel;
+import com.herron.exchange.quantlibapi.model.BondPriceBatchRequest;
+import com.herron.exchange.quantlibapi.model.BondPriceResponse;
+import com.herron.exchange.quantlibapi.model.YieldCurveRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class BondPricingService {
+
+    public List<BondPriceResponse> price(BondPriceBatchRequest request) {
+        var valuationTime = Timestamp.from(request.valuationDate());
+        var yieldCurve = request.yieldCurve() != null ? createYieldCurve(request.yieldCurve()) : null;
+        return request.bonds().parallelStream()
+                .map(bond -> {
+                    boolean isCurveRequired = bond.priceModelParameters().calculateWithCurve();
+                    if (isCurveRequired && yieldCurve == null) {
+                        throw new IllegalArgumentException(String.format("Bond %s is priced with a curve but no yield curve was supplied", bond.instrumentId()));
+                    }
+                    var result = (BondDiscountPriceModelResult) (isCurveRequired
+                            ? BondDiscountingPriceModel.calculate(bond, yieldCurve, valuationTime)
+                            : BondDiscountingPriceModel.calculate(bond, bond.priceModelParameters().constantYield(), valuationTime));
+                    return new BondPriceResponse(bond.instrumentId(),
+                            result.cleanPrice().getRealValue(),
+                            result.dirtyPrice().getRealValue(),
+                            result.accruedInterest().getRealValue()
+                    );
+                })
+                .toList();
+    }
+
+    private static YieldCurve createYieldCurve(YieldCurveRequest request) {
+        RequestValidation.validateNotNull("Yield curve start date", request.startDate());
+        RequestValidation.validateNotEmpty("Yield curve maturity dates", request.maturityDates());
+        RequestValidation.validateNotNull("Yield curve yields", request.yields());
+        RequestValidation.validateLengths(request.maturityDates().length, request.yields().length);
+        var parameters = YieldCurveModelParameters.create(DayCountConventionEnum.ACT365,
+                InterpolationMethod.CUBIC_SPLINE,
+                request.startDate(),
+                request.maturityDates()[0],
+                request.maturityDates(),
+                request.yields()
+        );
+        return YieldCurve.create(request.id(), parameters);
+    }
+}
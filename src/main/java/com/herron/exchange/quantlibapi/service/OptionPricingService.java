@@ -0,0 +1,135 @@
+package com.herron.exchange.quantlibapi.service;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.enums.PriceModel;
+import com.herron.exchange.common.api.common.messages.common.Timestamp;
+import com.herron.exchange.common.api.common.messages.pricing.BlackScholesPriceModelResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.Black76;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilityResult;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlibapi.model.ImpliedVolatilityBatchRequest;
+import com.herron.exchange.quantlibapi.model.ImpliedVolatilityBatchResponse;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchRequest;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+@Service
+public class OptionPricingService {
+    private final int parallelBatchThreshold;
+
+    public OptionPricingService(@Value("${quantlib.api.parallel-batch-threshold:2048}") int parallelBatchThreshold) {
+        this.parallelBatchThreshold = parallelBatchThreshold;
+    }
+
+    public OptionPriceBatchResponse price(OptionPriceBatchRequest request) {
+        RequestValidation.validateNotNull("Price model", request.priceModel());
+        RequestValidation.validateNotNull("Option types", request.isCall());
+        RequestValidation.validateNotNull("Strike prices", request.strikePrices());
+        RequestValidation.validateNotNull("Underlying prices", request.underlyingPrices());
+        RequestValidation.validateNotNull("Volatilities", request.volatilities());
+        RequestValidation.validateNotNull("Time to maturities", request.timeToMaturities());
+        RequestValidation.validateNotNull("Risk free rates", request.riskFreeRates());
+        RequestValidation.validateNotNull("Dividend yields", request.dividendYields());
+        int size = request.size();
+        RequestValidation.validateLengths(size, request.isCall().length, request.underlyingPrices().length, request.volatilities().length, request.timeToMaturities().length, request.riskFreeRates().length, request.dividendYields().length);
+        var response = OptionPriceBatchResponse.create(size);
+        var valuationTime = Timestamp.now();
+        forEach(size, i -> {
+            var result = price(request, i, valuationTime);
+            var greeks = result.sensitivity();
+            response.prices()[i] = result.price().getRealValue();
+            response.deltas()[i] = greeks.delta().getRealValue();
+            response.gammas()[i] = greeks.gamma().getRealValue();
+            response.vegas()[i] = greeks.vega().getRealValue();
+            response.thetas()[i] = greeks.theta().getRealValue();
+            response.rhos()[i] = greeks.rho().getRealValue();
+        });
+        return response;
+    }
+
+    public ImpliedVolatilityBatchResponse solveImpliedVolatilities(ImpliedVolatilityBatchRequest request) {
+        RequestValidation.validateNotNull("Price model", request.priceModel());
+        RequestValidation.validateNotNull("Option types", request.isCall());
+        RequestValidation.validateNotNull("Strike prices", request.strikePrices());
+        RequestValidation.validateNotNull("Underlying prices", request.underlyingPrices());
+        RequestValidation.validateNotNull("Market prices", request.marketPrices());
+        RequestValidation.validateNotNull("Time to maturities", request.timeToMaturities());
+        RequestValidation.validateNotNull("Risk free rates", request.riskFreeRates());
+        RequestValidation.validateNotNull("Dividend yields", request.dividendYields());
+        int size = request.size();
+        RequestValidation.validateLengths(size, request.isCall().length, request.underlyingPrices().length, request.marketPrices().length, request.timeToMaturities().length, request.riskFreeRates().length, request.dividendYields().length);
+        var response = ImpliedVolatilityBatchResponse.create(size);
+        var solverConfig = ImpliedVolatilitySolverConfig.defaultConfig();
+        forEach(size, i -> {
+            var result = solveImpliedVolatility(request, i, solverConfig);
+            response.impliedVolatilities()[i] = result.impliedVolatility();
+            response.iterations()[i] = result.iterations();
+            response.statuses()[i] = result.status();
+        });
+        return response;
+    }
+
+    private BlackScholesPriceModelResult price(OptionPriceBatchRequest request, int i, Timestamp valuationTime) {
+        var optionType = request.isCall()[i] ? OptionTypeEnum.CALL : OptionTypeEnum.PUT;
+        return switch (request.priceModel()) {
+            case BLACK_SCHOLES -> BlackScholesMerton.calculateOptionPrice(valuationTime,
+                    optionType,
+                    request.strikePrices()[i],
+                    request.underlyingPrices()[i],
+                    request.volatilities()[i],
+                    request.timeToMaturities()[i],
+                    request.riskFreeRates()[i],
+                    request.dividendYields()[i]
+            );
+            case BLACK_76 -> Black76.calculateOptionPrice(valuationTime,
+                    optionType,
+                    request.strikePrices()[i],
+                    request.underlyingPrices()[i],
+                    request.volatilities()[i],
+                    request.timeToMaturities()[i],
+                    request.riskFreeRates()[i]
+            );
+            default -> throw new IllegalArgumentException(String.format("Price model %s is not supported for batch option pricing", request.priceModel()));
+        };
+    }
+
+    private ImpliedVolatilityResult solveImpliedVolatility(ImpliedVolatilityBatchRequest request, int i, ImpliedVolatilitySolverConfig solverConfig) {
+        var optionType = request.isCall()[i] ? OptionTypeEnum.CALL : OptionTypeEnum.PUT;
+        return switch (request.priceModel()) {
+            case BLACK_SCHOLES -> BlackScholesMerton.solveImpliedVolatility(optionType,
+                    request.strikePrices()[i],
+                    request.marketPrices()[i],
+                    request.underlyingPrices()[i],
+                    request.timeToMaturities()[i],
+                    request.riskFreeRates()[i],
+                    request.dividendYields()[i],
+                    solverConfig
+            );
+            case BLACK_76 -> Black76.solveImpliedVolatility(optionType,
+                    request.strikePrices()[i],
+                    request.marketPrices()[i],
+                    request.underlyingPrices()[i],
+                    request.timeToMaturities()[i],
+                    request.riskFreeRates()[i],
+                    solverConfig
+            );
+            default -> throw new IllegalArgumentException(String.format("Price model %s is not supported for batch implied volatility", request.priceModel()));
+        };
+    }
+
+    private void forEach(int size, IntConsumer action) {
+        // Small batches stay on the request's virtual thread, only large chains fan out to the fork join pool
+        if (size >= parallelBatchThreshold) {
+            IntStream.range(0, size).parallel().forEach(action);
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(i);
+            }
+        }
+    }
+}
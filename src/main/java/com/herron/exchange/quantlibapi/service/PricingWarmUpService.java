@@ -0,0 +1,62 @@
+package com.herron.exchange.quantlibapi.service;
+
+import com.herron.exchange.quantlib.warmup.PricingKernelWarmUp;
+import com.herron.exchange.quantlib.warmup.model.WarmUpConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+public class PricingWarmUpService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PricingWarmUpService.class);
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean isEnabled;
+    private final PricingKernelWarmUp warmUp;
+
+    public PricingWarmUpService(ApplicationEventPublisher eventPublisher,
+                                @Value("${quantlib.api.warm-up.enabled:true}") boolean isEnabled,
+                                @Value("${quantlib.api.warm-up.time-budget:60s}") Duration timeBudget) {
+        this.eventPublisher = eventPublisher;
+        this.isEnabled = isEnabled;
+        this.warmUp = PricingKernelWarmUp.create(WarmUpConfig.create(timeBudget));
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (!isEnabled) {
+            return;
+        }
+        warmUp.start().whenComplete((report, throwable) -> {
+            if (throwable != null) {
+                LOGGER.warn("Pricing warm-up failed, accepting traffic with cold kernels", throwable);
+            } else {
+                LOGGER.info("Pricing warm-up finished: {}", report);
+            }
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        });
+    }
+
+    // Spring Boot accepts traffic once the application is ready, so that is refused again until the kernels are warm
+    @EventListener
+    public void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+        if (!isEnabled || event.getState() != ReadinessState.ACCEPTING_TRAFFIC || warmUp.getCompletion().isDone()) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        if (warmUp.getCompletion().isDone()) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    public boolean isWarmedUp() {
+        return !isEnabled || warmUp.isWarmedUp();
+    }
+}
@@ -0,0 +1,24 @@
+package com.herron.exchange.quantlibapi.service;
+
+public class RequestValidation {
+
+    public static void validateLengths(int size, int... lengths) {
+        for (int length : lengths) {
+            if (length != size) {
+                throw new IllegalArgumentException(String.format("All columns must have the same length, expected %s but got %s", size, length));
+            }
+        }
+    }
+
+    public static void validateNotEmpty(String name, Object[] values) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException(String.format("%s must not be empty", name));
+        }
+    }
+
+    public static void validateNotNull(String name, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("%s must be set", name));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.herron.exchange.quantlibapi.service;
+
+import com.herron.exchange.common.api.common.enums.OptionTypeEnum;
+import com.herron.exchange.common.api.common.math.parametricmodels.impliedvolsurface.model.ImpliedVolPoint;
+import com.herron.exchange.quantlib.parametricmodels.ivsurface.svi.SviSurfaceConstructor;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.BlackScholesMerton;
+import com.herron.exchange.quantlib.pricemodels.derivatives.options.model.ImpliedVolatilitySolverConfig;
+import com.herron.exchange.quantlibapi.model.SurfaceConstructionRequest;
+import com.herron.exchange.quantlibapi.model.SurfaceConstructionResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+@Service
+public class SurfaceConstructionService {
+
+    public SurfaceConstructionResponse constructSviSurface(SurfaceConstructionRequest request) {
+        RequestValidation.validateNotNull("Option types", request.isCall());
+        RequestValidation.validateNotNull("Strike prices", request.strikePrices());
+        RequestValidation.validateNotNull("Time to maturities", request.timeToMaturities());
+        RequestValidation.validateNotNull("Market prices", request.marketPrices());
+        int size = request.size();
+        RequestValidation.validateLengths(size, request.isCall().length, request.timeToMaturities().length, request.marketPrices().length);
+        var solverConfig = ImpliedVolatilitySolverConfig.defaultConfig();
+        double spotPrice = request.spotPrice();
+        List<ImpliedVolPoint> points = IntStream.range(0, size).parallel()
+                .mapToObj(i -> {
+                    var result = BlackScholesMerton.solveImpliedVolatility(request.isCall()[i] ? OptionTypeEnum.CALL : OptionTypeEnum.PUT,
+                            request.strikePrices()[i],
+                            request.marketPrices()[i],
+                            spotPrice,
+                            request.timeToMaturities()[i],
+                            request.riskFreeRate(),
+                            request.dividendYield(),
+                            solverConfig
+                    );
+                    if (!result.isConverged()) {
+                        return null;
+                    }
+                    return new ImpliedVolPoint(request.timeToMaturities()[i], Math.log(request.strikePrices()[i] / spotPrice), result.impliedVolatility());
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        var surface = SviSurfaceConstructor.construct(request.id(), points);
+        return new SurfaceConstructionResponse(request.id(), points.size(), surface.getSlices());
+    }
+}
@@ -0,0 +1,77 @@
+package com.herron.exchange.quantlibapi.codec;
+
+import com.herron.exchange.common.api.common.enums.PriceModel;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchRequest;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarBinaryCodecTest {
+
+    @Test
+    void test_option_price_request_round_trip() {
+        var request = new OptionPriceBatchRequest(PriceModel.BLACK_76,
+                new boolean[]{true, false},
+                new double[]{95, 105},
+                new double[]{100, 100},
+                new double[]{0.2, 0.25},
+                new double[]{0.5, 1.0},
+                new double[]{0.01, 0.02},
+                new double[]{0.0, 0.0}
+        );
+
+        var decoded = ColumnarBinaryCodec.decodeOptionPriceRequest(ColumnarBinaryCodec.encodeOptionPriceRequest(request));
+
+        assertEquals(PriceModel.BLACK_76, decoded.priceModel());
+        assertArrayEquals(request.isCall(), decoded.isCall());
+        assertArrayEquals(request.strikePrices(), decoded.strikePrices());
+        assertArrayEquals(request.underlyingPrices(), decoded.underlyingPrices());
+        assertArrayEquals(request.volatilities(), decoded.volatilities());
+        assertArrayEquals(request.timeToMaturities(), decoded.timeToMaturities());
+        assertArrayEquals(request.riskFreeRates(), decoded.riskFreeRates());
+        assertArrayEquals(request.dividendYields(), decoded.dividendYields());
+    }
+
+    @Test
+    void test_option_price_response_round_trip() {
+        var response = new OptionPriceBatchResponse(new double[]{1, 2}, new double[]{3, 4}, new double[]{5, 6}, new double[]{7, 8}, new double[]{9, 10}, new double[]{11, 12});
+
+        var decoded = ColumnarBinaryCodec.decodeOptionPriceResponse(ColumnarBinaryCodec.encodeOptionPriceResponse(response));
+
+        assertArrayEquals(response.prices(), decoded.prices());
+        assertArrayEquals(response.rhos(), decoded.rhos());
+    }
+
+    @Test
+    void test_truncated_payload_throws() {
+        var request = new OptionPriceBatchRequest(PriceModel.BLACK_SCHOLES,
+                new boolean[]{true},
+                new double[]{95},
+                new double[]{100},
+                new double[]{0.2},
+                new double[]{0.5},
+                new double[]{0.01},
+                new double[]{0.0}
+        );
+        byte[] payload = ColumnarBinaryCodec.encodeOptionPriceRequest(request);
+        byte[] truncated = new byte[payload.length - 8];
+        System.arraycopy(payload, 0, truncated, 0, truncated.length);
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarBinaryCodec.decodeOptionPriceRequest(truncated));
+    }
+
+    @Test
+    void test_truncated_response_throws_before_allocating() {
+        var response = new OptionPriceBatchResponse(new double[]{1, 2}, new double[]{3, 4}, new double[]{5, 6}, new double[]{7, 8}, new double[]{9, 10}, new double[]{11, 12});
+        byte[] payload = ColumnarBinaryCodec.encodeOptionPriceResponse(response);
+        byte[] truncated = new byte[payload.length - 8];
+        System.arraycopy(payload, 0, truncated, 0, truncated.length);
+        byte[] forgedSize = {(byte) 0xff, (byte) 0xff, (byte) 0xff, 0x7f};
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarBinaryCodec.decodeOptionPriceResponse(truncated));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarBinaryCodec.decodeOptionPriceResponse(forgedSize));
+    }
+}
@@ -0,0 +1,32 @@
+package com.herron.exchange.quantlibapi.service;
+
+import com.herron.exchange.quantlibapi.model.BondPriceBatchRequest;
+import com.herron.exchange.quantlibapi.model.YieldCurveRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BondPricingServiceTest {
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2023, 10, 31);
+
+    @Test
+    void test_empty_yield_curve_throws() {
+        var service = new BondPricingService();
+        var emptyCurve = new YieldCurveRequest("curve", VALUATION_DATE, new LocalDate[0], new double[0]);
+        var missingDates = new YieldCurveRequest("curve", VALUATION_DATE, null, new double[]{0.02});
+
+        assertThrows(IllegalArgumentException.class, () -> service.price(new BondPriceBatchRequest(VALUATION_DATE, List.of(), emptyCurve)));
+        assertThrows(IllegalArgumentException.class, () -> service.price(new BondPriceBatchRequest(VALUATION_DATE, List.of(), missingDates)));
+    }
+
+    @Test
+    void test_mismatched_yield_curve_lengths_throws() {
+        var service = new BondPricingService();
+        var curve = new YieldCurveRequest("curve", VALUATION_DATE, new LocalDate[]{VALUATION_DATE.plusYears(1)}, new double[]{0.02, 0.03});
+
+        assertThrows(IllegalArgumentException.class, () -> service.price(new BondPriceBatchRequest(VALUATION_DATE, List.of(), curve)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.herron.exchange.quantlibapi.service;
+
+import com.herron.exchange.common.api.common.enums.PriceModel;
+import com.herron.exchange.quantlibapi.model.ImpliedVolatilityBatchRequest;
+import com.herron.exchange.quantlibapi.model.OptionPriceBatchRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptionPricingServiceTest {
+
+    @Test
+    void test_priced_chain_round_trips_through_implied_volatility() {
+        int size = 4096;
+        boolean[] isCall = new boolean[size];
+        double[] strikePrices = new double[size];
+        double[] volatilities = new double[size];
+        for (int i = 0; i < size; i++) {
+            isCall[i] = i % 2 == 0;
+            strikePrices[i] = 80 + 40.0 * i / size;
+            volatilities[i] = 0.15 + 0.1 * i / size;
+        }
+        double[] underlyingPrices = filled(size, 100);
+        double[] timeToMaturities = filled(size, 0.5);
+        double[] riskFreeRates = filled(size, 0.02);
+        double[] dividendYields = filled(size, 0.01);
+        var service = new OptionPricingService(1024);
+
+        var prices = service.price(new OptionPriceBatchRequest(PriceModel.BLACK_SCHOLES, isCall, strikePrices, underlyingPrices, volatilities, timeToMaturities, riskFreeRates, dividendYields));
+        var impliedVolatilities = service.solveImpliedVolatilities(new ImpliedVolatilityBatchRequest(PriceModel.BLACK_SCHOLES, isCall, strikePrices, underlyingPrices, prices.prices(), timeToMaturities, riskFreeRates, dividendYields));
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(volatilities[i], impliedVolatilities.impliedVolatilities()[i], 0.001);
+        }
+    }
+
+    @Test
+    void test_mismatched_column_lengths_throws() {
+        var service = new OptionPricingService(1024);
+        var request = new OptionPriceBatchRequest(PriceModel.BLACK_SCHOLES,
+                new boolean[]{true, false},
+                new double[]{95, 105},
+                new double[]{100},
+                new double[]{0.2, 0.25},
+                new double[]{0.5, 1.0},
+                new double[]{0.01, 0.02},
+                new double[]{0.0, 0.0}
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> service.price(request));
+    }
+
+    @Test
+    void test_missing_price_model_throws() {
+        var service = new OptionPricingService(1024);
+        var priceRequest = new OptionPriceBatchRequest(null, new boolean[]{true}, new double[]{100}, new double[]{100}, new double[]{0.2}, new double[]{0.5}, new double[]{0.01}, new double[]{0.0});
+        var impliedVolatilityRequest = new ImpliedVolatilityBatchRequest(null, new boolean[]{true}, new double[]{100}, new double[]{100}, new double[]{5}, new double[]{0.5}, new double[]{0.01}, new double[]{0.0});
+
+        assertThrows(IllegalArgumentException.class, () -> service.price(priceRequest));
+        assertThrows(IllegalArgumentException.class, () -> service.solveImpliedVolatilities(impliedVolatilityRequest));
+    }
+
+    @Test
+    void test_missing_column_throws() {
+        var service = new OptionPricingService(1024);
+        var missingStrikePrices = new OptionPriceBatchRequest(PriceModel.BLACK_SCHOLES, new boolean[]{true}, null, new double[]{100}, new double[]{0.2}, new double[]{0.5}, new double[]{0.01}, new double[]{0.0});
+        var missingVolatilities = new OptionPriceBatchRequest(PriceModel.BLACK_SCHOLES, new boolean[]{true}, new double[]{100}, new double[]{100}, null, new double[]{0.5}, new double[]{0.01}, new double[]{0.0});
+        var missingMarketPrices = new ImpliedVolatilityBatchRequest(PriceModel.BLACK_76, new boolean[]{true}, new double[]{100}, new double[]{100}, null, new double[]{0.5}, new double[]{0.01}, new double[]{0.0});
+        var missingOptionTypes = new ImpliedVolatilityBatchRequest(PriceModel.BLACK_76, null, new double[]{100}, new double[]{100}, new double[]{5}, new double[]{0.5}, new double[]{0.01}, new double[]{0.0});
+
+        assertThrows(IllegalArgumentException.class, () -> service.price(missingStrikePrices));
+        assertThrows(IllegalArgumentException.class, () -> service.price(missingVolatilities));
+        assertThrows(IllegalArgumentException.class, () -> service.solveImpliedVolatilities(missingMarketPrices));
+        assertThrows(IllegalArgumentException.class, () -> service.solveImpliedVolatilities(missingOptionTypes));
+    }
+
+    private static double[] filled(int size, double value) {
+        double[] values = new double[size];
+        Arrays.fill(values, value);
+        return values;
+    }
+}
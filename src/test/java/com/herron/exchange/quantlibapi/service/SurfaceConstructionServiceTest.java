@@ -0,0 +1,19 @@
+package com.herron.exchange.quantlibapi.service;
+
+import com.herron.exchange.quantlibapi.model.SurfaceConstructionRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SurfaceConstructionServiceTest {
+
+    @Test
+    void test_missing_column_throws() {
+        var service = new SurfaceConstructionService();
+        var missingStrikePrices = new SurfaceConstructionRequest("surface", 100, 0.02, 0.0, new boolean[]{true}, null, new double[]{0.5}, new double[]{5});
+        var missingMarketPrices = new SurfaceConstructionRequest("surface", 100, 0.02, 0.0, new boolean[]{true}, new double[]{100}, new double[]{0.5}, null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.constructSviSurface(missingStrikePrices));
+        assertThrows(IllegalArgumentException.class, () -> service.constructSviSurface(missingMarketPrices));
+    }
+}